@@ -33,6 +33,7 @@ import org.apereo.cas.configuration.model.support.geo.googlemaps.GoogleMapsPrope
 import org.apereo.cas.configuration.model.support.geo.maxmind.MaxmindProperties;
 import org.apereo.cas.configuration.model.support.interrupt.InterruptProperties;
 import org.apereo.cas.configuration.model.support.jpa.DatabaseProperties;
+import org.apereo.cas.configuration.model.support.ldap.LdapSearchCacheProperties;
 import org.apereo.cas.configuration.model.support.saml.SamlCoreProperties;
 import org.apereo.cas.configuration.model.support.saml.googleapps.GoogleAppsProperties;
 import org.apereo.cas.configuration.model.support.saml.mdui.SamlMetadataUIProperties;
@@ -294,6 +295,12 @@ public class CasConfigurationProperties implements Serializable {
     @NestedConfigurationProperty
     private WebflowProperties webflow = new WebflowProperties();
 
+    /**
+     * LDAP search cache settings.
+     */
+    @NestedConfigurationProperty
+    private LdapSearchCacheProperties ldapSearchCache = new LdapSearchCacheProperties();
+
     /**
      * Custom properties.
      */
@@ -70,6 +70,42 @@ public class AuthenticationPolicyProperties implements Serializable {
      */
     private UniquePrincipal uniquePrincipal = new UniquePrincipal();
 
+    /**
+     * Execute eligible authentication handlers concurrently rather than one at a time,
+     * stopping as soon as the authentication policy is satisfied.
+     */
+    private Parallel parallel = new Parallel();
+
+    @Getter
+    @Setter
+    public static class Parallel implements Serializable {
+
+        private static final long serialVersionUID = -2310958254872160437L;
+
+        /**
+         * Enables parallel execution of authentication handlers.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of authentication handlers that may execute concurrently.
+         */
+        private int poolSize = 8;
+
+        /**
+         * Maximum number of handler executions waiting for a thread.
+         * Once exceeded, handlers are executed one at a time by the requesting thread.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Maximum amount of time, in seconds, to wait for handlers
+         * to satisfy the authentication policy. Handlers that are still running
+         * once this period expires are cancelled and recorded as failures.
+         */
+        private long timeoutInSeconds = 30;
+    }
+
     @Getter
     @Setter
     public static class NotPrevented implements Serializable {
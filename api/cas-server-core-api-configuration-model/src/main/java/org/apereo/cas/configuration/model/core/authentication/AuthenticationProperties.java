@@ -311,6 +311,12 @@ public class AuthenticationProperties implements Serializable {
     @NestedConfigurationProperty
     private AuthenticationAttributeReleaseProperties authenticationAttributeRelease = new AuthenticationAttributeReleaseProperties();
 
+    /**
+     * Verified credential cache settings.
+     */
+    @NestedConfigurationProperty
+    private VerifiedCredentialCacheProperties verifiedCredentialCache = new VerifiedCredentialCacheProperties();
+
     /**
      * Whether CAS authentication/protocol attributes
      * should be released as part of ticket validation.
@@ -34,6 +34,38 @@ public class HttpClientProperties implements Serializable {
      */
     private String asyncTimeout = "PT5S";
 
+    /**
+     * Maximum number of connections pooled for all destinations.
+     */
+    private int maxPooledConnections = 100;
+
+    /**
+     * Maximum number of connections pooled for each destination,
+     * identified by scheme, host and port.
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Maximum number of messages sent concurrently to each destination.
+     * Messages beyond this limit are rejected right away, so that a slow or unresponsive
+     * destination cannot exhaust the connections and threads shared by all others.
+     * Zero or a negative value applies no limit.
+     */
+    private int maxConcurrentRequestsPerDestination = 20;
+
+    /**
+     * Maximum number of destinations tracked for concurrency limits and metrics.
+     * Destinations may be supplied by clients, such as proxy callback urls; beyond this limit,
+     * the least recently used destinations are no longer tracked, and further destinations
+     * are reported together in metrics.
+     */
+    private long maxDestinations = 1_000;
+
+    /**
+     * Time after which a destination that has not been contacted is no longer tracked.
+     */
+    private String destinationIdleTimeout = "PT10M";
+
     /**
      * Enable hostname verification when attempting to contact URL endpoints.
      * May also be set to {@code none} to disable verification.
@@ -128,4 +128,85 @@ public class PrincipalAttributesProperties implements Serializable {
      * </pre>
      */
     private GrouperPrincipalAttributesProperties grouper = new GrouperPrincipalAttributesProperties();
+
+    /**
+     * Keep attributes fetched for principals in a single application-wide cache
+     * that is shared by all registered services, instead of one cache per attribute release policy.
+     * Expiration policies defined by each service continue to apply to the attributes it sees.
+     */
+    private SharedCache sharedCache = new SharedCache();
+
+    /**
+     * Query attribute repository sources concurrently rather than one after the other,
+     * waiting on each source for a bounded amount of time.
+     */
+    private ParallelAggregation parallel = new ParallelAggregation();
+
+    @Getter
+    @Setter
+    public static class SharedCache implements Serializable {
+
+        private static final long serialVersionUID = 4715023983920182716L;
+
+        /**
+         * Enables the shared attribute cache.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of cached principal entries.
+         * Only applies if the cache is not bounded by size in bytes.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Approximate maximum amount of memory, in bytes, that cached attributes may occupy.
+         * If positive, takes precedence over the maximum number of entries.
+         */
+        private long maximumBytes;
+    }
+
+    @Getter
+    @Setter
+    public static class ParallelAggregation implements Serializable {
+
+        private static final long serialVersionUID = -2294532701586932116L;
+
+        /**
+         * Enables parallel queries against attribute repository sources.
+         * Results are still merged in the order in which sources are defined.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum amount of time to wait for each source to respond, counted from the moment its query starts executing.
+         * Sources that fail to respond in time are skipped and attributes
+         * found by the remaining sources are returned. Queries that do not start
+         * executing within the same amount of time, since all threads are busy, are skipped as well.
+         */
+        private String timeout = "PT5S";
+
+        /**
+         * Number of consecutive failures or timeouts after which a source is no longer queried
+         * until the circuit open duration has passed. A value of zero or less turns this off.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * Amount of time during which a source that has reached the failure threshold is skipped.
+         * Once passed, a single query is let through to find out whether the source has recovered.
+         */
+        private String circuitOpenDuration = "PT30S";
+
+        /**
+         * Number of threads used to query attribute repository sources.
+         */
+        private int threads = 10;
+
+        /**
+         * Maximum number of queries waiting for a thread.
+         * Once exceeded, sources are skipped rather than queried.
+         */
+        private int queueCapacity = 100;
+    }
 }
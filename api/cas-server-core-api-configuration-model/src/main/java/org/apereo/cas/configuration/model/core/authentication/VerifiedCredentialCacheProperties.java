@@ -0,0 +1,44 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings that control the short-lived cache of verified username/password credentials.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-core-authentication", automated = true)
+@Getter
+@Setter
+public class VerifiedCredentialCacheProperties implements Serializable {
+    private static final long serialVersionUID = -3427413914063726432L;
+
+    /**
+     * Whether successful username/password authentication results
+     * should be cached and reused for repeated requests with the same credential.
+     */
+    private boolean enabled;
+
+    /**
+     * Names of the authentication handlers whose results may be cached.
+     * Handlers that are not listed here are always invoked.
+     */
+    private List<String> handlers = new ArrayList<>();
+
+    /**
+     * How long a verified credential remains cached, in seconds.
+     */
+    private long timeToLiveSeconds = 60;
+
+    /**
+     * Maximum number of verified credentials kept in the cache.
+     */
+    private long maximumSize = 10_000;
+}
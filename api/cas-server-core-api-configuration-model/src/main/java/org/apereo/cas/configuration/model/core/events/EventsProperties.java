@@ -49,7 +49,63 @@ public class EventsProperties implements Serializable {
      * Track authentication events inside a mongodb instance.
      */
     private MongoDb mongo = new MongoDb();
-    
+
+    /**
+     * Write authentication events to the repository in batches on a background thread
+     * and keep time-bucketed event counts alongside.
+     */
+    private Batch batch = new Batch();
+
+    @RequiresModule(name = "cas-server-core-events", automated = true)
+    @Getter
+    @Setter
+    public static class Batch implements Serializable {
+
+        private static final long serialVersionUID = 2853641874213047520L;
+
+        /**
+         * Whether events should be queued and written in batches.
+         * When disabled, events are written synchronously as they are produced.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of events that may be waiting in the queue.
+         * Once the queue is full, events are written synchronously.
+         */
+        private int capacity = 10_000;
+
+        /**
+         * Maximum number of events written to the repository in a single batch.
+         */
+        private int size = 100;
+
+        /**
+         * Maximum amount of time queued events wait before the batch is written.
+         */
+        private String flushInterval = "PT1S";
+
+        /**
+         * Whether event counts per type and principal should be kept in time buckets
+         * and used to answer count queries. Counts are kept per node and only reflect
+         * the events written by this node; disable when several nodes share the events repository,
+         * so that count queries are answered by the repository instead.
+         */
+        private boolean rollupEnabled = true;
+
+        /**
+         * Size of the time buckets in which event counts per type and principal are kept.
+         * Count queries are resolved to whole buckets.
+         */
+        private String rollupBucket = "PT1H";
+
+        /**
+         * Length of time for which event counts are kept.
+         * Count queries that reach further back are answered by the repository.
+         */
+        private String rollupRetention = "P1D";
+    }
+
     @RequiresModule(name = "cas-server-support-events-jpa")
     @Getter
     @Setter
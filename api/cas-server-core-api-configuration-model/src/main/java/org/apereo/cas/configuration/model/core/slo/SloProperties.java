@@ -28,4 +28,67 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Control how asynchronous back-channel logout messages are queued and dispatched.
+     */
+    private Dispatch dispatch = new Dispatch();
+
+    @Getter
+    @Setter
+    public static class Dispatch implements Serializable {
+
+        private static final long serialVersionUID = -2203714596233624871L;
+
+        /**
+         * Whether asynchronous back-channel logout messages should be queued per logout endpoint
+         * and dispatched periodically, rather than sent as soon as they are created.
+         */
+        private boolean enabled;
+
+        /**
+         * How often queued logout messages are dispatched.
+         */
+        private String window = "PT1S";
+
+        /**
+         * Maximum number of logout messages sent in a single request to logout endpoints
+         * of services that declare support for batched logout requests.
+         */
+        private int maxBatchSize = 50;
+
+        /**
+         * Number of requests each logout endpoint receives per second, on average.
+         */
+        private double permitsPerSecond = 10;
+
+        /**
+         * Number of requests a logout endpoint may receive at once after a quiet period.
+         */
+        private int burst = 20;
+
+        /**
+         * File to which logout messages still queued when CAS shuts down are saved,
+         * so they may be dispatched once CAS starts again. Leave blank to discard them.
+         */
+        private String queueFile;
+
+        /**
+         * Maximum number of logout messages queued for a single logout endpoint.
+         */
+        private int maxQueueSize = 10_000;
+
+        /**
+         * Which logout message to drop when the queue of a logout endpoint is full.
+         * Accepted values are {@code DROP_NEWEST}, to drop the message being queued and
+         * report it as failed, or {@code DROP_OLDEST}, to drop the oldest queued message.
+         */
+        private String overflowPolicy = "DROP_NEWEST";
+
+        /**
+         * Maximum number of times a logout message is sent before it is dropped,
+         * when the logout endpoint fails to receive it.
+         */
+        private int maxAttempts = 3;
+    }
 }
@@ -67,6 +67,14 @@ public class TicketProperties implements Serializable {
     @NestedConfigurationProperty
     private TicketGrantingTicketProperties tgt = new TicketGrantingTicketProperties();
 
+    /**
+     * Whether the random part of ticket-granting, proxy-granting and service ticket ids
+     * should be drawn from a random generator owned by each thread, rather than from the native
+     * generator shared by all threads. This avoids contention on the shared generator
+     * when many tickets are issued at once.
+     */
+    private boolean perThreadRandomIdGenerator;
+
     public TicketProperties() {
         this.crypto.setEnabled(false);
     }
@@ -79,6 +79,12 @@ public class ConsentProperties implements Serializable {
     public static class Json extends SpringResourceProperties {
 
         private static final long serialVersionUID = 7079027843747126083L;
+
+        /**
+         * Changes to consent decisions are appended to a journal file next to the JSON resource.
+         * Once the journal holds this many changes, it is compacted into the JSON resource.
+         */
+        private int compactionThreshold = 1000;
     }
 
     @RequiresModule(name = "cas-server-consent-webflow")
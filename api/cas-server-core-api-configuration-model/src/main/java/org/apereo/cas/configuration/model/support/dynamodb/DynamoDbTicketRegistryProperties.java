@@ -45,6 +45,18 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
     */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+    * Number of segments into which ticket tables are divided when scanned.
+    * Segments are scanned in parallel, each one page at a time.
+    */
+    private int scanSegments = 4;
+
+    /**
+    * Maximum number of items read per page when ticket tables are scanned.
+    * A value of zero or less leaves the page size to DynamoDb, which returns up to 1 MB of data per page.
+    */
+    private int scanPageSize;
+
     /**
     * Crypto settings for the registry.
     */
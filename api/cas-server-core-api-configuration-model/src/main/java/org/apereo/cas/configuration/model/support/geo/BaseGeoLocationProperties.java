@@ -21,4 +21,49 @@ public abstract class BaseGeoLocationProperties implements Serializable {
      * for geo locations. See <a href="http://ipstack.com">this link</a> for more info.
      */
     private String ipStackApiAccessKey;
+
+    /**
+     * Cache geolocation results shared by all lookups.
+     */
+    private Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache implements Serializable {
+
+        private static final long serialVersionUID = 3817328826532411536L;
+
+        /**
+         * Whether geolocation results should be cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a located address is kept in the cache.
+         */
+        private String timeToLive = "PT12H";
+
+        /**
+         * How long an address that cannot be located is kept in the cache,
+         * before another attempt is made to locate it.
+         */
+        private String negativeTimeToLive = "PT10M";
+
+        /**
+         * Maximum number of results kept in the cache.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Number of leading bits of IPv4 addresses that make up the cache key.
+         * Addresses that share this prefix share the cached result.
+         */
+        private int ipv4PrefixLength = 24;
+
+        /**
+         * Number of leading bits of IPv6 addresses that make up the cache key.
+         * Addresses that share this prefix share the cached result.
+         */
+        private int ipv6PrefixLength = 48;
+    }
 }
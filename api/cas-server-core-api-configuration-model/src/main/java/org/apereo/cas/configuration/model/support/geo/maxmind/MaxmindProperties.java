@@ -31,4 +31,11 @@ public class MaxmindProperties extends BaseGeoLocationProperties {
      */
     @RequiredProperty
     private transient Resource countryDatabase;
+
+    /**
+     * How database files are read. Accepted values are {@code MEMORY_MAPPED}, where files are mapped into memory
+     * and shared through the operating system page cache with other processes reading the same files,
+     * and {@code MEMORY}, where files are loaded into the heap.
+     */
+    private String fileMode = "MEMORY_MAPPED";
 }
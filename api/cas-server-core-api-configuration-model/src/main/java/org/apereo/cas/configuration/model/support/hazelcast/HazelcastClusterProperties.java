@@ -146,6 +146,16 @@ public class HazelcastClusterProperties implements Serializable {
      */
     private String evictionPolicy = "LRU";
 
+    /**
+     * Format in which map entries are kept in memory. Accepted values are:
+     * <ul>
+     * <li>BINARY: Entries are kept serialized, which suits maps whose entries are mostly read and written as a whole.</li>
+     * <li>OBJECT: Entries are kept deserialized, which suits maps queried or processed on cluster members,
+     * such as through predicates, aggregations and entry processors, since entries need not be deserialized each time.</li>
+     * </ul>
+     */
+    private String inMemoryFormat = "BINARY";
+
     /**
      * To provide data safety, Hazelcast allows you to specify the number of backup copies you want to have. That way,
      * data on a cluster member will be copied onto other member(s).
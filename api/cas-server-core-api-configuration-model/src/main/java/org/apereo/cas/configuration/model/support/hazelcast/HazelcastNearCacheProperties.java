@@ -0,0 +1,69 @@
+package org.apereo.cas.configuration.model.support.hazelcast;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link HazelcastNearCacheProperties}. A near cache keeps entries
+ * owned by other cluster members on the member that reads them, so that repeated
+ * reads of the same entry do not cross the network.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-support-hazelcast-core")
+@Getter
+@Setter
+public class HazelcastNearCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = 2617434502714815434L;
+
+    /**
+     * Whether the near cache should be enabled.
+     */
+    private boolean enabled;
+
+    /**
+     * Format in which near cache entries are kept. Accepted values are {@code BINARY} and {@code OBJECT}.
+     * In {@code BINARY} format every read deserializes a copy of the entry. In {@code OBJECT} format every read
+     * returns the same cached instance, which is then shared by concurrent requests that may modify it;
+     * this is only safe for entries that are never modified once read.
+     */
+    private String inMemoryFormat = "BINARY";
+
+    /**
+     * Maximum number of entries kept by the near cache on each member.
+     */
+    private int maxSize = 10_000;
+
+    /**
+     * Eviction policy applied once the near cache is full.
+     * Accepted values are {@code LRU}, {@code LFU}, {@code RANDOM} and {@code NONE}.
+     */
+    private String evictionPolicy = "LRU";
+
+    /**
+     * Maximum number of seconds an entry may stay in the near cache.
+     * Zero means entries stay until invalidated or evicted.
+     */
+    private int timeToLiveSeconds;
+
+    /**
+     * Maximum number of seconds an entry may stay in the near cache without being read.
+     * Zero means entries stay until invalidated or evicted.
+     */
+    private int maxIdleSeconds;
+
+    /**
+     * Whether near cache entries should be invalidated when the entry changes in the cluster.
+     */
+    private boolean invalidateOnChange = true;
+
+    /**
+     * Whether entries owned by the local member should also be kept in the near cache.
+     */
+    private boolean cacheLocalEntries;
+}
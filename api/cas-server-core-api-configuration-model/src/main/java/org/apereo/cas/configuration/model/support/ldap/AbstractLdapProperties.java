@@ -180,6 +180,21 @@ public abstract class AbstractLdapProperties implements Serializable {
      */
     private String blockWaitTime = "PT3S";
 
+    /**
+     * Number of connections over which asynchronous operations are multiplexed,
+     * with several operations outstanding on each connection at a time.
+     * Multiplexing requires an LDAP provider that supports asynchronous operations,
+     * such as {@code org.ldaptive.provider.unboundid.UnboundIDProvider}. Otherwise,
+     * asynchronous operations execute on connections borrowed from the pool.
+     */
+    private int multiplexedConnections = 2;
+
+    /**
+     * Maximum number of asynchronous operations that may be outstanding at a time.
+     * Once reached, new operations wait for up to {@link #blockWaitTime} before they fail.
+     */
+    private int maxOutstandingOperations = 100;
+
     /**
      * If multiple URLs are provided as the ldapURL this describes how each URL will be processed.
      * <ul>
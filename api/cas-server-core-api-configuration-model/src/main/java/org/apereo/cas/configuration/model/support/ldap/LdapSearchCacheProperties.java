@@ -0,0 +1,34 @@
+package org.apereo.cas.configuration.model.support.ldap;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link LdapSearchCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-support-ldap")
+@Getter
+@Setter
+public class LdapSearchCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = -2871625049284520813L;
+
+    /**
+     * Remember results of LDAP searches for the duration of a request,
+     * so that features looking up the same LDAP entry while processing a login
+     * only search the directory once. Results are discarded as soon as the request
+     * completes, or once an entry is modified via CAS.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of search results remembered per request.
+     */
+    private int maximumEntries = 100;
+}
@@ -44,6 +44,13 @@ public class LdapServiceRegistryProperties extends AbstractLdapSearchProperties
      */
     private String loadFilter = "(objectClass=%s)";
 
+    /**
+     * Whether reloading services should only fetch and deserialize entries that have changed
+     * since the previous load, based on the {@code modifyTimestamp} operational attribute of the entries.
+     * Entries that do not expose this attribute are always loaded in full.
+     */
+    private boolean incrementalSync = true;
+
     public LdapServiceRegistryProperties() {
         setSearchFilter("(%s={0})");
     }
@@ -130,6 +130,12 @@ public class Pac4jDelegatedAuthenticationProperties implements Serializable {
      */
     @NestedConfigurationProperty
     private Pac4jDelegatedSessionCookieProperties cookie = new Pac4jDelegatedSessionCookieProperties();
+
+    /**
+     * Control how delegated clients are initialized and cached.
+     */
+    @NestedConfigurationProperty
+    private Pac4jDelegatedClientCacheProperties cache = new Pac4jDelegatedClientCacheProperties();
     
     @RequiresModule(name = "cas-server-support-pac4j-webflow")
     @Getter
@@ -0,0 +1,39 @@
+package org.apereo.cas.configuration.model.support.pac4j;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link Pac4jDelegatedClientCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@RequiresModule(name = "cas-server-support-pac4j-webflow")
+@Getter
+@Setter
+public class Pac4jDelegatedClientCacheProperties implements Serializable {
+    private static final long serialVersionUID = -3219628740125396917L;
+
+    /**
+     * Whether delegated clients should be initialized on first use and kept in a bounded cache.
+     * When turned off, all clients are kept for the lifetime of the application once initialized.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of initialized clients to keep in the cache. Clients that are evicted
+     * release their metadata and are initialized again on their next use.
+     */
+    private long maximumSize = 100;
+
+    /**
+     * Interval after which an initialized client is rebuilt in the background on its next use,
+     * refreshing its identity provider metadata or discovery document.
+     * The previously initialized client continues to be used until the refresh completes.
+     */
+    private String refreshInterval = "PT6H";
+}
@@ -142,6 +142,7 @@ public class X509Properties implements Serializable {
      * <li>{@code CRL}: The CRL URI(s) mentioned in the certificate cRLDistributionPoints extension field.
      * Caches are available to prevent excessive IO against CRL endpoints; CRL data is fetched if does not exist in the cache or if it is expired.</li>
      * <li>{@code RESOURCE}: A CRL hosted at a fixed location. The CRL is fetched at periodic intervals and cached.</li>
+     * <li>{@code OCSP}: The OCSP responder of the certificate issuer. Responses are cached until their next update date.</li>
      * </ul>
      */
     private String revocationChecker = "NONE";
@@ -185,6 +186,38 @@ public class X509Properties implements Serializable {
      */
     private long cacheTimeToIdleSeconds = TimeUnit.MINUTES.toSeconds(30);
 
+    /**
+     * When CRL revocation checking is done via distribution points,
+     * keep an index of revoked serial numbers per distribution point and refresh CRLs
+     * in the background ahead of their next update date, instead of fetching them inline
+     * when cached entries expire.
+     */
+    private boolean crlBackgroundRefresh;
+
+    /**
+     * When CRLs are refreshed in the background, how long before the CRL next update date
+     * a distribution point should be fetched again.
+     */
+    private long crlRefreshAheadSeconds = TimeUnit.HOURS.toSeconds(1);
+
+    /**
+     * When CRLs are refreshed in the background, how often distribution points are examined
+     * for refreshes. CRLs that do not specify a next update date are refreshed at this interval.
+     */
+    private long crlRefreshCheckIntervalSeconds = TimeUnit.MINUTES.toSeconds(5);
+
+    /**
+     * When CRLs are refreshed in the background, number of threads that fetch CRLs.
+     */
+    private int crlFetchThreads = 2;
+
+    /**
+     * When CRLs are refreshed in the background, directory where the last good CRL
+     * of each distribution point is kept, to be used after a restart.
+     * Leave blank to keep CRLs in memory only.
+     */
+    private String crlPersistenceDirectory;
+
     /**
      * If the CRL resource is unavailable, activate the this policy.
      * Activated if {@link #revocationChecker} is {@code RESOURCE}.
@@ -258,6 +291,11 @@ public class X509Properties implements Serializable {
      */
     private Ldap ldap = new Ldap();
 
+    /**
+     * OCSP settings when revocation checking is done via OCSP.
+     */
+    private Ocsp ocsp = new Ocsp();
+
     /**
      * The compiled pattern supplied by the deployer.
      */
@@ -323,4 +361,59 @@ public class X509Properties implements Serializable {
         private String certificateAttribute = "certificateRevocationList";
     }
 
+    @Getter
+    @Setter
+    public static class Ocsp implements Serializable {
+
+        private static final long serialVersionUID = 2281397326549371042L;
+
+        /**
+         * The OCSP responder to query for all certificates.
+         * If left blank, the responder named in the authority information access extension
+         * of each certificate is used.
+         */
+        private String responderUrl;
+
+        /**
+         * Certificates of the issuers whose certificates are checked via OCSP.
+         * The issuer certificate is required to build the certificate identifier
+         * sent to the responder and to verify the signature of the response.
+         */
+        private List<String> issuerCertificates = new ArrayList<>();
+
+        /**
+         * Revocation checker to use when the OCSP status of a certificate cannot be determined.
+         * Accepted values are {@code NONE}, {@code CRL} and {@code RESOURCE}.
+         */
+        private String fallbackRevocationChecker = "NONE";
+
+        /**
+         * Policy to apply when the OCSP status of a certificate cannot be determined and no fallback is defined.
+         * Accepted values are {@code ALLOW} and {@code DENY}.
+         */
+        private String unavailablePolicy = "DENY";
+
+        /**
+         * How long OCSP responses are cached when the responder does not specify a next update date.
+         */
+        private long defaultTimeToLiveSeconds = TimeUnit.MINUTES.toSeconds(5);
+
+        /**
+         * Maximum number of OCSP responses kept in the cache.
+         */
+        private long cacheMaxSize = 100_000;
+
+        /**
+         * Clock skew tolerated when checking that an OCSP response is current.
+         * Responses produced later than now plus the skew, or whose next update date
+         * is earlier than now minus the skew, are treated as unknown.
+         */
+        private long allowedClockSkewSeconds = TimeUnit.MINUTES.toSeconds(5);
+
+        /**
+         * Connect and read timeout for requests sent to the OCSP responder.
+         */
+        private int timeoutInMilliseconds = 5_000;
+    }
+
 }
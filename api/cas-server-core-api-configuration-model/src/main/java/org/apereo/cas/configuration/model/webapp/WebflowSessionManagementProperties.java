@@ -49,6 +49,35 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Controls whether server-side webflow state should be kept in a distributed store shared by all CAS nodes,
+     * rather than in the http session. Flow execution keys handed to the client are then short handles
+     * signed by CAS that point to the state in the store, so any node may resume the flow.
+     * Only relevant if session storage is done on the server.
+     */
+    private boolean distributed;
+
+    /**
+     * How long webflow state may remain idle in the distributed store before it expires.
+     * Only relevant if webflow state is kept in a distributed store.
+     */
+    private String timeout = "PT15M";
+
+    /**
+     * Key used to sign the conversation handles that point to webflow state in the distributed store.
+     * All CAS nodes must share the same key. Required if webflow state is kept in a distributed store;
+     * CAS fails to start otherwise.
+     */
+    private String signingKey;
+
+    /**
+     * Maximum number of flow execution snapshots kept per conversation. Each snapshot
+     * is written to the distributed store with the conversation, so fewer snapshots mean smaller writes,
+     * at the cost of how far back the browser back button may go.
+     * Only relevant if webflow state is kept in a distributed store.
+     */
+    private int maxSnapshots = 5;
+
     /**
      * If sessions are to be replicated via Hazelcast, defines the location of a {@code hazelcast.xml}
      * file that defines how state should be replicated.
@@ -19,6 +19,17 @@ public interface CasEventRepository {
      */
     void save(CasEvent event);
 
+    /**
+     * Save a batch of events.
+     * Implementations that support bulk writes should override this
+     * to persist the batch in a single round trip.
+     *
+     * @param events the events
+     */
+    default void saveAll(final Collection<? extends CasEvent> events) {
+        events.forEach(this::save);
+    }
+
     /**
      * Load collection.
      *
@@ -86,4 +97,39 @@ public interface CasEventRepository {
      * @return the events for principal
      */
     Collection<CasEvent> getEventsForPrincipal(String id, ZonedDateTime dateTime);
+
+    /**
+     * Count events of type for principal created after the given date.
+     * Implementations that keep aggregates may answer without loading the events.
+     *
+     * @param type      the type
+     * @param principal the principal
+     * @param dateTime  the date time
+     * @return the number of events
+     */
+    default long countEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return getEventsOfTypeForPrincipal(type, principal, dateTime).size();
+    }
+
+    /**
+     * Count events of type created after the given date.
+     *
+     * @param type     the type
+     * @param dateTime the date time
+     * @return the number of events
+     */
+    default long countEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return getEventsOfType(type, dateTime).size();
+    }
+
+    /**
+     * Count events for principal created after the given date.
+     *
+     * @param id       the id
+     * @param dateTime the date time
+     * @return the number of events
+     */
+    default long countEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return getEventsForPrincipal(id, dateTime).size();
+    }
 }
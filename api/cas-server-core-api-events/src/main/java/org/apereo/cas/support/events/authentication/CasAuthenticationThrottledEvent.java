@@ -0,0 +1,36 @@
+package org.apereo.cas.support.events.authentication;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+/**
+ * This is {@link CasAuthenticationThrottledEvent}, signaled once authentication attempts
+ * are locked out for exceeding the failure threshold.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class CasAuthenticationThrottledEvent extends AbstractCasEvent {
+
+    private static final long serialVersionUID = -6126284627382946021L;
+
+    private final String username;
+
+    private final String remoteAddress;
+
+    /**
+     * Instantiates a new authentication throttled event.
+     *
+     * @param source        the source
+     * @param username      the username, if any, that is throttled
+     * @param remoteAddress the remote address that is throttled
+     */
+    public CasAuthenticationThrottledEvent(final Object source, final String username, final String remoteAddress) {
+        super(source);
+        this.username = username;
+        this.remoteAddress = remoteAddress;
+    }
+}
@@ -0,0 +1,31 @@
+package org.apereo.cas.support.events.authentication;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+/**
+ * This is {@link CasPasswordChangedEvent}, signaled once the password of an account is successfully changed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class CasPasswordChangedEvent extends AbstractCasEvent {
+
+    private static final long serialVersionUID = 3264520883478264812L;
+
+    private final String username;
+
+    /**
+     * Instantiates a new password changed event.
+     *
+     * @param source   the source
+     * @param username the username whose password has changed
+     */
+    public CasPasswordChangedEvent(final Object source, final String username) {
+        super(source);
+        this.username = username;
+    }
+}
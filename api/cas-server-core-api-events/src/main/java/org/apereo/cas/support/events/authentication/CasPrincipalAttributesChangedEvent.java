@@ -0,0 +1,33 @@
+package org.apereo.cas.support.events.authentication;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.events.AbstractCasEvent;
+
+/**
+ * This is {@link CasPrincipalAttributesChangedEvent}, signaled once attributes of a principal
+ * have changed in the underlying attribute sources and any cached copies are to be discarded.
+ * A blank principal id indicates that attributes of all principals are stale.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class CasPrincipalAttributesChangedEvent extends AbstractCasEvent {
+
+    private static final long serialVersionUID = -5872396403172829843L;
+
+    private final String principalId;
+
+    /**
+     * Instantiates a new principal attributes changed event.
+     *
+     * @param source      the source
+     * @param principalId the principal id whose attributes have changed
+     */
+    public CasPrincipalAttributesChangedEvent(final Object source, final String principalId) {
+        super(source);
+        this.principalId = principalId;
+    }
+}
@@ -0,0 +1,57 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceChanges}. It describes the services that were added or modified
+ * in a service registry since a given change stamp, along with the identifiers of all services
+ * the registry holds, so that services deleted from the registry can be detected.
+ * <p>
+ * Change stamps are opaque to callers; the change stamp reported here is to be passed back
+ * to the registry to load the next set of changes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(exclude = {"changedServices", "serviceIds"})
+public class RegisteredServiceChanges {
+    /**
+     * Change stamp indicating that nothing was loaded yet, or that the registry does not track changes.
+     * Registries asked for changes since this stamp return all services.
+     */
+    public static final long NO_CHANGE_STAMP = -1;
+
+    /**
+     * Services that were added or modified since the requested change stamp.
+     */
+    private final Collection<RegisteredService> changedServices;
+
+    /**
+     * Identifiers of all services held by the registry.
+     */
+    private final Set<Long> serviceIds;
+
+    /**
+     * Change stamp of the most recent change seen by the registry.
+     */
+    private final long changeStamp;
+
+    /**
+     * Describe all services of a registry that does not track changes.
+     *
+     * @param services the services
+     * @return the registered service changes
+     */
+    public static RegisteredServiceChanges of(final Collection<RegisteredService> services) {
+        final var ids = services.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        return new RegisteredServiceChanges(services, ids, NO_CHANGE_STAMP);
+    }
+}
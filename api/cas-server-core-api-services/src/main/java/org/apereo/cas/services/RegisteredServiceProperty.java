@@ -102,7 +102,11 @@ public interface RegisteredServiceProperty extends Serializable {
         /**
          * Whether CAS should inject xss protection headers into the response when this service is in process.
          */
-        HTTP_HEADER_ENABLE_XSS_PROTECTION("httpHeaderEnableXSSProtection", "true");
+        HTTP_HEADER_ENABLE_XSS_PROTECTION("httpHeaderEnableXSSProtection", "true"),
+        /**
+         * Whether the logout endpoint of this service accepts several logout requests in a single message.
+         */
+        SINGLE_LOGOUT_BATCHING_ENABLED("singleLogoutBatchingEnabled", "false");
 
 
         private final String propertyName;
@@ -34,6 +34,20 @@ public interface ServiceRegistry {
      */
     List<RegisteredService> load();
 
+    /**
+     * Retrieve the services that were added or modified since the given change stamp,
+     * along with identifiers of all services held by the data store.
+     * Registries that do not track changes return all services.
+     *
+     * @param changeStamp the change stamp reported by the previous call,
+     *                    or {@link RegisteredServiceChanges#NO_CHANGE_STAMP} to load all services.
+     * @return the registered service changes
+     * @since 6.0.0
+     */
+    default RegisteredServiceChanges loadChangesSince(final long changeStamp) {
+        return RegisteredServiceChanges.of(load());
+    }
+
     /**
      * Find service by the numeric id.
      *
@@ -3,6 +3,7 @@ package org.apereo.cas.authentication;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -22,10 +23,22 @@ import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.UndeclaredThrowableException;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +59,24 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
     private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Optional cache of recently verified credentials, consulted before invoking handlers.
+     */
+    @Setter
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    /**
+     * Optional executor used to run eligible authentication handlers concurrently.
+     */
+    @Setter
+    private ExecutorService handlerExecutorService;
+
+    /**
+     * Maximum time to wait for handlers executed concurrently.
+     */
+    @Setter
+    private Duration handlerExecutionTimeout = Duration.ofSeconds(30);
+
     /**
      * Populate authentication metadata attributes.
      *
@@ -198,7 +229,7 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
 
         publishEvent(new CasAuthenticationTransactionStartedEvent(this, credential));
 
-        final var result = handler.authenticate(credential);
+        final var result = invokeAuthenticationHandler(handler, credential);
         final var authenticationHandlerName = handler.getName();
         builder.addSuccess(authenticationHandlerName, result);
         LOGGER.debug("Authentication handler [{}] successfully authenticated [{}]", authenticationHandlerName, credential);
@@ -232,6 +263,24 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
         publishEvent(new CasAuthenticationPrincipalResolvedEvent(this, principal));
     }
 
+    /**
+     * Invoke the authentication handler, or reuse its recent result if the credential was verified lately.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @return the authentication handler execution result
+     * @throws GeneralSecurityException the general security exception
+     * @throws PreventedException       the prevented exception
+     */
+    protected AuthenticationHandlerExecutionResult invokeAuthenticationHandler(final AuthenticationHandler handler,
+                                                                               final Credential credential)
+        throws GeneralSecurityException, PreventedException {
+        if (this.verifiedCredentialCache != null && this.verifiedCredentialCache.supports(handler, credential)) {
+            return this.verifiedCredentialCache.authenticate(handler, credential);
+        }
+        return handler.authenticate(credential);
+    }
+
     /**
      * Gets authentication handlers for this transaction.
      *
@@ -333,31 +382,8 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
                 final var credential = it.next();
                 LOGGER.debug("Attempting to authenticate credential [{}]", credential);
 
-                final var itHandlers = handlerSet.iterator();
-                var proceedWithNextHandler = true;
-                while (proceedWithNextHandler && itHandlers.hasNext()) {
-                    final var handler = itHandlers.next();
-                    if (handler.supports(credential)) {
-                        try {
-                            final var resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
-                            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
-                            authenticateAndResolvePrincipal(builder, credential, resolver, handler);
-                            AuthenticationCredentialsThreadLocalBinder.bindInProgress(builder.build());
-
-                            final var failures = evaluateAuthenticationPolicies(builder.build(), transaction);
-                            proceedWithNextHandler = !failures.getKey();
-                        } catch (final Exception e) {
-                            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
-                                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
-                                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
-                                + "the authentication event.", credential, credential.getClass().getSimpleName());
-
-                            handleAuthenticationException(e, handler.getName(), builder);
-                            proceedWithNextHandler = true;
-                        }
-                    } else {
-                        LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
-                    }
+                if (!authenticateInParallel(builder, credential, handlerSet, transaction)) {
+                    authenticateSequentially(builder, credential, handlerSet, transaction);
                 }
             }
             evaluateFinalAuthentication(builder, transaction);
@@ -367,6 +393,177 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
         }
     }
 
+    /**
+     * Authenticate the credential with the given handlers one at a time,
+     * stopping as soon as the authentication policy is satisfied.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlerSet  the handler set
+     * @param transaction the transaction
+     */
+    protected void authenticateSequentially(final AuthenticationBuilder builder, final Credential credential,
+                                            final Set<AuthenticationHandler> handlerSet,
+                                            final AuthenticationTransaction transaction) {
+        final var itHandlers = handlerSet.iterator();
+        var proceedWithNextHandler = true;
+        while (proceedWithNextHandler && itHandlers.hasNext()) {
+            final var handler = itHandlers.next();
+            if (handler.supports(credential)) {
+                try {
+                    final var resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+                    LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+                    authenticateAndResolvePrincipal(builder, credential, resolver, handler);
+                    AuthenticationCredentialsThreadLocalBinder.bindInProgress(builder.build());
+
+                    final var failures = evaluateAuthenticationPolicies(builder.build(), transaction);
+                    proceedWithNextHandler = !failures.getKey();
+                } catch (final Exception e) {
+                    LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                        + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                        + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                        + "the authentication event.", credential, credential.getClass().getSimpleName());
+
+                    handleAuthenticationException(e, handler.getName(), builder);
+                    proceedWithNextHandler = true;
+                }
+            } else {
+                LOGGER.debug("Authentication handler [{}] does not support the credential type [{}]. Trying next...", handler.getName(), credential);
+            }
+        }
+    }
+
+    /**
+     * Authenticate the credential with all eligible handlers concurrently, if parallel execution is configured
+     * and more than one handler supports the credential. Outcomes are recorded and the authentication policy
+     * is evaluated in the order of the handler set, regardless of the order in which handlers complete;
+     * outstanding handlers are only cancelled once the policy is satisfied by the handlers that precede them,
+     * so the result is always the same as that of {@link #authenticateSequentially}.
+     *
+     * @param builder     the builder
+     * @param credential  the credential
+     * @param handlerSet  the handler set
+     * @param transaction the transaction
+     * @return true if handlers were executed in parallel, false if the caller should execute them sequentially.
+     */
+    protected boolean authenticateInParallel(final AuthenticationBuilder builder, final Credential credential,
+                                             final Set<AuthenticationHandler> handlerSet,
+                                             final AuthenticationTransaction transaction) {
+        if (this.handlerExecutorService == null) {
+            return false;
+        }
+        final var handlers = handlerSet.stream().filter(h -> h.supports(credential)).collect(Collectors.toList());
+        if (handlers.size() < 2) {
+            return false;
+        }
+        final var completionService = new ExecutorCompletionService<HandlerExecutionOutcome>(this.handlerExecutorService);
+        final List<Future<HandlerExecutionOutcome>> futures = new ArrayList<>(handlers.size());
+        final var credentials = transaction.getCredentials();
+        final var requestingThread = Thread.currentThread();
+        try {
+            for (var i = 0; i < handlers.size(); i++) {
+                final var index = i;
+                final var handler = handlers.get(i);
+                futures.add(completionService.submit(() ->
+                    executeAuthenticationHandler(index, handler, credential, credentials, transaction, requestingThread)));
+            }
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Authentication handler executor is saturated; authenticating [{}] sequentially", credential);
+            futures.forEach(f -> f.cancel(true));
+            return false;
+        }
+
+        LOGGER.debug("Attempting authentication of [{}] using [{}] handlers in parallel", credential.getId(), handlers.size());
+        final Map<Integer, HandlerExecutionOutcome> outcomes = new TreeMap<>();
+        final var deadline = System.nanoTime() + this.handlerExecutionTimeout.toNanos();
+        var applied = 0;
+        var satisfied = false;
+        var timedOut = false;
+        try {
+            while (!satisfied && applied < handlers.size()) {
+                final var completed = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    LOGGER.warn("Authentication handlers did not complete within [{}]", this.handlerExecutionTimeout);
+                    timedOut = true;
+                    break;
+                }
+                final var outcome = completed.get();
+                outcomes.put(outcome.getIndex(), outcome);
+                while (!satisfied && outcomes.containsKey(applied)) {
+                    satisfied = applyHandlerExecutionOutcome(outcomes.remove(applied), credential, builder, transaction);
+                    applied++;
+                }
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.warn("Interrupted while waiting for authentication handlers to complete");
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            LOGGER.error(e.getMessage(), e);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+
+        if (!satisfied) {
+            for (var i = applied; i < handlers.size(); i++) {
+                final var outcome = outcomes.get(i);
+                if (outcome != null) {
+                    applyHandlerExecutionOutcome(outcome, credential, builder, transaction);
+                } else if (timedOut) {
+                    handleAuthenticationException(new PreventedException(
+                        new TimeoutException("Authentication handler did not complete within " + this.handlerExecutionTimeout)),
+                        handlers.get(i).getName(), builder);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the outcome of a handler executed in parallel, exactly as if the handler had been executed sequentially.
+     *
+     * @param outcome     the outcome
+     * @param credential  the credential
+     * @param builder     the builder
+     * @param transaction the transaction
+     * @return true if the handler succeeded and the authentication policy is now satisfied
+     */
+    private boolean applyHandlerExecutionOutcome(final HandlerExecutionOutcome outcome, final Credential credential,
+                                                 final AuthenticationBuilder builder,
+                                                 final AuthenticationTransaction transaction) {
+        outcome.applyTo(builder);
+        if (outcome.getError() != null) {
+            LOGGER.error("Authentication has failed. Credentials may be incorrect or CAS cannot "
+                + "find authentication handler that supports [{}] of type [{}]. Examine the configuration to "
+                + "ensure a method of authentication is defined and analyze CAS logs at DEBUG level to trace "
+                + "the authentication event.", credential, credential.getClass().getSimpleName());
+            handleAuthenticationException(outcome.getError(), outcome.getHandler().getName(), builder);
+            return false;
+        }
+        AuthenticationCredentialsThreadLocalBinder.bindInProgress(builder.build());
+        return evaluateAuthenticationPolicies(builder.build(), transaction).getKey();
+    }
+
+    private HandlerExecutionOutcome executeAuthenticationHandler(final int index, final AuthenticationHandler handler,
+                                                                 final Credential credential,
+                                                                 final Collection<Credential> credentials,
+                                                                 final AuthenticationTransaction transaction,
+                                                                 final Thread requestingThread) {
+        final AuthenticationBuilder handlerBuilder = new DefaultAuthenticationBuilder(NullPrincipal.getInstance());
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(credentials);
+        try {
+            final var resolver = getPrincipalResolverLinkedToHandlerIfAny(handler, transaction);
+            LOGGER.debug("Attempting authentication of [{}] using [{}]", credential.getId(), handler.getName());
+            authenticateAndResolvePrincipal(handlerBuilder, credential, resolver, handler);
+            return new HandlerExecutionOutcome(index, handler, handlerBuilder, null);
+        } catch (final Exception e) {
+            return new HandlerExecutionOutcome(index, handler, handlerBuilder, e);
+        } finally {
+            if (Thread.currentThread() != requestingThread) {
+                AuthenticationCredentialsThreadLocalBinder.clear();
+            }
+        }
+    }
+
     /**
      * Evaluate produced authentication context.
      * We apply an implicit security policy of at least one successful authentication.
@@ -449,4 +646,27 @@ public class PolicyBasedAuthenticationManager implements AuthenticationManager {
             builder.addFailure(name, e);
         }
     }
+
+    /**
+     * Outcome of a single authentication handler executed in parallel.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class HandlerExecutionOutcome {
+        private final int index;
+
+        private final AuthenticationHandler handler;
+
+        private final AuthenticationBuilder builder;
+
+        private final Throwable error;
+
+        void applyTo(final AuthenticationBuilder target) {
+            this.builder.getSuccesses().forEach(target::addSuccess);
+            final var principal = this.builder.getPrincipal();
+            if (principal != null && !(principal instanceof NullPrincipal)) {
+                target.setPrincipal(principal);
+            }
+        }
+    }
 }
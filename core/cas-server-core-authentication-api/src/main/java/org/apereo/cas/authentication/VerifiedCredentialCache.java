@@ -0,0 +1,230 @@
+package org.apereo.cas.authentication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.support.events.authentication.CasAuthenticationThrottledEvent;
+import org.apereo.cas.support.events.authentication.CasPasswordChangedEvent;
+import org.apereo.cas.util.RandomUtils;
+import org.springframework.context.event.EventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link VerifiedCredentialCache}. It remembers successful username/password authentication
+ * results for a short period of time, so that clients repeatedly authenticating with the same credential
+ * do not have to go through the (often expensive) authentication handler every time.
+ * <p>
+ * Passwords are never kept in memory. Entries are keyed by a HMAC of the handler name, username
+ * and password computed with a random key that is generated when the cache is created
+ * and never leaves the process. Only handlers that explicitly opt in are cached, and
+ * failed attempts are never cached.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class VerifiedCredentialCache {
+    /**
+     * Metric counting authentication attempts served from the cache.
+     */
+    public static final String METRIC_HITS = "cas.authn.credential.cache.hits";
+
+    /**
+     * Metric counting authentication attempts that had to invoke the authentication handler.
+     */
+    public static final String METRIC_MISSES = "cas.authn.credential.cache.misses";
+
+    /**
+     * Metric recording the handler time that was saved by serving attempts from the cache.
+     */
+    public static final String METRIC_SAVED = "cas.authn.credential.cache.saved";
+
+    /**
+     * Metric reporting the ratio of cache hits to all cacheable attempts.
+     */
+    public static final String METRIC_HIT_RATIO = "cas.authn.credential.cache.hit.ratio";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int KEY_LENGTH = 32;
+
+    private final Set<String> handlerNames;
+
+    private final Cache<String, VerifiedCredential> cache;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Timer saved;
+
+    private final ThreadLocal<Mac> mac;
+
+    public VerifiedCredentialCache(final Collection<String> handlerNames, final Duration timeToLive,
+                                   final long maximumSize, final MeterRegistry meterRegistry) {
+        this.handlerNames = new LinkedHashSet<>(handlerNames);
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive.toMillis(), TimeUnit.MILLISECONDS)
+            .maximumSize(maximumSize)
+            .build();
+        this.hits = meterRegistry.counter(METRIC_HITS);
+        this.misses = meterRegistry.counter(METRIC_MISSES);
+        this.saved = meterRegistry.timer(METRIC_SAVED);
+        meterRegistry.gauge(METRIC_HIT_RATIO, this, VerifiedCredentialCache::getHitRatio);
+
+        final var key = new byte[KEY_LENGTH];
+        RandomUtils.getNativeInstance().nextBytes(key);
+        final var secretKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> newMac(secretKey));
+    }
+
+    /**
+     * Whether results of the given handler for the given credential may be cached.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @return true if the cache applies
+     */
+    public boolean supports(final AuthenticationHandler handler, final Credential credential) {
+        return credential instanceof UsernamePasswordCredential && this.handlerNames.contains(handler.getName());
+    }
+
+    /**
+     * Authenticate the credential with the handler, unless the same credential was verified by it recently.
+     * Failures are propagated to the caller and evict all cached entries for the username.
+     *
+     * @param handler    the handler
+     * @param credential the credential
+     * @return the authentication handler execution result
+     * @throws GeneralSecurityException the general security exception
+     * @throws PreventedException       the prevented exception
+     */
+    public AuthenticationHandlerExecutionResult authenticate(final AuthenticationHandler handler, final Credential credential)
+        throws GeneralSecurityException, PreventedException {
+        final var upc = (UsernamePasswordCredential) credential;
+        final var key = getCacheKey(handler, upc);
+        final var verified = this.cache.getIfPresent(key);
+        if (verified != null) {
+            LOGGER.debug("Credential [{}] was recently verified by [{}]; using cached result", upc.getUsername(), handler.getName());
+            this.hits.increment();
+            this.saved.record(verified.getCostInNanos(), TimeUnit.NANOSECONDS);
+            return verified.getResult();
+        }
+        this.misses.increment();
+        final var start = System.nanoTime();
+        try {
+            final var result = handler.authenticate(credential);
+            final var cost = System.nanoTime() - start;
+            final var principalId = result.getPrincipal() != null ? result.getPrincipal().getId() : null;
+            this.cache.put(key, new VerifiedCredential(upc.getUsername(), principalId, result, cost));
+            return result;
+        } catch (final GeneralSecurityException | PreventedException e) {
+            invalidate(upc.getUsername());
+            throw e;
+        }
+    }
+
+    /**
+     * Evict all verified credentials that belong to the given user.
+     *
+     * @param username the username or principal id
+     */
+    public void invalidate(final String username) {
+        if (StringUtils.isBlank(username)) {
+            return;
+        }
+        final var removed = this.cache.asMap().values().removeIf(v -> v.belongsTo(username));
+        if (removed) {
+            LOGGER.debug("Removed verified credentials cached for [{}]", username);
+        }
+    }
+
+    /**
+     * Evict everything.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Evict cached credentials of a user whose password has changed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handlePasswordChangedEvent(final CasPasswordChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    /**
+     * Evict cached credentials of a user whose authentication attempts are locked out.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleAuthenticationThrottledEvent(final CasAuthenticationThrottledEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    /**
+     * Ratio of cache hits to all cacheable authentication attempts.
+     *
+     * @return the hit ratio, or zero if nothing was attempted yet
+     */
+    public double getHitRatio() {
+        final var total = this.hits.count() + this.misses.count();
+        return total == 0 ? 0 : this.hits.count() / total;
+    }
+
+    private String getCacheKey(final AuthenticationHandler handler, final UsernamePasswordCredential credential) {
+        final var mac = this.mac.get();
+        mac.update(handler.getName().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(StringUtils.defaultString(credential.getUsername()).getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(StringUtils.defaultString(credential.getPassword()).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @SneakyThrows
+    private static Mac newMac(final SecretKeySpec secretKey) {
+        final var mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(secretKey);
+        return mac;
+    }
+
+    /**
+     * Successful authentication result of a credential.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class VerifiedCredential {
+        private final String username;
+
+        private final String principalId;
+
+        private final AuthenticationHandlerExecutionResult result;
+
+        private final long costInNanos;
+
+        boolean belongsTo(final String user) {
+            return StringUtils.equalsIgnoreCase(user, this.username) || StringUtils.equalsIgnoreCase(user, this.principalId);
+        }
+    }
+}
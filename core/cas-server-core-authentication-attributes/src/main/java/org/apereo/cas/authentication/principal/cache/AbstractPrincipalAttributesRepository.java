@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication.principal.cache;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -21,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import lombok.Setter;
 
@@ -50,6 +53,17 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
 
     private static final long serialVersionUID = 6350245643948535906L;
 
+    private static final String ATTRIBUTE_REPOSITORY_BEAN_NAME = "attributeRepository";
+
+    /**
+     * Identifiers assigned to attribute repository instances, which are compared by identity and only
+     * weakly referenced so that discarded repositories do not linger. Unlike identity hash codes,
+     * identifiers are never shared by two repositories.
+     */
+    private static final Cache<IPersonAttributeDao, String> ATTRIBUTE_REPOSITORY_IDS = Caffeine.newBuilder().weakKeys().build();
+
+    private static final AtomicLong ATTRIBUTE_REPOSITORY_SEQUENCE = new AtomicLong();
+
     /**
      * The expiration time.
      */
@@ -245,12 +259,26 @@ public abstract class AbstractPrincipalAttributesRepository implements Principal
      */
     protected abstract Map<String, Object> getPrincipalAttributes(Principal p);
 
+    /**
+     * Identify the attribute repository that attributes are fetched from, which is either
+     * the repository assigned to this instance or the application-wide attribute repository.
+     *
+     * @return the attribute repository id
+     */
+    protected String getAttributeRepositoryId() {
+        if (this.attributeRepository == null) {
+            return ATTRIBUTE_REPOSITORY_BEAN_NAME;
+        }
+        return ATTRIBUTE_REPOSITORY_IDS.get(this.attributeRepository,
+            repository -> repository.getClass().getName() + '#' + ATTRIBUTE_REPOSITORY_SEQUENCE.incrementAndGet());
+    }
+
     private IPersonAttributeDao getAttributeRepository() {
         try {
             if (this.attributeRepository == null) {
                 final var context = ApplicationContextProvider.getApplicationContext();
                 if (context != null) {
-                    return context.getBean("attributeRepository", IPersonAttributeDao.class);
+                    return context.getBean(ATTRIBUTE_REPOSITORY_BEAN_NAME, IPersonAttributeDao.class);
                 }
                 LOGGER.warn("No application context could be retrieved, so no attribute repository instance can be determined.");
             }
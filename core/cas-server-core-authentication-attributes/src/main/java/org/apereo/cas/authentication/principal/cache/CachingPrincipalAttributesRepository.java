@@ -2,36 +2,51 @@ package org.apereo.cas.authentication.principal.cache;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
 import org.springframework.data.annotation.Transient;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper around an attribute repository where attributes cached for a configurable period
- * based on google guava's caching library.
+ * based on google guava's caching library. If an application-wide {@link PrincipalAttributesCache}
+ * is available, attributes are kept there and shared with other repositories; otherwise,
+ * each repository instance keeps its own cache.
  *
  * @author Misagh Moayyed
  * @since 4.2
  */
 @Slf4j
 public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttributesRepository {
+    /**
+     * Name of the bean holding the application-wide attribute cache, if any.
+     */
+    public static final String SHARED_CACHE_BEAN_NAME = "principalAttributesCache";
+
     private static final long serialVersionUID = 6350244643948535906L;
     private static final long DEFAULT_MAXIMUM_CACHE_SIZE = 1000;
 
     @JsonIgnore
     @Transient
-    private final transient Cache<String, Map<String, Object>> cache;
+    private transient volatile Cache<String, Map<String, Object>> cache;
+
+    @JsonIgnore
+    @Transient
+    @Setter
+    private transient volatile PrincipalAttributesCache sharedCache;
 
     @JsonIgnore
     @Transient
-    private final transient PrincipalAttributesCacheLoader cacheLoader = new PrincipalAttributesCacheLoader();
+    private transient volatile boolean sharedCacheResolved;
 
     private long maxCacheSize = DEFAULT_MAXIMUM_CACHE_SIZE;
 
@@ -39,10 +54,6 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
      * Used for serialization only.
      */
     private CachingPrincipalAttributesRepository() {
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(this.maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
     }
 
     /**
@@ -68,22 +79,32 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
                                                 final long expiryDuration) {
         super(expiryDuration, timeUnit);
         this.maxCacheSize = maxCacheSize;
-        this.cache = Caffeine.newBuilder()
-            .maximumSize(maxCacheSize)
-            .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
-            .build(this.cacheLoader);
     }
 
     @Override
     protected void addPrincipalAttributes(final String id, final Map<String, Object> attributes) {
-        this.cache.put(id, attributes);
+        final var shared = getSharedCache();
+        if (shared != null) {
+            shared.put(getSharedCacheKey(), id, attributes, getExpirationDuration());
+        } else {
+            getCache().put(id, attributes);
+        }
         LOGGER.debug("Cached attributes for [{}]", id);
     }
 
     @Override
     protected Map<String, Object> getPrincipalAttributes(final Principal p) {
         try {
-            return this.cache.get(p.getId(), s -> {
+            final var shared = getSharedCache();
+            if (shared != null) {
+                final var attributes = shared.get(getSharedCacheKey(), p.getId());
+                if (attributes == null) {
+                    LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
+                    return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                }
+                return attributes;
+            }
+            return getCache().get(p.getId(), s -> {
                 LOGGER.debug("No cached attributes could be found for [{}]", p.getId());
                 return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
             });
@@ -93,15 +114,65 @@ public class CachingPrincipalAttributesRepository extends AbstractPrincipalAttri
         return new HashMap<>(0);
     }
 
+    @Override
+    protected Map<String, List<Object>> retrievePersonAttributesToPrincipalAttributes(final String id) {
+        final var shared = getSharedCache();
+        if (shared != null) {
+            return shared.fetch(() -> super.retrievePersonAttributesToPrincipalAttributes(id));
+        }
+        return super.retrievePersonAttributesToPrincipalAttributes(id);
+    }
+
     @Override
     public void close() {
-        this.cache.cleanUp();
+        if (this.cache != null) {
+            this.cache.cleanUp();
+        }
     }
 
-    private static class PrincipalAttributesCacheLoader implements CacheLoader<String, Map<String, Object>> {
-        @Override
-        public Map<String, Object> load(final String key) {
-            return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    /**
+     * Key that identifies attributes produced by this repository configuration in the shared cache.
+     * Repositories that fetch from the same attribute repository, merge attributes the same way and
+     * expire them after the same duration share their cached entries.
+     *
+     * @return the key
+     */
+    protected String getSharedCacheKey() {
+        return getClass().getName() + ':' + getMergingStrategy() + ':' + getAttributeRepositoryId() + ':' + getExpirationDuration();
+    }
+
+    private Duration getExpirationDuration() {
+        return Duration.ofNanos(TimeUnit.valueOf(getTimeUnit()).toNanos(getExpiration()));
+    }
+
+    private Cache<String, Map<String, Object>> getCache() {
+        if (this.cache == null) {
+            synchronized (this) {
+                if (this.cache == null) {
+                    this.cache = Caffeine.newBuilder()
+                        .maximumSize(this.maxCacheSize)
+                        .expireAfterWrite(getExpiration(), TimeUnit.valueOf(getTimeUnit()))
+                        .build();
+                }
+            }
+        }
+        return this.cache;
+    }
+
+    /**
+     * Look up the application-wide cache once the application context is available,
+     * unless a cache is assigned explicitly.
+     */
+    private PrincipalAttributesCache getSharedCache() {
+        if (this.sharedCache == null && !this.sharedCacheResolved) {
+            final var context = ApplicationContextProvider.getApplicationContext();
+            if (context != null) {
+                if (context.containsBean(SHARED_CACHE_BEAN_NAME)) {
+                    this.sharedCache = context.getBean(SHARED_CACHE_BEAN_NAME, PrincipalAttributesCache.class);
+                }
+                this.sharedCacheResolved = true;
+            }
         }
+        return this.sharedCache;
     }
 }
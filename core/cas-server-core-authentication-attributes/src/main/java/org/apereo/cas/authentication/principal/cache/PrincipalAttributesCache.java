@@ -0,0 +1,249 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.support.events.authentication.CasPrincipalAttributesChangedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link PrincipalAttributesCache}. It is an application-wide cache of principal attributes
+ * shared by all caching attribute repositories, so that attributes of a principal are fetched and kept once,
+ * regardless of how many registered services release them.
+ * <p>
+ * Entries are keyed by the principal id and the configuration of the repository that produced them,
+ * including its expiration, so that every key is always cached with the same expiration.
+ * The cache is bounded either by the number of entries or by an estimate of the memory held by cached attributes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class PrincipalAttributesCache {
+    /**
+     * Metric counting attribute lookups served from the cache.
+     */
+    public static final String METRIC_HITS = "cas.principal.attributes.cache.hits";
+
+    /**
+     * Metric counting attribute lookups that were not found in the cache.
+     */
+    public static final String METRIC_MISSES = "cas.principal.attributes.cache.misses";
+
+    /**
+     * Metric reporting the ratio of cache hits to all lookups.
+     */
+    public static final String METRIC_HIT_RATIO = "cas.principal.attributes.cache.hit.ratio";
+
+    /**
+     * Metric recording the time spent fetching attributes from attribute sources.
+     */
+    public static final String METRIC_SOURCE_LATENCY = "cas.principal.attributes.source";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private static final int ATTRIBUTE_OVERHEAD_BYTES = 32;
+
+    private final Cache<CacheKey, CachedAttributes> cache;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Timer sourceLatency;
+
+    /**
+     * Instantiates a new shared principal attributes cache.
+     *
+     * @param maximumSize   the maximum number of cached principals, used when no byte bound is defined
+     * @param maximumBytes  the estimated maximum number of bytes held by cached attributes; ignored if not positive
+     * @param meterRegistry the meter registry
+     */
+    public PrincipalAttributesCache(final long maximumSize, final long maximumBytes, final MeterRegistry meterRegistry) {
+        final var builder = Caffeine.newBuilder().expireAfter(new CachedAttributesExpiry());
+        if (maximumBytes > 0) {
+            builder.maximumWeight(maximumBytes).weigher((CacheKey key, CachedAttributes value) -> value.getWeight());
+        } else {
+            builder.maximumSize(maximumSize);
+        }
+        this.cache = builder.build();
+        this.hits = meterRegistry.counter(METRIC_HITS);
+        this.misses = meterRegistry.counter(METRIC_MISSES);
+        this.sourceLatency = meterRegistry.timer(METRIC_SOURCE_LATENCY);
+        meterRegistry.gauge(METRIC_HIT_RATIO, this, PrincipalAttributesCache::getHitRatio);
+    }
+
+    /**
+     * Gets attributes cached for the principal.
+     *
+     * @param repositoryKey the key describing the repository configuration
+     * @param principalId   the principal id
+     * @return the attributes, or null if none are cached or they have expired
+     */
+    public Map<String, Object> get(final String repositoryKey, final String principalId) {
+        final var cached = this.cache.getIfPresent(new CacheKey(repositoryKey, principalId));
+        if (cached == null) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return cached.getAttributes();
+    }
+
+    /**
+     * Cache attributes of the principal.
+     *
+     * @param repositoryKey the key describing the repository configuration
+     * @param principalId   the principal id
+     * @param attributes    the attributes
+     * @param expiration    the expiration of the repository that produced the attributes, described by the repository key
+     */
+    public void put(final String repositoryKey, final String principalId, final Map<String, Object> attributes,
+                    final Duration expiration) {
+        this.cache.put(new CacheKey(repositoryKey, principalId), new CachedAttributes(attributes, expiration,
+            estimateWeight(repositoryKey, principalId, attributes)));
+        LOGGER.debug("Cached [{}] attributes for [{}]", attributes.size(), principalId);
+    }
+
+    /**
+     * Fetch attributes from an attribute source, recording the time it took.
+     *
+     * @param <T>    the type parameter
+     * @param source the source
+     * @return the attributes
+     */
+    public <T> T fetch(final Supplier<T> source) {
+        return this.sourceLatency.record(source);
+    }
+
+    /**
+     * Evict attributes cached for the principal by all repositories.
+     *
+     * @param principalId the principal id
+     */
+    public void invalidate(final String principalId) {
+        this.cache.asMap().keySet().removeIf(key -> StringUtils.equals(key.getPrincipalId(), principalId));
+        LOGGER.debug("Removed attributes cached for [{}]", principalId);
+    }
+
+    /**
+     * Evict everything.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Evict attributes of principals whose attributes are signaled to have changed.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handlePrincipalAttributesChangedEvent(final CasPrincipalAttributesChangedEvent event) {
+        if (StringUtils.isBlank(event.getPrincipalId())) {
+            invalidateAll();
+        } else {
+            invalidate(event.getPrincipalId());
+        }
+    }
+
+    /**
+     * Ratio of cache hits to all lookups.
+     *
+     * @return the hit ratio, or zero if nothing was looked up yet
+     */
+    public double getHitRatio() {
+        final var total = this.hits.count() + this.misses.count();
+        return total == 0 ? 0 : this.hits.count() / total;
+    }
+
+    /**
+     * Approximate number of cached entries.
+     *
+     * @return the size
+     */
+    public long size() {
+        this.cache.cleanUp();
+        return this.cache.estimatedSize();
+    }
+
+    private static int estimateWeight(final String repositoryKey, final String principalId, final Map<String, Object> attributes) {
+        var weight = (long) ENTRY_OVERHEAD_BYTES + sizeOf(repositoryKey) + sizeOf(principalId);
+        for (final var entry : attributes.entrySet()) {
+            weight += ATTRIBUTE_OVERHEAD_BYTES + sizeOf(entry.getKey());
+            final var value = entry.getValue();
+            if (value instanceof Collection) {
+                for (final var item : (Collection<?>) value) {
+                    weight += ATTRIBUTE_OVERHEAD_BYTES + sizeOf(item);
+                }
+            } else {
+                weight += sizeOf(value);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long sizeOf(final Object value) {
+        return value == null ? 0 : 2L * value.toString().length();
+    }
+
+    /**
+     * Key of a cached entry.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class CacheKey {
+        private final String repositoryKey;
+
+        private final String principalId;
+    }
+
+    /**
+     * Attributes cached for a principal.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedAttributes {
+        private final Map<String, Object> attributes;
+
+        private final Duration expiration;
+
+        private final int weight;
+    }
+
+    /**
+     * Expires entries according to the expiration of the repository configuration that cached them.
+     */
+    private static class CachedAttributesExpiry implements Expiry<CacheKey, CachedAttributes> {
+        @Override
+        public long expireAfterCreate(final CacheKey key, final CachedAttributes value, final long currentTime) {
+            return value.getExpiration().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final CacheKey key, final CachedAttributes value, final long currentTime,
+                                      final long currentDuration) {
+            return value.getExpiration().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(final CacheKey key, final CachedAttributes value, final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
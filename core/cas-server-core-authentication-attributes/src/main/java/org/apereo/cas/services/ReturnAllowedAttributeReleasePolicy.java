@@ -1,6 +1,7 @@
 package org.apereo.cas.services;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.principal.Principal;
 
+import javax.persistence.Transient;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,18 +25,27 @@ import java.util.TreeMap;
  * @since 4.1.0
  */
 @Slf4j
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = "releasePlan")
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
-@AllArgsConstructor
 public class ReturnAllowedAttributeReleasePolicy extends AbstractRegisteredServiceAttributeReleasePolicy {
 
     private static final long serialVersionUID = -5771481877391140569L;
 
     private List<String> allowedAttributes = new ArrayList<>();
 
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile AllowedAttributesReleasePlan releasePlan;
+
+    public ReturnAllowedAttributeReleasePolicy(final List<String> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+    }
+
     @Override
     public Map<String, Object> getAttributesInternal(final Principal principal, final Map<String, Object> attrs, final RegisteredService service) {
         return authorizeReleaseOfAllowedAttributes(attrs);
@@ -47,18 +58,64 @@ public class ReturnAllowedAttributeReleasePolicy extends AbstractRegisteredServi
      * @return the map
      */
     protected Map<String, Object> authorizeReleaseOfAllowedAttributes(final Map<String, Object> attrs) {
-        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
+        final var plan = buildReleasePlanIfNeeded();
         final Map<String, Object> attributesToRelease = new HashMap<>();
-        getAllowedAttributes()
-            .stream()
-            .map(attr -> new Object[]{attr, resolvedAttributes.get(attr)})
-            .filter(pair -> pair[1] != null)
-            .forEach(attribute -> {
-                LOGGER.debug("Found attribute [{}] in the list of allowed attributes", attribute[0]);
-                attributesToRelease.put((String) attribute[0], attribute[1]);
-            });
+        attrs.forEach((name, value) -> {
+            final var allowedNames = plan.getAllowedNames(name);
+            if (allowedNames != null) {
+                for (final var allowedName : allowedNames) {
+                    if (value == null) {
+                        attributesToRelease.remove(allowedName);
+                    } else {
+                        LOGGER.debug("Found attribute [{}] in the list of allowed attributes", allowedName);
+                        attributesToRelease.put(allowedName, value);
+                    }
+                }
+            }
+        });
         return attributesToRelease;
     }
 
+    /**
+     * Compile the list of allowed attributes into a release plan,
+     * unless the list has not changed since the plan was last compiled.
+     *
+     * @return the release plan
+     */
+    private AllowedAttributesReleasePlan buildReleasePlanIfNeeded() {
+        final var allowed = getAllowedAttributes();
+        var plan = this.releasePlan;
+        if (plan == null || !plan.isCompiledFrom(allowed)) {
+            LOGGER.trace("Compiling attribute release plan for allowed attributes [{}]", allowed);
+            plan = new AllowedAttributesReleasePlan(allowed);
+            this.releasePlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Immutable view of the allowed attributes, indexed by attribute name regardless of case,
+     * so that attributes can be released in a single pass over the principal attributes.
+     */
+    private static class AllowedAttributesReleasePlan {
+        private final List<String> definition;
+
+        private final Map<String, List<String>> allowedNames;
+
+        AllowedAttributesReleasePlan(final List<String> allowedAttributes) {
+            this.definition = List.copyOf(allowedAttributes);
+            final Map<String, List<String>> names = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            this.definition.forEach(name -> names.computeIfAbsent(name, k -> new ArrayList<>(1)).add(name));
+            names.replaceAll((name, allowed) -> List.copyOf(allowed));
+            this.allowedNames = names;
+        }
+
+        boolean isCompiledFrom(final List<String> allowedAttributes) {
+            return this.definition.equals(allowedAttributes);
+        }
+
+        List<String> getAllowedNames(final String attributeName) {
+            return this.allowedNames.get(attributeName);
+        }
+    }
 }
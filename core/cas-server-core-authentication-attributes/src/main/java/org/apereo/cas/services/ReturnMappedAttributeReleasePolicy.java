@@ -1,36 +1,42 @@
 package org.apereo.cas.services;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.util.CollectionUtils;
-import org.apereo.cas.util.ScriptingUtils;
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import org.apereo.cas.util.scripting.GroovyShellScript;
+
+import javax.persistence.Transient;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.regex.Matcher;
-import lombok.Setter;
 
 /**
  * Return a collection of allowed attributes for the principal, but additionally,
  * offers the ability to rename attributes on a per-service level.
+ * <p>
+ * Mapping expressions are compiled once into an immutable release plan, which is applied
+ * to the attributes of each principal and is discarded when allowed attributes change.
+ * The plan is published through a volatile field, so concurrent requests either see
+ * the complete plan or compile their own.
  *
  * @author Misagh Moayyed
  * @since 4.1.0
  */
 @Slf4j
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = "releasePlan")
 @Setter
 @EqualsAndHashCode(callSuper = true)
-@AllArgsConstructor
 @NoArgsConstructor
 public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServiceAttributeReleasePolicy {
 
@@ -38,6 +44,15 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
 
     private Map<String, Object> allowedAttributes = new TreeMap<>();
 
+    @JsonIgnore
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private transient volatile List<AttributeMapping> releasePlan;
+
+    public ReturnMappedAttributeReleasePolicy(final Map<String, Object> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+    }
+
     /**
      * Gets the allowed attributes.
      *
@@ -47,79 +62,94 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
         return new TreeMap<>(this.allowedAttributes);
     }
 
+    /**
+     * Sets the allowed attributes and discards the compiled release plan.
+     *
+     * @param allowedAttributes the allowed attributes
+     */
+    public void setAllowedAttributes(final Map<String, Object> allowedAttributes) {
+        this.allowedAttributes = allowedAttributes;
+        this.releasePlan = null;
+    }
+
     @Override
     public Map<String, Object> getAttributesInternal(final Principal principal, final Map<String, Object> attrs, final RegisteredService service) {
-        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        resolvedAttributes.putAll(attrs);
+        final var plan = buildReleasePlanIfNeeded();
         final Map<String, Object> attributesToRelease = new HashMap<>();
-        /*
-         * Map each entry in the allowed list into an array first
-         * by the original key, value and the original entry itself.
-         * Then process the array to populate the map for allowed attributes
-         */
-        this.allowedAttributes.entrySet().forEach(entry -> {
-            final var attributeName = entry.getKey();
-            final Collection mappedAttributes = CollectionUtils.wrap(entry.getValue());
-            LOGGER.debug("Attempting to map allowed attribute name [{}]", attributeName);
-            final var attributeValue = resolvedAttributes.get(attributeName);
-            mappedAttributes.forEach(mapped -> {
-                final var mappedAttributeName = mapped.toString();
-                LOGGER.debug("Mapping attribute [{}] to [{}] with value [{}]", attributeName, mappedAttributeName, attributeValue);
-                mapSingleAttributeDefinition(attributeName, mappedAttributeName, attributeValue, resolvedAttributes, attributesToRelease);
-            });
-        });
+        Map<String, Object> resolvedAttributes = null;
+        for (final var mapping : plan) {
+            final var attributeName = mapping.getAttributeName();
+            final var mappedAttributeName = mapping.getMappedAttributeName();
+            if (mapping.getScript() != null) {
+                if (resolvedAttributes == null) {
+                    resolvedAttributes = toCaseInsensitiveMap(attrs);
+                }
+                LOGGER.debug("Mapped attribute [{}] is a groovy script", mappedAttributeName);
+                processGroovyAttribute(resolvedAttributes, attributesToRelease, mapping.getScript(), attributeName);
+            } else {
+                var attributeValue = attrs.get(attributeName);
+                if (attributeValue == null) {
+                    if (resolvedAttributes == null) {
+                        resolvedAttributes = toCaseInsensitiveMap(attrs);
+                    }
+                    attributeValue = resolvedAttributes.get(attributeName);
+                }
+                mapSingleAttributeDefinition(attributeName, mappedAttributeName, attributeValue, attributesToRelease);
+            }
+        }
         return attributesToRelease;
     }
 
-    private static void mapSingleAttributeDefinition(final String attributeName, final String mappedAttributeName,
-                                                     final Object attributeValue, final Map<String, Object> resolvedAttributes,
-                                                     final Map<String, Object> attributesToRelease) {
-        final var matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(mappedAttributeName);
-        final var matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(mappedAttributeName);
-        if (matcherInline.find()) {
-            LOGGER.debug("Mapped attribute [{}] is an inlined groovy script", mappedAttributeName);
-            processInlineGroovyAttribute(resolvedAttributes, attributesToRelease, matcherInline, attributeName);
-        } else if (matcherFile.find()) {
-            LOGGER.debug("Mapped attribute [{}] is an external groovy script", mappedAttributeName);
-            processFileBasedGroovyAttributes(resolvedAttributes, attributesToRelease, matcherFile, attributeName);
-        } else {
-            if (attributeValue != null) {
-                LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]",
-                    attributeName, mappedAttributeName);
-                attributesToRelease.put(mappedAttributeName, attributeValue);
-            } else {
-                LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] in the allowed attributes list. "
-                    + "Ensure the original attribute [{}] is retrieved and contains at least a single value. Attribute [{}] "
-                    + "will and can not be released without the presence of a value.", mappedAttributeName, attributeName,
-                    attributeName, mappedAttributeName);
-            }
+    /**
+     * Compile the allowed attributes into a list of attribute mappings, where mapping expressions
+     * are parsed and groovy scripts are compiled once, unless the plan is already compiled.
+     *
+     * @return the release plan
+     */
+    private List<AttributeMapping> buildReleasePlanIfNeeded() {
+        var plan = this.releasePlan;
+        if (plan == null) {
+            final List<AttributeMapping> mappings = new ArrayList<>();
+            this.allowedAttributes.forEach((attributeName, value) -> {
+                final Collection<Object> mappedAttributes = CollectionUtils.wrap(value);
+                mappedAttributes.forEach(mapped -> {
+                    final var mappedAttributeName = mapped.toString();
+                    LOGGER.debug("Compiling mapping of allowed attribute [{}] to [{}]", attributeName, mappedAttributeName);
+                    mappings.add(new AttributeMapping(attributeName, mappedAttributeName, GroovyShellScript.of(mappedAttributeName)));
+                });
+            });
+            plan = List.copyOf(mappings);
+            this.releasePlan = plan;
         }
+        return plan;
     }
 
-    private static void processFileBasedGroovyAttributes(final Map<String, Object> resolvedAttributes,
-                                                         final Map<String, Object> attributesToRelease,
-                                                         final Matcher matcherFile, final String key) {
-        try {
-            LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", key);
-            final var file = new File(matcherFile.group(2));
-            final var script = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
-            final var result = getGroovyAttributeValue(script, resolvedAttributes);
-            if (result != null) {
-                LOGGER.debug("Mapped attribute [{}] to [{}] from script", key, result);
-                attributesToRelease.put(key, result);
-            } else {
-                LOGGER.warn("Groovy-scripted attribute returned no value for [{}]", key);
-            }
-        } catch (final IOException e) {
-            LOGGER.error(e.getMessage(), e);
+    private static Map<String, Object> toCaseInsensitiveMap(final Map<String, Object> attrs) {
+        final Map<String, Object> resolvedAttributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        resolvedAttributes.putAll(attrs);
+        return resolvedAttributes;
+    }
+
+    private static void mapSingleAttributeDefinition(final String attributeName, final String mappedAttributeName,
+                                                     final Object attributeValue, final Map<String, Object> attributesToRelease) {
+        if (attributeValue != null) {
+            LOGGER.debug("Found attribute [{}] in the list of allowed attributes, mapped to the name [{}]",
+                attributeName, mappedAttributeName);
+            attributesToRelease.put(mappedAttributeName, attributeValue);
+        } else {
+            LOGGER.warn("Could not find value for mapped attribute [{}] that is based off of [{}] in the allowed attributes list. "
+                + "Ensure the original attribute [{}] is retrieved and contains at least a single value. Attribute [{}] "
+                + "will and can not be released without the presence of a value.", mappedAttributeName, attributeName,
+                attributeName, mappedAttributeName);
         }
     }
 
-    private static void processInlineGroovyAttribute(final Map<String, Object> resolvedAttributes,
-                                                     final Map<String, Object> attributesToRelease,
-                                                     final Matcher matcherInline, final String attributeName) {
-        LOGGER.debug("Found inline groovy script to execute for attribute mapping [{}]", attributeName);
-        final var result = getGroovyAttributeValue(matcherInline.group(1), resolvedAttributes);
+    private static void processGroovyAttribute(final Map<String, Object> resolvedAttributes,
+                                               final Map<String, Object> attributesToRelease,
+                                               final GroovyShellScript script, final String attributeName) {
+        LOGGER.debug("Found groovy script to execute for attribute mapping [{}]", attributeName);
+        final var args = CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER);
+        final var result = script.execute(args, Object.class);
         if (result != null) {
             LOGGER.debug("Mapped attribute [{}] to [{}] from script", attributeName, result);
             attributesToRelease.put(attributeName, result);
@@ -128,9 +158,17 @@ public class ReturnMappedAttributeReleasePolicy extends AbstractRegisteredServic
         }
     }
 
-    private static Object getGroovyAttributeValue(final String groovyScript, final Map<String, Object> resolvedAttributes) {
-        final var args = CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER);
-        return ScriptingUtils.executeGroovyShellScript(groovyScript, args, Object.class);
-    }
+    /**
+     * A single compiled mapping of an allowed attribute,
+     * either to a new attribute name or to a groovy script.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class AttributeMapping {
+        private final String attributeName;
 
+        private final String mappedAttributeName;
+
+        private final GroovyShellScript script;
+    }
 }
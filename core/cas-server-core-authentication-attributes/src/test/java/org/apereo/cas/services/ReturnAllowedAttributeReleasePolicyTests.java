@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
+import org.apereo.cas.CoreAttributesTestUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -10,9 +11,12 @@ import org.junit.runners.JUnit4;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Misagh Moayyed
@@ -34,4 +38,26 @@ public class ReturnAllowedAttributeReleasePolicyTests {
         final RegisteredServiceAttributeReleasePolicy policyRead = MAPPER.readValue(JSON_FILE, ReturnAllowedAttributeReleasePolicy.class);
         assertEquals(policyWritten, policyRead);
     }
+
+    @Test
+    public void verifyAllowedAttributesIgnoreCaseAndFollowChanges() {
+        final List<String> allowedAttributes = new ArrayList<>();
+        allowedAttributes.add("CN");
+        final var policy = new ReturnAllowedAttributeReleasePolicy(allowedAttributes);
+        final var registeredService = CoreAttributesTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+        final Map<String, Object> principalAttributes = new HashMap<>();
+        principalAttributes.put("cn", "casuser");
+        principalAttributes.put("mail", "casuser@example.org");
+        final var principal = CoreAttributesTestUtils.getPrincipal(CoreAttributesTestUtils.CONST_USERNAME, principalAttributes);
+
+        var result = policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService);
+        assertEquals(1, result.size());
+        assertEquals("casuser", result.get("CN"));
+
+        policy.getAllowedAttributes().add("mail");
+        result = policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService);
+        assertEquals(2, result.size());
+        assertEquals("casuser@example.org", result.get("mail"));
+    }
 }
@@ -130,4 +130,43 @@ public class ReturnMappedAttributeReleasePolicyTests {
         assertTrue(result.containsKey(mappedAttribute));
         assertEquals("user@example.org", result.get(mappedAttribute));
     }
+
+    @Test
+    public void verifyExternalGroovyScriptIsCompiledAgainWhenModified() throws Exception {
+        final var file = File.createTempFile("mapped", ".groovy");
+        FileUtils.write(file, "return 'first'", StandardCharsets.UTF_8);
+        final Multimap<String, Object> allowedAttributes = ArrayListMultimap.create();
+        allowedAttributes.put("attr1", "file:" + file.getCanonicalPath());
+        final var policy = new ReturnMappedAttributeReleasePolicy(CollectionUtils.wrap(allowedAttributes));
+        final var registeredService = CoreAttributesTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+        final Map<String, Object> principalAttributes = new HashMap<>();
+        principalAttributes.put("uid", CoreAttributesTestUtils.CONST_USERNAME);
+        final var principal = CoreAttributesTestUtils.getPrincipal(CoreAttributesTestUtils.CONST_USERNAME, principalAttributes);
+
+        assertEquals("first", policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService).get("attr1"));
+        assertEquals("first", policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService).get("attr1"));
+
+        FileUtils.write(file, "return 'second'", StandardCharsets.UTF_8);
+        assertTrue(file.setLastModified(file.lastModified() + 10_000));
+        assertEquals("second", policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService).get("attr1"));
+    }
+
+    @Test
+    public void verifyMappingFollowsAllowedAttributeChanges() {
+        final var policy = new ReturnMappedAttributeReleasePolicy(CollectionUtils.wrap("uid", "userId"));
+        final var registeredService = CoreAttributesTestUtils.getRegisteredService();
+        when(registeredService.getAttributeReleasePolicy()).thenReturn(policy);
+        final Map<String, Object> principalAttributes = new HashMap<>();
+        principalAttributes.put("UID", CoreAttributesTestUtils.CONST_USERNAME);
+        final var principal = CoreAttributesTestUtils.getPrincipal(CoreAttributesTestUtils.CONST_USERNAME, principalAttributes);
+
+        var result = policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService);
+        assertEquals(CoreAttributesTestUtils.CONST_USERNAME, result.get("userId"));
+
+        policy.setAllowedAttributes(CollectionUtils.wrap("uid", "username"));
+        result = policy.getAttributes(principal, CoreAttributesTestUtils.getService(), registeredService);
+        assertFalse(result.containsKey("userId"));
+        assertEquals(CoreAttributesTestUtils.CONST_USERNAME, result.get("username"));
+    }
 }
@@ -0,0 +1,57 @@
+package org.apereo.cas.authentication;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.events.config.CasConfigurationModifiedEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderCatalogEventListener}, which builds the catalog
+ * of multifactor authentication providers once the application context is refreshed, and
+ * builds it again when the CAS configuration changes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MultifactorAuthenticationProviderCatalogEventListener {
+    private final ApplicationContext applicationContext;
+
+    /**
+     * Handle context refreshed event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleContextRefreshedEvent(final ContextRefreshedEvent event) {
+        LOGGER.debug("Received event [{}]", event);
+        MultifactorAuthenticationUtils.refreshMultifactorAuthenticationProviderCatalog(event.getApplicationContext());
+    }
+
+    /**
+     * Handle refresh event when issued to this CAS server locally.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleRefreshEvent(final EnvironmentChangeEvent event) {
+        LOGGER.debug("Received event [{}]", event);
+        MultifactorAuthenticationUtils.refreshMultifactorAuthenticationProviderCatalog(this.applicationContext);
+    }
+
+    /**
+     * Handle configuration modified event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleConfigurationModifiedEvent(final CasConfigurationModifiedEvent event) {
+        if (event.isEligibleForContextRefresh()) {
+            MultifactorAuthenticationUtils.refreshMultifactorAuthenticationProviderCatalog(this.applicationContext);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.authentication;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.model.support.mfa.MultifactorAuthenticationProviderBypassProperties;
@@ -8,6 +10,7 @@ import org.springframework.context.ApplicationContext;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -20,6 +23,9 @@ import java.util.stream.Collectors;
 @Slf4j
 @UtilityClass
 public class MultifactorAuthenticationUtils {
+    private static final Cache<ApplicationContext, Map<String, MultifactorAuthenticationProvider>> PROVIDER_CATALOGS =
+        Caffeine.newBuilder().weakKeys().build();
+
     /**
      * New multifactor authentication provider bypass multifactor.
      *
@@ -47,11 +53,35 @@ public class MultifactorAuthenticationUtils {
 
     /**
      * Gets all multifactor authentication providers from application context.
+     * Providers are served from the catalog of the application context once it is built;
+     * otherwise, the application context is searched for providers.
      *
      * @param applicationContext the application context
      * @return the all multifactor authentication providers from application context
      */
     public static Map<String, MultifactorAuthenticationProvider> getAvailableMultifactorAuthenticationProviders(
+        final ApplicationContext applicationContext) {
+        final var catalog = PROVIDER_CATALOGS.getIfPresent(applicationContext);
+        if (catalog != null) {
+            return new LinkedHashMap<>(catalog);
+        }
+        return findMultifactorAuthenticationProviders(applicationContext);
+    }
+
+    /**
+     * Build the catalog of multifactor authentication providers for the application context,
+     * replacing the catalog built previously. This is expected to be called once the application context
+     * is refreshed or its configuration changes.
+     *
+     * @param applicationContext the application context
+     */
+    public static void refreshMultifactorAuthenticationProviderCatalog(final ApplicationContext applicationContext) {
+        final var providers = findMultifactorAuthenticationProviders(applicationContext);
+        LOGGER.debug("Cataloged [{}] multifactor authentication provider(s) [{}]", providers.size(), providers.keySet());
+        PROVIDER_CATALOGS.put(applicationContext, providers);
+    }
+
+    private static Map<String, MultifactorAuthenticationProvider> findMultifactorAuthenticationProviders(
         final ApplicationContext applicationContext) {
         try {
             return applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
@@ -2,6 +2,7 @@ package org.apereo.cas.authentication;
 
 import org.apereo.cas.authentication.mfa.DefaultMultifactorAuthenticationContextValidatorTests;
 import org.apereo.cas.authentication.mfa.DefaultMultifactorAuthenticationProviderBypassTests;
+import org.apereo.cas.authentication.mfa.MultifactorAuthenticationProviderCatalogTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -14,7 +15,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     DefaultMultifactorAuthenticationContextValidatorTests.class,
-    DefaultMultifactorAuthenticationProviderBypassTests.class
+    DefaultMultifactorAuthenticationProviderBypassTests.class,
+    MultifactorAuthenticationProviderCatalogTests.class
 })
 public class MultifactorAuthenticationTestSuite {
 }
@@ -0,0 +1,58 @@
+package org.apereo.cas.authentication.mfa;
+
+import org.apereo.cas.authentication.MultifactorAuthenticationProviderCatalogEventListener;
+import org.apereo.cas.authentication.MultifactorAuthenticationUtils;
+import org.apereo.cas.util.spring.ApplicationContextProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link MultifactorAuthenticationProviderCatalogTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class MultifactorAuthenticationProviderCatalogTests {
+    private StaticApplicationContext applicationContext;
+
+    @Before
+    public void initialize() {
+        this.applicationContext = new StaticApplicationContext();
+        this.applicationContext.refresh();
+        TestMultifactorAuthenticationProvider.registerProviderIntoApplicationContext(this.applicationContext);
+    }
+
+    @Test
+    public void verifyProvidersAreFoundWithoutCatalog() {
+        assertEquals(1, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).size());
+        registerAnotherProvider();
+        assertEquals(2, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).size());
+    }
+
+    @Test
+    public void verifyCatalogIsRefreshedWithContext() {
+        final var listener = new MultifactorAuthenticationProviderCatalogEventListener(this.applicationContext);
+        listener.handleContextRefreshedEvent(new ContextRefreshedEvent(this.applicationContext));
+        registerAnotherProvider();
+        assertEquals(1, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).size());
+
+        listener.handleContextRefreshedEvent(new ContextRefreshedEvent(this.applicationContext));
+        assertEquals(2, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).size());
+    }
+
+    @Test
+    public void verifyCatalogIsNotModifiedByCallers() {
+        MultifactorAuthenticationUtils.refreshMultifactorAuthenticationProviderCatalog(this.applicationContext);
+        MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).clear();
+        assertEquals(1, MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext).size());
+    }
+
+    private void registerAnotherProvider() {
+        ApplicationContextProvider.registerBeanIntoApplicationContext(this.applicationContext,
+            TestMultifactorAuthenticationProvider.class, "anotherProvider");
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CasViewConstants;
@@ -13,18 +14,25 @@ import org.apereo.cas.authentication.DefaultAuthenticationEventExecutionPlan;
 import org.apereo.cas.authentication.DefaultAuthenticationTransactionManager;
 import org.apereo.cas.authentication.PolicyBasedAuthenticationManager;
 import org.apereo.cas.authentication.RememberMeCredential;
+import org.apereo.cas.authentication.VerifiedCredentialCache;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.util.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link CasCoreAuthenticationConfiguration}.
@@ -55,11 +63,40 @@ public class CasCoreAuthenticationConfiguration {
     @Bean
     public AuthenticationManager casAuthenticationManager(@Qualifier("authenticationEventExecutionPlan")
                                                           final AuthenticationEventExecutionPlan authenticationEventExecutionPlan) {
-        return new PolicyBasedAuthenticationManager(
+        final var manager = new PolicyBasedAuthenticationManager(
             authenticationEventExecutionPlan,
             casProperties.getPersonDirectory().isPrincipalResolutionFailureFatal(),
             applicationEventPublisher
         );
+        if (casProperties.getAuthn().getVerifiedCredentialCache().isEnabled()) {
+            manager.setVerifiedCredentialCache(verifiedCredentialCache());
+        }
+        final var parallel = casProperties.getAuthn().getPolicy().getParallel();
+        if (parallel.isEnabled()) {
+            manager.setHandlerExecutorService(authenticationHandlerExecutorService());
+            manager.setHandlerExecutionTimeout(Duration.ofSeconds(parallel.getTimeoutInSeconds()));
+        }
+        return manager;
+    }
+
+    @ConditionalOnMissingBean(name = "authenticationHandlerExecutorService")
+    @ConditionalOnProperty(prefix = "cas.authn.policy.parallel", name = "enabled", havingValue = "true")
+    @Bean
+    public ExecutorService authenticationHandlerExecutorService() {
+        final var parallel = casProperties.getAuthn().getPolicy().getParallel();
+        final var executor = new ThreadPoolExecutor(parallel.getPoolSize(), parallel.getPoolSize(),
+            1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(parallel.getQueueCapacity()));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @ConditionalOnMissingBean(name = "verifiedCredentialCache")
+    @ConditionalOnProperty(prefix = "cas.authn.verifiedCredentialCache", name = "enabled", havingValue = "true")
+    @Bean
+    public VerifiedCredentialCache verifiedCredentialCache() {
+        final var cache = casProperties.getAuthn().getVerifiedCredentialCache();
+        return new VerifiedCredentialCache(cache.getHandlers(), Duration.ofSeconds(cache.getTimeToLiveSeconds()),
+            cache.getMaximumSize(), Metrics.globalRegistry);
     }
 
     @ConditionalOnMissingBean(name = "authenticationEventExecutionPlan")
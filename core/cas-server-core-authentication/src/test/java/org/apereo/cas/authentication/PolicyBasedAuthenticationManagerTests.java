@@ -15,11 +15,16 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.annotation.DirtiesContext;
 
 import javax.security.auth.login.FailedLoginException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -183,6 +188,115 @@ public class PolicyBasedAuthenticationManagerTests {
         assertEquals(2, auth.getCredentials().size());
     }
 
+    @Test
+    public void verifyParallelAuthenticateAnyShortCircuits() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newMockHandler(HANDLER_A, true), null);
+        map.put(newDelayedMockHandler(HANDLER_B, "slow", TimeUnit.MINUTES.toMillis(1)), null);
+
+        final var authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AnyAuthenticationPolicy());
+        final var manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan,
+            false, mock(ApplicationEventPublisher.class));
+        final var executor = Executors.newFixedThreadPool(2);
+        manager.setHandlerExecutorService(executor);
+        try {
+            final var start = System.currentTimeMillis();
+            final var auth = manager.authenticate(DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(),
+                mock(Credential.class)));
+            assertTrue(System.currentTimeMillis() - start < TimeUnit.SECONDS.toMillis(30));
+            assertEquals(1, auth.getSuccesses().size());
+            assertTrue(auth.getSuccesses().containsKey(HANDLER_A));
+            assertTrue(auth.getFailures().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verifyParallelAuthenticateMatchesSequentialOrder() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newDelayedMockHandler(HANDLER_A, "first", 500), null);
+        map.put(newDelayedMockHandler(HANDLER_B, "second", 0), null);
+
+        final var authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AnyAuthenticationPolicy());
+        final var manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan,
+            false, mock(ApplicationEventPublisher.class));
+        final var executor = Executors.newFixedThreadPool(2);
+        manager.setHandlerExecutorService(executor);
+        try {
+            final var auth = manager.authenticate(DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(),
+                mock(Credential.class)));
+            assertEquals(List.of(HANDLER_A), new ArrayList<>(auth.getSuccesses().keySet()));
+            assertEquals("first", auth.getPrincipal().getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verifyParallelAuthenticateRecordsResultsInHandlerOrder() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newDelayedMockHandler(HANDLER_A, "first", 500), null);
+        map.put(newDelayedMockHandler(HANDLER_B, "second", 0), null);
+
+        final var authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new RequiredHandlerAuthenticationPolicy(HANDLER_B));
+        final var manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan,
+            false, mock(ApplicationEventPublisher.class));
+        final var executor = Executors.newFixedThreadPool(2);
+        manager.setHandlerExecutorService(executor);
+        try {
+            final var auth = manager.authenticate(DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(),
+                mock(Credential.class)));
+            assertEquals(List.of(HANDLER_A, HANDLER_B), new ArrayList<>(auth.getSuccesses().keySet()));
+            assertEquals("second", auth.getPrincipal().getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verifyParallelAuthenticateTimesOut() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new LinkedHashMap<>();
+        map.put(newDelayedMockHandler(HANDLER_A, "slow", TimeUnit.MINUTES.toMillis(1)), null);
+        map.put(newMockHandler(HANDLER_B, false), null);
+
+        final var authenticationExecutionPlan = getAuthenticationExecutionPlan(map);
+        authenticationExecutionPlan.registerAuthenticationPolicy(new AnyAuthenticationPolicy());
+        final var manager = new PolicyBasedAuthenticationManager(authenticationExecutionPlan,
+            false, mock(ApplicationEventPublisher.class));
+        final var executor = Executors.newFixedThreadPool(2);
+        manager.setHandlerExecutorService(executor);
+        manager.setHandlerExecutionTimeout(Duration.ofMillis(500));
+        try {
+            manager.authenticate(DefaultAuthenticationTransaction.of(CoreAuthenticationTestUtils.getService(), mock(Credential.class)));
+            throw new AssertionError("Should have thrown authentication exception");
+        } catch (final AuthenticationException e) {
+            assertTrue(e.getHandlerErrors().get(HANDLER_A) instanceof PreventedException);
+            assertTrue(e.getHandlerErrors().get(HANDLER_B) instanceof FailedLoginException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a new mock authentication handler that eventually succeeds.
+     */
+    private static AuthenticationHandler newDelayedMockHandler(final String name, final String principal, final long delay) throws Exception {
+        final var mock = mock(AuthenticationHandler.class);
+        when(mock.getName()).thenReturn(name);
+        when(mock.supports(any(Credential.class))).thenReturn(true);
+        final var p = new DefaultPrincipalFactory().createPrincipal(principal);
+        final AuthenticationHandlerExecutionResult result = new DefaultAuthenticationHandlerExecutionResult(mock, mock(CredentialMetaData.class), p);
+        when(mock.authenticate(any(Credential.class))).thenAnswer(invocation -> {
+            Thread.sleep(delay);
+            return result;
+        });
+        return mock;
+    }
+
     /**
      * Creates a new mock authentication handler that either successfully validates all credentials or fails to
      * validate all credentials.
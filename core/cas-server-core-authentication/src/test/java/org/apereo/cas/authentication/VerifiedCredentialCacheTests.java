@@ -0,0 +1,111 @@
+package org.apereo.cas.authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.authentication.principal.PrincipalResolver;
+import org.apereo.cas.support.events.authentication.CasAuthenticationThrottledEvent;
+import org.apereo.cas.support.events.authentication.CasPasswordChangedEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.security.auth.login.FailedLoginException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link VerifiedCredentialCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class VerifiedCredentialCacheTests {
+    private static final String HANDLER_NAME = "CachedHandler";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VerifiedCredentialCache cache;
+
+    private AuthenticationHandler handler;
+
+    @Before
+    public void initialize() throws Exception {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.cache = new VerifiedCredentialCache(List.of(HANDLER_NAME), Duration.ofMinutes(1), 100, meterRegistry);
+        this.handler = mock(AuthenticationHandler.class);
+        when(handler.getName()).thenReturn(HANDLER_NAME);
+        when(handler.supports(any(Credential.class))).thenReturn(true);
+        when(handler.authenticate(any(Credential.class))).thenAnswer(invocation -> {
+            final var credential = (UsernamePasswordCredential) invocation.getArgument(0);
+            if (!"Mellon".equals(credential.getPassword())) {
+                throw new FailedLoginException();
+            }
+            return new DefaultAuthenticationHandlerExecutionResult(handler, new BasicCredentialMetaData(credential),
+                CoreAuthenticationTestUtils.getPrincipal(credential.getUsername()));
+        });
+    }
+
+    @Test
+    public void verifyRepeatedCredentialIsServedFromCache() throws Exception {
+        final var first = cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        final var second = cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        assertSame(first, second);
+        verify(handler, times(1)).authenticate(any(Credential.class));
+        assertEquals(1, meterRegistry.counter(VerifiedCredentialCache.METRIC_HITS).count(), 0);
+        assertEquals(1, meterRegistry.counter(VerifiedCredentialCache.METRIC_MISSES).count(), 0);
+        assertEquals(1, meterRegistry.timer(VerifiedCredentialCache.METRIC_SAVED).count());
+        assertEquals(0.5, cache.getHitRatio(), 0);
+    }
+
+    @Test
+    public void verifyDifferentPasswordIsNotServedFromCache() throws Exception {
+        cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        try {
+            cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Wrong"));
+            fail("Expected authentication failure");
+        } catch (final FailedLoginException e) {
+            assertNotNull(e);
+        }
+        cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        verify(handler, times(3)).authenticate(any(Credential.class));
+    }
+
+    @Test
+    public void verifyOnlyOptedInHandlersAreSupported() {
+        final var other = mock(AuthenticationHandler.class);
+        when(other.getName()).thenReturn("OtherHandler");
+        assertTrue(cache.supports(handler, new UsernamePasswordCredential("casuser", "Mellon")));
+        assertFalse(cache.supports(other, new UsernamePasswordCredential("casuser", "Mellon")));
+        assertFalse(cache.supports(handler, mock(Credential.class)));
+    }
+
+    @Test
+    public void verifyEventsInvalidateCachedCredentials() throws Exception {
+        cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        cache.handlePasswordChangedEvent(new CasPasswordChangedEvent(this, "casuser"));
+        cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        cache.handleAuthenticationThrottledEvent(new CasAuthenticationThrottledEvent(this, "CASUSER", "127.0.0.1"));
+        cache.authenticate(handler, new UsernamePasswordCredential("casuser", "Mellon"));
+        verify(handler, times(3)).authenticate(any(Credential.class));
+    }
+
+    @Test
+    public void verifyAuthenticationManagerUsesCache() throws Exception {
+        final Map<AuthenticationHandler, PrincipalResolver> map = new HashMap<>();
+        map.put(handler, null);
+        final var plan = new DefaultAuthenticationEventExecutionPlan();
+        plan.registerAuthenticationHandlerWithPrincipalResolver(map);
+        final var manager = new PolicyBasedAuthenticationManager(plan, false, mock(ApplicationEventPublisher.class));
+        manager.setVerifiedCredentialCache(cache);
+
+        final var service = CoreAuthenticationTestUtils.getService();
+        manager.authenticate(DefaultAuthenticationTransaction.of(service, new UsernamePasswordCredential("casuser", "Mellon")));
+        final var auth = manager.authenticate(DefaultAuthenticationTransaction.of(service, new UsernamePasswordCredential("casuser", "Mellon")));
+        assertEquals("casuser", auth.getPrincipal().getId());
+        verify(handler, times(1)).authenticate(any(Credential.class));
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apereo.cas.authentication.principal.PrincipalAttributesRepository;
+import org.apereo.services.persondir.IPersonAttributeDao;
 import org.junit.Test;
 
 import java.io.File;
@@ -11,6 +12,7 @@ import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Handles tests for {@link CachingPrincipalAttributesRepository}.
@@ -38,4 +40,17 @@ public class CachingPrincipalAttributesRepositoryTests extends AbstractCachingPr
 
         assertEquals(repositoryWritten, repositoryRead);
     }
+
+    @Test
+    public void verifySharedCacheKeyIdentifiesAttributeRepository() {
+        final var repository1 = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        repository1.setAttributeRepository(this.dao);
+        final var repository2 = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        repository2.setAttributeRepository(this.dao);
+        assertEquals(repository1.getSharedCacheKey(), repository2.getSharedCacheKey());
+
+        final var repository3 = new CachingPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+        repository3.setAttributeRepository(mock(IPersonAttributeDao.class));
+        assertNotEquals(repository1.getSharedCacheKey(), repository3.getSharedCacheKey());
+    }
 }
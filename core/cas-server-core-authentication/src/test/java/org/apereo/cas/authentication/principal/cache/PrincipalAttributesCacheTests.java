@@ -0,0 +1,104 @@
+package org.apereo.cas.authentication.principal.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.support.events.authentication.CasPrincipalAttributesChangedEvent;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Handles tests for {@link PrincipalAttributesCache}, shared by {@link CachingPrincipalAttributesRepository} instances.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class PrincipalAttributesCacheTests extends AbstractCachingPrincipalAttributesRepositoryTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PrincipalAttributesCache sharedCache = new PrincipalAttributesCache(100, 0, meterRegistry);
+
+    @Override
+    protected AbstractPrincipalAttributesRepository getPrincipalAttributesRepository(final String unit, final long duration) {
+        final var repo = new CachingPrincipalAttributesRepository(unit, duration);
+        repo.setAttributeRepository(this.dao);
+        repo.setSharedCache(this.sharedCache);
+        return repo;
+    }
+
+    @Test
+    public void verifyAttributesAreSharedAcrossRepositories() throws Exception {
+        final var principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        try (var first = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+             var second = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5)) {
+            assertFalse(first.getAttributes(principal).isEmpty());
+            assertFalse(second.getAttributes(principal).isEmpty());
+        }
+        verify(this.dao, times(1)).getPerson(anyString());
+        assertEquals(1, this.sharedCache.size());
+        assertEquals(1, meterRegistry.timer(PrincipalAttributesCache.METRIC_SOURCE_LATENCY).count());
+        assertEquals(0.5, this.sharedCache.getHitRatio(), 0);
+    }
+
+    @Test
+    public void verifyRepositoriesWithDifferentConfigurationAreNotShared() throws Exception {
+        final var principal = CoreAuthenticationTestUtils.getPrincipal("casuser");
+        final var otherDao = mock(IPersonAttributeDao.class);
+        final var person = this.dao.getPerson("casuser");
+        clearInvocations(this.dao);
+        when(otherDao.getPerson(anyString())).thenReturn(person);
+        try (var first = getPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5);
+             var second = getPrincipalAttributesRepository(TimeUnit.HOURS.name(), 1);
+             var third = new CachingPrincipalAttributesRepository(TimeUnit.MINUTES.name(), 5)) {
+            third.setAttributeRepository(otherDao);
+            third.setSharedCache(this.sharedCache);
+            first.getAttributes(principal);
+            second.getAttributes(principal);
+            third.getAttributes(principal);
+        }
+        verify(this.dao, times(2)).getPerson(anyString());
+        verify(otherDao, times(1)).getPerson(anyString());
+        assertEquals(3, this.sharedCache.size());
+    }
+
+    @Test
+    public void verifyEntriesExpirePerKey() throws Exception {
+        final Map<String, Object> attributes = Map.of("mail", "casuser@example.org");
+        this.sharedCache.put("repository", "casuser", attributes, Duration.ofHours(1));
+        this.sharedCache.put("short-repository", "casuser", attributes, Duration.ofMillis(1));
+        Thread.sleep(50);
+        assertEquals(attributes, this.sharedCache.get("repository", "casuser"));
+        assertNull(this.sharedCache.get("short-repository", "casuser"));
+        assertNull(this.sharedCache.get("other-repository", "casuser"));
+    }
+
+    @Test
+    public void verifyEventsInvalidateCachedAttributes() {
+        final Map<String, Object> attributes = Map.of("mail", "casuser@example.org");
+        this.sharedCache.put("repository", "casuser", attributes, Duration.ofHours(1));
+        this.sharedCache.put("repository", "casadmin", attributes, Duration.ofHours(1));
+
+        this.sharedCache.handlePrincipalAttributesChangedEvent(new CasPrincipalAttributesChangedEvent(this, "casuser"));
+        assertNull(this.sharedCache.get("repository", "casuser"));
+        assertNotNull(this.sharedCache.get("repository", "casadmin"));
+
+        this.sharedCache.handlePrincipalAttributesChangedEvent(new CasPrincipalAttributesChangedEvent(this, null));
+        assertNull(this.sharedCache.get("repository", "casadmin"));
+    }
+
+    @Test
+    public void verifyCacheBoundedByBytes() {
+        final var cache = new PrincipalAttributesCache(100, 1_000, meterRegistry);
+        for (var i = 0; i < 100; i++) {
+            cache.put("repository", "user" + i, Map.of("mail", "user" + i + "@example.org"), Duration.ofHours(1));
+        }
+        assertTrue(cache.size() < 100);
+    }
+}
@@ -2,12 +2,17 @@ package org.apereo.cas.support.events.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.AsynchronousCasEventRepository;
 import org.apereo.cas.support.events.dao.NoOpCasEventRepository;
+import org.apereo.cas.support.events.dao.TimeBucketedCasEventRollup;
 import org.apereo.cas.support.events.listener.DefaultCasEventListener;
 import org.apereo.cas.support.events.web.CasEventsReportEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,9 +28,23 @@ import org.springframework.context.annotation.Configuration;
 @Slf4j
 public class CasCoreEventsConfiguration {
 
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
     @Bean
     public DefaultCasEventListener defaultCasEventListener() {
-        return new DefaultCasEventListener(casEventRepository());
+        return new DefaultCasEventListener(casEventRepositoryWriter());
+    }
+
+    @ConditionalOnProperty(prefix = "cas.events.batch", name = "enabled", havingValue = "true")
+    @Bean
+    public CasEventRepository asynchronousCasEventRepository() {
+        final var batch = casProperties.getEvents().getBatch();
+        final var rollup = batch.isRollupEnabled()
+            ? new TimeBucketedCasEventRollup(Beans.newDuration(batch.getRollupBucket()), Beans.newDuration(batch.getRollupRetention()))
+            : null;
+        return new AsynchronousCasEventRepository(casEventRepository(), rollup,
+            batch.getCapacity(), batch.getSize(), Beans.newDuration(batch.getFlushInterval()));
     }
 
     @ConditionalOnMissingBean(name = "casEventRepository")
@@ -37,6 +56,15 @@ public class CasCoreEventsConfiguration {
     @Bean
     @ConditionalOnEnabledEndpoint
     public CasEventsReportEndpoint casEventsReportEndpoint() {
-        return new CasEventsReportEndpoint(casEventRepository());
+        final var batch = casProperties.getEvents().getBatch();
+        return new CasEventsReportEndpoint(casEventRepositoryWriter(),
+            Beans.newDuration(batch.getRollupRetention()), Beans.newDuration(batch.getRollupBucket()));
+    }
+
+    private CasEventRepository casEventRepositoryWriter() {
+        if (casProperties.getEvents().getBatch().isEnabled()) {
+            return asynchronousCasEventRepository();
+        }
+        return casEventRepository();
     }
 }
@@ -0,0 +1,218 @@
+package org.apereo.cas.support.events.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AsynchronousCasEventRepository} that hands events off to a bounded queue
+ * and writes them to the underlying repository in batches on a background thread, so that
+ * the authentication thread does not wait on the events store. When the queue is full,
+ * events are written synchronously rather than dropped.
+ * Event counts are kept in a {@link TimeBucketedCasEventRollup} once events are written
+ * and are used to answer count queries that the rollup covers; other count queries, and all
+ * count queries when no rollup is defined, are answered by the underlying repository.
+ * Events that are still queued are not visible to load or count operations.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class AsynchronousCasEventRepository implements CasEventRepository, DisposableBean {
+    private final CasEventRepository delegate;
+
+    private final TimeBucketedCasEventRollup rollup;
+
+    private final BlockingQueue<CasEvent> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    private volatile boolean running = true;
+
+    public AsynchronousCasEventRepository(final CasEventRepository delegate,
+                                          final TimeBucketedCasEventRollup rollup,
+                                          final int capacity,
+                                          final int batchSize,
+                                          final Duration flushInterval) {
+        this.delegate = delegate;
+        this.rollup = rollup;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.executorService.execute(this::processQueue);
+    }
+
+    @Override
+    public void save(final CasEvent event) {
+        if (!this.running || !this.queue.offer(event)) {
+            LOGGER.warn("Events queue is unable to accept event [{}]; saving the event synchronously", event.getType());
+            this.delegate.save(event);
+            record(List.of(event));
+        }
+    }
+
+    @Override
+    public void saveAll(final Collection<? extends CasEvent> events) {
+        events.forEach(this::save);
+    }
+
+    @Override
+    public Collection<? extends CasEvent> load() {
+        return this.delegate.load();
+    }
+
+    @Override
+    public Collection<CasEvent> load(final ZonedDateTime dateTime) {
+        return this.delegate.load(dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal) {
+        return this.delegate.getEventsOfTypeForPrincipal(type, principal);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsOfTypeForPrincipal(type, principal, dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type) {
+        return this.delegate.getEventsOfType(type);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsOfType(final String type, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsOfType(type, dateTime);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id) {
+        return this.delegate.getEventsForPrincipal(id);
+    }
+
+    @Override
+    public Collection<CasEvent> getEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        return this.delegate.getEventsForPrincipal(id, dateTime);
+    }
+
+    @Override
+    public long countEventsOfTypeForPrincipal(final String type, final String principal, final ZonedDateTime dateTime) {
+        if (this.rollup != null && this.rollup.covers(dateTime)) {
+            return this.rollup.count(type, principal, dateTime);
+        }
+        return this.delegate.countEventsOfTypeForPrincipal(type, principal, dateTime);
+    }
+
+    @Override
+    public long countEventsOfType(final String type, final ZonedDateTime dateTime) {
+        if (this.rollup != null && this.rollup.covers(dateTime)) {
+            return this.rollup.count(type, null, dateTime);
+        }
+        return this.delegate.countEventsOfType(type, dateTime);
+    }
+
+    @Override
+    public long countEventsForPrincipal(final String id, final ZonedDateTime dateTime) {
+        if (this.rollup != null && this.rollup.covers(dateTime)) {
+            return this.rollup.count(null, id, dateTime);
+        }
+        return this.delegate.countEventsForPrincipal(id, dateTime);
+    }
+
+    /**
+     * Write all queued events to the underlying repository.
+     */
+    public void flush() {
+        final List<CasEvent> batch = new ArrayList<>(this.batchSize);
+        while (this.queue.drainTo(batch, this.batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.running = false;
+        this.executorService.shutdownNow();
+        try {
+            this.executorService.awaitTermination(this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void processQueue() {
+        final List<CasEvent> batch = new ArrayList<>(this.batchSize);
+        try {
+            while (this.running) {
+                final var event = this.queue.poll(this.flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    collectBatch(batch);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                if (this.rollup != null) {
+                    this.rollup.evictExpiredBuckets();
+                }
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.debug("Events queue processing is interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+            }
+        }
+    }
+
+    private void record(final List<CasEvent> events) {
+        if (this.rollup != null) {
+            events.forEach(this.rollup::record);
+        }
+    }
+
+    private void collectBatch(final List<CasEvent> batch) throws InterruptedException {
+        final var deadline = System.nanoTime() + this.flushInterval.toNanos();
+        while (batch.size() < this.batchSize) {
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+            final var remaining = deadline - System.nanoTime();
+            if (batch.size() >= this.batchSize || remaining <= 0) {
+                return;
+            }
+            final var next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(final List<CasEvent> batch) {
+        try {
+            LOGGER.trace("Writing a batch of [{}] events", batch.size());
+            this.delegate.saveAll(batch);
+            record(batch);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to write a batch of [{}] events: [{}]", batch.size(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+}
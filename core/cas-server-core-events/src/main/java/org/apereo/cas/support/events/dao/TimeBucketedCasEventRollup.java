@@ -0,0 +1,143 @@
+package org.apereo.cas.support.events.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link TimeBucketedCasEventRollup} that keeps event counts per type,
+ * per principal and per type and principal in fixed-size time buckets.
+ * Buckets older than the retention period are discarded. Counts are only available
+ * for dates that fall on a bucket boundary, since a bucket cannot tell which of its
+ * events precede a date within it, and only cover events recorded since the rollup was created.
+ * <p>
+ * Counts only reflect the events recorded by this instance. When several nodes share
+ * the same events repository, each node only sees the events it has written itself.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class TimeBucketedCasEventRollup {
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final ConcurrentNavigableMap<Long, Map<String, LongAdder>> buckets = new ConcurrentSkipListMap<>();
+
+    private final Duration bucketSize;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    private final Instant trackingSince;
+
+    public TimeBucketedCasEventRollup(final Duration bucketSize, final Duration retention) {
+        this(bucketSize, retention, Clock.systemUTC());
+    }
+
+    public TimeBucketedCasEventRollup(final Duration bucketSize, final Duration retention, final Clock clock) {
+        this.bucketSize = bucketSize;
+        this.retention = retention;
+        this.clock = clock;
+        this.trackingSince = clock.instant();
+    }
+
+    /**
+     * Record the event into its time bucket.
+     *
+     * @param event the event
+     */
+    public void record(final CasEvent event) {
+        final var bucket = this.buckets.computeIfAbsent(bucketOf(event.getCreationTime().toInstant()), k -> new ConcurrentHashMap<>());
+        increment(bucket, keyOf(event.getType(), null));
+        increment(bucket, keyOf(null, event.getPrincipalId()));
+        increment(bucket, keyOf(event.getType(), event.getPrincipalId()));
+    }
+
+    /**
+     * Whether the rollup can count every event created after the given date exactly.
+     * The date must fall on a bucket boundary, after the rollup was created and within
+     * the bucket that marks the start of the retention period or later.
+     *
+     * @param dateTime the date time
+     * @return true/false
+     */
+    public boolean covers(final ZonedDateTime dateTime) {
+        final var since = dateTime.toInstant();
+        final var now = this.clock.instant();
+        final var start = since.toEpochMilli();
+        return start == bucketOf(since)
+            && !since.isBefore(this.trackingSince)
+            && start >= bucketOf(now.minus(this.retention));
+    }
+
+    /**
+     * Truncate the given date to the start of its bucket.
+     *
+     * @param dateTime   the date time
+     * @param bucketSize the bucket size
+     * @return the start of the bucket
+     */
+    public static ZonedDateTime truncate(final ZonedDateTime dateTime, final Duration bucketSize) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(bucketOf(dateTime.toInstant(), bucketSize)), dateTime.getZone());
+    }
+
+    /**
+     * Count events matching the given type and principal after the given date.
+     * A blank type or principal matches all. Events of the bucket that contains the date
+     * are counted in full, so the count is only exact when {@link #covers(ZonedDateTime)} holds.
+     *
+     * @param type      the type
+     * @param principal the principal
+     * @param dateTime  the date time
+     * @return the count
+     */
+    public long count(final String type, final String principal, final ZonedDateTime dateTime) {
+        final var key = keyOf(type, principal);
+        return this.buckets.tailMap(bucketOf(dateTime.toInstant()), true)
+            .values()
+            .stream()
+            .map(bucket -> bucket.get(key))
+            .filter(Objects::nonNull)
+            .mapToLong(LongAdder::sum)
+            .sum();
+    }
+
+    /**
+     * Remove buckets that have fallen out of the retention period.
+     */
+    public void evictExpiredBuckets() {
+        final var expired = this.buckets.headMap(bucketOf(this.clock.instant().minus(this.retention)));
+        if (!expired.isEmpty()) {
+            LOGGER.trace("Removing [{}] expired event rollup bucket(s)", expired.size());
+            expired.clear();
+        }
+    }
+
+    private long bucketOf(final Instant instant) {
+        return bucketOf(instant, this.bucketSize);
+    }
+
+    private static long bucketOf(final Instant instant, final Duration bucketSize) {
+        final var size = bucketSize.toMillis();
+        return Math.floorDiv(instant.toEpochMilli(), size) * size;
+    }
+
+    private static void increment(final Map<String, LongAdder> bucket, final String key) {
+        bucket.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private static String keyOf(final String type, final String principal) {
+        return StringUtils.defaultString(type) + KEY_SEPARATOR + StringUtils.defaultString(principal);
+    }
+}
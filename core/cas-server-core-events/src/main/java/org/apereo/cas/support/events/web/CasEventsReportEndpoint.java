@@ -3,9 +3,13 @@ package org.apereo.cas.support.events.web;
 import lombok.RequiredArgsConstructor;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.TimeBucketedCasEventRollup;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 
 /**
@@ -19,6 +23,8 @@ import java.util.Collection;
 @Endpoint(id = "events", enableByDefault = false)
 public class CasEventsReportEndpoint {
     private final CasEventRepository eventRepository;
+    private final Duration countWindow;
+    private final Duration countResolution;
 
     /**
      * Collect CAS events.
@@ -29,4 +35,19 @@ public class CasEventsReportEndpoint {
     public Collection<? extends CasEvent> events() {
         return this.eventRepository.load();
     }
+
+    /**
+     * Count events of the given type for the principal
+     * that were created within the configured window. The start of the window
+     * is truncated to the count resolution, so that counts kept in time buckets can answer the query.
+     *
+     * @param type      the type
+     * @param principal the principal
+     * @return the number of events
+     */
+    @ReadOperation
+    public long countEvents(@Selector final String type, @Selector final String principal) {
+        final var since = TimeBucketedCasEventRollup.truncate(ZonedDateTime.now().minus(this.countWindow), this.countResolution);
+        return this.eventRepository.countEventsOfTypeForPrincipal(type, principal, since);
+    }
 }
@@ -0,0 +1,169 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AsynchronousCasEventRepositoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class AsynchronousCasEventRepositoryTests {
+
+    private final List<CasEvent> events = new CopyOnWriteArrayList<>();
+
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+    private CasEventRepository delegate;
+
+    private AsynchronousCasEventRepository repository;
+
+    @Before
+    public void initialize() {
+        this.delegate = new AbstractCasEventRepository() {
+            @Override
+            public void save(final CasEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void saveAll(final Collection<? extends CasEvent> batch) {
+                batches.add(batch.size());
+                events.addAll(batch);
+            }
+
+            @Override
+            public Collection<? extends CasEvent> load() {
+                return new ArrayList<>(events);
+            }
+        };
+        final var rollup = new TimeBucketedCasEventRollup(Duration.ofMinutes(1), Duration.ofHours(1));
+        this.repository = new AsynchronousCasEventRepository(this.delegate, rollup, 100, 10, Duration.ofSeconds(5));
+    }
+
+    @After
+    public void shutdown() {
+        this.repository.destroy();
+    }
+
+    @Test
+    public void verifyEventsAreWrittenInBatches() {
+        for (var i = 0; i < 25; i++) {
+            this.repository.save(getCasEvent("casuser"));
+        }
+        this.repository.destroy();
+        assertEquals(25, this.repository.load().size());
+        assertTrue(this.batches.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    public void verifyEventsAreWrittenSynchronouslyWhenQueueIsFull() throws Exception {
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final List<String> synchronous = new CopyOnWriteArrayList<>();
+        final var blocking = new NoOpCasEventRepository() {
+            @Override
+            public void save(final CasEvent event) {
+                synchronous.add(Thread.currentThread().getName());
+                events.add(event);
+            }
+
+            @Override
+            public void saveAll(final Collection<? extends CasEvent> batch) {
+                writing.countDown();
+                try {
+                    release.await(1, TimeUnit.MINUTES);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.addAll(batch);
+            }
+        };
+        final var rollup = new TimeBucketedCasEventRollup(Duration.ofMinutes(1), Duration.ofHours(1));
+        final var full = new AsynchronousCasEventRepository(blocking, rollup, 1, 1, Duration.ofSeconds(5));
+        try {
+            full.save(getCasEvent("first"));
+            assertTrue(writing.await(1, TimeUnit.MINUTES));
+            full.save(getCasEvent("second"));
+            full.save(getCasEvent("third"));
+            assertEquals(List.of(Thread.currentThread().getName()), synchronous);
+            assertEquals("third", this.events.get(0).getPrincipalId());
+        } finally {
+            release.countDown();
+            full.destroy();
+        }
+        assertEquals(3, this.events.size());
+    }
+
+    @Test
+    public void verifyCountsFromRollup() {
+        final var now = TimeBucketedCasEventRollup.truncate(ZonedDateTime.now(ZoneOffset.UTC), Duration.ofMinutes(1));
+        final var rollup = new TimeBucketedCasEventRollup(Duration.ofMinutes(1), Duration.ofHours(1),
+            Clock.fixed(now.toInstant(), ZoneOffset.UTC));
+        final var counting = new AsynchronousCasEventRepository(new NoOpCasEventRepository(), rollup, 100, 10, Duration.ofSeconds(5));
+        counting.save(getCasEvent("casuser", now));
+        counting.save(getCasEvent("casuser", now));
+        counting.save(getCasEvent("anotheruser", now));
+        counting.destroy();
+
+        final var type = CasTicketGrantingTicketCreatedEvent.class.getName();
+        assertEquals(2, counting.countEventsOfTypeForPrincipal(type, "casuser", now));
+        assertEquals(3, counting.countEventsOfType(type, now));
+        assertEquals(1, counting.countEventsForPrincipal("anotheruser", now));
+        assertEquals(0, counting.countEventsForPrincipal("casuser", now.minusDays(1)));
+        assertEquals(0, counting.countEventsOfType(type, now.plusSeconds(30)));
+    }
+
+    @Test
+    public void verifyCountsOnlyIncludeWrittenEvents() {
+        final var now = TimeBucketedCasEventRollup.truncate(ZonedDateTime.now(ZoneOffset.UTC), Duration.ofMinutes(1));
+        final var rollup = new TimeBucketedCasEventRollup(Duration.ofMinutes(1), Duration.ofHours(1),
+            Clock.fixed(now.toInstant(), ZoneOffset.UTC));
+        final var failing = new AsynchronousCasEventRepository(new NoOpCasEventRepository() {
+            @Override
+            public void saveAll(final Collection<? extends CasEvent> batch) {
+                throw new IllegalStateException("Repository is unavailable");
+            }
+        }, rollup, 100, 10, Duration.ofSeconds(5));
+        failing.save(getCasEvent("casuser", now));
+        failing.destroy();
+        assertEquals(0, rollup.count(CasTicketGrantingTicketCreatedEvent.class.getName(), null, now));
+    }
+
+    @Test
+    public void verifyCountsWithoutRollupAreAnsweredByRepository() {
+        final var counting = new AsynchronousCasEventRepository(this.delegate, null, 100, 10, Duration.ofSeconds(5));
+        counting.save(getCasEvent("casuser"));
+        counting.destroy();
+        assertEquals(1, counting.countEventsForPrincipal("casuser", ZonedDateTime.now().minusMinutes(1)));
+    }
+
+    private static CasEvent getCasEvent(final String principal) {
+        return getCasEvent(principal, ZonedDateTime.now());
+    }
+
+    private static CasEvent getCasEvent(final String principal, final ZonedDateTime creationTime) {
+        final var dto = new CasEvent();
+        dto.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        dto.setCreationTime(creationTime.toString());
+        dto.setPrincipalId(principal);
+        return dto;
+    }
+}
@@ -0,0 +1,106 @@
+package org.apereo.cas.support.events.dao;
+
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TimeBucketedCasEventRollupTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class TimeBucketedCasEventRollupTests {
+    private static final Duration BUCKET = Duration.ofHours(1);
+
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private static final String TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    private MutableClock clock;
+
+    private TimeBucketedCasEventRollup rollup;
+
+    private ZonedDateTime start;
+
+    @Before
+    public void initialize() {
+        this.start = TimeBucketedCasEventRollup.truncate(ZonedDateTime.now(ZoneOffset.UTC), BUCKET);
+        this.clock = new MutableClock(this.start.toInstant());
+        this.rollup = new TimeBucketedCasEventRollup(BUCKET, RETENTION, this.clock);
+    }
+
+    @Test
+    public void verifyWindowOfRetentionPeriodIsCovered() {
+        this.clock.instant = this.start.plusDays(2).plusMinutes(17).toInstant();
+        final var now = ZonedDateTime.ofInstant(this.clock.instant, ZoneOffset.UTC);
+        final var since = TimeBucketedCasEventRollup.truncate(now.minus(RETENTION), BUCKET);
+
+        this.rollup.record(getCasEvent(since.minusMinutes(1)));
+        this.rollup.record(getCasEvent(since));
+        this.rollup.record(getCasEvent(now));
+        this.rollup.evictExpiredBuckets();
+
+        assertTrue(this.rollup.covers(since));
+        assertEquals(2, this.rollup.count(TYPE, "casuser", since));
+    }
+
+    @Test
+    public void verifyDatesWithinBucketAreNotCovered() {
+        this.clock.instant = this.start.plusHours(5).toInstant();
+        this.rollup.record(getCasEvent(this.start.plusHours(2).plusMinutes(10)));
+        this.rollup.record(getCasEvent(this.start.plusHours(2).plusMinutes(50)));
+
+        assertTrue(this.rollup.covers(this.start.plusHours(2)));
+        assertEquals(2, this.rollup.count(TYPE, null, this.start.plusHours(2)));
+        assertFalse(this.rollup.covers(this.start.plusHours(2).plusMinutes(30)));
+    }
+
+    @Test
+    public void verifyDatesBeforeTrackingOrRetentionAreNotCovered() {
+        assertFalse(this.rollup.covers(this.start.minus(BUCKET)));
+        this.clock.instant = this.start.plusDays(2).toInstant();
+        assertFalse(this.rollup.covers(this.start.plusHours(1)));
+        assertTrue(this.rollup.covers(this.start.plusDays(1)));
+    }
+
+    private static CasEvent getCasEvent(final ZonedDateTime creationTime) {
+        final var dto = new CasEvent();
+        dto.setType(TYPE);
+        dto.setCreationTime(creationTime.toString());
+        dto.setPrincipalId("casuser");
+        return dto;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package org.apereo.cas.logout;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceProperty.RegisteredServiceProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.http.HttpClient;
 
@@ -24,7 +26,6 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Getter
-@AllArgsConstructor
 public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutServiceMessageHandler {
     private final HttpClient httpClient;
     private final LogoutMessageCreator logoutMessageBuilder;
@@ -33,6 +34,26 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
     private boolean asynchronous = true;
     private final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies;
 
+    /**
+     * Dispatcher that queues asynchronous logout messages per endpoint, if any;
+     * otherwise, messages are sent as soon as they are created.
+     */
+    @Setter
+    private SingleLogoutMessageDispatcher logoutMessageDispatcher;
+
+    public DefaultSingleLogoutServiceMessageHandler(final HttpClient httpClient, final LogoutMessageCreator logoutMessageBuilder,
+                                                    final ServicesManager servicesManager,
+                                                    final SingleLogoutServiceLogoutUrlBuilder singleLogoutServiceLogoutUrlBuilder,
+                                                    final boolean asynchronous,
+                                                    final AuthenticationServiceSelectionPlan authenticationRequestServiceSelectionStrategies) {
+        this.httpClient = httpClient;
+        this.logoutMessageBuilder = logoutMessageBuilder;
+        this.servicesManager = servicesManager;
+        this.singleLogoutServiceLogoutUrlBuilder = singleLogoutServiceLogoutUrlBuilder;
+        this.asynchronous = asynchronous;
+        this.authenticationRequestServiceSelectionStrategies = authenticationRequestServiceSelectionStrategies;
+    }
+
     /**
      * Handle logout for slo service.
      *
@@ -92,7 +113,7 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         LOGGER.debug("Logout type registered for [{}] is [{}]", selectedService, type);
 
         if (type == RegisteredService.LogoutType.BACK_CHANNEL) {
-            if (performBackChannelLogout(logoutRequest)) {
+            if (performBackChannelLogout(logoutRequest, registeredService)) {
                 logoutRequest.setStatus(LogoutRequestStatus.SUCCESS);
             } else {
                 logoutRequest.setStatus(LogoutRequestStatus.FAILURE);
@@ -112,6 +133,17 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      * @return if the logout has been performed.
      */
     public boolean performBackChannelLogout(final LogoutRequest request) {
+        return performBackChannelLogout(request, null);
+    }
+
+    /**
+     * Log out of a service through back channel.
+     *
+     * @param request           the logout request.
+     * @param registeredService the registered service, if known.
+     * @return if the logout has been performed, or queued to be performed.
+     */
+    public boolean performBackChannelLogout(final LogoutRequest request, final RegisteredService registeredService) {
         try {
             LOGGER.debug("Creating back-channel logout request based on [{}]", request);
             final var logoutRequest = this.logoutMessageBuilder.create(request);
@@ -120,6 +152,12 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
 
             LOGGER.debug("Preparing logout request for [{}] to [{}]", logoutService.getId(), request.getLogoutUrl());
             final var msg = new LogoutHttpMessage(request.getLogoutUrl(), logoutRequest, this.asynchronous);
+            if (this.asynchronous && this.logoutMessageDispatcher != null) {
+                final var batchingSupported = registeredService != null
+                    && RegisteredServiceProperties.SINGLE_LOGOUT_BATCHING_ENABLED.isAssignedTo(registeredService, BooleanUtils::toBoolean);
+                LOGGER.debug("Prepared logout message to send is [{}]. Queuing...", msg);
+                return this.logoutMessageDispatcher.queue(msg, batchingSupported);
+            }
             LOGGER.debug("Prepared logout message to send is [{}]. Sending...", msg);
             return this.httpClient.sendMessageToEndPoint(msg);
         } catch (final Exception e) {
@@ -0,0 +1,444 @@
+package org.apereo.cas.logout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcher} that queues asynchronous back-channel logout messages
+ * per logout endpoint and dispatches them periodically, so that endpoints are not flooded with requests
+ * when many single sign-on sessions end at once, for example when tickets expire in bulk.
+ * <p>
+ * Messages to endpoints of services that declare support for batched logout requests are combined into
+ * a single request that carries several {@code logoutRequest} parameters. Each endpoint is given a token bucket
+ * that bounds the rate at which it receives requests; messages that cannot be sent yet stay queued until
+ * the next dispatch. Messages still queued when CAS shuts down may be saved to a file and queued again
+ * once CAS starts.
+ * <p>
+ * Endpoints are identified by scheme, host, port and path, so that urls that only differ by their query
+ * share a queue and a rate; only messages to the very same url are batched together. Queues are bounded,
+ * and the overflow policy decides which message is dropped when a queue is full. Messages that fail
+ * to be sent are queued again, up to a maximum number of attempts. Queues of endpoints that have been quiet
+ * long enough for their rate to recover are removed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class SingleLogoutMessageDispatcher implements AutoCloseable {
+    /**
+     * Metric counting requests sent to logout endpoints, tagged by whether the request carried more than one message.
+     */
+    public static final String METRIC_REQUESTS_SENT = "cas.logout.dispatch.requests";
+
+    /**
+     * Metric counting logout messages that are dropped, tagged by reason.
+     */
+    public static final String METRIC_MESSAGES_DROPPED = "cas.logout.dispatch.dropped";
+
+    /**
+     * Which message to drop when the queue of an endpoint is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the message being queued, and report it as not sent.
+         */
+        DROP_NEWEST,
+        /**
+         * Drop the oldest message waiting in the queue to make room for the message being queued.
+         */
+        DROP_OLDEST
+    }
+
+    private static final int DEFAULT_MAX_QUEUE_SIZE = 10_000;
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final HttpClient httpClient;
+
+    private final int maxBatchSize;
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    private final File queueFile;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, EndpointQueue> endpoints = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final var thread = new Thread(r, "cas-logout-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Maximum number of messages queued for a single endpoint.
+     */
+    @Setter
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+
+    @Setter
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * Maximum number of times a message is sent before it is dropped.
+     */
+    @Setter
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    public SingleLogoutMessageDispatcher(final HttpClient httpClient, final Duration window, final int maxBatchSize,
+                                         final double permitsPerSecond, final int burst, final File queueFile) {
+        this.httpClient = httpClient;
+        this.maxBatchSize = maxBatchSize;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.queueFile = queueFile;
+        loadQueuedMessages();
+        this.scheduler.scheduleWithFixedDelay(this::dispatch, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a logout message for its endpoint.
+     *
+     * @param message           the logout message
+     * @param batchingSupported whether the endpoint accepts several logout requests in a single message
+     * @return true if the message is queued, false if it is dropped since the queue of the endpoint is full
+     */
+    public boolean queue(final LogoutHttpMessage message, final boolean batchingSupported) {
+        return queue(new PendingLogoutMessage(message, batchingSupported, 0));
+    }
+
+    private boolean queue(final PendingLogoutMessage pending) {
+        final var url = pending.getMessage().getUrl();
+        final var dropped = new ArrayList<PendingLogoutMessage>(1);
+        this.endpoints.compute(getEndpointKey(url), (key, existing) -> {
+            final var endpoint = existing == null ? new EndpointQueue(new TokenBucket(this.permitsPerSecond, this.burst)) : existing;
+            endpoint.add(pending, this.maxQueueSize, this.overflowPolicy).ifPresent(dropped::add);
+            return endpoint;
+        });
+        dropped.forEach(m -> {
+            LOGGER.warn("Logout queue of [{}] is full; dropping logout message for [{}]", getEndpointKey(url), m.getMessage().getUrl());
+            recordDropped("overflow");
+        });
+        if (dropped.contains(pending)) {
+            return false;
+        }
+        LOGGER.trace("Queued logout message for [{}]", url);
+        return true;
+    }
+
+    /**
+     * Send queued logout messages to all endpoints, as far as their rate allows.
+     */
+    public void dispatch() {
+        this.endpoints.forEach((key, endpoint) -> {
+            try {
+                dispatchToEndpoint(key, endpoint);
+            } catch (final Exception e) {
+                LOGGER.error("Unable to dispatch logout messages to [{}]: [{}]", key, e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+            this.endpoints.computeIfPresent(key, (k, existing) -> existing.isIdle() ? null : existing);
+        });
+    }
+
+    /**
+     * Count endpoints that have logout messages queued or whose rate has not recovered yet.
+     *
+     * @return the number of tracked endpoints
+     */
+    public int getEndpointCount() {
+        return this.endpoints.size();
+    }
+
+    /**
+     * Count logout messages that are queued and not yet sent.
+     *
+     * @return the number of queued messages
+     */
+    public long getQueuedMessageCount() {
+        return this.endpoints.values().stream().mapToLong(EndpointQueue::size).sum();
+    }
+
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        saveQueuedMessages();
+    }
+
+    private void dispatchToEndpoint(final String key, final EndpointQueue endpoint) {
+        var remaining = endpoint.size();
+        while (remaining > 0 && endpoint.tokenBucket.tryAcquire()) {
+            final var messages = endpoint.poll(Math.min(this.maxBatchSize, remaining));
+            if (messages.isEmpty()) {
+                endpoint.tokenBucket.release();
+                return;
+            }
+            remaining -= messages.size();
+            if (messages.size() == 1 && !messages.get(0).isBatchingSupported()) {
+                send(messages.get(0).getMessage(), messages, false);
+            } else {
+                final var body = messages.stream()
+                    .map(m -> m.getMessage().getMessage())
+                    .collect(Collectors.joining("&"));
+                LOGGER.debug("Sending [{}] logout messages to [{}] in a single request", messages.size(), key);
+                send(new BatchedLogoutHttpMessage(messages.get(0).getMessage().getUrl(), body), messages, messages.size() > 1);
+            }
+        }
+    }
+
+    private void send(final HttpMessage message, final List<PendingLogoutMessage> messages, final boolean batched) {
+        Counter.builder(METRIC_REQUESTS_SENT)
+            .tag("batched", String.valueOf(batched))
+            .register(this.meterRegistry)
+            .increment();
+        this.httpClient.sendMessageToEndPointAsync(message).whenComplete((sent, error) -> {
+            if (error != null || !Boolean.TRUE.equals(sent)) {
+                LOGGER.warn("Logout message is not sent to [{}]", message.getUrl());
+                messages.forEach(this::retry);
+            }
+        });
+    }
+
+    /**
+     * Queue a message that failed to be sent again, unless it has been sent too many times already.
+     */
+    private void retry(final PendingLogoutMessage failed) {
+        final var attempts = failed.getAttempts() + 1;
+        if (attempts >= this.maxAttempts) {
+            LOGGER.warn("Dropping logout message for [{}] after [{}] failed attempts", failed.getMessage().getUrl(), attempts);
+            recordDropped("failure");
+            return;
+        }
+        queue(new PendingLogoutMessage(failed.getMessage(), failed.isBatchingSupported(), attempts));
+    }
+
+    private void recordDropped(final String reason) {
+        Counter.builder(METRIC_MESSAGES_DROPPED)
+            .tag("reason", reason)
+            .register(this.meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Identify the endpoint of a logout url by its scheme, host, port and path, leaving out its query.
+     */
+    private static String getEndpointKey(final URL url) {
+        final var port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol().toLowerCase(Locale.ENGLISH) + "://" + url.getHost().toLowerCase(Locale.ENGLISH) + ':' + port + url.getPath();
+    }
+
+    private void loadQueuedMessages() {
+        if (this.queueFile == null || !this.queueFile.exists()) {
+            return;
+        }
+        try {
+            final ArrayList<PendingLogoutMessage> messages = SerializationUtils.deserialize(Files.readAllBytes(this.queueFile.toPath()), ArrayList.class);
+            messages.forEach(this::queue);
+            Files.delete(this.queueFile.toPath());
+            LOGGER.info("Queued [{}] logout messages saved to [{}]", messages.size(), this.queueFile);
+        } catch (final Exception e) {
+            LOGGER.error("Unable to load logout messages saved to [{}]: [{}]", this.queueFile, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void saveQueuedMessages() {
+        final var messages = new ArrayList<PendingLogoutMessage>();
+        this.endpoints.values().forEach(endpoint -> messages.addAll(endpoint.drain()));
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (this.queueFile == null) {
+            LOGGER.warn("Discarding [{}] queued logout messages since no file is defined to save them", messages.size());
+            return;
+        }
+        try {
+            Files.write(this.queueFile.toPath(), SerializationUtils.serialize(messages));
+            LOGGER.info("Saved [{}] queued logout messages to [{}]", messages.size(), this.queueFile);
+        } catch (final IOException e) {
+            LOGGER.error("Unable to save queued logout messages to [{}]: [{}]", this.queueFile, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A logout message waiting to be sent.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingLogoutMessage implements Serializable {
+        private static final long serialVersionUID = 5337816383870312458L;
+
+        private final LogoutHttpMessage message;
+
+        private final boolean batchingSupported;
+
+        /**
+         * Number of times the message failed to be sent.
+         */
+        private final int attempts;
+    }
+
+    /**
+     * Logout messages queued for a single endpoint, along with the rate at which they may be sent.
+     */
+    @RequiredArgsConstructor
+    private static class EndpointQueue {
+        private final TokenBucket tokenBucket;
+
+        private final Deque<PendingLogoutMessage> messages = new ArrayDeque<>();
+
+        /**
+         * Add a message to the queue, dropping a message if the queue is full.
+         *
+         * @return the message dropped according to the overflow policy, if any
+         */
+        synchronized Optional<PendingLogoutMessage> add(final PendingLogoutMessage message, final int maxSize,
+                                                        final OverflowPolicy overflowPolicy) {
+            if (this.messages.size() < maxSize) {
+                this.messages.add(message);
+                return Optional.empty();
+            }
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && !this.messages.isEmpty()) {
+                final var oldest = this.messages.poll();
+                this.messages.add(message);
+                return Optional.of(oldest);
+            }
+            return Optional.of(message);
+        }
+
+        synchronized int size() {
+            return this.messages.size();
+        }
+
+        /**
+         * Whether the queue is empty and its rate has fully recovered, so that it may be discarded
+         * without letting the endpoint receive more requests than its rate allows.
+         */
+        synchronized boolean isIdle() {
+            return this.messages.isEmpty() && this.tokenBucket.isFull();
+        }
+
+        /**
+         * Take the next message off the queue, along with as many of the messages that follow it
+         * to the same url as may be batched with it, up to the given count.
+         */
+        synchronized List<PendingLogoutMessage> poll(final int maxCount) {
+            final List<PendingLogoutMessage> polled = new ArrayList<>();
+            final var first = this.messages.poll();
+            if (first == null) {
+                return polled;
+            }
+            polled.add(first);
+            if (!first.isBatchingSupported()) {
+                return polled;
+            }
+            final var url = first.getMessage().getUrl().toExternalForm();
+            while (polled.size() < maxCount && !this.messages.isEmpty() && this.messages.peek().isBatchingSupported()
+                && url.equals(this.messages.peek().getMessage().getUrl().toExternalForm())) {
+                polled.add(this.messages.poll());
+            }
+            return polled;
+        }
+
+        synchronized List<PendingLogoutMessage> drain() {
+            final List<PendingLogoutMessage> drained = new ArrayList<>(this.messages);
+            this.messages.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Token bucket that refills continuously at a fixed rate, up to its capacity.
+     */
+    private static class TokenBucket {
+        private final double permitsPerNano;
+
+        private final double capacity;
+
+        private double tokens;
+
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(final double permitsPerSecond, final int capacity) {
+            this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (this.tokens < 1) {
+                return false;
+            }
+            this.tokens--;
+            return true;
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return this.tokens >= this.capacity;
+        }
+
+        private void refill() {
+            final var now = System.nanoTime();
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.permitsPerNano);
+            this.lastRefill = now;
+        }
+
+        synchronized void release() {
+            this.tokens = Math.min(this.capacity, this.tokens + 1);
+        }
+    }
+
+    /**
+     * A message that carries several logout requests, already formatted and encoded.
+     */
+    private static class BatchedLogoutHttpMessage extends HttpMessage {
+        private static final long serialVersionUID = -1652837489064297853L;
+
+        BatchedLogoutHttpMessage(final URL url, final String message) {
+            super(url, message, true);
+        }
+
+        @Override
+        protected String formatOutputMessageInternal(final String message) {
+            return message;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -13,6 +14,7 @@ import org.apereo.cas.logout.LogoutExecutionPlanConfigurer;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.logout.LogoutMessageCreator;
 import org.apereo.cas.logout.SamlCompliantLogoutMessageCreator;
+import org.apereo.cas.logout.SingleLogoutMessageDispatcher;
 import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
@@ -23,11 +25,13 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -73,12 +77,30 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient,
+        final var handler = new DefaultSingleLogoutServiceMessageHandler(httpClient,
             logoutBuilder(),
             servicesManager,
             singleLogoutServiceLogoutUrlBuilder(),
             casProperties.getSlo().isAsynchronous(),
             authenticationServiceSelectionPlan.getIfAvailable());
+        if (casProperties.getSlo().getDispatch().isEnabled()) {
+            handler.setLogoutMessageDispatcher(singleLogoutMessageDispatcher());
+        }
+        return handler;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutMessageDispatcher")
+    @ConditionalOnProperty(prefix = "cas.slo.dispatch", name = "enabled", havingValue = "true")
+    @Bean
+    public SingleLogoutMessageDispatcher singleLogoutMessageDispatcher() {
+        final var dispatch = casProperties.getSlo().getDispatch();
+        final var queueFile = StringUtils.isNotBlank(dispatch.getQueueFile()) ? new File(dispatch.getQueueFile()) : null;
+        final var dispatcher = new SingleLogoutMessageDispatcher(httpClient, Beans.newDuration(dispatch.getWindow()),
+            dispatch.getMaxBatchSize(), dispatch.getPermitsPerSecond(), dispatch.getBurst(), queueFile);
+        dispatcher.setMaxQueueSize(dispatch.getMaxQueueSize());
+        dispatcher.setOverflowPolicy(SingleLogoutMessageDispatcher.OverflowPolicy.valueOf(dispatch.getOverflowPolicy().trim().toUpperCase()));
+        dispatcher.setMaxAttempts(dispatch.getMaxAttempts());
+        return dispatcher;
     }
 
     @ConditionalOnMissingBean(name = "logoutManager")
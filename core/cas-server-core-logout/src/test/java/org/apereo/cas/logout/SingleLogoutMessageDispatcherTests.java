@@ -0,0 +1,165 @@
+package org.apereo.cas.logout;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.util.http.HttpClient;
+import org.apereo.cas.util.http.HttpMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SingleLogoutMessageDispatcherTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class SingleLogoutMessageDispatcherTests {
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private HttpClient httpClient;
+
+    private URL url;
+
+    @Before
+    public void initialize() throws Exception {
+        this.httpClient = mock(HttpClient.class);
+        when(this.httpClient.sendMessageToEndPointAsync(any(HttpMessage.class))).thenReturn(CompletableFuture.completedFuture(Boolean.TRUE));
+        this.url = new URL("https://app.example.org/logout");
+    }
+
+    @Test
+    public void verifyMessagesAreBatched() {
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 2, 100, 100, null);
+        final var registry = new SimpleMeterRegistry();
+        dispatcher.setMeterRegistry(registry);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-1", true), true);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-2", true), true);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-3", true), true);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-4", true), false);
+        assertEquals(4, dispatcher.getQueuedMessageCount());
+
+        dispatcher.dispatch();
+        final var captor = ArgumentCaptor.forClass(HttpMessage.class);
+        verify(this.httpClient, times(3)).sendMessageToEndPointAsync(captor.capture());
+        final var messages = captor.getAllValues();
+        assertEquals("logoutRequest=ST-1&logoutRequest=ST-2", messages.get(0).getMessage());
+        assertEquals("logoutRequest=ST-3", messages.get(1).getMessage());
+        assertEquals("logoutRequest=ST-4", messages.get(2).getMessage());
+        assertEquals(0, dispatcher.getQueuedMessageCount());
+        assertEquals(1, registry.get(SingleLogoutMessageDispatcher.METRIC_REQUESTS_SENT).tag("batched", "true").counter().count(), 0);
+        assertEquals(2, registry.get(SingleLogoutMessageDispatcher.METRIC_REQUESTS_SENT).tag("batched", "false").counter().count(), 0);
+        dispatcher.close();
+    }
+
+    @Test
+    public void verifyEndpointRateIsLimited() {
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 0.001, 2, null);
+        for (var i = 0; i < 5; i++) {
+            dispatcher.queue(new LogoutHttpMessage(this.url, "ST-" + i, true), false);
+        }
+        dispatcher.dispatch();
+        verify(this.httpClient, times(2)).sendMessageToEndPointAsync(any(HttpMessage.class));
+        assertEquals(3, dispatcher.getQueuedMessageCount());
+        dispatcher.close();
+    }
+
+    @Test
+    public void verifyQueuedMessagesSurviveRestart() throws Exception {
+        final var queueFile = File.createTempFile("logout", ".queue");
+        Files.delete(queueFile.toPath());
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 100, 100, queueFile);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-1", true), true);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-2", true), false);
+        dispatcher.close();
+        assertTrue(queueFile.exists());
+
+        final var restarted = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 100, 100, queueFile);
+        assertFalse(queueFile.exists());
+        assertEquals(2, restarted.getQueuedMessageCount());
+        restarted.dispatch();
+        verify(this.httpClient, times(2)).sendMessageToEndPointAsync(any(HttpMessage.class));
+        restarted.close();
+    }
+
+    @Test
+    public void verifyUrlsDifferingByQueryShareEndpoint() throws Exception {
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 0.001, 1, null);
+        final var first = new URL("https://app.example.org/logout?tenant=1");
+        final var second = new URL("https://APP.example.org:443/logout?tenant=2");
+        dispatcher.queue(new LogoutHttpMessage(first, "ST-1", true), true);
+        dispatcher.queue(new LogoutHttpMessage(second, "ST-2", true), true);
+        assertEquals(1, dispatcher.getEndpointCount());
+
+        dispatcher.dispatch();
+        final var captor = ArgumentCaptor.forClass(HttpMessage.class);
+        verify(this.httpClient, times(1)).sendMessageToEndPointAsync(captor.capture());
+        assertEquals(first, captor.getValue().getUrl());
+        assertEquals("logoutRequest=ST-1", captor.getValue().getMessage());
+        assertEquals(1, dispatcher.getQueuedMessageCount());
+        dispatcher.close();
+    }
+
+    @Test
+    public void verifyDrainedEndpointsAreRemoved() {
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 1_000_000, 1, null);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-1", true), false);
+        assertEquals(1, dispatcher.getEndpointCount());
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+        assertEquals(0, dispatcher.getEndpointCount());
+        assertEquals(0, dispatcher.getQueuedMessageCount());
+        dispatcher.close();
+    }
+
+    @Test
+    public void verifyQueueOverflow() {
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 100, 100, null);
+        final var registry = new SimpleMeterRegistry();
+        dispatcher.setMeterRegistry(registry);
+        dispatcher.setMaxQueueSize(2);
+        assertTrue(dispatcher.queue(new LogoutHttpMessage(this.url, "ST-1", true), false));
+        assertTrue(dispatcher.queue(new LogoutHttpMessage(this.url, "ST-2", true), false));
+        assertFalse(dispatcher.queue(new LogoutHttpMessage(this.url, "ST-3", true), false));
+
+        dispatcher.setOverflowPolicy(SingleLogoutMessageDispatcher.OverflowPolicy.DROP_OLDEST);
+        assertTrue(dispatcher.queue(new LogoutHttpMessage(this.url, "ST-4", true), false));
+        assertEquals(2, dispatcher.getQueuedMessageCount());
+        assertEquals(2, registry.get(SingleLogoutMessageDispatcher.METRIC_MESSAGES_DROPPED).tag("reason", "overflow").counter().count(), 0);
+
+        dispatcher.dispatch();
+        final var captor = ArgumentCaptor.forClass(HttpMessage.class);
+        verify(this.httpClient, times(2)).sendMessageToEndPointAsync(captor.capture());
+        assertEquals("logoutRequest=ST-2", captor.getAllValues().get(0).getMessage());
+        assertEquals("logoutRequest=ST-4", captor.getAllValues().get(1).getMessage());
+        dispatcher.close();
+    }
+
+    @Test
+    public void verifyFailedMessagesAreRetried() {
+        when(this.httpClient.sendMessageToEndPointAsync(any(HttpMessage.class))).thenReturn(CompletableFuture.completedFuture(Boolean.FALSE));
+        final var dispatcher = new SingleLogoutMessageDispatcher(this.httpClient, WINDOW, 10, 100, 100, null);
+        final var registry = new SimpleMeterRegistry();
+        dispatcher.setMeterRegistry(registry);
+        dispatcher.setMaxAttempts(2);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-1", true), true);
+        dispatcher.queue(new LogoutHttpMessage(this.url, "ST-2", true), true);
+
+        dispatcher.dispatch();
+        assertEquals(2, dispatcher.getQueuedMessageCount());
+        dispatcher.dispatch();
+        assertEquals(0, dispatcher.getQueuedMessageCount());
+        verify(this.httpClient, times(2)).sendMessageToEndPointAsync(any(HttpMessage.class));
+        assertEquals(2, registry.get(SingleLogoutMessageDispatcher.METRIC_MESSAGES_DROPPED).tag("reason", "failure").counter().count(), 0);
+        dispatcher.close();
+    }
+}
@@ -1,5 +1,7 @@
 package org.apereo.cas.services.support;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,11 +11,14 @@ import org.apereo.cas.services.RegisteredServiceAttributeFilter;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.RegexUtils;
 
+import javax.persistence.Transient;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -45,11 +50,36 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
 
     private int order;
 
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Map<String, Object> compiledPatterns;
 
     public RegisteredServiceMappedRegexAttributeFilter(final Map<String, Object> patterns) {
         this.patterns = patterns;
     }
 
+    /**
+     * Sets the patterns and discards compiled patterns.
+     *
+     * @param patterns the patterns
+     */
+    public void setPatterns(final Map<String, Object> patterns) {
+        this.patterns = patterns;
+        this.compiledPatterns = null;
+    }
+
+    /**
+     * Sets whether patterns are case insensitive and discards compiled patterns.
+     *
+     * @param caseInsensitive the case insensitive
+     */
+    public void setCaseInsensitive(final boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+        this.compiledPatterns = null;
+    }
+
     @Override
     public Map<String, Object> filter(final Map<String, Object> givenAttributes) {
         final Map<String, Object> attributesToRelease = new HashMap<>();
@@ -58,7 +88,7 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
             if (patterns.containsKey(attributeName)) {
                 final var attributeValues = CollectionUtils.toCollection(entry.getValue());
                 LOGGER.debug("Found attribute [{}] in pattern definitions with value(s) [{}]", attributeName, attributeValues);
-                final var patterns = createPatternForMappedAttribute(attributeName);
+                final Collection<Pattern> patterns = getCompiledPatterns(attributeName, this::createPatternForMappedAttribute);
                 patterns.forEach(pattern -> {
                     LOGGER.debug("Found attribute [{}] in the pattern definitions. Processing pattern [{}]", attributeName, pattern.pattern());
                     final var filteredValues = filterAttributeValuesByPattern(attributeValues, pattern);
@@ -94,6 +124,24 @@ public class RegisteredServiceMappedRegexAttributeFilter implements RegisteredSe
         }
     }
 
+    /**
+     * Gets the patterns compiled for the given mapped attribute.
+     * Patterns are compiled once, on first use, and are kept until the pattern definitions change.
+     *
+     * @param <T>           the type of the compiled patterns
+     * @param attributeName the attribute name
+     * @param compiler      the function that compiles patterns for the attribute
+     * @return the compiled patterns
+     */
+    protected <T> T getCompiledPatterns(final String attributeName, final Function<String, T> compiler) {
+        var compiled = this.compiledPatterns;
+        if (compiled == null) {
+            compiled = new ConcurrentHashMap<>();
+            this.compiledPatterns = compiled;
+        }
+        return (T) compiled.computeIfAbsent(attributeName, compiler);
+    }
+
     /**
      * Create pattern for mapped attribute pattern.
      *
@@ -36,7 +36,7 @@ public class RegisteredServiceMutantRegexAttributeFilter extends RegisteredServi
             if (getPatterns().containsKey(attributeName)) {
                 final var attributeValues = CollectionUtils.toCollection(entry.getValue());
                 LOGGER.debug("Found attribute [{}] in pattern definitions with value(s) [{}]", attributeName, attributeValues);
-                final var patterns = createPatternsAndReturnValue(attributeName);
+                final Collection<Pair<Pattern, String>> patterns = getCompiledPatterns(attributeName, this::createPatternsAndReturnValue);
                 final var finalValues = patterns.stream().map(patternDefn -> {
                     final var pattern = patternDefn.getLeft();
                     LOGGER.debug("Found attribute [{}] in the pattern definitions. Processing pattern [{}]", attributeName, pattern.pattern());
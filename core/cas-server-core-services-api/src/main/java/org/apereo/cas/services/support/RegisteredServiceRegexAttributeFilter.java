@@ -1,10 +1,14 @@
 package org.apereo.cas.services.support;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.services.RegisteredServiceAttributeFilter;
 import org.apereo.cas.util.CollectionUtils;
+
+import javax.persistence.Transient;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -23,7 +27,7 @@ import lombok.NoArgsConstructor;
  * @since 4.0.0
  */
 @Slf4j
-@ToString
+@ToString(exclude = "compiledPattern")
 @Setter
 @NoArgsConstructor
 @Getter
@@ -32,7 +36,11 @@ public class RegisteredServiceRegexAttributeFilter implements RegisteredServiceA
 
     private static final long serialVersionUID = 403015306984610128L;
 
-    private Pattern compiledPattern;
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Pattern compiledPattern;
 
     private String pattern;
     private int order;
@@ -46,7 +54,17 @@ public class RegisteredServiceRegexAttributeFilter implements RegisteredServiceA
         this.compiledPattern = Pattern.compile(regex);
         this.pattern = regex;
     }
-    
+
+    /**
+     * Sets the pattern and discards the compiled pattern.
+     *
+     * @param pattern the pattern
+     */
+    public void setPattern(final String pattern) {
+        this.pattern = pattern;
+        this.compiledPattern = null;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -140,7 +158,14 @@ public class RegisteredServiceRegexAttributeFilter implements RegisteredServiceA
      * @return true, if successful
      */
     private boolean patternMatchesAttributeValue(final String value) {
-        return this.compiledPattern.matcher(value).matches();
+        return getCompiledPattern().matcher(value).matches();
+    }
+
+    private Pattern getCompiledPattern() {
+        if (this.compiledPattern == null) {
+            this.compiledPattern = Pattern.compile(this.pattern);
+        }
+        return this.compiledPattern;
     }
 
     /**
@@ -151,7 +176,7 @@ public class RegisteredServiceRegexAttributeFilter implements RegisteredServiceA
      */
     private void logReleasedAttributeEntry(final String attributeName, final String attributeValue) {
         LOGGER.debug("The attribute value [{}] for attribute name [{}] matches the pattern [{}]. Releasing attribute...",
-            attributeValue, attributeName, this.compiledPattern.pattern());
+            attributeValue, attributeName, this.pattern);
     }
 
 }
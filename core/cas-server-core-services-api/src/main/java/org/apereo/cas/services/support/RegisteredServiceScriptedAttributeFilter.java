@@ -1,30 +1,31 @@
 package org.apereo.cas.services.support;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 import org.apereo.cas.services.RegisteredServiceAttributeFilter;
 import org.apereo.cas.util.CollectionUtils;
-import org.apereo.cas.util.ScriptingUtils;
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import org.apereo.cas.util.scripting.GroovyShellScript;
+
+import javax.persistence.Transient;
 import java.util.HashMap;
 import java.util.Map;
 
-import lombok.ToString;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.NoArgsConstructor;
-
 /**
  * This is {@link RegisteredServiceScriptedAttributeFilter}.
+ * The script is compiled once, on first use, and is compiled again only if the script
+ * definition changes or, for external scripts, if the script file is modified.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
-@ToString
+@ToString(exclude = "groovyScript")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,40 +38,41 @@ public class RegisteredServiceScriptedAttributeFilter implements RegisteredServi
 
     private String script;
 
+    @JsonIgnore
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient GroovyShellScript groovyScript;
+
+    /**
+     * Sets the script and discards the compiled script.
+     *
+     * @param script the script
+     */
+    public void setScript(final String script) {
+        this.script = script;
+        this.groovyScript = null;
+    }
+
     @Override
     public Map<String, Object> filter(final Map<String, Object> givenAttributes) {
-        final var matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(script);
-        final var matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(script);
-        if (matcherInline.find()) {
-            return filterInlinedGroovyAttributeValues(givenAttributes, matcherInline.group(1));
+        final var compiledScript = buildGroovyScriptIfNeeded();
+        if (compiledScript == null) {
+            return givenAttributes;
         }
-        if (matcherFile.find()) {
-            return filterFileBasedGroovyAttributeValues(givenAttributes, matcherFile.group(2));
+        LOGGER.debug("Found groovy script to execute [{}]", this.script);
+        if (compiledScript.getScriptFile() != null && !compiledScript.getScriptFile().exists()) {
+            LOGGER.error("Groovy script file [{}] does not exist", compiledScript.getScriptFile());
+            return new HashMap<>(0);
         }
-        return givenAttributes;
+        final var args = CollectionUtils.wrap("attributes", givenAttributes, "logger", LOGGER);
+        return compiledScript.execute(args, Map.class);
     }
 
-    private static Map<String, Object> getGroovyAttributeValue(final String groovyScript, final Map<String, Object> resolvedAttributes) {
-        final var args = CollectionUtils.wrap("attributes", resolvedAttributes, "logger", LOGGER);
-        return ScriptingUtils.executeGroovyShellScript(groovyScript, args, Map.class);
-    }
-
-    private static Map<String, Object> filterInlinedGroovyAttributeValues(final Map<String, Object> resolvedAttributes, final String script) {
-        LOGGER.debug("Found inline groovy script to execute [{}]", script);
-        final var attributesToRelease = getGroovyAttributeValue(script, resolvedAttributes);
-        return attributesToRelease;
-    }
-
-    private static Map<String, Object> filterFileBasedGroovyAttributeValues(final Map<String, Object> resolvedAttributes, final String scriptFile) {
-        try {
-            LOGGER.debug("Found groovy script file to execute [{}]", scriptFile);
-            final var script = FileUtils.readFileToString(new File(scriptFile), StandardCharsets.UTF_8);
-            final var attributesToRelease = getGroovyAttributeValue(script, resolvedAttributes);
-            return attributesToRelease;
-        } catch (final IOException e) {
-            LOGGER.error(e.getMessage(), e);
+    private GroovyShellScript buildGroovyScriptIfNeeded() {
+        if (this.groovyScript == null && this.script != null) {
+            this.groovyScript = GroovyShellScript.of(this.script);
         }
-        return new HashMap<>(0);
+        return this.groovyScript;
     }
-
 }
@@ -1,5 +1,10 @@
 package org.apereo.cas.services;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.Service;
@@ -17,6 +22,7 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,6 +30,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -38,14 +46,31 @@ import java.util.stream.Stream;
 @Slf4j
 public abstract class AbstractServicesManager implements ServicesManager, InitializingBean {
 
+    /**
+     * Metric recording the time it takes to load services, tagged by type of sync.
+     */
+    public static final String METRIC_SYNC = "cas.service.registry.sync";
+
+    /**
+     * Metric recording the number of services added, modified or removed by each load, tagged by type of sync.
+     */
+    public static final String METRIC_SYNC_DELTA = "cas.service.registry.sync.delta";
+
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final Duration CHANGE_STAMP_OVERLAP = Duration.ofMinutes(1);
+
     private final ServiceRegistry serviceRegistry;
 
     private final transient ApplicationEventPublisher eventPublisher;
 
     private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
 
+    private long changeStamp = RegisteredServiceChanges.NO_CHANGE_STAMP;
+
+    @Setter
+    private transient MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     public AbstractServicesManager(final ServiceRegistry serviceRegistry,
                                    final ApplicationEventPublisher eventPublisher) {
         this.serviceRegistry = serviceRegistry;
@@ -192,29 +217,69 @@ public abstract class AbstractServicesManager implements ServicesManager, Initia
 
     /**
      * Load services that are provided by the DAO.
+     * <p>
+     * Once services are loaded, only services that were added, modified or deleted
+     * since the previous load are applied, for registries that track changes to services.
+     * Changes that took place shortly before the previous load are requested again,
+     * so that changes committed late or stamped by servers whose clocks lag behind are not missed.
      */
     @Scheduled(initialDelayString = "${cas.serviceRegistry.schedule.startDelay:20000}",
         fixedDelayString = "${cas.serviceRegistry.schedule.repeatInterval:60000}")
     @Override
-    public Collection<RegisteredService> load() {
+    public synchronized Collection<RegisteredService> load() {
         LOGGER.debug("Loading services from [{}]", this.serviceRegistry);
-        this.services = this.serviceRegistry.load()
-            .stream()
-            .collect(Collectors.toConcurrentMap(r -> {
-                LOGGER.debug("Adding registered service [{}]", r.getServiceId());
-                return r.getId();
-            }, Function.identity(), (r, s) -> s == null ? r : s));
+        final var startTime = System.nanoTime();
+        final var fullSync = this.changeStamp == RegisteredServiceChanges.NO_CHANGE_STAMP;
+        final var changes = this.serviceRegistry.loadChangesSince(fullSync
+            ? RegisteredServiceChanges.NO_CHANGE_STAMP
+            : Math.max(0, this.changeStamp - CHANGE_STAMP_OVERLAP.toMillis()));
+        final int delta;
+        if (fullSync) {
+            this.services = changes.getChangedServices()
+                .stream()
+                .collect(Collectors.toConcurrentMap(r -> {
+                    LOGGER.debug("Adding registered service [{}]", r.getServiceId());
+                    return r.getId();
+                }, Function.identity(), (r, s) -> s == null ? r : s));
+            delta = this.services.size();
+        } else {
+            delta = applyChanges(changes);
+        }
+        this.changeStamp = changes.getChangeStamp();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
-        LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
+
+        final var type = fullSync ? "full" : "incremental";
+        Timer.builder(METRIC_SYNC).tag("type", type).register(this.meterRegistry).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(METRIC_SYNC_DELTA).tag("type", type).register(this.meterRegistry).record(delta);
+        LOGGER.info("Loaded [{}] service(s) from [{}], with [{}] change(s) applied.", this.services.size(), this.serviceRegistry.getName(), delta);
         return services.values();
     }
 
+    private int applyChanges(final RegisteredServiceChanges changes) {
+        final var serviceIds = changes.getServiceIds();
+        final var removed = new AtomicInteger();
+        this.services.keySet().removeIf(id -> {
+            if (serviceIds.contains(id)) {
+                return false;
+            }
+            LOGGER.debug("Removing registered service [{}] that is no longer found in the registry", id);
+            removed.incrementAndGet();
+            return true;
+        });
+        changes.getChangedServices().forEach(r -> {
+            LOGGER.debug("Updating registered service [{}]", r.getServiceId());
+            this.services.put(r.getId(), r);
+        });
+        return removed.get() + changes.getChangedServices().size();
+    }
+
     @Override
     public synchronized void deleteAll() {
         this.services.forEach((k, v) -> delete(v));
         this.services.clear();
+        this.changeStamp = RegisteredServiceChanges.NO_CHANGE_STAMP;
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
@@ -6,9 +6,12 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +50,30 @@ public class ChainingServiceRegistry extends AbstractServiceRegistry {
             .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Changes are collected from every registry in the chain. The change stamp reported back is the earliest
+     * of those reported by registries that track changes, so that no registry misses its own changes
+     * on the next call; registries that do not track changes always report all of their services.
+     */
+    @Override
+    public RegisteredServiceChanges loadChangesSince(final long changeStamp) {
+        final List<RegisteredService> changedServices = new ArrayList<>();
+        final Set<Long> serviceIds = new HashSet<>();
+        var earliestChangeStamp = RegisteredServiceChanges.NO_CHANGE_STAMP;
+        for (final var registry : this.serviceRegistries) {
+            final var changes = registry.loadChangesSince(changeStamp);
+            changedServices.addAll(changes.getChangedServices());
+            serviceIds.addAll(changes.getServiceIds());
+            if (changes.getChangeStamp() != RegisteredServiceChanges.NO_CHANGE_STAMP
+                && (earliestChangeStamp == RegisteredServiceChanges.NO_CHANGE_STAMP || changes.getChangeStamp() < earliestChangeStamp)) {
+                earliestChangeStamp = changes.getChangeStamp();
+            }
+        }
+        return new RegisteredServiceChanges(changedServices, serviceIds, earliestChangeStamp);
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return serviceRegistries.stream()
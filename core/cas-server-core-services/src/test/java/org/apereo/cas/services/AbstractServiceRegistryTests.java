@@ -177,6 +177,25 @@ public abstract class AbstractServiceRegistryTests {
         assertEquals(0, this.serviceRegistry.load().size());
     }
 
+    @Test
+    public void verifyLoadingChangesSince() {
+        final var svc1 = this.serviceRegistry.save(buildRegisteredServiceInstance(300));
+        final var svc2 = this.serviceRegistry.save(buildRegisteredServiceInstance(301));
+        final var changes = this.serviceRegistry.loadChangesSince(RegisteredServiceChanges.NO_CHANGE_STAMP);
+        assertEquals(2, changes.getChangedServices().size());
+        assertEquals(Set.of(svc1.getId(), svc2.getId()), changes.getServiceIds());
+
+        this.serviceRegistry.delete(svc1);
+        final var rs = (AbstractRegisteredService) this.serviceRegistry.findServiceById(svc2.getId());
+        rs.setDescription("The changed description");
+        this.serviceRegistry.save(rs);
+
+        final var delta = this.serviceRegistry.loadChangesSince(changes.getChangeStamp());
+        assertEquals(Set.of(svc2.getId()), delta.getServiceIds());
+        assertTrue(delta.getChangedServices().stream()
+            .anyMatch(r -> r.getId() == svc2.getId() && "The changed description".equals(r.getDescription())));
+    }
+
     @Test
     public void verifyExpiredServiceDeleted() {
         final var r = buildRegisteredServiceInstance(RandomUtils.nextInt());
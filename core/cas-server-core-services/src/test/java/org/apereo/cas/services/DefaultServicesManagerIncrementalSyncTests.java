@@ -0,0 +1,113 @@
+package org.apereo.cas.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link DefaultServicesManagerIncrementalSyncTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class DefaultServicesManagerIncrementalSyncTests {
+    private SimpleMeterRegistry meterRegistry;
+
+    private StampedInMemoryServiceRegistry serviceRegistry;
+
+    private DefaultServicesManager servicesManager;
+
+    @Before
+    public void initialize() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.serviceRegistry = new StampedInMemoryServiceRegistry();
+        this.serviceRegistry.save(newRegisteredService(1, "first"));
+        this.serviceRegistry.save(newRegisteredService(2, "second"));
+        this.servicesManager = new DefaultServicesManager(this.serviceRegistry, mock(ApplicationEventPublisher.class));
+        this.servicesManager.setMeterRegistry(this.meterRegistry);
+    }
+
+    @Test
+    public void verifyOnlyChangesAreApplied() {
+        assertEquals(2, this.servicesManager.load().size());
+        assertEquals(1, this.meterRegistry.get(AbstractServicesManager.METRIC_SYNC).tag("type", "full").timer().count());
+
+        this.serviceRegistry.delete(this.serviceRegistry.findServiceById(1));
+        final var changed = newRegisteredService(2, "second");
+        changed.setDescription("The changed description");
+        this.serviceRegistry.save(changed);
+        this.serviceRegistry.save(newRegisteredService(3, "third"));
+
+        final var services = this.servicesManager.load();
+        assertEquals(2, services.size());
+        assertNull(this.servicesManager.findServiceBy(1));
+        assertEquals("The changed description", this.servicesManager.findServiceBy(2).getDescription());
+        assertNotNull(this.servicesManager.findServiceBy(3));
+        assertEquals(1, this.serviceRegistry.getChangesRequested());
+
+        final var delta = this.meterRegistry.get(AbstractServicesManager.METRIC_SYNC_DELTA).tag("type", "incremental").summary();
+        assertEquals(1, delta.count());
+        assertEquals(3, delta.totalAmount(), 0);
+    }
+
+    @Test
+    public void verifyRecentChangesAreLoadedAgain() {
+        this.servicesManager.load();
+        final var services = this.servicesManager.load();
+        assertEquals(2, services.size());
+        assertEquals(1, this.meterRegistry.get(AbstractServicesManager.METRIC_SYNC_DELTA).tag("type", "incremental").summary().totalAmount(), 0);
+    }
+
+    private static RegexRegisteredService newRegisteredService(final long id, final String name) {
+        final var r = new RegexRegisteredService();
+        r.setId(id);
+        r.setName(name);
+        r.setServiceId("^https://" + name + ".example.org");
+        return r;
+    }
+
+    /**
+     * In-memory registry that stamps services as they are saved, one hour apart.
+     */
+    private static class StampedInMemoryServiceRegistry extends InMemoryServiceRegistry {
+        private final Map<Long, Long> changeStamps = new HashMap<>();
+
+        private long clock;
+
+        private int changesRequested;
+
+        int getChangesRequested() {
+            return this.changesRequested;
+        }
+
+        @Override
+        public RegisteredService save(final RegisteredService registeredService) {
+            this.clock += Duration.ofHours(1).toMillis();
+            this.changeStamps.put(registeredService.getId(), this.clock);
+            return super.save(registeredService);
+        }
+
+        @Override
+        public RegisteredServiceChanges loadChangesSince(final long changeStamp) {
+            final var services = load();
+            final var serviceIds = services.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+            if (changeStamp == RegisteredServiceChanges.NO_CHANGE_STAMP) {
+                return new RegisteredServiceChanges(services, serviceIds, this.clock);
+            }
+            this.changesRequested++;
+            final var changed = services.stream()
+                .filter(r -> this.changeStamps.get(r.getId()) >= changeStamp)
+                .collect(Collectors.toList());
+            return new RegisteredServiceChanges(changed, serviceIds, this.clock);
+        }
+    }
+}
@@ -140,4 +140,19 @@ public class RegisteredServiceRegexAttributeFilterTests {
 
         assertEquals(filter, filterRead);
     }
+
+    @Test
+    public void verifyPatternIsCompiledWhenDeserialized() throws IOException {
+        MAPPER.writeValue(JSON_FILE, filter);
+        final RegisteredServiceAttributeFilter filterRead = MAPPER.readValue(JSON_FILE, RegisteredServiceRegexAttributeFilter.class);
+        final var attrs = filterRead.filter(this.givenAttributesMap);
+        assertEquals(filter.filter(this.givenAttributesMap).keySet(), attrs.keySet());
+        assertFalse(attrs.containsKey(PHONE));
+
+        final var readFilter = (RegisteredServiceRegexAttributeFilter) filterRead;
+        readFilter.setPattern("^\\d+$");
+        final var updated = readFilter.filter(this.givenAttributesMap);
+        assertTrue(updated.containsKey(PHONE));
+        assertFalse(updated.containsKey(UID));
+    }
 }
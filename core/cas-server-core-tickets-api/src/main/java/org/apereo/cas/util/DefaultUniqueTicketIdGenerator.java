@@ -3,12 +3,15 @@ package org.apereo.cas.util;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.gen.AbstractRandomStringGenerator;
 import org.apereo.cas.util.gen.Base64RandomStringGenerator;
 import org.apereo.cas.util.gen.DefaultLongNumericGenerator;
 import org.apereo.cas.util.gen.NumericGenerator;
 import org.apereo.cas.util.gen.RandomStringGenerator;
 import lombok.Setter;
 
+import java.util.Arrays;
+
 /**
  * Default implementation of {@link UniqueTicketIdGenerator}. Implementation
  * utilizes a DefaultLongNumericGeneraor and a DefaultRandomStringGenerator to
@@ -24,6 +27,20 @@ import lombok.Setter;
 @Setter
 public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
 
+    /**
+     * The url-safe base64 alphabet, with {@code -} in place of {@code _}, used to encode ticket id bodies.
+     */
+    private static final char[] TICKET_BODY_ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789--".toCharArray();
+
+    private static final int BASE64_BITS_PER_CHAR = 6;
+
+    private static final int BASE64_CHAR_MASK = 0x3F;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final int BITS_PER_BYTE = 8;
+
     /**
      * The numeric generator to generate the static part of the id.
      */
@@ -101,8 +118,53 @@ public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
     @Override
     public String getNewTicketId(final String prefix) {
         final var number = this.numericGenerator.getNextNumberAsString();
+        final var ticketSuffix = StringUtils.defaultString(this.suffix);
+        if (this.randomStringGenerator != null && this.randomStringGenerator.getClass() == Base64RandomStringGenerator.class) {
+            final var random = this.randomStringGenerator.getNewStringAsBytes();
+            final var bodyLength = (random.length * BITS_PER_BYTE + BASE64_BITS_PER_CHAR - 1) / BASE64_BITS_PER_CHAR;
+            final var ticketId = new StringBuilder(prefix.length() + number.length() + bodyLength + ticketSuffix.length() + 2)
+                .append(prefix).append('-').append(number).append('-');
+            appendTicketBody(ticketId, random);
+            Arrays.fill(random, (byte) 0);
+            return ticketId.append(ticketSuffix).toString();
+        }
         final var ticketBody = this.randomStringGenerator.getNewString().replace('_', '-');
-        return prefix + '-' + number + '-' + ticketBody + StringUtils.defaultString(this.suffix);
+        return prefix + '-' + number + '-' + ticketBody + ticketSuffix;
+    }
+
+    /**
+     * Draw random bytes from a generator owned by the calling thread, rather than from the generator
+     * shared by all threads, if the random string generator supports it.
+     *
+     * @param perThreadRandomizer whether random bytes are drawn per thread
+     */
+    public void setPerThreadRandomizer(final boolean perThreadRandomizer) {
+        if (this.randomStringGenerator instanceof AbstractRandomStringGenerator) {
+            AbstractRandomStringGenerator.class.cast(this.randomStringGenerator).setPerThreadRandomizer(perThreadRandomizer);
+        }
+    }
+
+    /**
+     * Encode random bytes as url-safe base64 without padding, straight into the ticket id,
+     * sparing the intermediate strings otherwise created to encode and sanitize the ticket body.
+     *
+     * @param ticketId the ticket id being built
+     * @param random   the random bytes
+     */
+    private static void appendTicketBody(final StringBuilder ticketId, final byte[] random) {
+        var buffer = 0;
+        var bits = 0;
+        for (final var b : random) {
+            buffer = (buffer << BITS_PER_BYTE) | (b & BYTE_MASK);
+            bits += BITS_PER_BYTE;
+            while (bits >= BASE64_BITS_PER_CHAR) {
+                bits -= BASE64_BITS_PER_CHAR;
+                ticketId.append(TICKET_BODY_ALPHABET[(buffer >> bits) & BASE64_CHAR_MASK]);
+            }
+        }
+        if (bits > 0) {
+            ticketId.append(TICKET_BODY_ALPHABET[(buffer << (BASE64_BITS_PER_CHAR - bits)) & BASE64_CHAR_MASK]);
+        }
     }
 
     /**
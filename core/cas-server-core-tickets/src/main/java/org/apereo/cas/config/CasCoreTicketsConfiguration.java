@@ -184,17 +184,21 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @Bean
     @RefreshScope
     public UniqueTicketIdGenerator ticketGrantingTicketUniqueIdGenerator() {
-        return new HostNameBasedUniqueTicketIdGenerator.TicketGrantingTicketIdGenerator(
+        final var generator = new HostNameBasedUniqueTicketIdGenerator.TicketGrantingTicketIdGenerator(
             casProperties.getTicket().getTgt().getMaxLength(),
             casProperties.getHost().getName());
+        generator.setPerThreadRandomizer(casProperties.getTicket().isPerThreadRandomIdGenerator());
+        return generator;
     }
 
     @ConditionalOnMissingBean(name = "proxy20TicketUniqueIdGenerator")
     @Bean
     public UniqueTicketIdGenerator proxy20TicketUniqueIdGenerator() {
-        return new HostNameBasedUniqueTicketIdGenerator.ProxyTicketIdGenerator(
+        final var generator = new HostNameBasedUniqueTicketIdGenerator.ProxyTicketIdGenerator(
             casProperties.getTicket().getPgt().getMaxLength(),
             casProperties.getHost().getName());
+        generator.setPerThreadRandomizer(casProperties.getTicket().isPerThreadRandomIdGenerator());
+        return generator;
     }
 
 
@@ -31,9 +31,11 @@ public class CasDefaultServiceTicketIdGeneratorsConfiguration implements UniqueT
 
     @Bean
     public UniqueTicketIdGenerator serviceTicketUniqueIdGenerator() {
-        return new HostNameBasedUniqueTicketIdGenerator.ServiceTicketIdGenerator(
+        final var generator = new HostNameBasedUniqueTicketIdGenerator.ServiceTicketIdGenerator(
                 casProperties.getTicket().getSt().getMaxLength(),
                 casProperties.getHost().getName());
+        generator.setPerThreadRandomizer(casProperties.getTicket().isPerThreadRandomIdGenerator());
+        return generator;
     }
 
     @Override
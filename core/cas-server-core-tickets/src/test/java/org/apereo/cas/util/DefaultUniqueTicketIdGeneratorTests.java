@@ -1,8 +1,15 @@
 package org.apereo.cas.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.junit.Test;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
 import static org.junit.Assert.*;
 
 /**
@@ -37,4 +44,28 @@ public class DefaultUniqueTicketIdGeneratorTests {
         final var ticketId = generator.getNewTicketId("test");
         assertEquals(lengthWithoutSuffix, ticketId.length());
     }
+
+    @Test
+    public void verifyTicketBodyEncoding() {
+        IntStream.rangeClosed(1, 64).forEach(length -> {
+            final var generator = new DefaultUniqueTicketIdGenerator(length);
+            final var ticketId = generator.getNewTicketId("TGT");
+            final var body = ticketId.substring(ticketId.indexOf('-', "TGT-".length()) + 1);
+            assertEquals((length * 8 + 5) / 6, body.length());
+            assertTrue(body.matches("[A-Za-z0-9-]+"));
+        });
+    }
+
+    @Test
+    public void verifyPerThreadRandomizer() throws Exception {
+        final var generator = new DefaultUniqueTicketIdGenerator(UniqueTicketIdGenerator.TICKET_SIZE);
+        generator.setPerThreadRandomizer(true);
+        final Set<String> ticketIds = ConcurrentHashMap.newKeySet();
+        final var executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(i -> executor.submit(() -> IntStream.range(0, 1000)
+            .forEach(j -> ticketIds.add(generator.getNewTicketId("ST")))));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(8000, ticketIds.size());
+    }
 }
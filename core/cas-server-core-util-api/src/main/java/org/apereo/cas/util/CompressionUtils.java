@@ -4,24 +4,41 @@ import lombok.Cleanup;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Base64OutputStream;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.Inflater;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 /**
  * This is {@link CompressionUtils}
  * that encapsulates common compression calls and operations
  * in one spot.
+ * <p>
+ * Deflaters, inflaters and working buffers are kept in a small pool, bounded by the number of processors,
+ * and reused across calls rather than created, and for deflaters and inflaters ended, on every call.
+ * Deflaters and inflaters are only created once an operation needs them. A deflater holds about 256 KB
+ * of native memory and an inflater about 40 KB, so a pooled context that serves every operation holds
+ * about 600 KB; contexts that do not fit in the pool are ended as soon as they are used.
+ * Pooled contexts are ended by {@link #releaseResources()}, which is called when CAS shuts down.
  *
  * @author Misagh Moayyed
  * @since 4.1
@@ -32,6 +49,52 @@ public class CompressionUtils {
 
     private static final int INFLATED_ARRAY_LENGTH = 10000;
 
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Output buffers that grow beyond this size while in use are not kept for the next call.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * Length of the magic number, compression method and flags that open a gzip header.
+     */
+    private static final int GZIP_FLAGS_END = 4;
+
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final int BITS_PER_BYTE = 8;
+
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Raw inflaters expect an extra byte past the end of the compressed data.
+     */
+    private static final byte[] INFLATER_PADDING = new byte[1];
+
+    private static final BlockingQueue<CompressionContext> CONTEXTS = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Incremented each time resources are released, so that contexts in use at the time are not pooled again.
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    /**
+     * End the deflaters and inflaters held by pooled compression contexts, releasing their native memory.
+     * Contexts in use at the time are ended once they are no longer used.
+     */
+    public static void releaseResources() {
+        GENERATION.incrementAndGet();
+        final var contexts = new ArrayList<CompressionContext>();
+        CONTEXTS.drainTo(contexts);
+        contexts.forEach(CompressionContext::end);
+        LOGGER.debug("Released [{}] pooled compression contexts", contexts.size());
+    }
+
     /**
      * Inflate the given byte array by {@link #INFLATED_ARRAY_LENGTH}.
      *
@@ -39,24 +102,31 @@ public class CompressionUtils {
      * @return the array as a string with {@code UTF-8} encoding
      */
     public static String inflate(final byte[] bytes) {
-        final var inflater = new Inflater(true);
-        final var xmlMessageBytes = new byte[INFLATED_ARRAY_LENGTH];
-
-        final var extendedBytes = new byte[bytes.length + 1];
-        System.arraycopy(bytes, 0, extendedBytes, 0, bytes.length);
-        extendedBytes[bytes.length] = 0;
+        final var context = acquireContext();
+        try {
+            return inflate(context, bytes);
+        } finally {
+            releaseContext(context);
+        }
+    }
 
-        inflater.setInput(extendedBytes);
+    private static String inflate(final CompressionContext context, final byte[] bytes) {
+        final var inflater = context.getRawInflater();
+        final var xmlMessageBytes = context.inflatedBuffer;
+        inflater.reset();
+        inflater.setInput(bytes);
 
         try {
-            final var resultLength = inflater.inflate(xmlMessageBytes);
-            inflater.end();
+            var resultLength = inflater.inflate(xmlMessageBytes);
+            if (!inflater.finished() && inflater.needsInput()) {
+                inflater.setInput(INFLATER_PADDING);
+                resultLength += inflater.inflate(xmlMessageBytes, resultLength, xmlMessageBytes.length - resultLength);
+            }
 
             if (!inflater.finished()) {
                 throw new IllegalArgumentException("buffer not large enough.");
             }
 
-            inflater.end();
             return new String(xmlMessageBytes, 0, resultLength, StandardCharsets.UTF_8);
         } catch (final DataFormatException e) {
             return null;
@@ -71,8 +141,14 @@ public class CompressionUtils {
      * @return the converted string
      */
     public static String deflate(final byte[] bytes) {
-        final var data = new String(bytes, StandardCharsets.UTF_8);
-        return deflate(data);
+        final var context = acquireContext();
+        try {
+            final var output = context.getOutput();
+            deflate(context, bytes, output);
+            return output.toString(StandardCharsets.US_ASCII);
+        } finally {
+            releaseContext(context);
+        }
     }
 
     /**
@@ -82,14 +158,34 @@ public class CompressionUtils {
      * @return base64 encoded string
      */
     public static String deflate(final String data) {
-        final var deflater = new Deflater();
-        deflater.setInput(data.getBytes(StandardCharsets.UTF_8));
+        return deflate(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deflate the given bytes using zlib and write them, base64-encoded, to the given stream.
+     * The stream is left open.
+     *
+     * @param bytes the bytes
+     * @param out   the stream to write to
+     */
+    public static void deflate(final byte[] bytes, final OutputStream out) {
+        final var context = acquireContext();
+        try {
+            deflate(context, bytes, out);
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    @SneakyThrows
+    private static void deflate(final CompressionContext context, final byte[] bytes, final OutputStream out) {
+        final var deflater = context.getZlibDeflater();
+        deflater.reset();
+        deflater.setInput(bytes);
         deflater.finish();
-        final var buffer = new byte[data.length()];
-        final var resultSize = deflater.deflate(buffer);
-        final var output = new byte[resultSize];
-        System.arraycopy(buffer, 0, output, 0, resultSize);
-        return EncodingUtils.encodeBase64(output);
+        try (var encoded = new Base64OutputStream(new CloseShieldOutputStream(out), true, 0, null)) {
+            writeDeflated(deflater, context.buffer, encoded);
+        }
     }
 
     /**
@@ -99,19 +195,27 @@ public class CompressionUtils {
      * @return the new string
      */
     public static String decodeByteArrayToString(final byte[] bytes) {
-        final var bais = new ByteArrayInputStream(bytes);
-        final var baos = new ByteArrayOutputStream();
-        final var buf = new byte[bytes.length];
-        try (var iis = new InflaterInputStream(bais)) {
-            var count = iis.read(buf);
-            while (count != -1) {
-                baos.write(buf, 0, count);
-                count = iis.read(buf);
+        final var context = acquireContext();
+        try {
+            final var inflater = context.getZlibInflater();
+            final var buf = context.buffer;
+            final var baos = context.getOutput();
+            inflater.reset();
+            inflater.setInput(bytes);
+            while (!inflater.finished()) {
+                final var count = inflater.inflate(buf);
+                if (count > 0) {
+                    baos.write(buf, 0, count);
+                } else if (inflater.needsInput() || inflater.needsDictionary()) {
+                    throw new ZipException("Unexpected end of ZLIB input stream");
+                }
             }
-            return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            return baos.toString(StandardCharsets.UTF_8);
         } catch (final Exception e) {
             LOGGER.error("Base64 decoding failed", e);
             return null;
+        } finally {
+            releaseContext(context);
         }
     }
 
@@ -125,6 +229,17 @@ public class CompressionUtils {
     @SneakyThrows
     public static String decompress(final String zippedBase64Str) {
         final var bytes = EncodingUtils.decodeBase64(zippedBase64Str);
+        if (hasPlainGzipHeader(bytes)) {
+            final var context = acquireContext();
+            try {
+                final var output = context.getOutput();
+                if (gunzip(context, bytes, output)) {
+                    return output.toString(Charset.defaultCharset());
+                }
+            } finally {
+                releaseContext(context);
+            }
+        }
         @Cleanup
         final var zi = new GZIPInputStream(new ByteArrayInputStream(bytes));
         return IOUtils.toString(zi, Charset.defaultCharset());
@@ -137,18 +252,199 @@ public class CompressionUtils {
      * @param srcTxt the src txt
      * @return the string in UTF-8 format and base64'ed, or null.
      */
-    @SneakyThrows
     public static String compress(final String srcTxt) {
-        @Cleanup
-        final var rstBao = new ByteArrayOutputStream();
-        @Cleanup
-        final var zos = new GZIPOutputStream(rstBao);
-        zos.write(srcTxt.getBytes(StandardCharsets.UTF_8));
-        zos.flush();
-        zos.finish();
-        final var bytes = rstBao.toByteArray();
-        final var base64 = StringUtils.remove(EncodingUtils.encodeBase64(bytes), '\0');
-        return new String(StandardCharsets.UTF_8.encode(base64).array(), StandardCharsets.UTF_8);
+        final var context = acquireContext();
+        try {
+            final var output = context.getOutput();
+            compress(context, srcTxt, output);
+            return output.toString(StandardCharsets.US_ASCII);
+        } finally {
+            releaseContext(context);
+        }
+    }
 
+    /**
+     * Zip text and write it, base64-encoded, to the given stream,
+     * such as the output stream of a servlet response. The stream is left open.
+     *
+     * @param srcTxt the src txt
+     * @param out    the stream to write to
+     */
+    public static void compress(final String srcTxt, final OutputStream out) {
+        final var context = acquireContext();
+        try {
+            compress(context, srcTxt, out);
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    @SneakyThrows
+    private static void compress(final CompressionContext context, final String srcTxt, final OutputStream out) {
+        final var bytes = srcTxt.getBytes(StandardCharsets.UTF_8);
+        final var deflater = context.getGzipDeflater();
+        deflater.reset();
+        deflater.setInput(bytes);
+        deflater.finish();
+        final var crc = context.crc;
+        crc.reset();
+        crc.update(bytes);
+
+        try (var encoded = new Base64OutputStream(new CloseShieldOutputStream(out), true, 0, null)) {
+            encoded.write(GZIP_HEADER);
+            writeDeflated(deflater, context.buffer, encoded);
+            writeIntLittleEndian(encoded, crc.getValue());
+            writeIntLittleEndian(encoded, bytes.length);
+        }
+    }
+
+    private static void writeDeflated(final Deflater deflater, final byte[] buffer, final OutputStream out) throws IOException {
+        while (!deflater.finished()) {
+            final var count = deflater.deflate(buffer);
+            out.write(buffer, 0, count);
+        }
+    }
+
+    private static void writeIntLittleEndian(final OutputStream out, final long value) throws IOException {
+        for (var i = 0; i < Integer.BYTES; i++) {
+            out.write((int) (value >>> (i * BITS_PER_BYTE)) & BYTE_MASK);
+        }
+    }
+
+    private static long readIntLittleEndian(final byte[] bytes, final int offset) {
+        var value = 0L;
+        for (var i = Integer.BYTES - 1; i >= 0; i--) {
+            value = (value << BITS_PER_BYTE) | (bytes[offset + i] & BYTE_MASK);
+        }
+        return value;
+    }
+
+    private static boolean hasPlainGzipHeader(final byte[] bytes) {
+        return bytes.length >= GZIP_HEADER.length + GZIP_TRAILER_LENGTH
+            && Arrays.equals(bytes, 0, GZIP_FLAGS_END, GZIP_HEADER, 0, GZIP_FLAGS_END);
+    }
+
+    /**
+     * Inflate a single gzip member that carries no optional header fields, verifying its trailer.
+     *
+     * @return false if the data is made up of several members and must be read as a stream
+     */
+    private static boolean gunzip(final CompressionContext context, final byte[] bytes,
+                                  final ByteArrayOutputStream output) throws IOException, DataFormatException {
+        final var inflater = context.getRawInflater();
+        final var buffer = context.buffer;
+        final var crc = context.crc;
+        inflater.reset();
+        crc.reset();
+        inflater.setInput(bytes, GZIP_HEADER.length, bytes.length - GZIP_HEADER.length);
+        while (!inflater.finished()) {
+            final var count = inflater.inflate(buffer);
+            if (count > 0) {
+                output.write(buffer, 0, count);
+                crc.update(buffer, 0, count);
+            } else if (inflater.needsInput() || inflater.needsDictionary()) {
+                throw new ZipException("Unexpected end of ZLIB input stream");
+            }
+        }
+        final var trailer = bytes.length - inflater.getRemaining();
+        if (inflater.getRemaining() < GZIP_TRAILER_LENGTH) {
+            throw new ZipException("Unexpected end of GZIP input stream");
+        }
+        if (readIntLittleEndian(bytes, trailer) != crc.getValue()
+            || readIntLittleEndian(bytes, trailer + Integer.BYTES) != (inflater.getBytesWritten() & INT_MASK)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        return inflater.getRemaining() == GZIP_TRAILER_LENGTH;
+    }
+
+    private static CompressionContext acquireContext() {
+        final var context = CONTEXTS.poll();
+        return context != null ? context : new CompressionContext();
+    }
+
+    private static void releaseContext(final CompressionContext context) {
+        if (!context.isCurrent() || !CONTEXTS.offer(context)) {
+            context.end();
+        } else if (!context.isCurrent() && CONTEXTS.remove(context)) {
+            LOGGER.trace("Resources were released while the compression context was returned to the pool");
+            context.end();
+        }
+    }
+
+    /**
+     * Compression state used by a single call at a time. Deflaters and inflaters are created on first use.
+     */
+    private static class CompressionContext {
+        private final int generation = GENERATION.get();
+
+        private final CRC32 crc = new CRC32();
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private final byte[] inflatedBuffer = new byte[INFLATED_ARRAY_LENGTH];
+
+        private ByteArrayOutputStream output = new ByteArrayOutputStream(BUFFER_SIZE);
+
+        private Deflater zlibDeflater;
+
+        private Deflater gzipDeflater;
+
+        private Inflater zlibInflater;
+
+        private Inflater rawInflater;
+
+        Deflater getZlibDeflater() {
+            if (this.zlibDeflater == null) {
+                this.zlibDeflater = new Deflater();
+            }
+            return this.zlibDeflater;
+        }
+
+        Deflater getGzipDeflater() {
+            if (this.gzipDeflater == null) {
+                this.gzipDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            }
+            return this.gzipDeflater;
+        }
+
+        Inflater getZlibInflater() {
+            if (this.zlibInflater == null) {
+                this.zlibInflater = new Inflater();
+            }
+            return this.zlibInflater;
+        }
+
+        Inflater getRawInflater() {
+            if (this.rawInflater == null) {
+                this.rawInflater = new Inflater(true);
+            }
+            return this.rawInflater;
+        }
+
+        /**
+         * Whether resources have not been released since the context was created.
+         */
+        boolean isCurrent() {
+            return this.generation == GENERATION.get();
+        }
+
+        /**
+         * Release the native memory held by deflaters and inflaters.
+         */
+        void end() {
+            Stream.of(this.zlibDeflater, this.gzipDeflater).filter(Objects::nonNull).forEach(Deflater::end);
+            Stream.of(this.zlibInflater, this.rawInflater).filter(Objects::nonNull).forEach(Inflater::end);
+        }
+
+        /**
+         * Get an empty output buffer, replacing the current one if a previous call left it oversized.
+         */
+        ByteArrayOutputStream getOutput() {
+            if (this.output.size() > MAX_RETAINED_BUFFER_SIZE) {
+                this.output = new ByteArrayOutputStream(BUFFER_SIZE);
+            }
+            this.output.reset();
+            return this.output;
+        }
     }
 }
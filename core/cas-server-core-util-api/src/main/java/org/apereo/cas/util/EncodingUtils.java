@@ -5,7 +5,10 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base32;
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Base64InputStream;
+import org.apache.commons.codec.binary.Base64OutputStream;
 import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.jose4j.jwe.JsonWebEncryption;
@@ -16,11 +19,14 @@ import org.jose4j.jws.AlgorithmIdentifiers;
 import org.jose4j.jws.JsonWebSignature;
 
 import javax.crypto.Cipher;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Base64.Encoder;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -47,6 +53,9 @@ public class EncodingUtils {
     private static final Base64 BASE64_CHUNKED_ENCODER = new Base64(76, new byte[]{10});
     private static final Base64 BASE64_UNCHUNKED_ENCODER = new Base64(0, new byte[]{10});
 
+    private static final Encoder BASE64_ENCODER = java.util.Base64.getEncoder();
+    private static final Encoder BASE64_URL_SAFE_ENCODER = java.util.Base64.getUrlEncoder().withoutPadding();
+
     /**
      * Hex decode string.
      *
@@ -112,7 +121,10 @@ public class EncodingUtils {
      * @return the encoded string
      */
     public static String encodeUrlSafeBase64(final byte[] data) {
-        return Base64.encodeBase64URLSafeString(data);
+        if (data == null) {
+            return null;
+        }
+        return BASE64_URL_SAFE_ENCODER.encodeToString(data);
     }
 
     /**
@@ -132,7 +144,10 @@ public class EncodingUtils {
      * @return the encoded string
      */
     public static String encodeBase64(final byte[] data) {
-        return Base64.encodeBase64String(data);
+        if (data == null) {
+            return null;
+        }
+        return BASE64_ENCODER.encodeToString(data);
     }
 
     /**
@@ -156,7 +171,21 @@ public class EncodingUtils {
      * @return the encoded string
      */
     public static String encodeBase64(final String data) {
-        return Base64.encodeBase64String(data.getBytes(StandardCharsets.UTF_8));
+        return BASE64_ENCODER.encodeToString(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Base64-encode the given byte[] and write it to the given stream,
+     * such as the output stream of a servlet response. The stream is left open.
+     *
+     * @param data the byte array to encode
+     * @param out  the stream to write to
+     */
+    @SneakyThrows
+    public static void encodeBase64(final byte[] data, final OutputStream out) {
+        try (var encoded = new Base64OutputStream(new CloseShieldOutputStream(out), true, 0, null)) {
+            encoded.write(data);
+        }
     }
 
     /**
@@ -166,7 +195,7 @@ public class EncodingUtils {
      * @return the decoded array
      */
     public static byte[] decodeBase64(final String data) {
-        return Base64.decodeBase64(data);
+        return BASE64_UNCHUNKED_ENCODER.decode(data);
     }
 
     /**
@@ -176,7 +205,17 @@ public class EncodingUtils {
      * @return the decoded array
      */
     public static byte[] decodeBase64(final byte[] data) {
-        return Base64.decodeBase64(data);
+        return BASE64_UNCHUNKED_ENCODER.decode(data);
+    }
+
+    /**
+     * Base64-decode the given stream as it is read, such as the input stream of a servlet request.
+     *
+     * @param data the base64 stream
+     * @return the decoded stream
+     */
+    public static InputStream decodeBase64(final InputStream data) {
+        return new Base64InputStream(data, false);
     }
 
     /**
@@ -196,7 +235,10 @@ public class EncodingUtils {
      * @return the byte[] in base64
      */
     public static byte[] encodeBase64ToByteArray(final byte[] data) {
-        return Base64.encodeBase64(data);
+        if (data == null) {
+            return null;
+        }
+        return BASE64_ENCODER.encode(data);
     }
 
     /**
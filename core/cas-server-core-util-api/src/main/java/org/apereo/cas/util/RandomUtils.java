@@ -31,5 +31,21 @@ public class RandomUtils {
             return new SecureRandom();
         }
     }
-    
+
+    /**
+     * Get a deterministic random bit generator, seeded from the entropy source of the platform.
+     * Unlike instances of the native generator, which all draw from the same source under a shared lock,
+     * each instance keeps its own state and may be used by one thread without contention.
+     * Failover to the native instance if the algorithm is not available.
+     *
+     * @return the drbg instance
+     */
+    public static SecureRandom getDrbgInstance() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (final NoSuchAlgorithmException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return getNativeInstance();
+        }
+    }
 }
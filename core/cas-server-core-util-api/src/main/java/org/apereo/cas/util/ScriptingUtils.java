@@ -4,11 +4,13 @@ import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.springframework.core.io.Resource;
 
 import javax.script.Bindings;
@@ -121,6 +123,60 @@ public class ScriptingUtils {
         return null;
     }
 
+    /**
+     * Execute a groovy shell script that is already parsed.
+     * The script is run in a fresh instance with its own binding,
+     * so the same parsed script may be safely executed by many threads.
+     *
+     * @param <T>          the type parameter
+     * @param groovyScript the parsed groovy script
+     * @param variables    the variables
+     * @param clazz        the clazz
+     * @return the t
+     */
+    public static <T> T executeGroovyShellScript(final Script groovyScript,
+                                                 final Map<String, Object> variables,
+                                                 final Class<T> clazz) {
+        try {
+            final var binding = new Binding();
+            if (variables != null && !variables.isEmpty()) {
+                variables.forEach(binding::setVariable);
+            }
+            if (!binding.hasVariable("logger")) {
+                binding.setVariable("logger", LOGGER);
+            }
+            final var script = InvokerHelper.createScript(groovyScript.getClass(), binding);
+            LOGGER.debug("Executing groovy script [{}] with variables [{}]", script.getClass().getName(), binding.getVariables());
+
+            final var result = script.run();
+            if (result != null && !clazz.isAssignableFrom(result.getClass())) {
+                throw new ClassCastException("Result [" + result
+                    + " is of type " + result.getClass()
+                    + " when we were expecting " + clazz);
+            }
+            return (T) result;
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Parse groovy shell script, so that it may be executed many times
+     * without being compiled again.
+     *
+     * @param script the script
+     * @return the parsed script, or null if the script cannot be compiled
+     */
+    public static Script parseGroovyShellScript(final String script) {
+        try {
+            return new GroovyShell().parse(script);
+        } catch (final Exception e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
     /**
      * Execute groovy script via run object.
      *
@@ -1,6 +1,7 @@
 package org.apereo.cas.util.gen;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.util.RandomUtils;
 
@@ -20,12 +21,25 @@ import java.security.SecureRandom;
 @Slf4j
 @Getter
 public abstract class AbstractRandomStringGenerator implements RandomStringGenerator{
+    /**
+     * Random generators owned by each thread, used when {@link #perThreadRandomizer} is enabled.
+     */
+    private static final ThreadLocal<SecureRandom> THREAD_RANDOMIZERS = ThreadLocal.withInitial(RandomUtils::getDrbgInstance);
+
     /** An instance of secure random to ensure randomness is secure. */
     protected final SecureRandom randomizer = RandomUtils.getNativeInstance();
 
     /** Default string length before encoding. */
     protected final int defaultLength;
 
+    /**
+     * Whether random bytes should be drawn from a generator owned by the calling thread,
+     * rather than from the native generator, whose instances all share a single lock.
+     * This favors throughput when many threads generate random strings at once.
+     */
+    @Setter
+    private boolean perThreadRandomizer;
+
     /**
      * Instantiates a new default random string generator
      * with length set to {@link RandomStringGenerator#DEFAULT_LENGTH}.
@@ -45,7 +59,7 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
 
     @Override
     public String getAlgorithm() {
-        return randomizer.getAlgorithm();
+        return getCurrentRandomizer().getAlgorithm();
     }
 
     /**
@@ -72,7 +86,7 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
     @Override
     public byte[] getNewStringAsBytes(final int size) {
         final var random = new byte[size];
-        this.randomizer.nextBytes(random);
+        getCurrentRandomizer().nextBytes(random);
         return random;
     }
 
@@ -80,4 +94,8 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
     public byte[] getNewStringAsBytes() {
         return this.getNewStringAsBytes(this.getDefaultLength());
     }
+
+    private SecureRandom getCurrentRandomizer() {
+        return this.perThreadRandomizer ? THREAD_RANDOMIZERS.get() : this.randomizer;
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.util.http;
 
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Define the behaviour of a HTTP client.
@@ -30,6 +31,19 @@ public interface HttpClient {
      */
     HttpMessage sendMessageToEndPoint(URL url);
 
+    /**
+     * Sends a message to a particular endpoint without blocking the caller.
+     * The returned future completes with {@code true} once the endpoint has accepted the message,
+     * and with {@code false} if the message could not be sent or the endpoint rejected it.
+     *
+     * @param message The message that should be sent to the http endpoint
+     * @return the future result of the exchange
+     * @since 6.0.0
+     */
+    default CompletableFuture<Boolean> sendMessageToEndPointAsync(final HttpMessage message) {
+        return CompletableFuture.completedFuture(sendMessageToEndPoint(message));
+    }
+
     /**
      * Make a synchronous HTTP(S) call to ensure that the url is reachable.
      *
@@ -1,19 +1,32 @@
 package org.apereo.cas.util.http;
 
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.FutureRequestExecutionService;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.DisposableBean;
 
@@ -21,13 +34,28 @@ import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of CAS {@link HttpClient}
  * which delegates requests to a {@link #wrappedHttpClient} instance.
+ * <p>
+ * Requests are tracked per destination, that is per scheme, host and port. Each destination
+ * may be given a limited number of concurrent messages, so that a slow or unresponsive endpoint
+ * cannot take up all connections and threads of the client; messages beyond that limit are rejected
+ * right away. Connection pool usage and latency are reported as metrics tagged by destination.
+ * <p>
+ * Destinations may be supplied by clients, such as proxy callback urls, so only a bounded number of them
+ * is tracked and those left idle are evicted. Meters cannot be removed from the registry, so only the first
+ * destinations up to that bound are given their own metric tags; all others are reported together as {@code other}.
  *
  * @author Jerome Leleu
  * @author Scott Battaglia
@@ -36,14 +64,52 @@ import java.util.concurrent.RejectedExecutionException;
  */
 @Slf4j
 @Getter
-@AllArgsConstructor
 public class SimpleHttpClient implements HttpClient, Serializable, DisposableBean {
 
+    /**
+     * Metric recording the time it takes to exchange messages with a destination, tagged by destination and outcome.
+     */
+    public static final String METRIC_REQUEST_LATENCY = "cas.http.client.requests";
+
+    /**
+     * Metric counting messages rejected because a destination has too many concurrent messages, tagged by destination.
+     */
+    public static final String METRIC_REQUEST_REJECTED = "cas.http.client.requests.rejected";
+
+    /**
+     * Metric reporting connections leased from the pool of a destination, tagged by destination.
+     */
+    public static final String METRIC_POOL_LEASED = "cas.http.client.pool.leased";
+
+    /**
+     * Metric reporting requests waiting for a connection from the pool of a destination, tagged by destination.
+     */
+    public static final String METRIC_POOL_PENDING = "cas.http.client.pool.pending";
+
+    /**
+     * Metric reporting idle connections kept in the pool of a destination, tagged by destination.
+     */
+    public static final String METRIC_POOL_AVAILABLE = "cas.http.client.pool.available";
+
+    /**
+     * Default maximum number of destinations tracked.
+     */
+    static final long DEFAULT_MAX_DESTINATIONS = 1_000;
+
+    /**
+     * Default time after which an idle destination is no longer tracked.
+     */
+    static final Duration DEFAULT_DESTINATION_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
     /**
      * Unique Id for serialization.
      */
     private static final long serialVersionUID = -4949380008568071855L;
 
+    private static final String TAG_DESTINATION = "destination";
+
+    private static final String OTHER_DESTINATIONS = "other";
+
 
     /**
      * the acceptable codes supported by this client.
@@ -60,34 +126,74 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
      */
     private final FutureRequestExecutionService requestExecutorService;
 
-    @Override
-    public boolean sendMessageToEndPoint(final HttpMessage message) {
-        try {
-            final var request = new HttpPost(message.getUrl().toURI());
-            request.addHeader("Content-Type", message.getContentType());
+    /**
+     * the connection manager that pools connections of the wrapped client per route, if any.
+     */
+    private final transient PoolingHttpClientConnectionManager connectionManager;
 
-            final var entity = new StringEntity(message.getMessage(), ContentType.create(message.getContentType()));
-            request.setEntity(entity);
+    /**
+     * the maximum number of messages sent concurrently to a single destination; zero or less for no limit.
+     */
+    private final int maxConcurrentRequestsPerDestination;
 
-            final ResponseHandler<Boolean> handler = response -> response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
-            LOGGER.debug("Created HTTP post message payload [{}]", request);
-            final var task = this.requestExecutorService.execute(request, HttpClientContext.create(), handler);
-            if (message.isAsynchronous()) {
-                return true;
-            }
-            return task.get();
-        } catch (final RejectedExecutionException e) {
-            LOGGER.warn("Execution rejected", e);
-            return false;
-        } catch (final Exception e) {
-            LOGGER.debug("Unable to send message", e);
-            return false;
+    /**
+     * the time in milliseconds after which an asynchronous message that has not completed is abandoned; zero or less for no limit.
+     */
+    private final long requestTimeout;
+
+    /**
+     * the maximum number of destinations tracked, and given their own metric tags.
+     */
+    private final long maxDestinations;
+
+    @Getter(AccessLevel.NONE)
+    private final transient Cache<String, Destination> destinations;
+
+    @Getter(AccessLevel.NONE)
+    private final transient Set<String> taggedDestinations = ConcurrentHashMap.newKeySet();
+
+    @Setter
+    private transient MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public SimpleHttpClient(final List<Integer> acceptableCodes, final CloseableHttpClient wrappedHttpClient,
+                            final FutureRequestExecutionService requestExecutorService) {
+        this(acceptableCodes, wrappedHttpClient, requestExecutorService, null, 0, 0,
+            DEFAULT_MAX_DESTINATIONS, DEFAULT_DESTINATION_IDLE_TIMEOUT);
+    }
+
+    public SimpleHttpClient(final List<Integer> acceptableCodes, final CloseableHttpClient wrappedHttpClient,
+                            final FutureRequestExecutionService requestExecutorService,
+                            final PoolingHttpClientConnectionManager connectionManager,
+                            final int maxConcurrentRequestsPerDestination, final long requestTimeout,
+                            final long maxDestinations, final Duration destinationIdleTimeout) {
+        this.acceptableCodes = acceptableCodes;
+        this.wrappedHttpClient = wrappedHttpClient;
+        this.requestExecutorService = requestExecutorService;
+        this.connectionManager = connectionManager;
+        this.maxConcurrentRequestsPerDestination = maxConcurrentRequestsPerDestination;
+        this.requestTimeout = requestTimeout;
+        this.maxDestinations = maxDestinations;
+        this.destinations = Caffeine.newBuilder()
+            .maximumSize(maxDestinations)
+            .expireAfterAccess(destinationIdleTimeout)
+            .build();
+    }
+
+    @Override
+    public boolean sendMessageToEndPoint(final HttpMessage message) {
+        if (message.isAsynchronous()) {
+            final var result = sendMessageToEndPointAsync(message);
+            return !result.isDone() || result.join();
         }
+        return send(message, 0).join();
     }
 
     @Override
     public HttpMessage sendMessageToEndPoint(final URL url) {
         HttpEntity entity = null;
+        final var destination = getDestination(url);
+        final var startTime = System.nanoTime();
+        var received = false;
 
         try (var response = this.wrappedHttpClient.execute(new HttpGet(url.toURI()))) {
             final var responseCode = response.getStatusLine().getStatusCode();
@@ -99,6 +205,7 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
                     final var msg = new HttpMessage(url, IOUtils.toString(entity.getContent(), StandardCharsets.UTF_8));
                     msg.setContentType(entity.getContentType().getValue());
                     msg.setResponseCode(responseCode);
+                    received = true;
                     return msg;
                 }
             }
@@ -111,10 +218,72 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
             LOGGER.error("Unable to send message", e);
         } finally {
             EntityUtils.consumeQuietly(entity);
+            recordLatency(destination, received, startTime);
         }
         return null;
     }
 
+    @Override
+    public CompletableFuture<Boolean> sendMessageToEndPointAsync(final HttpMessage message) {
+        return send(message, this.requestTimeout);
+    }
+
+    private CompletableFuture<Boolean> send(final HttpMessage message, final long timeout) {
+        final var result = new CompletableFuture<Boolean>();
+        final Destination destination;
+        final HttpPost request;
+        try {
+            destination = getDestination(message.getUrl());
+            request = new HttpPost(message.getUrl().toURI());
+            request.addHeader("Content-Type", message.getContentType());
+            final var entity = new StringEntity(message.getMessage(), ContentType.create(message.getContentType()));
+            request.setEntity(entity);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to send message", e);
+            result.complete(Boolean.FALSE);
+            return result;
+        }
+
+        if (!destination.tryAcquire()) {
+            LOGGER.warn("Execution rejected; [{}] has reached the limit of [{}] concurrent messages",
+                destination.getName(), this.maxConcurrentRequestsPerDestination);
+            Counter.builder(METRIC_REQUEST_REJECTED)
+                .tag(TAG_DESTINATION, destination.getMetricTag())
+                .register(this.meterRegistry)
+                .increment();
+            result.complete(Boolean.FALSE);
+            return result;
+        }
+
+        final var startTime = System.nanoTime();
+        final var completion = result.whenComplete((sent, error) -> {
+            destination.release();
+            recordLatency(destination, Boolean.TRUE.equals(sent), startTime);
+        });
+        try {
+            final ResponseHandler<Boolean> handler = response -> response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
+            LOGGER.debug("Created HTTP post message payload [{}]", request);
+            final var task = this.requestExecutorService.execute(request, HttpClientContext.create(), handler,
+                new CompletingFutureCallback(result));
+            if (timeout > 0) {
+                result.completeOnTimeout(Boolean.FALSE, timeout, TimeUnit.MILLISECONDS);
+            }
+            result.whenComplete((sent, error) -> {
+                if (!task.isDone()) {
+                    LOGGER.debug("Abandoning message to [{}] that did not complete within [{}] ms", destination.getName(), timeout);
+                    task.cancel(true);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Execution rejected", e);
+            result.complete(Boolean.FALSE);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to send message", e);
+            result.complete(Boolean.FALSE);
+        }
+        return completion;
+    }
+
     @Override
     public boolean isValidEndPoint(final String url) {
         try {
@@ -129,6 +298,9 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
     @Override
     public boolean isValidEndPoint(final URL url) {
         HttpEntity entity = null;
+        final var destination = getDestination(url);
+        final var startTime = System.nanoTime();
+        var valid = false;
 
         try (var response = this.wrappedHttpClient.execute(new HttpGet(url.toURI()))) {
             final var responseCode = response.getStatusLine().getStatusCode();
@@ -136,6 +308,7 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
             final var idx = Collections.binarySearch(this.acceptableCodes, responseCode);
             if (idx >= 0) {
                 LOGGER.debug("Response code from server matched [{}].", responseCode);
+                valid = true;
                 return true;
             }
 
@@ -151,6 +324,7 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
             LOGGER.error(e.getMessage(), e);
         } finally {
             EntityUtils.consumeQuietly(entity);
+            recordLatency(destination, valid, startTime);
         }
         return false;
     }
@@ -162,5 +336,108 @@ public class SimpleHttpClient implements HttpClient, Serializable, DisposableBea
     public void destroy() {
         IOUtils.closeQuietly(this.requestExecutorService);
     }
-    
+
+    /**
+     * Get the destination of the given url, identified by scheme, host and port only,
+     * so that urls that differ by path or query share a destination.
+     */
+    private Destination getDestination(final URL url) {
+        final var port = url.getPort() > 0 ? url.getPort() : url.getDefaultPort();
+        final var name = url.getProtocol() + "://" + url.getHost().toLowerCase() + ':' + port;
+        return this.destinations.get(name, k -> {
+            final var tag = getMetricTag(k);
+            if (!OTHER_DESTINATIONS.equals(tag)) {
+                registerPoolMetrics(url, port, tag);
+            }
+            final var permits = this.maxConcurrentRequestsPerDestination > 0 ? new Semaphore(this.maxConcurrentRequestsPerDestination) : null;
+            return new Destination(k, tag, permits);
+        });
+    }
+
+    private String getMetricTag(final String name) {
+        if (this.taggedDestinations.contains(name)) {
+            return name;
+        }
+        synchronized (this.taggedDestinations) {
+            if (this.taggedDestinations.size() < this.maxDestinations) {
+                this.taggedDestinations.add(name);
+                return name;
+            }
+        }
+        return OTHER_DESTINATIONS;
+    }
+
+    private void registerPoolMetrics(final URL url, final int port, final String name) {
+        if (this.connectionManager == null) {
+            return;
+        }
+        final var host = new HttpHost(url.getHost(), port, url.getProtocol());
+        final var route = new HttpRoute(host, null, "https".equalsIgnoreCase(url.getProtocol()));
+        Gauge.builder(METRIC_POOL_LEASED, this.connectionManager, m -> m.getStats(route).getLeased())
+            .tag(TAG_DESTINATION, name)
+            .register(this.meterRegistry);
+        Gauge.builder(METRIC_POOL_PENDING, this.connectionManager, m -> m.getStats(route).getPending())
+            .tag(TAG_DESTINATION, name)
+            .register(this.meterRegistry);
+        Gauge.builder(METRIC_POOL_AVAILABLE, this.connectionManager, m -> m.getStats(route).getAvailable())
+            .tag(TAG_DESTINATION, name)
+            .register(this.meterRegistry);
+    }
+
+    private void recordLatency(final Destination destination, final boolean success, final long startTime) {
+        Timer.builder(METRIC_REQUEST_LATENCY)
+            .tag(TAG_DESTINATION, destination.getMetricTag())
+            .tag("outcome", success ? "success" : "failure")
+            .register(this.meterRegistry)
+            .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * A destination, identified by scheme, host and port, along with the permits
+     * that bound the number of messages sent to it concurrently.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Destination {
+        private final String name;
+
+        private final String metricTag;
+
+        @Getter(AccessLevel.NONE)
+        private final Semaphore permits;
+
+        boolean tryAcquire() {
+            return this.permits == null || this.permits.tryAcquire();
+        }
+
+        void release() {
+            if (this.permits != null) {
+                this.permits.release();
+            }
+        }
+    }
+
+    /**
+     * Completes a future with the outcome of a request; requests that fail or are cancelled complete it with {@code false}.
+     */
+    @RequiredArgsConstructor
+    private static class CompletingFutureCallback implements FutureCallback<Boolean> {
+        private final CompletableFuture<Boolean> result;
+
+        @Override
+        public void completed(final Boolean sent) {
+            this.result.complete(sent);
+        }
+
+        @Override
+        public void failed(final Exception e) {
+            LOGGER.debug("Unable to send message", e);
+            this.result.complete(Boolean.FALSE);
+        }
+
+        @Override
+        public void cancelled() {
+            this.result.complete(Boolean.FALSE);
+        }
+    }
 }
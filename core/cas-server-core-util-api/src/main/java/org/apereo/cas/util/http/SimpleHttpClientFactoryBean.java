@@ -36,6 +36,7 @@ import javax.net.ssl.HostnameVerifier;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -104,6 +105,26 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
      */
     private List<Integer> acceptableCodes = IntStream.of(DEFAULT_ACCEPTABLE_CODES).boxed().collect(Collectors.toList());
 
+    /**
+     * The maximum number of messages sent concurrently to a single destination; zero or less for no limit.
+     */
+    private int maxConcurrentRequestsPerDestination;
+
+    /**
+     * The time in milliseconds after which an asynchronous message that has not completed is abandoned; zero or less for no limit.
+     */
+    private long requestTimeout;
+
+    /**
+     * The maximum number of destinations tracked for concurrency limits and metrics.
+     */
+    private long maxDestinations = SimpleHttpClient.DEFAULT_MAX_DESTINATIONS;
+
+    /**
+     * The time after which a destination that has not been contacted is no longer tracked.
+     */
+    private Duration destinationIdleTimeout = SimpleHttpClient.DEFAULT_DESTINATION_IDLE_TIMEOUT;
+
     private long connectionTimeout = DEFAULT_TIMEOUT;
 
     private int readTimeout = DEFAULT_TIMEOUT;
@@ -181,10 +202,12 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
 
     @Override
     public SimpleHttpClient getObject() {
-        final var httpClient = buildHttpClient();
+        final var connectionManager = buildConnectionManager();
+        final var httpClient = buildHttpClient(connectionManager);
         final var requestExecutorService = buildRequestExecutorService(httpClient);
         final var codes = this.acceptableCodes.stream().sorted().collect(Collectors.toList());
-        return new SimpleHttpClient(codes, httpClient, requestExecutorService);
+        return new SimpleHttpClient(codes, httpClient, requestExecutorService, connectionManager,
+            this.maxConcurrentRequestsPerDestination, this.requestTimeout, this.maxDestinations, this.destinationIdleTimeout);
     }
 
     @Override
@@ -198,12 +221,12 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
     }
 
     /**
-     * Build a HTTP client based on the current properties.
+     * Build the connection manager that pools connections per route, based on the current properties.
      *
-     * @return the built HTTP client
+     * @return the built connection manager
      */
     @SneakyThrows
-    private CloseableHttpClient buildHttpClient() {
+    private PoolingHttpClientConnectionManager buildConnectionManager() {
         final ConnectionSocketFactory plainsf = PlainConnectionSocketFactory.getSocketFactory();
         final LayeredConnectionSocketFactory sslsf = this.sslSocketFactory;
         final var registry = RegistryBuilder.<ConnectionSocketFactory>create()
@@ -215,6 +238,17 @@ public class SimpleHttpClientFactoryBean implements FactoryBean<SimpleHttpClient
         final var httpHost = new HttpHost(InetAddress.getLocalHost());
         final var httpRoute = new HttpRoute(httpHost);
         connMgmr.setMaxPerRoute(httpRoute, MAX_CONNECTIONS_PER_ROUTE);
+        return connMgmr;
+    }
+
+    /**
+     * Build a HTTP client based on the current properties.
+     *
+     * @param connMgmr the connection manager
+     * @return the built HTTP client
+     */
+    private CloseableHttpClient buildHttpClient(final PoolingHttpClientConnectionManager connMgmr) {
+        final LayeredConnectionSocketFactory sslsf = this.sslSocketFactory;
         final var requestConfig = RequestConfig.custom().setSocketTimeout(this.readTimeout)
             .setConnectTimeout((int) this.connectionTimeout).setConnectionRequestTimeout((int) this.connectionTimeout)
             .setCircularRedirectsAllowed(this.circularRedirectsAllowed).setRedirectsEnabled(this.redirectsEnabled)
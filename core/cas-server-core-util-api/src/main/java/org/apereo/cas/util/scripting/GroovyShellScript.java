@@ -0,0 +1,97 @@
+package org.apereo.cas.util.scripting;
+
+import groovy.lang.Script;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.util.ScriptingUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * This is {@link GroovyShellScript}. It holds a groovy script defined either inline,
+ * as {@code groovy { ... }}, or as an external file, as {@code file:/path/to/script.groovy},
+ * compiled once so that it can be executed many times. External scripts are compiled again
+ * only when the file is modified.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class GroovyShellScript {
+    private final String definition;
+
+    private final File scriptFile;
+
+    private volatile long lastModified;
+
+    private volatile Script script;
+
+    protected GroovyShellScript(final String definition, final String inlineScript, final File scriptFile) {
+        this.definition = definition;
+        this.scriptFile = scriptFile;
+        if (inlineScript != null) {
+            this.script = ScriptingUtils.parseGroovyShellScript(inlineScript);
+        }
+    }
+
+    /**
+     * Compile the given script definition.
+     *
+     * @param definition the script definition
+     * @return the groovy script, or null if the definition is neither an inline nor an external groovy script
+     */
+    public static GroovyShellScript of(final String definition) {
+        final var matcherInline = ScriptingUtils.getMatcherForInlineGroovyScript(definition);
+        if (matcherInline.find()) {
+            return new GroovyShellScript(definition, matcherInline.group(1), null);
+        }
+        final var matcherFile = ScriptingUtils.getMatcherForExternalGroovyScript(definition);
+        if (matcherFile.find()) {
+            return new GroovyShellScript(definition, null, new File(matcherFile.group(2)));
+        }
+        return null;
+    }
+
+    /**
+     * Execute the script.
+     *
+     * @param <T>       the type parameter
+     * @param variables the variables
+     * @param clazz     the clazz
+     * @return the result, or null if the script could not be compiled or executed
+     */
+    public <T> T execute(final Map<String, Object> variables, final Class<T> clazz) {
+        final var compiled = getCompiledScript();
+        if (compiled == null) {
+            return null;
+        }
+        return ScriptingUtils.executeGroovyShellScript(compiled, variables, clazz);
+    }
+
+    private Script getCompiledScript() {
+        if (this.scriptFile == null) {
+            return this.script;
+        }
+        final var modified = this.scriptFile.lastModified();
+        if (this.script == null || modified != this.lastModified) {
+            synchronized (this) {
+                if (this.script == null || modified != this.lastModified) {
+                    try {
+                        LOGGER.debug("Compiling groovy script file [{}]", this.scriptFile);
+                        this.script = ScriptingUtils.parseGroovyShellScript(FileUtils.readFileToString(this.scriptFile, StandardCharsets.UTF_8));
+                        this.lastModified = modified;
+                    } catch (final IOException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        return null;
+                    }
+                }
+            }
+        }
+        return this.script;
+    }
+}
@@ -2,12 +2,14 @@ package org.apereo.cas.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CasEmbeddedValueResolver;
+import org.apereo.cas.util.CompressionUtils;
 import org.apereo.cas.util.SchedulingUtils;
 import org.apereo.cas.util.io.CommunicationsManager;
 import org.apereo.cas.util.io.SmsSender;
 import org.apereo.cas.util.spring.ApplicationContextProvider;
 import org.apereo.cas.util.spring.Converters;
 import org.apereo.cas.util.spring.SpringAwareMessageMessageInterpolator;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,7 +46,7 @@ import java.time.ZonedDateTime;
 @AutoConfigureOrder(Ordered.HIGHEST_PRECEDENCE)
 @EnableScheduling
 @Slf4j
-public class CasCoreUtilConfiguration implements InitializingBean {
+public class CasCoreUtilConfiguration implements InitializingBean, DisposableBean {
 
     @Autowired
     @Qualifier("smsSender")
@@ -101,4 +103,9 @@ public class CasCoreUtilConfiguration implements InitializingBean {
         final var registry = (ConverterRegistry) DefaultConversionService.getSharedInstance();
         registry.addConverter(zonedDateTimeToStringConverter());
     }
+
+    @Override
+    public void destroy() {
+        CompressionUtils.releaseResources();
+    }
 }
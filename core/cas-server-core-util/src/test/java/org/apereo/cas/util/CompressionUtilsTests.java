@@ -3,6 +3,14 @@ package org.apereo.cas.util;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
 import static org.junit.Assert.*;
 
 /**
@@ -13,6 +21,10 @@ import static org.junit.Assert.*;
  */
 @Slf4j
 public class CompressionUtilsTests {
+    /**
+     * Operating system byte of gzip headers, which differs between JDK versions.
+     */
+    private static final int GZIP_OS_INDEX = 9;
 
     @Test
     public void verifyStringCompression() {
@@ -36,4 +48,85 @@ public class CompressionUtilsTests {
 
         assertEquals(srcTxt, originalStr);
     }
+
+    @Test
+    public void verifyCompressionMatchesGzipStreams() throws Exception {
+        for (final var size : new int[]{0, 500, 5_000, 50_000}) {
+            final var srcTxt = payload(size);
+            final var bytes = new ByteArrayOutputStream();
+            try (var zos = new GZIPOutputStream(bytes)) {
+                zos.write(srcTxt.getBytes(StandardCharsets.UTF_8));
+            }
+            final var expected = bytes.toByteArray();
+            final var compressed = CompressionUtils.compress(srcTxt);
+            final var actual = EncodingUtils.decodeBase64(compressed);
+            expected[GZIP_OS_INDEX] = actual[GZIP_OS_INDEX];
+            assertArrayEquals(expected, actual);
+
+            final var out = new ByteArrayOutputStream();
+            CompressionUtils.compress(srcTxt, out);
+            assertEquals(compressed, out.toString(StandardCharsets.US_ASCII));
+            assertEquals(srcTxt, CompressionUtils.decompress(compressed));
+            assertEquals(srcTxt, CompressionUtils.decompress(EncodingUtils.encodeBase64(expected)));
+        }
+    }
+
+    @Test
+    public void verifyDecompressingConcatenatedMembers() throws Exception {
+        final var bytes = new ByteArrayOutputStream();
+        for (var i = 0; i < 2; i++) {
+            final var member = new ByteArrayOutputStream();
+            try (var zos = new GZIPOutputStream(member)) {
+                zos.write(payload(500).getBytes(StandardCharsets.UTF_8));
+            }
+            bytes.write(member.toByteArray());
+        }
+        assertEquals(payload(500) + payload(500), CompressionUtils.decompress(EncodingUtils.encodeBase64(bytes.toByteArray())));
+    }
+
+    @Test
+    public void verifyContextsAreReleasedAndRecreated() throws Exception {
+        final var data = payload(5_000);
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var results = new ArrayList<Future<String>>();
+            for (var i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> CompressionUtils.decompress(CompressionUtils.compress(data))));
+            }
+            for (final var result : results) {
+                assertEquals(data, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        CompressionUtils.releaseResources();
+        assertEquals(data, CompressionUtils.decodeByteArrayToString(EncodingUtils.decodeBase64(CompressionUtils.deflate(data))));
+    }
+
+    @Test
+    public void verifyDeflateAndInflate() {
+        for (final var size : new int[]{1, 500, 5_000, 50_000}) {
+            final var data = payload(size);
+            final var deflated = EncodingUtils.decodeBase64(CompressionUtils.deflate(data));
+            assertEquals(data, CompressionUtils.decodeByteArrayToString(deflated));
+        }
+
+        final var data = payload(5_000);
+        final var deflater = new Deflater(Deflater.DEFLATED, true);
+        deflater.setInput(data.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        final var buffer = new byte[data.length()];
+        final var raw = new byte[deflater.deflate(buffer)];
+        System.arraycopy(buffer, 0, raw, 0, raw.length);
+        assertEquals(data, CompressionUtils.inflate(raw));
+        assertNull(CompressionUtils.decodeByteArrayToString(raw));
+    }
+
+    private static String payload(final int size) {
+        final var builder = new StringBuilder(size);
+        for (var i = 0; builder.length() < size; i++) {
+            builder.append("<saml:Attribute Name=\"attribute").append(i).append("\">").append(i * 7919).append("</saml:Attribute>");
+        }
+        return builder.substring(0, size);
+    }
 }
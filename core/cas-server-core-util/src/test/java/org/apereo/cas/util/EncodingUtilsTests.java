@@ -2,6 +2,8 @@ package org.apereo.cas.util;
 
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 import org.apereo.cas.util.crypto.PublicKeyFactoryBean;
 import org.jose4j.keys.AesKey;
@@ -9,6 +11,8 @@ import org.jose4j.keys.RsaKeyUtil;
 import org.junit.Test;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.PrivateKey;
@@ -63,6 +67,31 @@ public class EncodingUtilsTests {
         assertTrue(jwt.equals(value));
     }
 
+    @Test
+    public void verifyBase64EncodingMatchesCodec() {
+        for (var length = 0; length < 64; length++) {
+            final var data = new byte[length];
+            for (var i = 0; i < length; i++) {
+                data[i] = (byte) (i * 31 + length);
+            }
+            assertEquals(Base64.encodeBase64String(data), EncodingUtils.encodeBase64(data));
+            assertEquals(Base64.encodeBase64URLSafeString(data), EncodingUtils.encodeUrlSafeBase64(data));
+            assertArrayEquals(data, EncodingUtils.decodeBase64(EncodingUtils.encodeBase64(data)));
+        }
+        assertNull(EncodingUtils.encodeBase64((byte[]) null));
+    }
+
+    @Test
+    public void verifyBase64Streams() throws Exception {
+        final var data = "ThisValue".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        final var out = new ByteArrayOutputStream();
+        EncodingUtils.encodeBase64(data, out);
+        assertEquals(EncodingUtils.encodeBase64(data), out.toString(StandardCharsets.US_ASCII));
+
+        final var decoded = EncodingUtils.decodeBase64(new ByteArrayInputStream(out.toByteArray()));
+        assertArrayEquals(data, IOUtils.toByteArray(decoded));
+    }
+
     @SneakyThrows
     private static PrivateKey getPrivateKey() {
         final var factory = new PrivateKeyFactoryBean();
@@ -1,6 +1,8 @@
 package org.apereo.cas.util.http;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apereo.cas.util.CollectionUtils;
@@ -9,7 +11,15 @@ import org.junit.Test;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.X509Certificate;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -53,6 +63,85 @@ public class SimpleHttpClientTests {
         assertTrue(client.isValidEndPoint("https://wrong.host.badssl.com/"));
     }
 
+    @Test
+    public void verifyMessagesOverDestinationLimitAreRejected() throws Exception {
+        try (var server = new ServerSocket(0)) {
+            final var clientFactory = new SimpleHttpClientFactoryBean();
+            clientFactory.setMaxConcurrentRequestsPerDestination(1);
+            clientFactory.setRequestTimeout(1000);
+            final var client = clientFactory.getObject();
+            final var registry = new SimpleMeterRegistry();
+            client.setMeterRegistry(registry);
+
+            final var url = new URL("http://localhost:" + server.getLocalPort() + "/logout");
+            final var unanswered = client.sendMessageToEndPointAsync(new HttpMessage(url, "first"));
+            final var rejected = client.sendMessageToEndPointAsync(new HttpMessage(url, "second"));
+            assertTrue(rejected.isDone());
+            assertFalse(rejected.get());
+            assertFalse(unanswered.get());
+            assertFalse(client.sendMessageToEndPointAsync(new HttpMessage(url, "third")).get());
+
+            final var destination = "http://localhost:" + server.getLocalPort();
+            assertEquals(1, registry.get(SimpleHttpClient.METRIC_REQUEST_REJECTED).tag("destination", destination).counter().count(), 0);
+            assertEquals(2, registry.get(SimpleHttpClient.METRIC_REQUEST_LATENCY).tag("outcome", "failure").timer().count());
+            assertNotNull(registry.get(SimpleHttpClient.METRIC_POOL_LEASED).tag("destination", destination).gauge());
+            client.destroy();
+        }
+    }
+
+    @Test
+    public void verifyMetricTagsAreBoundedByDestinations() throws Exception {
+        final var clientFactory = new SimpleHttpClientFactoryBean();
+        clientFactory.setMaxDestinations(2);
+        final var client = clientFactory.getObject();
+        final var registry = new SimpleMeterRegistry();
+        client.setMeterRegistry(registry);
+
+        final var ports = new int[3];
+        for (var i = 0; i < ports.length; i++) {
+            try (var socket = new ServerSocket(0)) {
+                ports[i] = socket.getLocalPort();
+            }
+            assertFalse(client.sendMessageToEndPoint(new HttpMessage(new URL("http://localhost:" + ports[i] + "/logout?id=" + i), "message", false)));
+        }
+        assertFalse(client.sendMessageToEndPoint(new HttpMessage(new URL("http://localhost:" + ports[0] + "/other"), "message", false)));
+
+        final var tags = registry.find(SimpleHttpClient.METRIC_REQUEST_LATENCY).timers()
+            .stream()
+            .map(timer -> timer.getId().getTag("destination"))
+            .collect(Collectors.toSet());
+        assertEquals(Set.of("http://localhost:" + ports[0], "http://localhost:" + ports[1], "other"), tags);
+        assertEquals(2, registry.get(SimpleHttpClient.METRIC_REQUEST_LATENCY).tag("destination", "http://localhost:" + ports[0]).timer().count());
+        client.destroy();
+    }
+
+    @Test
+    public void verifySynchronousMessagesAreNotAbandonedAfterRequestTimeout() throws Exception {
+        final var executor = Executors.newSingleThreadExecutor();
+        try (var server = new ServerSocket(0)) {
+            executor.submit(() -> {
+                try (var socket = server.accept()) {
+                    final var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    while (StringUtils.isNotEmpty(reader.readLine())) {
+                        LOGGER.trace("Reading request headers");
+                    }
+                    Thread.sleep(1500);
+                    socket.getOutputStream().write("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                }
+                return null;
+            });
+            final var clientFactory = new SimpleHttpClientFactoryBean();
+            clientFactory.setRequestTimeout(500);
+            final var client = clientFactory.getObject();
+            final var message = new HttpMessage(new URL("http://localhost:" + server.getLocalPort() + "/logout"), "message", false);
+            assertTrue(client.sendMessageToEndPoint(message));
+            client.destroy();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static SSLConnectionSocketFactory getFriendlyToAllSSLSocketFactory() throws Exception {
         final TrustManager trm = new X509TrustManager() {
             @Override
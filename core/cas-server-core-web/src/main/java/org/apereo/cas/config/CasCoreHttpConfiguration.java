@@ -65,11 +65,7 @@ public class CasCoreHttpConfiguration {
     @ConditionalOnMissingBean(name = "httpClient")
     @Bean
     public FactoryBean<SimpleHttpClient> httpClient() {
-        final var c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
-        final var httpClient = casProperties.getHttpClient();
-        c.setConnectionTimeout(Beans.newDuration(httpClient.getConnectionTimeout()).toMillis());
-        c.setReadTimeout((int) Beans.newDuration(httpClient.getReadTimeout()).toMillis());
-        return c;
+        return buildHttpClientFactoryBean();
     }
 
     @ConditionalOnMissingBean(name = "noRedirectHttpClient")
@@ -93,11 +89,22 @@ public class CasCoreHttpConfiguration {
         return new DefaultHostnameVerifier();
     }
 
-    private HttpClient getHttpClient(final boolean redirectEnabled) {
+    private SimpleHttpClientFactoryBean buildHttpClientFactoryBean() {
         final var c = new SimpleHttpClientFactoryBean.DefaultHttpClient();
         final var httpClient = casProperties.getHttpClient();
         c.setConnectionTimeout(Beans.newDuration(httpClient.getConnectionTimeout()).toMillis());
         c.setReadTimeout((int) Beans.newDuration(httpClient.getReadTimeout()).toMillis());
+        c.setRequestTimeout(Beans.newDuration(httpClient.getAsyncTimeout()).toMillis());
+        c.setMaxPooledConnections(httpClient.getMaxPooledConnections());
+        c.setMaxConnectionsPerRoute(httpClient.getMaxConnectionsPerRoute());
+        c.setMaxConcurrentRequestsPerDestination(httpClient.getMaxConcurrentRequestsPerDestination());
+        c.setMaxDestinations(httpClient.getMaxDestinations());
+        c.setDestinationIdleTimeout(Beans.newDuration(httpClient.getDestinationIdleTimeout()));
+        return c;
+    }
+
+    private HttpClient getHttpClient(final boolean redirectEnabled) {
+        final var c = buildHttpClientFactoryBean();
         c.setRedirectsEnabled(redirectEnabled);
         c.setCircularRedirectsAllowed(redirectEnabled);
         c.setSslSocketFactory(trustStoreSslSocketFactory());
@@ -0,0 +1,289 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationManager;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.conversation.impl.BadlyFormattedConversationIdException;
+import org.springframework.webflow.conversation.impl.LockInterruptedException;
+import org.springframework.webflow.conversation.impl.LockTimeoutException;
+import org.springframework.webflow.conversation.impl.SimpleConversationId;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link DistributedConversationManager} that keeps the state of webflow conversations
+ * in a {@link WebflowConversationStateStore} shared by all CAS nodes, so that a flow started on one node
+ * may be resumed on any other without relying on the http session.
+ * <p>
+ * The client only ever sees a compact conversation handle, made of a random identifier and a truncated
+ * HMAC signature of that identifier, both hex-encoded. Handles that are not signed by CAS are rejected before
+ * the store is consulted. Conversation state is loaded from the store when the conversation is first accessed
+ * and written back, with its time to live renewed, once the last lock on the conversation is released.
+ * The conversation is then dropped from this node, unless another thread has obtained it and is about to lock it;
+ * obtaining a conversation and dropping it are atomic, so that all threads always share the same conversation state.
+ * <p>
+ * Locks only serialize access to a conversation within a single node; concurrent requests
+ * for the same conversation on different nodes are resolved by the last write.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class DistributedConversationManager implements ConversationManager {
+    /**
+     * Metric recording the time it takes to load and save conversation state, tagged by operation.
+     */
+    public static final String METRIC_STORE_LATENCY = "cas.webflow.conversation.store";
+
+    /**
+     * Metric recording the size of the conversation state written to the store, in bytes.
+     */
+    public static final String METRIC_STATE_SIZE = "cas.webflow.conversation.state.size";
+
+    private static final int CONVERSATION_ID_LENGTH = 16;
+
+    private static final int SIGNATURE_LENGTH = 8;
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA256";
+
+    private final WebflowConversationStateStore conversationStateStore;
+
+    private final Duration timeout;
+
+    private final Duration lockTimeout;
+
+    @Getter(AccessLevel.NONE)
+    private final SecretKeySpec signingKey;
+
+    @Getter(AccessLevel.NONE)
+    private final SecureRandom random = RandomUtils.getNativeInstance();
+
+    /**
+     * Conversations that are in use on this node, keyed by conversation id, so that all
+     * parties taking part in a request share the same conversation state.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Cache<String, DistributedConversation> activeConversations;
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public DistributedConversationManager(final WebflowConversationStateStore conversationStateStore, final String signingKey,
+                                          final Duration timeout, final Duration lockTimeout) {
+        this.conversationStateStore = conversationStateStore;
+        this.signingKey = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), SIGNING_ALGORITHM);
+        this.timeout = timeout;
+        this.lockTimeout = lockTimeout;
+        this.activeConversations = Caffeine.newBuilder().expireAfterAccess(timeout).build();
+    }
+
+    @Override
+    public Conversation beginConversation(final ConversationParameters conversationParameters) {
+        final var id = new byte[CONVERSATION_ID_LENGTH];
+        this.random.nextBytes(id);
+        final var hexId = EncodingUtils.hexEncode(id);
+        final var encodedId = hexId + sign(hexId);
+        final var conversation = new DistributedConversation(new SimpleConversationId(encodedId), new ConcurrentHashMap<>());
+        conversation.putAttribute("name", conversationParameters.getName());
+        conversation.putAttribute("caption", conversationParameters.getCaption());
+        conversation.putAttribute("description", conversationParameters.getDescription());
+        this.activeConversations.put(encodedId, conversation);
+        LOGGER.trace("Started conversation [{}]", encodedId);
+        return conversation;
+    }
+
+    @Override
+    public Conversation getConversation(final ConversationId id) {
+        final var thread = Thread.currentThread();
+        final var conversation = this.activeConversations.asMap().compute(id.toString(), (k, existing) -> {
+            final var active = existing != null ? existing : loadConversation(id);
+            if (active != null && !active.lock.isHeldByCurrentThread()) {
+                active.acquiringThreads.add(thread);
+            }
+            return active;
+        });
+        if (conversation == null) {
+            throw new NoSuchConversationException(id);
+        }
+        return conversation;
+    }
+
+    @Override
+    public ConversationId parseConversationId(final String encodedId) {
+        if (!isSigned(encodedId)) {
+            throw new BadlyFormattedConversationIdException(encodedId, null);
+        }
+        return new SimpleConversationId(encodedId);
+    }
+
+    private boolean isSigned(final String encodedId) {
+        final var idLength = CONVERSATION_ID_LENGTH * 2;
+        if (encodedId == null || encodedId.length() != idLength + SIGNATURE_LENGTH * 2) {
+            return false;
+        }
+        final var signature = sign(encodedId.substring(0, idLength));
+        return MessageDigest.isEqual(signature.getBytes(StandardCharsets.UTF_8),
+            encodedId.substring(idLength).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SneakyThrows
+    private String sign(final String id) {
+        final var mac = Mac.getInstance(SIGNING_ALGORITHM);
+        mac.init(this.signingKey);
+        final var signature = mac.doFinal(id.getBytes(StandardCharsets.UTF_8));
+        return EncodingUtils.hexEncode(Arrays.copyOf(signature, SIGNATURE_LENGTH));
+    }
+
+    private DistributedConversation loadConversation(final ConversationId id) {
+        final var state = recordLatency("load", () -> this.conversationStateStore.get(id.toString()));
+        if (state == null) {
+            LOGGER.debug("Conversation [{}] cannot be found in the store; it may have expired", id);
+            return null;
+        }
+        final ConcurrentHashMap<Object, Object> attributes = SerializationUtils.deserialize(state, ConcurrentHashMap.class);
+        return new DistributedConversation(id, attributes);
+    }
+
+    private void saveConversation(final DistributedConversation conversation) {
+        final var state = SerializationUtils.serialize(conversation.attributes);
+        DistributionSummary.builder(METRIC_STATE_SIZE)
+            .baseUnit("bytes")
+            .register(this.meterRegistry)
+            .record(state.length);
+        recordLatency("save", () -> {
+            this.conversationStateStore.put(conversation.id.toString(), state, this.timeout);
+            return null;
+        });
+    }
+
+    private <T> T recordLatency(final String operation, final Supplier<T> supplier) {
+        final var startTime = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            Timer.builder(METRIC_STORE_LATENCY)
+                .tag("operation", operation)
+                .register(this.meterRegistry)
+                .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A conversation whose attributes are written back to the store
+     * once the last lock held on it is released.
+     * <p>
+     * Threads that obtained the conversation but have not locked it yet are tracked, so that the conversation
+     * is not dropped from under them. They are only ever added, removed or checked while the entry of the conversation
+     * is being computed, which makes obtaining the conversation and dropping it atomic.
+     */
+    @RequiredArgsConstructor
+    private class DistributedConversation implements Conversation {
+        private final ConversationId id;
+
+        private final ConcurrentHashMap<Object, Object> attributes;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Set<Thread> acquiringThreads = new HashSet<>();
+
+        private volatile boolean ended;
+
+        @Override
+        public ConversationId getId() {
+            return this.id;
+        }
+
+        @Override
+        public void lock() {
+            try {
+                if (!this.lock.tryLock(lockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new LockTimeoutException((int) lockTimeout.getSeconds());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LockInterruptedException(e);
+            } finally {
+                final var thread = Thread.currentThread();
+                activeConversations.asMap().compute(this.id.toString(), (k, existing) -> {
+                    this.acquiringThreads.remove(thread);
+                    return existing;
+                });
+            }
+        }
+
+        @Override
+        public Object getAttribute(final Object name) {
+            return this.attributes.get(name);
+        }
+
+        @Override
+        public void putAttribute(final Object name, final Object value) {
+            if (value == null) {
+                this.attributes.remove(name);
+            } else {
+                this.attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(final Object name) {
+            this.attributes.remove(name);
+        }
+
+        @Override
+        public void end() {
+            this.ended = true;
+            activeConversations.invalidate(this.id.toString());
+            conversationStateStore.remove(this.id.toString());
+            LOGGER.trace("Ended conversation [{}]", this.id);
+        }
+
+        @Override
+        public void unlock() {
+            if (!this.lock.isHeldByCurrentThread()) {
+                return;
+            }
+            try {
+                if (this.lock.getHoldCount() == 1) {
+                    if (!this.ended) {
+                        saveConversation(this);
+                    }
+                    activeConversations.asMap().computeIfPresent(this.id.toString(), (k, existing) ->
+                        existing == this && this.acquiringThreads.isEmpty() && !this.lock.hasQueuedThreads() ? null : existing);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * This is {@link InMemoryWebflowConversationStateStore} that keeps conversation state in memory.
+ * State is not shared with other CAS nodes, so this store is only suitable for a single node deployment
+ * or for testing.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InMemoryWebflowConversationStateStore implements WebflowConversationStateStore {
+    private final Cache<String, StoredState> storage = Caffeine.newBuilder()
+        .expireAfter(new StoredStateExpiry())
+        .build();
+
+    @Override
+    public byte[] get(final String conversationId) {
+        final var stored = this.storage.getIfPresent(conversationId);
+        return stored != null ? stored.state : null;
+    }
+
+    @Override
+    public void put(final String conversationId, final byte[] state, final Duration timeToLive) {
+        this.storage.put(conversationId, new StoredState(state, timeToLive.toNanos()));
+    }
+
+    @Override
+    public void remove(final String conversationId) {
+        this.storage.invalidate(conversationId);
+    }
+
+    @RequiredArgsConstructor
+    private static class StoredState {
+        private final byte[] state;
+        private final long timeToLive;
+    }
+
+    private static class StoredStateExpiry implements Expiry<String, StoredState> {
+        @Override
+        public long expireAfterCreate(final String key, final StoredState value, final long currentTime) {
+            return value.timeToLive;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final StoredState value, final long currentTime, final long currentDuration) {
+            return value.timeToLive;
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final StoredState value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
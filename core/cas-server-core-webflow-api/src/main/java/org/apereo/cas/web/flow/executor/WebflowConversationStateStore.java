@@ -0,0 +1,38 @@
+package org.apereo.cas.web.flow.executor;
+
+import java.time.Duration;
+
+/**
+ * This is {@link WebflowConversationStateStore}. It holds the serialized state of webflow conversations
+ * when flow state is kept on the server in a store shared by all CAS nodes, rather than in the http session.
+ * Implementations are expected to expire entries once their time to live has passed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public interface WebflowConversationStateStore {
+
+    /**
+     * Retrieve the state of a conversation.
+     *
+     * @param conversationId the conversation id
+     * @return the conversation state, or null if the conversation does not exist or has expired
+     */
+    byte[] get(String conversationId);
+
+    /**
+     * Store the state of a conversation, replacing any previous state.
+     *
+     * @param conversationId the conversation id
+     * @param state          the conversation state
+     * @param timeToLive     how long the state may remain in the store
+     */
+    void put(String conversationId, byte[] state, Duration timeToLive);
+
+    /**
+     * Remove the state of a conversation.
+     *
+     * @param conversationId the conversation id
+     */
+    void remove(String conversationId);
+}
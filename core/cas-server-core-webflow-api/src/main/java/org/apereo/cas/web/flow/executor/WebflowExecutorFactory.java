@@ -3,12 +3,15 @@ package org.apereo.cas.web.flow.executor;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.configuration.model.webapp.WebflowProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.spring.webflow.plugin.ClientFlowExecutionRepository;
 import org.apereo.spring.webflow.plugin.EncryptedTranscoder;
 import org.apereo.spring.webflow.plugin.Transcoder;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.conversation.impl.SessionBindingConversationManager;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.impl.FlowExecutionImplFactory;
@@ -32,6 +35,7 @@ public class WebflowExecutorFactory {
     private final FlowDefinitionRegistry flowDefinitionRegistry;
     private final CipherExecutor webflowCipherExecutor;
     private final FlowExecutionListener[] executionListeners;
+    private final WebflowConversationStateStore conversationStateStore;
 
     /**
      * Build flow executor.
@@ -39,7 +43,11 @@ public class WebflowExecutorFactory {
      * @return the flow executor
      */
     public FlowExecutor build() {
-        if (webflowProperties.getSession().isStorage()) {
+        final var session = webflowProperties.getSession();
+        if (session.isStorage()) {
+            if (session.isDistributed()) {
+                return buildFlowExecutorViaDistributedConversationExecution();
+            }
             return buildFlowExecutorViaServerSessionBindingExecution();
         }
         return buildFlowExecutorViaClientFlowExecution();
@@ -50,7 +58,23 @@ public class WebflowExecutorFactory {
         final var session = webflowProperties.getSession();
         conversationManager.setLockTimeoutSeconds((int) Beans.newDuration(session.getLockTimeout()).getSeconds());
         conversationManager.setMaxConversations(session.getMaxConversations());
+        return buildFlowExecutorViaServerSideExecution(conversationManager, -1);
+    }
+
+    private FlowExecutor buildFlowExecutorViaDistributedConversationExecution() {
+        final var session = webflowProperties.getSession();
+        final var signingKey = session.getSigningKey();
+        if (StringUtils.isBlank(signingKey)) {
+            throw new BeanCreationException("No signing key is defined for webflow conversations kept in a distributed store. "
+                + "All CAS nodes must share the same signing key, which must be defined via the webflow session settings.");
+        }
+        final var conversationManager = new DistributedConversationManager(this.conversationStateStore, signingKey,
+            Beans.newDuration(session.getTimeout()), Beans.newDuration(session.getLockTimeout()));
+        return buildFlowExecutorViaServerSideExecution(conversationManager, session.getMaxSnapshots());
+    }
 
+    private FlowExecutor buildFlowExecutorViaServerSideExecution(final ConversationManager conversationManager, final int maxSnapshots) {
+        final var session = webflowProperties.getSession();
         final var executionFactory = new FlowExecutionImplFactory();
         executionFactory.setExecutionListenerLoader(new StaticFlowExecutionListenerLoader(executionListeners));
 
@@ -59,6 +83,9 @@ public class WebflowExecutorFactory {
         flowExecutionSnapshotFactory.setCompress(session.isCompress());
 
         final var repository = new DefaultFlowExecutionRepository(conversationManager, flowExecutionSnapshotFactory);
+        if (maxSnapshots > 0) {
+            repository.setMaxSnapshots(maxSnapshots);
+        }
         executionFactory.setExecutionKeyFactory(repository);
         return new FlowExecutorImpl(this.flowDefinitionRegistry, executionFactory, repository);
     }
@@ -1,5 +1,6 @@
 package org.apereo.cas.web.flow.resolver;
 
+import org.apereo.cas.services.RegisteredService;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
 
@@ -38,6 +39,19 @@ public interface CasWebflowEventResolver {
         return this.getClass().getSimpleName();
     }
 
+    /**
+     * Whether this resolver can produce an event for the given registered service at all,
+     * judging only by its own configuration and the service definition. Resolvers that
+     * do not support a service are skipped without being evaluated.
+     *
+     * @param registeredService the registered service, or null if the request carries no service
+     * @return true if the resolver may produce an event
+     * @since 6.0.0
+     */
+    default boolean supports(final RegisteredService registeredService) {
+        return true;
+    }
+
     /**
      * Resolve internal event.
      *
@@ -1,5 +1,11 @@
 package org.apereo.cas.web.flow.resolver.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CentralAuthenticationService;
@@ -30,6 +36,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -37,6 +44,9 @@ import java.util.stream.Collectors;
  * This is {@link InitialAuthenticationAttemptWebflowEventResolver},
  * which handles the initial authentication attempt and calls upon a number of
  * embedded resolvers to produce the next event in the authentication flow.
+ * <p>
+ * Embedded resolvers that cannot produce an event for a registered service are
+ * worked out once per service definition and skipped on subsequent attempts.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -45,10 +55,32 @@ import java.util.stream.Collectors;
 @Setter
 public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCasWebflowEventResolver implements CasDelegatingWebflowEventResolver {
 
+    /**
+     * Metric recording the time it takes to evaluate all candidate resolvers for an authentication attempt.
+     */
+    public static final String METRIC_EVALUATION = "cas.webflow.authentication.events.evaluation";
+
+    /**
+     * Metric recording the time it takes to evaluate each candidate resolver, tagged by resolver.
+     */
+    public static final String METRIC_RESOLVER_EVALUATION = "cas.webflow.authentication.events.resolver";
+
+    private static final int MAX_EVALUATION_PLANS = 10_000;
+
     private final List<CasWebflowEventResolver> orderedResolvers = new ArrayList<>();
 
+    private final Cache<RegisteredService, List<CasWebflowEventResolver>> evaluationPlans = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(MAX_EVALUATION_PLANS)
+        .build();
+
+    @Setter(AccessLevel.NONE)
+    private volatile List<CasWebflowEventResolver> evaluationPlanWithoutService;
+
     private CasWebflowEventResolver selectiveResolver;
 
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
 
     public InitialAuthenticationAttemptWebflowEventResolver(final AuthenticationSystemSupport authenticationSystemSupport,
@@ -145,20 +177,81 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
         final var byEventId = Comparator.comparing(Event::getId);
         final Supplier<TreeSet<Event>> supplier = () -> new TreeSet<>(byEventId);
 
-        return this.orderedResolvers
+        final var startTime = System.nanoTime();
+        final var events = getEvaluationPlan(context, service, registeredService)
             .stream()
             .map(resolver -> {
                 LOGGER.debug("Resolving candidate authentication event for service [{}] using [{}]", service, resolver.getName());
-                return resolver.resolveSingle(context);
+                final var resolverStartTime = System.nanoTime();
+                try {
+                    return resolver.resolveSingle(context);
+                } finally {
+                    Timer.builder(METRIC_RESOLVER_EVALUATION)
+                        .tag("resolver", resolver.getName())
+                        .register(this.meterRegistry)
+                        .record(System.nanoTime() - resolverStartTime, TimeUnit.NANOSECONDS);
+                }
             })
             .filter(Objects::nonNull)
             .collect(Collectors.toCollection(supplier));
+        Timer.builder(METRIC_EVALUATION).register(this.meterRegistry).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        return events;
+    }
+
+    /**
+     * Gets the ordered list of embedded resolvers that may produce an event for the given registered service.
+     * The list is built once per service definition; a service definition that is reloaded or modified
+     * is a different instance and receives a new plan.
+     *
+     * @param registeredService the registered service, or null if the request carries no service
+     * @return the resolvers to evaluate, in order
+     */
+    protected List<CasWebflowEventResolver> getEvaluationPlan(final RegisteredService registeredService) {
+        if (registeredService == null) {
+            var plan = this.evaluationPlanWithoutService;
+            if (plan == null) {
+                plan = buildEvaluationPlan(null);
+                this.evaluationPlanWithoutService = plan;
+            }
+            return plan;
+        }
+        return this.evaluationPlans.get(registeredService, this::buildEvaluationPlan);
+    }
+
+    /**
+     * Embedded resolvers judge the service resolved from the authentication request,
+     * which may differ from the service that initiated the request. The plan is only narrowed down
+     * when both are the same, so that the registered service already located for the request can be reused;
+     * otherwise all embedded resolvers are evaluated, and each locates the service it judges by itself.
+     */
+    private List<CasWebflowEventResolver> getEvaluationPlan(final RequestContext context, final Service service,
+                                                            final RegisteredService registeredService) {
+        final var resolvedService = resolveServiceFromAuthenticationRequest(context);
+        if (resolvedService == null) {
+            return getEvaluationPlan(null);
+        }
+        if (resolvedService.equals(service)) {
+            return getEvaluationPlan(registeredService);
+        }
+        LOGGER.debug("Service [{}] resolved from the authentication request differs from [{}]; evaluating all resolvers",
+            resolvedService, service);
+        return this.orderedResolvers;
+    }
+
+    private List<CasWebflowEventResolver> buildEvaluationPlan(final RegisteredService registeredService) {
+        final var plan = this.orderedResolvers
+            .stream()
+            .filter(resolver -> resolver.supports(registeredService))
+            .collect(Collectors.toList());
+        LOGGER.debug("Candidate authentication event resolvers for [{}] are [{}]", registeredService, plan);
+        return plan;
     }
 
     @Override
     public void addDelegate(final CasWebflowEventResolver r) {
         if (r != null) {
             orderedResolvers.add(r);
+            clearEvaluationPlans();
         }
     }
 
@@ -166,9 +259,15 @@ public class InitialAuthenticationAttemptWebflowEventResolver extends AbstractCa
     public void addDelegate(final CasWebflowEventResolver r, final int index) {
         if (r != null) {
             orderedResolvers.add(index, r);
+            clearEvaluationPlans();
         }
     }
 
+    private void clearEvaluationPlans() {
+        this.evaluationPlans.invalidateAll();
+        this.evaluationPlanWithoutService = null;
+    }
+
     private Event returnAuthenticationExceptionEventIfNeeded(final Exception e) {
         final Exception ex;
         if (e instanceof AuthenticationException || e instanceof AbstractTicketException) {
@@ -8,6 +8,7 @@ import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.MultifactorAuthenticationUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.web.flow.authentication.BaseMultifactorAuthenticationProviderEventResolver;
@@ -53,6 +54,11 @@ public class AuthenticationAttributeMultifactorAuthenticationPolicyEventResolver
         attributeNames = commaDelimitedListToSet(casProperties.getAuthn().getMfa().getGlobalAuthenticationAttributeNameTriggers());
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return !attributeNames.isEmpty();
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
@@ -9,6 +9,7 @@ import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.MultifactorAuthenticationUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
@@ -49,6 +50,11 @@ public class GroovyScriptMultifactorAuthenticationPolicyEventResolver extends Ba
         groovyScript = casProperties.getAuthn().getMfa().getGroovyScript();
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return registeredService != null && groovyScript != null;
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveServiceFromAuthenticationRequest(context);
@@ -52,6 +52,11 @@ public class PredicatedPrincipalAttributeMultifactorAuthenticationPolicyEventRes
         predicateResource = casProperties.getAuthn().getMfa().getGlobalPrincipalAttributePredicate();
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return predicateResource != null || super.supports(registeredService);
+    }
+
     @Override
     @SneakyThrows
     protected Set<Event> resolveMultifactorProviderViaPredicate(final RequestContext context,
@@ -55,6 +55,11 @@ public class PrincipalAttributeMultifactorAuthenticationPolicyEventResolver exte
         attributeNames = commaDelimitedListToSet(casProperties.getAuthn().getMfa().getGlobalPrincipalAttributeNameTriggers());
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return !attributeNames.isEmpty();
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
@@ -43,6 +43,17 @@ public class RegisteredServiceMultifactorAuthenticationPolicyEventResolver exten
             ticketRegistrySupport, warnCookieGenerator, authSelectionStrategies, selector);
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        if (registeredService == null) {
+            return false;
+        }
+        final var policy = registeredService.getMultifactorPolicy();
+        return policy != null && !policy.getMultifactorAuthenticationProviders().isEmpty()
+            && StringUtils.isBlank(policy.getPrincipalAttributeNameTrigger())
+            && StringUtils.isBlank(policy.getPrincipalAttributeValueToMatch());
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
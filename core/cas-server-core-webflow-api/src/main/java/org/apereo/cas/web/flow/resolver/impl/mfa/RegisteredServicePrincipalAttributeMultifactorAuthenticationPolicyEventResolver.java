@@ -6,6 +6,7 @@ import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.web.flow.authentication.BaseMultifactorAuthenticationProviderEventResolver;
@@ -42,6 +43,17 @@ public class RegisteredServicePrincipalAttributeMultifactorAuthenticationPolicyE
                 authenticationSelectionStrategies, selector);
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        if (registeredService == null) {
+            return false;
+        }
+        final var policy = registeredService.getMultifactorPolicy();
+        return policy != null && !policy.getMultifactorAuthenticationProviders().isEmpty()
+            && StringUtils.isNotBlank(policy.getPrincipalAttributeNameTrigger())
+            && StringUtils.isNotBlank(policy.getPrincipalAttributeValueToMatch());
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
@@ -14,6 +14,7 @@ import org.apereo.cas.authentication.principal.Principal;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.MultifactorAuthenticationProvider;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
@@ -55,6 +56,11 @@ public class RestEndpointMultifactorAuthenticationPolicyEventResolver extends Ba
         this.restEndpoint = casProperties.getAuthn().getMfa().getRestEndpoint();
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return registeredService != null && StringUtils.isNotBlank(restEndpoint);
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
@@ -53,6 +53,11 @@ public class AdaptiveMultifactorAuthenticationPolicyEventResolver extends BaseMu
         this.geoLocationService = geoLocationService;
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return registeredService != null && multifactorMap != null && !multifactorMap.isEmpty();
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
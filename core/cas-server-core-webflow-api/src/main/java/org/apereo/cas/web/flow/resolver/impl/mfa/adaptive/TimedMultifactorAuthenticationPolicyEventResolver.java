@@ -55,6 +55,11 @@ public class TimedMultifactorAuthenticationPolicyEventResolver extends BaseMulti
         this.timedMultifactor = casProperties.getAuthn().getAdaptive().getRequireTimedMultifactor();
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return registeredService != null && timedMultifactor != null && !timedMultifactor.isEmpty();
+    }
+
     @Override
     public Set<Event> resolveInternal(final RequestContext context) {
         final var service = resolveRegisteredServiceInRequestContext(context);
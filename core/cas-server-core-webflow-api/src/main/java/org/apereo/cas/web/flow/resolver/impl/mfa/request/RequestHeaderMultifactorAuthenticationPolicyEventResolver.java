@@ -1,11 +1,13 @@
 package org.apereo.cas.web.flow.resolver.impl.mfa.request;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.springframework.web.util.CookieGenerator;
@@ -40,6 +42,11 @@ public class RequestHeaderMultifactorAuthenticationPolicyEventResolver extends B
         mfaRequestHeader = casProperties.getAuthn().getMfa().getRequestHeader();
     }
 
+    @Override
+    public boolean supports(final RegisteredService registeredService) {
+        return registeredService != null && StringUtils.isNotBlank(mfaRequestHeader);
+    }
+
     @Override
     protected List<String> resolveEventFromHttpRequest(final HttpServletRequest request) {
         final var values = request.getHeaders(mfaRequestHeader);
@@ -8,6 +8,7 @@ import org.apereo.cas.audit.AuditableExecution;
 import org.apereo.cas.authentication.AuthenticationContextValidator;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.MultifactorAuthenticationProviderCatalogEventListener;
 import org.apereo.cas.authentication.PrincipalException;
 import org.apereo.cas.authentication.adaptive.UnauthorizedAuthenticationException;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
@@ -58,6 +59,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.util.CookieGenerator;
@@ -111,6 +113,9 @@ public class CasCoreWebflowConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @Autowired
     @Qualifier("multifactorAuthenticationProviderSelector")
     private MultifactorAuthenticationProviderSelector multifactorAuthenticationProviderSelector;
@@ -464,6 +469,11 @@ public class CasCoreWebflowConfiguration {
             sso.isRenewAuthnEnabled());
     }
 
+    @Bean
+    public MultifactorAuthenticationProviderCatalogEventListener multifactorAuthenticationProviderCatalogEventListener() {
+        return new MultifactorAuthenticationProviderCatalogEventListener(applicationContext);
+    }
+
     @ConditionalOnMissingBean(name = "authenticationExceptionHandler")
     @Bean
     public Action authenticationExceptionHandler() {
@@ -14,6 +14,8 @@ import org.apereo.cas.web.flow.configurer.DefaultLoginWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.DefaultLogoutWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.GroovyWebflowConfigurer;
 import org.apereo.cas.web.flow.configurer.plan.DefaultCasWebflowExecutionPlan;
+import org.apereo.cas.web.flow.executor.InMemoryWebflowConversationStateStore;
+import org.apereo.cas.web.flow.executor.WebflowConversationStateStore;
 import org.apereo.cas.web.flow.executor.WebflowExecutorFactory;
 import org.apereo.cas.web.support.AuthenticationThrottlingExecutionPlan;
 import org.springframework.beans.factory.ObjectProvider;
@@ -201,11 +203,18 @@ public class CasWebflowContextConfiguration {
         return builder.build();
     }
 
+    @ConditionalOnMissingBean(name = "webflowConversationStateStore")
+    @Bean
+    public WebflowConversationStateStore webflowConversationStateStore() {
+        return new InMemoryWebflowConversationStateStore();
+    }
+
     @RefreshScope
     @Bean
     public FlowExecutor logoutFlowExecutor() {
         final var factory = new WebflowExecutorFactory(casProperties.getWebflow(),
-            logoutFlowRegistry(), this.webflowCipherExecutor, new FlowExecutionListener[0]);
+            logoutFlowRegistry(), this.webflowCipherExecutor, new FlowExecutionListener[0],
+            webflowConversationStateStore());
         return factory.build();
     }
 
@@ -214,7 +223,7 @@ public class CasWebflowContextConfiguration {
     public FlowExecutor loginFlowExecutor() {
         final var factory = new WebflowExecutorFactory(casProperties.getWebflow(),
             loginFlowRegistry(), this.webflowCipherExecutor,
-            new FlowExecutionListener[0]);
+            new FlowExecutionListener[0], webflowConversationStateStore());
 
         return factory.build();
     }
@@ -0,0 +1,139 @@
+package org.apereo.cas.web.flow.executor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
+import org.springframework.webflow.conversation.impl.BadlyFormattedConversationIdException;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DistributedConversationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class DistributedConversationManagerTests {
+    private static final String SIGNING_KEY = "Kgsf8xAYJn0o8EAsWVb1I1qPYwMXUgzAuYKnnf2bw0Sw";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private InMemoryWebflowConversationStateStore store;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void initialize() {
+        this.store = new InMemoryWebflowConversationStateStore();
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void verifyConversationIsResumedByAnotherNode() {
+        final var node1 = newConversationManager(SIGNING_KEY);
+        final var conversation = node1.beginConversation(new ConversationParameters("login", "caption", "description"));
+        final var encodedId = conversation.getId().toString();
+        assertFalse(encodedId.contains("s"));
+
+        conversation.lock();
+        conversation.putAttribute("state", "viewLoginForm");
+        assertSame(conversation, node1.getConversation(conversation.getId()));
+        conversation.unlock();
+        assertNotNull(this.store.get(encodedId));
+
+        final var node2 = newConversationManager(SIGNING_KEY);
+        final var resumed = node2.getConversation(node2.parseConversationId(encodedId));
+        assertEquals("viewLoginForm", resumed.getAttribute("state"));
+        assertEquals("login", resumed.getAttribute("name"));
+        assertEquals(1, this.meterRegistry.get(DistributedConversationManager.METRIC_STATE_SIZE).summary().count());
+    }
+
+    @Test
+    public void verifyEndedConversationIsRemoved() {
+        final var manager = newConversationManager(SIGNING_KEY);
+        final var conversation = manager.beginConversation(new ConversationParameters("login", null, null));
+        conversation.lock();
+        conversation.unlock();
+        final var id = manager.parseConversationId(conversation.getId().toString());
+
+        conversation.lock();
+        conversation.end();
+        conversation.unlock();
+        assertNull(this.store.get(id.toString()));
+        this.thrown.expect(NoSuchConversationException.class);
+        manager.getConversation(id);
+    }
+
+    @Test
+    public void verifyConversationObtainedBeforeUnlockIsShared() throws Exception {
+        final var manager = newConversationManager(SIGNING_KEY);
+        final var begun = manager.beginConversation(new ConversationParameters("login", null, null));
+        begun.lock();
+        begun.unlock();
+        final var id = manager.parseConversationId(begun.getId().toString());
+
+        final var first = Executors.newSingleThreadExecutor();
+        final var second = Executors.newSingleThreadExecutor();
+        final var third = Executors.newSingleThreadExecutor();
+        try {
+            final var firstConversation = first.submit(() -> {
+                final var conversation = manager.getConversation(id);
+                conversation.lock();
+                return conversation;
+            }).get();
+            final var secondConversation = second.submit(() -> manager.getConversation(id)).get();
+            first.submit(firstConversation::unlock).get();
+
+            final var thirdConversation = third.submit(() -> manager.getConversation(id)).get();
+            assertSame(secondConversation, thirdConversation);
+
+            second.submit(() -> {
+                secondConversation.lock();
+                secondConversation.putAttribute("second", "true");
+                secondConversation.unlock();
+            }).get();
+            third.submit(() -> {
+                thirdConversation.lock();
+                thirdConversation.putAttribute("third", "true");
+                thirdConversation.unlock();
+            }).get();
+        } finally {
+            first.shutdownNow();
+            second.shutdownNow();
+            third.shutdownNow();
+        }
+        final var resumed = newConversationManager(SIGNING_KEY).getConversation(id);
+        assertEquals("true", resumed.getAttribute("second"));
+        assertEquals("true", resumed.getAttribute("third"));
+    }
+
+    @Test
+    public void verifyForgedConversationIdIsRejected() {
+        final var manager = newConversationManager(SIGNING_KEY);
+        final var encodedId = manager.beginConversation(new ConversationParameters("login", null, null)).getId().toString();
+        final var forged = newConversationManager("another-signing-key");
+        this.thrown.expect(BadlyFormattedConversationIdException.class);
+        forged.parseConversationId(encodedId);
+    }
+
+    @Test
+    public void verifyMalformedConversationIdIsRejected() {
+        final var manager = newConversationManager(SIGNING_KEY);
+        this.thrown.expect(BadlyFormattedConversationIdException.class);
+        manager.parseConversationId("1");
+    }
+
+    private DistributedConversationManager newConversationManager(final String signingKey) {
+        final var manager = new DistributedConversationManager(this.store, signingKey, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        manager.setMeterRegistry(this.meterRegistry);
+        return manager;
+    }
+}
@@ -0,0 +1,45 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.configuration.model.webapp.WebflowProperties;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.webflow.definition.registry.FlowDefinitionRegistryImpl;
+import org.springframework.webflow.execution.FlowExecutionListener;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link WebflowExecutorFactoryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class WebflowExecutorFactoryTests {
+    private static final String SIGNING_KEY = "Kgsf8xAYJn0o8EAsWVb1I1qPYwMXUgzAuYKnnf2bw0Sw";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void verifyDistributedExecutorWithSigningKey() {
+        assertNotNull(newFactory(SIGNING_KEY).build());
+    }
+
+    @Test
+    public void verifyDistributedExecutorRequiresSigningKey() {
+        this.thrown.expect(BeanCreationException.class);
+        newFactory(" ").build();
+    }
+
+    private static WebflowExecutorFactory newFactory(final String signingKey) {
+        final var properties = new WebflowProperties();
+        final var session = properties.getSession();
+        session.setStorage(true);
+        session.setDistributed(true);
+        session.setSigningKey(signingKey);
+        return new WebflowExecutorFactory(properties, new FlowDefinitionRegistryImpl(), null,
+            new FlowExecutionListener[0], new InMemoryWebflowConversationStateStore());
+    }
+}
@@ -1,6 +1,8 @@
 package org.apereo.cas;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.web.flow.resolver.impl.InitialAuthenticationAttemptWebflowEventResolverTests;
+import org.apereo.cas.web.flow.resolver.impl.mfa.MultifactorAuthenticationPolicyEventResolverSupportsTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -18,7 +20,9 @@ import org.junit.runners.Suite;
     DefaultCasAttributeEncoderTests.class,
     AdaptiveMultifactorAuthenticationPolicyEventResolverTests.class,
     DefaultPrincipalAttributesRepositoryTests.class,
-    MultifactorAuthenticationTests.class
+    MultifactorAuthenticationTests.class,
+    InitialAuthenticationAttemptWebflowEventResolverTests.class,
+    MultifactorAuthenticationPolicyEventResolverSupportsTests.class
 })
 @Slf4j
 public class AllCoreTestsSuite {
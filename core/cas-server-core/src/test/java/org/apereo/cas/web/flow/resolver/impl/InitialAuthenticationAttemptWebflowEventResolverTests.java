@@ -0,0 +1,126 @@
+package org.apereo.cas.web.flow.resolver.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.audit.AuditableExecution;
+import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.web.flow.resolver.CasWebflowEventResolver;
+import org.apereo.cas.web.support.WebUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.util.CookieGenerator;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.test.MockRequestContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link InitialAuthenticationAttemptWebflowEventResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class InitialAuthenticationAttemptWebflowEventResolverTests {
+    private InitialAuthenticationAttemptWebflowEventResolver resolver;
+
+    private AuthenticationServiceSelectionPlan authenticationSelectionStrategies;
+
+    private ServicesManager servicesManager;
+
+    private CasWebflowEventResolver supportedResolver;
+
+    private CasWebflowEventResolver unsupportedResolver;
+
+    private MockRequestContext context;
+
+    private Service service;
+
+    @Before
+    public void initialize() {
+        this.authenticationSelectionStrategies = mock(AuthenticationServiceSelectionPlan.class);
+        when(this.authenticationSelectionStrategies.resolveService(any())).thenAnswer(args -> args.getArgument(0));
+        this.servicesManager = mock(ServicesManager.class);
+
+        this.resolver = new InitialAuthenticationAttemptWebflowEventResolver(mock(AuthenticationSystemSupport.class),
+            mock(CentralAuthenticationService.class), this.servicesManager, mock(TicketRegistrySupport.class),
+            mock(CookieGenerator.class), this.authenticationSelectionStrategies,
+            mock(MultifactorAuthenticationProviderSelector.class), mock(AuditableExecution.class));
+        this.resolver.setMeterRegistry(new SimpleMeterRegistry());
+
+        this.supportedResolver = mockResolver("supported", true);
+        this.unsupportedResolver = mockResolver("unsupported", false);
+        this.resolver.addDelegate(this.supportedResolver);
+        this.resolver.addDelegate(this.unsupportedResolver);
+
+        this.context = new MockRequestContext();
+        this.service = RegisteredServiceTestUtils.getService("https://app.example.org");
+        WebUtils.putService(this.context, this.service);
+    }
+
+    @Test
+    public void verifyUnsupportedResolversAreSkipped() {
+        final var registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        for (var i = 0; i < 3; i++) {
+            final var events = this.resolver.resolveCandidateAuthenticationEvents(this.context, this.service, registeredService);
+            assertEquals(1, events.size());
+            assertEquals("supported", events.iterator().next().getId());
+        }
+        verify(this.supportedResolver, times(1)).supports(registeredService);
+        verify(this.unsupportedResolver, times(1)).supports(registeredService);
+        verify(this.supportedResolver, times(3)).resolveSingle(any(RequestContext.class));
+        verify(this.unsupportedResolver, never()).resolveSingle(any(RequestContext.class));
+        verify(this.servicesManager, never()).findServiceBy(any(Service.class));
+    }
+
+    @Test
+    public void verifyPlanIsRebuiltWhenServiceChanges() {
+        final var registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        this.resolver.resolveCandidateAuthenticationEvents(this.context, this.service, registeredService);
+        assertEquals(1, this.resolver.getEvaluationPlan(registeredService).size());
+
+        final RegisteredService modifiedService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        when(this.unsupportedResolver.supports(modifiedService)).thenReturn(true);
+        final var events = this.resolver.resolveCandidateAuthenticationEvents(this.context, this.service, modifiedService);
+        assertEquals(2, events.size());
+        assertEquals(2, this.resolver.getEvaluationPlan(modifiedService).size());
+        assertEquals(1, this.resolver.getEvaluationPlan(registeredService).size());
+        verify(this.unsupportedResolver, times(1)).resolveSingle(any(RequestContext.class));
+    }
+
+    @Test
+    public void verifyPlanIsRebuiltWhenDelegatesChange() {
+        final var registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        assertEquals(1, this.resolver.getEvaluationPlan(registeredService).size());
+        this.resolver.addDelegate(mockResolver("added", true));
+        assertEquals(2, this.resolver.getEvaluationPlan(registeredService).size());
+    }
+
+    @Test
+    public void verifyAllResolversAreEvaluatedForDifferentResolvedService() {
+        final var resolvedService = RegisteredServiceTestUtils.getService("https://resolved.example.org");
+        when(this.authenticationSelectionStrategies.resolveService(any())).thenReturn(resolvedService);
+        final var registeredService = RegisteredServiceTestUtils.getRegisteredService("https://app.example.org");
+        final var events = this.resolver.resolveCandidateAuthenticationEvents(this.context, this.service, registeredService);
+        assertEquals(2, events.size());
+        verify(this.supportedResolver, never()).supports(any());
+        verify(this.servicesManager, never()).findServiceBy(any(Service.class));
+    }
+
+    private static CasWebflowEventResolver mockResolver(final String id, final boolean supported) {
+        final var resolver = mock(CasWebflowEventResolver.class);
+        when(resolver.getName()).thenReturn(id);
+        when(resolver.supports(any())).thenReturn(supported);
+        when(resolver.resolveSingle(any(RequestContext.class))).thenReturn(new Event(resolver, id));
+        return resolver;
+    }
+}
@@ -0,0 +1,127 @@
+package org.apereo.cas.web.flow.resolver.impl.mfa;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.AuthenticationSystemSupport;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.services.DefaultRegisteredServiceMultifactorPolicy;
+import org.apereo.cas.services.MultifactorAuthenticationProviderSelector;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.ticket.registry.TicketRegistrySupport;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.web.flow.resolver.impl.mfa.request.RequestParameterMultifactorAuthenticationPolicyEventResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.util.CookieGenerator;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link MultifactorAuthenticationPolicyEventResolverSupportsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class MultifactorAuthenticationPolicyEventResolverSupportsTests {
+    private CasConfigurationProperties casProperties;
+
+    private RegisteredService serviceWithoutPolicy;
+
+    private RegisteredService serviceWithPolicy;
+
+    private RegisteredService serviceWithAttributePolicy;
+
+    @Before
+    public void initialize() {
+        this.casProperties = new CasConfigurationProperties();
+        this.serviceWithoutPolicy = RegisteredServiceTestUtils.getRegisteredService("https://none.example.org");
+
+        final var policy = new DefaultRegisteredServiceMultifactorPolicy();
+        policy.setMultifactorAuthenticationProviders(CollectionUtils.wrapSet("mfa-dummy"));
+        final var service = RegisteredServiceTestUtils.getRegisteredService("https://mfa.example.org");
+        service.setMultifactorPolicy(policy);
+        this.serviceWithPolicy = service;
+
+        final var attributePolicy = new DefaultRegisteredServiceMultifactorPolicy();
+        attributePolicy.setMultifactorAuthenticationProviders(CollectionUtils.wrapSet("mfa-dummy"));
+        attributePolicy.setPrincipalAttributeNameTrigger("memberOf");
+        attributePolicy.setPrincipalAttributeValueToMatch("faculty");
+        final var attributeService = RegisteredServiceTestUtils.getRegisteredService("https://attr.example.org");
+        attributeService.setMultifactorPolicy(attributePolicy);
+        this.serviceWithAttributePolicy = attributeService;
+    }
+
+    @Test
+    public void verifyGlobalPolicyNeedsProvider() {
+        assertFalse(newGlobalResolver().supports(this.serviceWithPolicy));
+        this.casProperties.getAuthn().getMfa().setGlobalProviderId("mfa-dummy");
+        final var resolver = newGlobalResolver();
+        assertTrue(resolver.supports(this.serviceWithoutPolicy));
+        assertTrue(resolver.supports(null));
+    }
+
+    @Test
+    public void verifyRegisteredServicePolicyNeedsProviders() {
+        final var resolver = new RegisteredServiceMultifactorAuthenticationPolicyEventResolver(mock(AuthenticationSystemSupport.class),
+            mock(CentralAuthenticationService.class), mock(ServicesManager.class), mock(TicketRegistrySupport.class),
+            mock(CookieGenerator.class), mock(AuthenticationServiceSelectionPlan.class), mock(MultifactorAuthenticationProviderSelector.class));
+        assertFalse(resolver.supports(null));
+        assertFalse(resolver.supports(this.serviceWithoutPolicy));
+        assertTrue(resolver.supports(this.serviceWithPolicy));
+        assertFalse(resolver.supports(this.serviceWithAttributePolicy));
+    }
+
+    @Test
+    public void verifyRegisteredServicePrincipalAttributePolicyNeedsTrigger() {
+        final var resolver = new RegisteredServicePrincipalAttributeMultifactorAuthenticationPolicyEventResolver(
+            mock(AuthenticationSystemSupport.class), mock(CentralAuthenticationService.class), mock(ServicesManager.class),
+            mock(TicketRegistrySupport.class), mock(CookieGenerator.class), mock(AuthenticationServiceSelectionPlan.class),
+            mock(MultifactorAuthenticationProviderSelector.class));
+        assertFalse(resolver.supports(null));
+        assertFalse(resolver.supports(this.serviceWithPolicy));
+        assertTrue(resolver.supports(this.serviceWithAttributePolicy));
+    }
+
+    @Test
+    public void verifyRestPolicyNeedsEndpoint() {
+        assertFalse(newRestResolver().supports(this.serviceWithoutPolicy));
+        this.casProperties.getAuthn().getMfa().setRestEndpoint("https://mfa.example.org/trigger");
+        final var resolver = newRestResolver();
+        assertTrue(resolver.supports(this.serviceWithoutPolicy));
+        assertFalse(resolver.supports(null));
+    }
+
+    @Test
+    public void verifyRequestParameterPolicyNeedsParameter() {
+        this.casProperties.getAuthn().getMfa().setRequestParameter(null);
+        assertFalse(newRequestParameterResolver().supports(this.serviceWithoutPolicy));
+        this.casProperties.getAuthn().getMfa().setRequestParameter("authn_method");
+        final var resolver = newRequestParameterResolver();
+        assertTrue(resolver.supports(this.serviceWithoutPolicy));
+        assertFalse(resolver.supports(null));
+    }
+
+    private GlobalMultifactorAuthenticationPolicyEventResolver newGlobalResolver() {
+        return new GlobalMultifactorAuthenticationPolicyEventResolver(mock(AuthenticationSystemSupport.class),
+            mock(CentralAuthenticationService.class), mock(ServicesManager.class), mock(TicketRegistrySupport.class),
+            mock(CookieGenerator.class), mock(AuthenticationServiceSelectionPlan.class),
+            mock(MultifactorAuthenticationProviderSelector.class), this.casProperties);
+    }
+
+    private RestEndpointMultifactorAuthenticationPolicyEventResolver newRestResolver() {
+        return new RestEndpointMultifactorAuthenticationPolicyEventResolver(mock(AuthenticationSystemSupport.class),
+            mock(CentralAuthenticationService.class), mock(ServicesManager.class), mock(TicketRegistrySupport.class),
+            mock(CookieGenerator.class), mock(AuthenticationServiceSelectionPlan.class),
+            mock(MultifactorAuthenticationProviderSelector.class), this.casProperties);
+    }
+
+    private RequestParameterMultifactorAuthenticationPolicyEventResolver newRequestParameterResolver() {
+        return new RequestParameterMultifactorAuthenticationPolicyEventResolver(mock(AuthenticationSystemSupport.class),
+            mock(CentralAuthenticationService.class), mock(ServicesManager.class), mock(TicketRegistrySupport.class),
+            mock(CookieGenerator.class), mock(AuthenticationServiceSelectionPlan.class),
+            mock(MultifactorAuthenticationProviderSelector.class), this.casProperties);
+    }
+}
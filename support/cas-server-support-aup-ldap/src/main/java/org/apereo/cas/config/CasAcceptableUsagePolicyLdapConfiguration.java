@@ -5,7 +5,7 @@ import org.apereo.cas.aup.AcceptableUsagePolicyRepository;
 import org.apereo.cas.aup.LdapAcceptableUsagePolicyRepository;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
-import org.apereo.cas.util.LdapUtils;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.ldaptive.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,11 +34,15 @@ public class CasAcceptableUsagePolicyLdapConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ldapConnectionFactoryRegistry")
+    private LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry;
+
     @RefreshScope
     @Bean
     public AcceptableUsagePolicyRepository acceptableUsagePolicyRepository() {
         final var ldap = casProperties.getAcceptableUsagePolicy().getLdap();
-        final ConnectionFactory connectionFactory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+        final ConnectionFactory connectionFactory = ldapConnectionFactoryRegistry.getPooledConnectionFactory(ldap);
         return new LdapAcceptableUsagePolicyRepository(ticketRegistrySupport,
                 casProperties.getAcceptableUsagePolicy().getAupAttributeName(),
                 connectionFactory, ldap.getSearchFilter(), ldap.getBaseDn());
@@ -79,11 +79,12 @@ public class CasConsentCoreConfiguration implements AuditTrailRecordResolutionPl
     @Bean
     @RefreshScope
     public ConsentRepository consentRepository() {
-        final var location = casProperties.getConsent().getJson().getLocation();
+        final var json = casProperties.getConsent().getJson();
+        final var location = json.getLocation();
         if (location != null) {
             LOGGER.warn("Storing consent records in [{}]. This MAY NOT be appropriate in production. "
                 + "Consider choosing an alternative repository format for storing consent decisions", location);
-            return new JsonConsentRepository(location);
+            return new JsonConsentRepository(location, json.getCompactionThreshold());
         }
 
         final var groovy = casProperties.getConsent().getGroovy().getLocation();
@@ -1,82 +1,178 @@
 package org.apereo.cas.consent;
 
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.util.RandomUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link BaseConsentRepository}.
+ * Decisions are indexed by principal and then by service, so that looking up decisions
+ * does not require scanning all decisions stored in the repository.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-@Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public abstract class BaseConsentRepository implements ConsentRepository {
     private static final long serialVersionUID = 1736846688546785564L;
-    private Set<ConsentDecision> consentDecisions = new LinkedHashSet<>();
+
+    private final Map<Long, ConsentDecision> decisionsById = new LinkedHashMap<>();
+
+    private final Map<String, PrincipalConsentDecisions> decisionsByPrincipal = new ConcurrentHashMap<>();
+
+    public BaseConsentRepository(final Set<ConsentDecision> consentDecisions) {
+        setConsentDecisions(consentDecisions);
+    }
 
     @Override
     public ConsentDecision findConsentDecision(final Service service, final RegisteredService registeredService,
                                                final Authentication authentication) {
-        return this.consentDecisions.stream()
-            .filter(d -> d.getPrincipal().equals(authentication.getPrincipal().getId())
-                && d.getService().equals(service.getId()))
-            .findFirst()
-            .orElse(null);
+        final var decisions = this.decisionsByPrincipal.get(authentication.getPrincipal().getId());
+        return decisions != null ? decisions.findByService(service.getId()) : null;
     }
 
     @Override
     public Collection<ConsentDecision> findConsentDecisions(final String principal) {
-        return this.consentDecisions.stream()
-            .filter(d -> d.getPrincipal().equals(principal))
-            .collect(Collectors.toSet());
+        final var decisions = this.decisionsByPrincipal.get(principal);
+        return decisions != null ? decisions.getDecisions() : new HashSet<>(0);
     }
 
     @Override
-    public Collection<ConsentDecision> findConsentDecisions() {
-        return new ArrayList<>(this.consentDecisions);
+    public synchronized Collection<ConsentDecision> findConsentDecisions() {
+        return new ArrayList<>(this.decisionsById.values());
     }
 
     @Override
     public boolean storeConsentDecision(final ConsentDecision decision) {
-        final var consent = getConsentDecisions()
-            .stream()
-            .filter(d -> d.getId() == decision.getId())
-            .findFirst()
-            .orElse(null);
-        if (consent != null) {
-            getConsentDecisions().remove(decision);
-        } else {
-            decision.setId(Math.abs(RandomUtils.getNativeInstance().nextInt()));
+        synchronized (this) {
+            final var consent = this.decisionsById.get(decision.getId());
+            if (consent != null) {
+                removeDecision(consent);
+            } else {
+                decision.setId(generateDecisionId());
+            }
+            addDecision(decision);
         }
-        getConsentDecisions().add(decision);
         return true;
     }
 
-
     @Override
     public boolean deleteConsentDecision(final long decisionId, final String principal) {
-        final var decisions = findConsentDecisions(principal);
-        final var result = decisions.stream().filter(d -> d.getId() == decisionId).findFirst();
-        result.ifPresent(value -> this.consentDecisions.remove(value));
-        return result.isPresent();
+        synchronized (this) {
+            final var consent = this.decisionsById.get(decisionId);
+            if (consent == null || !consent.getPrincipal().equals(principal)) {
+                return false;
+            }
+            removeDecision(consent);
+        }
+        return true;
+    }
+
+    /**
+     * Put the decision back into the repository as is, replacing any decision with the same id.
+     * Unlike {@link #storeConsentDecision(ConsentDecision)}, identifiers of new decisions are kept.
+     *
+     * @param decision the decision
+     */
+    protected synchronized void restoreConsentDecision(final ConsentDecision decision) {
+        final var consent = this.decisionsById.get(decision.getId());
+        if (consent != null) {
+            removeDecision(consent);
+        }
+        addDecision(decision);
+    }
+
+    /**
+     * Replace all decisions held by this repository.
+     *
+     * @param consentDecisions the consent decisions
+     */
+    public synchronized void setConsentDecisions(final Set<ConsentDecision> consentDecisions) {
+        this.decisionsById.clear();
+        this.decisionsByPrincipal.clear();
+        consentDecisions.forEach(this::addDecision);
+    }
+
+    protected synchronized Set<ConsentDecision> getConsentDecisions() {
+        return new LinkedHashSet<>(this.decisionsById.values());
+    }
+
+    private long generateDecisionId() {
+        var id = Math.abs(RandomUtils.getNativeInstance().nextInt());
+        while (this.decisionsById.containsKey((long) id)) {
+            id = Math.abs(RandomUtils.getNativeInstance().nextInt());
+        }
+        return id;
     }
 
-    protected Set<ConsentDecision> getConsentDecisions() {
-        return this.consentDecisions;
+    private void addDecision(final ConsentDecision decision) {
+        this.decisionsById.put(decision.getId(), decision);
+        this.decisionsByPrincipal.computeIfAbsent(decision.getPrincipal(), p -> new PrincipalConsentDecisions()).add(decision);
+    }
+
+    private void removeDecision(final ConsentDecision decision) {
+        this.decisionsById.remove(decision.getId());
+        final var decisions = this.decisionsByPrincipal.get(decision.getPrincipal());
+        if (decisions != null && decisions.remove(decision)) {
+            this.decisionsByPrincipal.remove(decision.getPrincipal());
+        }
+    }
+
+    /**
+     * Decisions of a single principal, indexed by service.
+     * If a principal has more than one decision for a service, the earliest stored decision is used.
+     */
+    private static class PrincipalConsentDecisions implements Serializable {
+        private static final long serialVersionUID = -1925683247013961447L;
+
+        private final Map<Long, ConsentDecision> decisions = new LinkedHashMap<>();
+
+        private final Map<String, ConsentDecision> decisionsByService = new LinkedHashMap<>();
+
+        synchronized void add(final ConsentDecision decision) {
+            this.decisions.put(decision.getId(), decision);
+            this.decisionsByService.putIfAbsent(decision.getService(), decision);
+        }
+
+        /**
+         * Remove the decision.
+         *
+         * @param decision the decision
+         * @return true if the principal has no decisions left
+         */
+        synchronized boolean remove(final ConsentDecision decision) {
+            this.decisions.remove(decision.getId());
+            if (this.decisionsByService.get(decision.getService()) == decision) {
+                this.decisionsByService.remove(decision.getService());
+                this.decisions.values()
+                    .stream()
+                    .filter(d -> d.getService().equals(decision.getService()))
+                    .findFirst()
+                    .ifPresent(d -> this.decisionsByService.put(d.getService(), d));
+            }
+            return this.decisions.isEmpty();
+        }
+
+        synchronized ConsentDecision findByService(final String service) {
+            return this.decisionsByService.get(service);
+        }
+
+        synchronized Set<ConsentDecision> getDecisions() {
+            return new LinkedHashSet<>(this.decisions.values());
+        }
     }
 }
@@ -2,48 +2,101 @@ package org.apereo.cas.consent;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.util.ResourceUtils;
 import org.hjson.JsonValue;
 import org.springframework.core.io.Resource;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * This is {@link JsonConsentRepository}.
+ * <p>
+ * Decisions are kept in a JSON file that holds a snapshot of all decisions, along with a journal file
+ * next to it to which changes are appended one line at a time. Once the journal collects enough changes,
+ * it is compacted into a new snapshot. Changing a decision thus no longer requires rewriting every
+ * decision in the repository.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
 public class JsonConsentRepository extends BaseConsentRepository {
+    /**
+     * Default number of changes appended to the journal before it is compacted.
+     */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1_000;
+
     private static final long serialVersionUID = -402728417464783825L;
 
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+
     private final transient Resource jsonResource;
 
+    private final int compactionThreshold;
+
+    private int journalEntries;
+
     public JsonConsentRepository(final Resource jsonResource) {
+        this(jsonResource, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    public JsonConsentRepository(final Resource jsonResource, final int compactionThreshold) {
         this.jsonResource = jsonResource;
+        this.compactionThreshold = compactionThreshold;
         setConsentDecisions(readDecisionsFromJsonResource());
+        replayJournal();
     }
 
     @Override
     public boolean storeConsentDecision(final ConsentDecision decision) {
-        final var result = super.storeConsentDecision(decision);
-        writeAccountToJsonResource();
-        return result;
+        synchronized (this) {
+            final var result = super.storeConsentDecision(decision);
+            appendToJournal(new JournalEntry(JournalEntry.STORE, decision, decision.getId(), decision.getPrincipal()));
+            return result;
+        }
     }
 
     @Override
     public boolean deleteConsentDecision(final long decisionId, final String principal) {
-        final var result = super.deleteConsentDecision(decisionId, principal);
-        writeAccountToJsonResource();
-        return result;
+        synchronized (this) {
+            final var result = super.deleteConsentDecision(decisionId, principal);
+            if (result) {
+                appendToJournal(new JournalEntry(JournalEntry.DELETE, null, decisionId, principal));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Write all decisions into a new snapshot and clear the journal.
+     */
+    @SneakyThrows
+    public synchronized void compact() {
+        final var file = this.jsonResource.getFile();
+        final var temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp, getConsentDecisions());
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(getJournalFile().toPath());
+        this.journalEntries = 0;
+        LOGGER.debug("Compacted consent decisions into [{}]", file);
     }
 
     @SneakyThrows
@@ -59,9 +112,67 @@ public class JsonConsentRepository extends BaseConsentRepository {
     }
 
     @SneakyThrows
-    private boolean writeAccountToJsonResource() {
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(this.jsonResource.getFile(), getConsentDecisions());
-        readDecisionsFromJsonResource();
-        return true;
+    private void replayJournal() {
+        if (!this.jsonResource.isFile()) {
+            return;
+        }
+        final var journal = getJournalFile();
+        if (!journal.exists()) {
+            return;
+        }
+        for (final var line : Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8)) {
+            if (StringUtils.isBlank(line)) {
+                continue;
+            }
+            try {
+                final var entry = MAPPER.readValue(line, JournalEntry.class);
+                if (JournalEntry.DELETE.equals(entry.getOperation())) {
+                    super.deleteConsentDecision(entry.getId(), entry.getPrincipal());
+                } else {
+                    restoreConsentDecision(entry.getDecision());
+                }
+            } catch (final IOException e) {
+                LOGGER.warn("Skipping unreadable consent journal entry [{}]: [{}]", line, e.getMessage());
+            }
+        }
+        compact();
+    }
+
+    @SneakyThrows
+    private void appendToJournal(final JournalEntry entry) {
+        final var line = MAPPER.writeValueAsString(entry) + System.lineSeparator();
+        Files.write(getJournalFile().toPath(), line.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        this.journalEntries++;
+        if (this.journalEntries >= this.compactionThreshold) {
+            compact();
+        }
+    }
+
+    @SneakyThrows
+    private File getJournalFile() {
+        final var file = this.jsonResource.getFile();
+        return new File(file.getParentFile(), file.getName() + JOURNAL_FILE_EXTENSION);
+    }
+
+    /**
+     * A single change recorded in the journal.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class JournalEntry {
+        static final String STORE = "STORE";
+
+        static final String DELETE = "DELETE";
+
+        private String operation;
+
+        private ConsentDecision decision;
+
+        private long id;
+
+        private String principal;
     }
 }
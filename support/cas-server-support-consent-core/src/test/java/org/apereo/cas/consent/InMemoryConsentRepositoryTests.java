@@ -29,4 +29,47 @@ public class InMemoryConsentRepositoryTests {
         final var b = repo.deleteConsentDecision(decision.getId(), "casuser");
         assertTrue(b);
     }
+
+    @Test
+    public void verifyConsentDecisionsAreIndexed() {
+        final var repo = new InMemoryConsentRepository();
+        final var count = 100_000;
+        for (var i = 0; i < count; i++) {
+            final var decision = new ConsentDecision();
+            decision.setPrincipal("user" + (i % 1_000));
+            decision.setService("https://app" + (i / 1_000) + ".example.org");
+            repo.storeConsentDecision(decision);
+        }
+        assertEquals(count, repo.findConsentDecisions().size());
+        assertEquals(100, repo.findConsentDecisions("user10").size());
+        assertTrue(repo.findConsentDecisions("unknown").isEmpty());
+
+        final var authentication = RegisteredServiceTestUtils.getAuthentication("user10");
+        final var decision = repo.findConsentDecision(RegisteredServiceTestUtils.getService("https://app42.example.org"),
+            RegisteredServiceTestUtils.getRegisteredService("test"), authentication);
+        assertNotNull(decision);
+        assertEquals("user10", decision.getPrincipal());
+        assertEquals("https://app42.example.org", decision.getService());
+
+        assertTrue(repo.deleteConsentDecision(decision.getId(), "user10"));
+        assertFalse(repo.deleteConsentDecision(decision.getId(), "user10"));
+        assertNull(repo.findConsentDecision(RegisteredServiceTestUtils.getService("https://app42.example.org"),
+            RegisteredServiceTestUtils.getRegisteredService("test"), authentication));
+        assertEquals(99, repo.findConsentDecisions("user10").size());
+    }
+
+    @Test
+    public void verifyConsentDecisionUpdated() {
+        final var builder = new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString());
+        final var decision = builder.build(RegisteredServiceTestUtils.getService(),
+            RegisteredServiceTestUtils.getRegisteredService("test"), "casuser",
+            CollectionUtils.wrap("attribute", "value"));
+        final var repo = new InMemoryConsentRepository();
+        repo.storeConsentDecision(decision);
+        decision.setReminder(1L);
+        repo.storeConsentDecision(decision);
+        assertEquals(1, repo.findConsentDecisions().size());
+        assertEquals(1L, repo.findConsentDecisions("casuser").iterator().next().getReminder().longValue());
+        assertFalse(repo.deleteConsentDecision(decision.getId(), "unknown"));
+    }
 }
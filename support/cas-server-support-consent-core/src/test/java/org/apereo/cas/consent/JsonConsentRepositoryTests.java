@@ -18,9 +18,12 @@ import static org.junit.Assert.*;
 public class JsonConsentRepositoryTests {
     private static final FileSystemResource JSON_FILE = new FileSystemResource("ConsentRepository.json");
 
+    private static final FileSystemResource JOURNAL_FILE = new FileSystemResource("ConsentRepository.json.journal");
+
     @AfterClass
     public static void shutdown() {
         JSON_FILE.getFile().delete();
+        JOURNAL_FILE.getFile().delete();
     }
 
     @Test
@@ -38,4 +41,48 @@ public class JsonConsentRepositoryTests {
         final var b = repo.deleteConsentDecision(decision.getId(), "casuser");
         assertTrue(b);
     }
+
+    @Test
+    public void verifyConsentDecisionsRestoredFromJournal() {
+        final var builder = new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString());
+        final var regSvc = RegisteredServiceTestUtils.getRegisteredService("test");
+        final var first = builder.build(RegisteredServiceTestUtils.getService("https://app1.example.org"),
+            regSvc, "journaluser", CollectionUtils.wrap("attribute", "value"));
+        final var second = builder.build(RegisteredServiceTestUtils.getService("https://app2.example.org"),
+            regSvc, "journaluser", CollectionUtils.wrap("attribute", "value"));
+
+        final var repo = new JsonConsentRepository(JSON_FILE, 100);
+        repo.storeConsentDecision(first);
+        repo.storeConsentDecision(second);
+        repo.deleteConsentDecision(first.getId(), "journaluser");
+        assertTrue(JOURNAL_FILE.exists());
+
+        final var restored = new JsonConsentRepository(JSON_FILE, 100);
+        final var decisions = restored.findConsentDecisions("journaluser");
+        assertEquals(1, decisions.size());
+        assertEquals(second.getId(), decisions.iterator().next().getId());
+        assertFalse(JOURNAL_FILE.exists());
+        assertTrue(restored.deleteConsentDecision(second.getId(), "journaluser"));
+    }
+
+    @Test
+    public void verifyJournalCompacted() {
+        final var builder = new DefaultConsentDecisionBuilder(CipherExecutor.noOpOfSerializableToString());
+        final var regSvc = RegisteredServiceTestUtils.getRegisteredService("test");
+        final var repo = new JsonConsentRepository(JSON_FILE, 2);
+        final var first = builder.build(RegisteredServiceTestUtils.getService("https://app1.example.org"),
+            regSvc, "compacteduser", CollectionUtils.wrap("attribute", "value"));
+        repo.storeConsentDecision(first);
+        assertTrue(JOURNAL_FILE.exists());
+        final var second = builder.build(RegisteredServiceTestUtils.getService("https://app2.example.org"),
+            regSvc, "compacteduser", CollectionUtils.wrap("attribute", "value"));
+        repo.storeConsentDecision(second);
+        assertFalse(JOURNAL_FILE.exists());
+        assertTrue(JSON_FILE.exists());
+
+        final var restored = new JsonConsentRepository(JSON_FILE, 2);
+        assertEquals(2, restored.findConsentDecisions("compacteduser").size());
+        restored.deleteConsentDecision(first.getId(), "compacteduser");
+        restored.deleteConsentDecision(second.getId(), "compacteduser");
+    }
 }
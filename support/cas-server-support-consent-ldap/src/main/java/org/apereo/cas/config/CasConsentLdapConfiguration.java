@@ -4,9 +4,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.consent.ConsentRepository;
 import org.apereo.cas.consent.LdapConsentRepository;
-import org.apereo.cas.util.LdapUtils;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.ldaptive.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,10 +26,14 @@ public class CasConsentLdapConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ldapConnectionFactoryRegistry")
+    private LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry;
+
     @Bean
     public ConsentRepository consentRepository() {
         final var ldap = casProperties.getConsent().getLdap();
-        final ConnectionFactory connectionFactory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+        final ConnectionFactory connectionFactory = ldapConnectionFactoryRegistry.getPooledConnectionFactory(ldap);
         return new LdapConsentRepository(connectionFactory, ldap);
     }
 }
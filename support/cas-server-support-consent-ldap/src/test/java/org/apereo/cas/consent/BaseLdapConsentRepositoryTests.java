@@ -11,6 +11,7 @@ import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.category.LdapCategory;
 import org.apereo.cas.config.CasConsentLdapConfiguration;
+import org.apereo.cas.config.CasLdapCoreConfiguration;
 import org.apereo.cas.services.AbstractRegisteredService;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -37,7 +38,7 @@ import static org.junit.Assert.*;
  * @author Misagh Moayyed
  * @since 5.3.0
  */
-@SpringBootTest(classes = {CasConsentLdapConfiguration.class, RefreshAutoConfiguration.class})
+@SpringBootTest(classes = {CasConsentLdapConfiguration.class, CasLdapCoreConfiguration.class, RefreshAutoConfiguration.class})
 @Category(LdapCategory.class)
 public abstract class BaseLdapConsentRepositoryTests {
 
@@ -3,10 +3,13 @@ package org.apereo.cas.ticket.registry;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTimeToLiveRequest;
 import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
@@ -14,25 +17,42 @@ import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
 import com.amazonaws.services.dynamodbv2.model.ScalarAttributeType;
 import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveSpecification;
+import com.amazonaws.services.dynamodbv2.model.TimeToLiveStatus;
+import com.amazonaws.services.dynamodbv2.model.UpdateTimeToLiveRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistryProperties;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.util.CollectionUtils;
 import org.jooq.lambda.Unchecked;
 
 import java.io.ByteArrayInputStream;
 import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
@@ -44,6 +64,14 @@ import java.util.stream.Collectors;
 @Getter
 @RequiredArgsConstructor
 public class DynamoDbTicketRegistryFacilitator {
+    private static final int MAX_BATCH_WRITE_ITEMS = 25;
+
+    private static final int MAX_BATCH_WRITE_ATTEMPTS = 8;
+
+    private static final long INITIAL_BATCH_WRITE_BACKOFF_MILLIS = 50;
+
+    private static final long MAX_BATCH_WRITE_BACKOFF_MILLIS = 5_000;
+
     /**
      * Column names for tables holding tickets.
      */
@@ -77,7 +105,11 @@ public class DynamoDbTicketRegistryFacilitator {
         /**
          * encoded column.
          */
-        ENCODED("encoded");
+        ENCODED("encoded"),
+        /**
+         * expireAt column, in epoch seconds, used by DynamoDb to expire items natively.
+         */
+        EXPIRE_AT("expireAt");
 
         private final String columnName;
 
@@ -113,19 +145,21 @@ public class DynamoDbTicketRegistryFacilitator {
     }
 
     /**
-     * Delete all.
+     * Delete all tickets, without dropping the ticket tables.
      *
-     * @return the int
+     * @return the number of deleted tickets
      */
     public int deleteAll() {
         final var count = new AtomicInteger();
-        final var metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            final var scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).getCount());
+        this.ticketCatalog.findAll().forEach(r -> {
+            final var tableName = r.getProperties().getStorageName();
+            final var deletion = new BatchDeletion(tableName, count);
+            scan(List.of(r), request -> request.withProjectionExpression(ColumnNames.ID.getColumnName()))
+                .map(item -> item.get(ColumnNames.ID.getColumnName()))
+                .forEach(deletion);
+            deletion.flush();
         });
-        createTicketTables(true);
+        LOGGER.debug("Deleted [{}] tickets", count.get());
         return count.get();
     }
 
@@ -135,16 +169,72 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        final Collection<Ticket> tickets = new ArrayList<>();
-        final var metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            final var scan = new ScanRequest(r.getProperties().getStorageName());
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            final var result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.getItems().stream().map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
-        });
-        return tickets;
+        return getTicketsStream().collect(Collectors.toList());
+    }
+
+    /**
+     * Gets tickets stream. Tables are divided into segments that are scanned in parallel;
+     * the returned stream itself is sequential, so callers process tickets one at a time as with other registries.
+     *
+     * @return the tickets stream
+     */
+    public Stream<Ticket> getTicketsStream() {
+        return scan(this.ticketCatalog.findAll(), UnaryOperator.identity())
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Count tickets of the given type that have not yet expired in the store.
+     * Items are counted by DynamoDb, so the tickets themselves are not transferred.
+     *
+     * @param ticketType the ticket type
+     * @return the number of tickets
+     */
+    public long count(final Class<? extends Ticket> ticketType) {
+        final var now = new AttributeValue().withN(Long.toString(Instant.now().getEpochSecond()));
+        final var expireAt = ColumnNames.EXPIRE_AT.getColumnName();
+        final var definitions = this.ticketCatalog.findAll()
+            .stream()
+            .filter(r -> ticketType.isAssignableFrom(r.getImplementationClass()))
+            .collect(Collectors.toList());
+        return scanPages(definitions, request -> request
+                .withSelect(Select.COUNT)
+                .withFilterExpression("attribute_not_exists(#expireAt) OR #expireAt > :now")
+                .withExpressionAttributeNames(CollectionUtils.wrap("#expireAt", expireAt))
+                .withExpressionAttributeValues(CollectionUtils.wrap(":now", now)))
+            .mapToLong(ScanResult::getCount)
+            .sum();
+    }
+
+    private Stream<Map<String, AttributeValue>> scan(final Collection<TicketDefinition> definitions,
+                                                     final UnaryOperator<ScanRequest> customizer) {
+        return scanPages(definitions, customizer).flatMap(result -> result.getItems().stream());
+    }
+
+    private Stream<ScanResult> scanPages(final Collection<TicketDefinition> definitions, final UnaryOperator<ScanRequest> customizer) {
+        final var totalSegments = Math.max(1, dynamoDbProperties.getScanSegments());
+        final List<Pair<String, Integer>> segments = definitions
+            .stream()
+            .map(r -> r.getProperties().getStorageName())
+            .distinct()
+            .flatMap(tableName -> IntStream.range(0, totalSegments).mapToObj(segment -> Pair.of(tableName, segment)))
+            .collect(Collectors.toList());
+        final List<List<ScanResult>> pages = segments.parallelStream().map(segment -> {
+            final Function<Map<String, AttributeValue>, ScanResult> scanner = startKey -> {
+                final var request = customizer.apply(new ScanRequest(segment.getKey())
+                    .withSegment(segment.getValue())
+                    .withTotalSegments(totalSegments)
+                    .withLimit(dynamoDbProperties.getScanPageSize() > 0 ? dynamoDbProperties.getScanPageSize() : null)
+                    .withExclusiveStartKey(startKey));
+                LOGGER.debug("Scanning table with request [{}]", request);
+                return this.amazonDynamoDBClient.scan(request);
+            };
+            return Stream.iterate(scanner.apply(null), Objects::nonNull,
+                result -> result.getLastEvaluatedKey() == null ? null : scanner.apply(result.getLastEvaluatedKey()))
+                .collect(Collectors.toList());
+        }).collect(Collectors.toList());
+        return pages.stream().flatMap(List::stream);
     }
 
     /**
@@ -202,7 +292,6 @@ public class DynamoDbTicketRegistryFacilitator {
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         final var putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
     }
 
     /**
@@ -231,9 +320,31 @@ public class DynamoDbTicketRegistryFacilitator {
             LOGGER.debug("Sending request [{}] to obtain table description...", describeTableRequest);
             final var tableDescription = amazonDynamoDBClient.describeTable(describeTableRequest).getTable();
             LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
+            enableTimeToLive(request.getTableName());
         }));
     }
 
+    private void enableTimeToLive(final String tableName) {
+        try {
+            final var description = amazonDynamoDBClient.describeTimeToLive(new DescribeTimeToLiveRequest().withTableName(tableName))
+                .getTimeToLiveDescription();
+            final var status = description != null ? description.getTimeToLiveStatus() : null;
+            if (TimeToLiveStatus.ENABLED.toString().equals(status) || TimeToLiveStatus.ENABLING.toString().equals(status)) {
+                LOGGER.debug("Time to live is already enabled for table [{}]", tableName);
+                return;
+            }
+            final var specification = new TimeToLiveSpecification()
+                .withAttributeName(ColumnNames.EXPIRE_AT.getColumnName())
+                .withEnabled(Boolean.TRUE);
+            amazonDynamoDBClient.updateTimeToLive(new UpdateTimeToLiveRequest().withTableName(tableName).withTimeToLiveSpecification(specification));
+            LOGGER.debug("Enabled time to live for table [{}] on attribute [{}]", tableName, specification.getAttributeName());
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to enable time to live for table [{}]: [{}]. Expired tickets will remain in the table until deleted",
+                tableName, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
     /**
      * Build table attribute values from ticket map.
      *
@@ -250,7 +361,84 @@ public class DynamoDbTicketRegistryFacilitator {
         values.put(ColumnNames.TIME_TO_LIVE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToLive())));
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(), new AttributeValue().withN(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())));
         values.put(ColumnNames.ENCODED.getColumnName(), new AttributeValue().withB(ByteBuffer.wrap(SerializationUtils.serialize(encTicket))));
+        final var expireAt = getExpirationTime(ticket);
+        if (expireAt != null) {
+            values.put(ColumnNames.EXPIRE_AT.getColumnName(), new AttributeValue().withN(expireAt.toString()));
+        }
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
+
+    /**
+     * Calculate the time at which the ticket is eligible for automated deletion by DynamoDb,
+     * or null if the expiration policy specifies not to delete it automatically.
+     */
+    private static Long getExpirationTime(final Ticket ticket) {
+        final long timeToLive;
+        if (ticket instanceof TicketState) {
+            timeToLive = ticket.getExpirationPolicy().getTimeToLive((TicketState) ticket);
+        } else {
+            timeToLive = ticket.getExpirationPolicy().getTimeToLive();
+        }
+        if (timeToLive < 1) {
+            return null;
+        }
+        final var now = Instant.now().getEpochSecond();
+        return timeToLive > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeToLive;
+    }
+
+    /**
+     * Deletes items from a table in batches, retrying items that DynamoDb did not process
+     * with an exponential backoff, up to a maximum number of attempts per batch.
+     */
+    @RequiredArgsConstructor
+    private class BatchDeletion implements Consumer<AttributeValue> {
+        private final String tableName;
+
+        private final AtomicInteger count;
+
+        private final List<WriteRequest> requests = new ArrayList<>(MAX_BATCH_WRITE_ITEMS);
+
+        @Override
+        public synchronized void accept(final AttributeValue id) {
+            final var deleteRequest = new DeleteRequest().withKey(CollectionUtils.wrap(ColumnNames.ID.getColumnName(), id));
+            this.requests.add(new WriteRequest().withDeleteRequest(deleteRequest));
+            if (this.requests.size() == MAX_BATCH_WRITE_ITEMS) {
+                flush();
+            }
+        }
+
+        synchronized void flush() {
+            if (this.requests.isEmpty()) {
+                return;
+            }
+            final var submitted = this.requests.size();
+            Map<String, List<WriteRequest>> items = CollectionUtils.wrap(this.tableName, new ArrayList<>(this.requests));
+            this.requests.clear();
+            var backoff = INITIAL_BATCH_WRITE_BACKOFF_MILLIS;
+            for (var attempt = 1; !items.isEmpty(); attempt++) {
+                LOGGER.debug("Submitting batch delete request for [{}] items to table [{}]", items.get(this.tableName).size(), this.tableName);
+                items = amazonDynamoDBClient.batchWriteItem(new BatchWriteItemRequest().withRequestItems(items)).getUnprocessedItems();
+                if (!items.isEmpty() && (attempt >= MAX_BATCH_WRITE_ATTEMPTS || !pause(backoff))) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BATCH_WRITE_BACKOFF_MILLIS);
+            }
+            final var unprocessed = items.isEmpty() ? 0 : items.get(this.tableName).size();
+            if (unprocessed > 0) {
+                LOGGER.error("Unable to delete [{}] items from table [{}] after [{}] attempts", unprocessed, this.tableName, MAX_BATCH_WRITE_ATTEMPTS);
+            }
+            this.count.addAndGet(submitted - unprocessed);
+        }
+
+        private boolean pause(final long millis) {
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
 }
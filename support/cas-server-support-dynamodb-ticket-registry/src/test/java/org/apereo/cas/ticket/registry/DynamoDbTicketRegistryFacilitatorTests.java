@@ -23,7 +23,9 @@ import org.apereo.cas.config.DynamoDbTicketRegistryTicketCatalogConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
 import org.apereo.cas.logout.config.CasCoreLogoutConfiguration;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.ConditionalIgnore;
 import org.apereo.cas.util.junit.ConditionalIgnoreRule;
@@ -122,4 +124,27 @@ public class DynamoDbTicketRegistryFacilitatorTests {
         assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
     }
+
+    @Test
+    public void verifyPaginatedScansAndBatchDeletes() {
+        dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+        final var properties = dynamoDbTicketRegistryFacilitator.getDynamoDbProperties();
+        final var pageSize = properties.getScanPageSize();
+        properties.setScanPageSize(3);
+        try {
+            final var total = 30;
+            for (var i = 0; i < total; i++) {
+                final Ticket ticket = new MockTicketGrantingTicket("casuser" + i);
+                dynamoDbTicketRegistryFacilitator.put(ticket, ticket);
+            }
+            assertEquals(total, dynamoDbTicketRegistryFacilitator.getTicketsStream().count());
+            assertFalse(dynamoDbTicketRegistryFacilitator.getTicketsStream().isParallel());
+            assertEquals(total, dynamoDbTicketRegistryFacilitator.count(TicketGrantingTicket.class));
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.count(ServiceTicket.class));
+            assertEquals(total, dynamoDbTicketRegistryFacilitator.deleteAll());
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.getTicketsStream().count());
+        } finally {
+            properties.setScanPageSize(pageSize);
+        }
+    }
 }
@@ -32,6 +32,16 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
 
     @Override
     public void save(final CasEvent event) {
+        influxDbConnectionFactory.writeBatch(buildPoint(event));
+    }
+
+    @Override
+    public void saveAll(final Collection<? extends CasEvent> events) {
+        final var points = events.stream().map(InfluxDbCasEventRepository::buildPoint).toArray(Point[]::new);
+        influxDbConnectionFactory.writeBatch(points);
+    }
+
+    private static Point buildPoint(final CasEvent event) {
         final var builder = Point.measurement(MEASUREMENT);
         ReflectionUtils.doWithFields(CasEvent.class, field -> {
             if (!Modifier.isStatic(field.getModifiers())) {
@@ -44,8 +54,7 @@ public class InfluxDbCasEventRepository extends AbstractCasEventRepository imple
             }
         });
 
-        final var point = builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
-        influxDbConnectionFactory.writeBatch(point);
+        return builder.time(System.currentTimeMillis(), TimeUnit.MILLISECONDS).build();
     }
 
     @Override
@@ -81,6 +81,8 @@ public class JpaEventsConfiguration {
     
     @Bean
     public CasEventRepository casEventRepository() {
-        return new JpaCasEventRepository();
+        final var repository = new JpaCasEventRepository();
+        repository.setBatchSize(casProperties.getEvents().getJpa().getBatchSize());
+        return repository;
     }
 }
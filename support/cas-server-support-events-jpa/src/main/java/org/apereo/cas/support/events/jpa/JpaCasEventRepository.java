@@ -1,5 +1,6 @@
 package org.apereo.cas.support.events.jpa;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.events.dao.AbstractCasEventRepository;
 import org.apereo.cas.support.events.dao.CasEvent;
@@ -28,11 +29,32 @@ public class JpaCasEventRepository extends AbstractCasEventRepository {
     @PersistenceContext(unitName = "eventsEntityManagerFactory")
     private transient EntityManager entityManager;
 
+    /**
+     * Number of events to persist before flushing and clearing the persistence context
+     * when saving batches, which allows the JDBC driver to group the inserts.
+     */
+    @Setter
+    private int batchSize = 5;
+
     @Override
     public void save(final CasEvent event) {
         this.entityManager.merge(event);
     }
 
+    @Override
+    public void saveAll(final Collection<? extends CasEvent> events) {
+        var count = 0;
+        for (final CasEvent event : events) {
+            this.entityManager.merge(event);
+            count++;
+            if (this.batchSize > 0 && count % this.batchSize == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        LOGGER.debug("Saved a batch of [{}] events", count);
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.entityManager.createQuery(SELECT_QUERY.trim(), CasEvent.class).getResultList();
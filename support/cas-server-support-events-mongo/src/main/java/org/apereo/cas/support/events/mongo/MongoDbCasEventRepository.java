@@ -30,6 +30,11 @@ public class MongoDbCasEventRepository extends AbstractCasEventRepository {
         this.mongoTemplate.save(event, this.collectionName);
     }
 
+    @Override
+    public void saveAll(final Collection<? extends CasEvent> events) {
+        this.mongoTemplate.insert(events, this.collectionName);
+    }
+
     @Override
     public Collection<CasEvent> load() {
         return this.mongoTemplate.findAll(CasEvent.class, this.collectionName);
@@ -7,6 +7,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.geo.CachingGeoLocationService;
 import org.apereo.cas.support.geo.google.GoogleMapsGeoLocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -49,6 +50,13 @@ public class GoogleMapsGeoCodingConfiguration {
 
         final var svc = new GoogleMapsGeoLocationService(builder.build());
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
-        return svc;
+
+        final var cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return svc;
+        }
+        return new CachingGeoLocationService(svc, Beans.newDuration(cache.getTimeToLive()),
+            Beans.newDuration(cache.getNegativeTimeToLive()), cache.getMaximumSize(),
+            cache.getIpv4PrefixLength(), cache.getIpv6PrefixLength());
     }
 }
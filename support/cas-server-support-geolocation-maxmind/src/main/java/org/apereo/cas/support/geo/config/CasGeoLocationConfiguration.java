@@ -1,17 +1,21 @@
 package org.apereo.cas.support.geo.config;
 
 import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.support.geo.CachingGeoLocationService;
 import org.apereo.cas.support.geo.maxmind.MaxmindDatabaseGeoLocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 
 /**
  * This is {@link CasGeoLocationConfiguration}.
@@ -33,17 +37,18 @@ public class CasGeoLocationConfiguration {
     public GeoLocationService geoLocationService() {
         final var properties = casProperties.getMaxmind();
 
+        final var fileMode = Reader.FileMode.valueOf(properties.getFileMode().trim().toUpperCase());
         final DatabaseReader cityDatabase;
         final DatabaseReader countryDatabase;
 
         if (properties.getCityDatabase().exists()) {
-            cityDatabase = new DatabaseReader.Builder(properties.getCityDatabase().getFile()).withCache(new CHMCache()).build();
+            cityDatabase = buildDatabaseReader(properties.getCityDatabase(), fileMode);
         } else {
             cityDatabase = null;
         }
 
         if (properties.getCountryDatabase().exists()) {
-            countryDatabase = new DatabaseReader.Builder(properties.getCountryDatabase().getFile()).withCache(new CHMCache()).build();
+            countryDatabase = buildDatabaseReader(properties.getCountryDatabase(), fileMode);
         } else {
             countryDatabase = null;
         }
@@ -54,6 +59,22 @@ public class CasGeoLocationConfiguration {
 
         final var svc = new MaxmindDatabaseGeoLocationService(cityDatabase, countryDatabase);
         svc.setIpStackAccessKey(properties.getIpStackApiAccessKey());
-        return svc;
+
+        final var cache = properties.getCache();
+        if (!cache.isEnabled()) {
+            return svc;
+        }
+        return new CachingGeoLocationService(svc, Beans.newDuration(cache.getTimeToLive()),
+            Beans.newDuration(cache.getNegativeTimeToLive()), cache.getMaximumSize(),
+            cache.getIpv4PrefixLength(), cache.getIpv6PrefixLength());
+    }
+
+    @SneakyThrows
+    private static DatabaseReader buildDatabaseReader(final Resource database, final Reader.FileMode fileMode) {
+        LOGGER.debug("Reading Maxmind database [{}] in [{}] mode", database, fileMode);
+        return new DatabaseReader.Builder(database.getFile())
+            .fileMode(fileMode)
+            .withCache(new CHMCache())
+            .build();
     }
 }
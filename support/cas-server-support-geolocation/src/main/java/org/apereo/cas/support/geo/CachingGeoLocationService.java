@@ -0,0 +1,169 @@
+package org.apereo.cas.support.geo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.util.InetAddressUtils;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link CachingGeoLocationService} that caches the results of another {@link GeoLocationService}.
+ * <p>
+ * Addresses are cached by prefix rather than by the full address, so that clients of the same network
+ * share a single lookup. Addresses that cannot be located are cached as well, for a shorter period,
+ * so that repeated lookups for unknown addresses do not reach the underlying service each time.
+ * Lookups of the same key are only ever performed once at a time.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class CachingGeoLocationService extends AbstractGeoLocationService {
+    /**
+     * Metric counting geolocation lookups, tagged by whether the result was found in the cache.
+     */
+    public static final String METRIC_LOOKUPS = "cas.geolocation.lookups";
+
+    private static final int BITS_PER_BYTE = 8;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private static final double COORDINATE_PRECISION = 10_000D;
+
+    private final GeoLocationService geoLocationService;
+
+    private final int ipv4PrefixLength;
+
+    private final int ipv6PrefixLength;
+
+    @Getter(AccessLevel.NONE)
+    private final Cache<String, Optional<GeoLocationResponse>> cache;
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public CachingGeoLocationService(final GeoLocationService geoLocationService, final Duration timeToLive,
+                                     final Duration negativeTimeToLive, final long maximumSize,
+                                     final int ipv4PrefixLength, final int ipv6PrefixLength) {
+        this.geoLocationService = geoLocationService;
+        this.ipv4PrefixLength = ipv4PrefixLength;
+        this.ipv6PrefixLength = ipv6PrefixLength;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ResultExpiry(timeToLive.toNanos(), negativeTimeToLive.toNanos()))
+            .build();
+    }
+
+    @Override
+    public GeoLocationResponse locate(final InetAddress address) {
+        if (address == null) {
+            return null;
+        }
+        return lookup(getAddressKey(address), () -> this.geoLocationService.locate(address));
+    }
+
+    @Override
+    @SneakyThrows
+    public GeoLocationResponse locate(final String address) {
+        if (address == null) {
+            return null;
+        }
+        if (InetAddressUtils.isIPv4Address(address) || InetAddressUtils.isIPv6Address(address)) {
+            return lookup(getAddressKey(InetAddress.getByName(address)), () -> this.geoLocationService.locate(address));
+        }
+        return lookup("host:" + address, () -> this.geoLocationService.locate(address));
+    }
+
+    @Override
+    public GeoLocationResponse locate(final Double latitude, final Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        final var key = "position:" + Math.round(latitude * COORDINATE_PRECISION) + ',' + Math.round(longitude * COORDINATE_PRECISION);
+        return lookup(key, () -> this.geoLocationService.locate(latitude, longitude));
+    }
+
+    /**
+     * Discard all cached results.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    private GeoLocationResponse lookup(final String key, final Supplier<GeoLocationResponse> supplier) {
+        final var loaded = new boolean[1];
+        final var result = this.cache.get(key, k -> {
+            loaded[0] = true;
+            LOGGER.trace("Geolocation for [{}] is not cached; looking it up", k);
+            return Optional.ofNullable(supplier.get());
+        });
+        Counter.builder(METRIC_LOOKUPS)
+            .tag("cached", String.valueOf(!loaded[0]))
+            .register(this.meterRegistry)
+            .increment();
+        return result.orElse(null);
+    }
+
+    @SneakyThrows
+    private String getAddressKey(final InetAddress address) {
+        final var bytes = address.getAddress();
+        final var prefixLength = Math.min(bytes.length * BITS_PER_BYTE, address instanceof Inet4Address ? this.ipv4PrefixLength : this.ipv6PrefixLength);
+        for (var i = 0; i < bytes.length; i++) {
+            final var bits = prefixLength - i * BITS_PER_BYTE;
+            if (bits <= 0) {
+                bytes[i] = 0;
+            } else if (bits < BITS_PER_BYTE) {
+                bytes[i] &= (byte) (BYTE_MASK << (BITS_PER_BYTE - bits));
+            }
+        }
+        return "address:" + InetAddress.getByAddress(bytes).getHostAddress() + '/' + prefixLength;
+    }
+
+    /**
+     * Expires results that locate an address after the time to live,
+     * and results that do not after the negative time to live.
+     */
+    private static class ResultExpiry implements Expiry<String, Optional<GeoLocationResponse>> {
+        private final long timeToLive;
+
+        private final long negativeTimeToLive;
+
+        ResultExpiry(final long timeToLive, final long negativeTimeToLive) {
+            this.timeToLive = timeToLive;
+            this.negativeTimeToLive = negativeTimeToLive;
+        }
+
+        @Override
+        public long expireAfterCreate(final String key, final Optional<GeoLocationResponse> value, final long currentTime) {
+            return value.isPresent() ? this.timeToLive : this.negativeTimeToLive;
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Optional<GeoLocationResponse> value,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Optional<GeoLocationResponse> value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
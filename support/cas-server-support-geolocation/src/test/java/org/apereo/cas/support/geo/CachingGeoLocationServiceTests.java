@@ -0,0 +1,74 @@
+package org.apereo.cas.support.geo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationResponse;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CachingGeoLocationServiceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CachingGeoLocationServiceTests {
+    private GeoLocationService geoLocationService;
+
+    private CachingGeoLocationService service;
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void initialize() {
+        this.geoLocationService = mock(GeoLocationService.class);
+        this.service = new CachingGeoLocationService(this.geoLocationService, Duration.ofHours(1), Duration.ofHours(1), 100, 24, 48);
+        this.registry = new SimpleMeterRegistry();
+        this.service.setMeterRegistry(this.registry);
+    }
+
+    @Test
+    public void verifyAddressesShareCachedPrefix() throws Exception {
+        final var response = new GeoLocationResponse();
+        response.setLatitude(1);
+        response.setLongitude(2);
+        when(this.geoLocationService.locate(any(InetAddress.class))).thenReturn(response);
+
+        assertSame(response, this.service.locate(InetAddress.getByName("192.168.1.10")));
+        assertSame(response, this.service.locate(InetAddress.getByName("192.168.1.200")));
+        verify(this.geoLocationService, times(1)).locate(any(InetAddress.class));
+
+        this.service.locate(InetAddress.getByName("192.168.2.10"));
+        this.service.locate(InetAddress.getByName("2001:db8:1:2::1"));
+        this.service.locate(InetAddress.getByName("2001:db8:1:3::1"));
+        verify(this.geoLocationService, times(3)).locate(any(InetAddress.class));
+        assertEquals(2, this.registry.get(CachingGeoLocationService.METRIC_LOOKUPS).tag("cached", "true").counter().count(), 0);
+    }
+
+    @Test
+    public void verifyMissingLocationsAreCached() {
+        assertNull(this.service.locate("10.0.0.1"));
+        assertNull(this.service.locate("10.0.0.2"));
+        verify(this.geoLocationService, times(1)).locate(anyString());
+
+        assertNull(this.service.locate(10.00001D, 20D));
+        assertNull(this.service.locate(10.00002D, 20D));
+        verify(this.geoLocationService, times(1)).locate(anyDouble(), anyDouble());
+    }
+
+    @Test
+    public void verifyMissingLocationsExpire() throws Exception {
+        final var svc = new CachingGeoLocationService(this.geoLocationService, Duration.ofHours(1), Duration.ofMillis(1), 100, 24, 48);
+        assertNull(svc.locate("10.0.0.1"));
+        Thread.sleep(50);
+        assertNull(svc.locate("10.0.0.1"));
+        verify(this.geoLocationService, times(2)).locate(anyString());
+    }
+}
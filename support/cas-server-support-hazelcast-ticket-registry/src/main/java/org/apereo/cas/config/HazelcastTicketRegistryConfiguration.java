@@ -8,9 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
-import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,7 +47,7 @@ public class HazelcastTicketRegistryConfiguration {
 
     @Autowired
     @Bean
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public HazelcastTicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final var hz = casProperties.getTicket().getRegistry().getHazelcast();
         final var r = new HazelcastTicketRegistry(hazelcast(ticketCatalog),
                 ticketCatalog,
@@ -55,8 +56,12 @@ public class HazelcastTicketRegistryConfiguration {
         return r;
     }
 
+    @Autowired
     @Bean
-    public TicketRegistryCleaner ticketRegistryCleaner() {
+    public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+        if (casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled()) {
+            return new HazelcastTicketRegistryCleaner(ticketRegistry(ticketCatalog));
+        }
         return NoOpTicketRegistryCleaner.getInstance();
     }
 
@@ -82,6 +87,9 @@ public class HazelcastTicketRegistryConfiguration {
         final var definitions = ticketCatalog.findAll();
         definitions.forEach(t -> {
             final var mapConfig = factory.buildMapConfig(hz, t.getProperties().getStorageName(), t.getProperties().getStorageTimeout());
+            if (hz.getNearCache().isEnabled() && TicketGrantingTicket.class.isAssignableFrom(t.getImplementationClass())) {
+                mapConfig.setNearCacheConfig(factory.buildNearCacheConfig(hz.getNearCache(), mapConfig.getName()));
+            }
             LOGGER.debug("Created Hazelcast map configuration for [{}]", t);
             mapConfigs.put(t.getProperties().getStorageName(), mapConfig);
         });
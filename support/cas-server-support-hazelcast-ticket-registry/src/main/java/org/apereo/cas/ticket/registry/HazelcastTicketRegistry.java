@@ -1,16 +1,22 @@
 package org.apereo.cas.ticket.registry;
 
+import com.hazelcast.aggregation.Aggregators;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.query.Predicate;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.springframework.beans.factory.DisposableBean;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -121,6 +127,61 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
             .collect(Collectors.toSet());
     }
 
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketGrantingTicket.class);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(ServiceTicket.class);
+    }
+
+    /**
+     * Remove expired tickets from the map partitions owned by this member.
+     * Expired tickets are located and removed on the member that owns them,
+     * so that tickets do not cross the network. Every member is expected to run
+     * this for its own partitions.
+     *
+     * @return the number of tickets removed
+     */
+    public long deleteExpiredTickets() {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .mapToLong(map -> {
+                final var expiredTicketIds = map.localKeySet(new ExpiredTicketPredicate());
+                if (expiredTicketIds.isEmpty()) {
+                    return 0;
+                }
+                LOGGER.debug("Removing [{}] expired ticket(s) from map [{}]", expiredTicketIds.size(), map.getName());
+                return map.executeOnKeys(expiredTicketIds, new ExpiredTicketRemovalEntryProcessor())
+                    .values()
+                    .stream()
+                    .filter(Boolean.TRUE::equals)
+                    .count();
+            })
+            .sum();
+    }
+
+    /**
+     * Count tickets of the given type that have not expired. Tickets are counted
+     * by the members that own them and only the counts cross the network.
+     *
+     * @param ticketType the ticket type
+     * @return the number of tickets
+     */
+    private long countTickets(final Class<? extends Ticket> ticketType) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(metadata -> ticketType.isAssignableFrom(metadata.getImplementationClass()))
+            .map(this::getTicketMapInstanceByMetadata)
+            .filter(Objects::nonNull)
+            .mapToLong(map -> map.aggregate(Aggregators.count(), new UnexpiredTicketPredicate()))
+            .sum();
+    }
+
     /**
      * Make sure we shutdown HazelCast when the context is destroyed.
      */
@@ -153,4 +214,44 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         }
         return null;
     }
+
+    /**
+     * Matches tickets that have expired.
+     */
+    private static class ExpiredTicketPredicate implements Predicate<String, Ticket> {
+        private static final long serialVersionUID = -1795224564446284409L;
+
+        @Override
+        public boolean apply(final Map.Entry<String, Ticket> entry) {
+            return entry.getValue() != null && entry.getValue().isExpired();
+        }
+    }
+
+    /**
+     * Matches tickets that have not expired.
+     */
+    private static class UnexpiredTicketPredicate implements Predicate<String, Ticket> {
+        private static final long serialVersionUID = 4105622415727467185L;
+
+        @Override
+        public boolean apply(final Map.Entry<String, Ticket> entry) {
+            return entry.getValue() != null && !entry.getValue().isExpired();
+        }
+    }
+
+    /**
+     * Removes a ticket, on the member that owns it and on its backups, if the ticket has expired.
+     */
+    private static class ExpiredTicketRemovalEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+        private static final long serialVersionUID = 2946270427452328349L;
+
+        @Override
+        public Object process(final Map.Entry<String, Ticket> entry) {
+            if (entry.getValue() != null && entry.getValue().isExpired()) {
+                entry.setValue(null);
+                return Boolean.TRUE;
+            }
+            return Boolean.FALSE;
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * This is {@link HazelcastTicketRegistryCleaner} that removes expired tickets from
+ * the map partitions owned by this member, rather than retrieving all tickets from the cluster.
+ * Tickets are removed without running logout notifications, as is the case when
+ * Hazelcast itself evicts tickets that have outlived their time to live.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HazelcastTicketRegistryCleaner implements TicketRegistryCleaner {
+    private final HazelcastTicketRegistry ticketRegistry;
+
+    @Override
+    public void clean() {
+        final var count = this.ticketRegistry.deleteExpiredTickets();
+        LOGGER.debug("Removed [{}] expired ticket(s) from the map partitions owned by this member", count);
+    }
+}
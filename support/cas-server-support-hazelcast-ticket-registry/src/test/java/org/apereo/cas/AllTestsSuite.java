@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.ticket.registry.DefaultHazelcastInstanceConfigurationTests;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryClusterTests;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistryTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -13,7 +14,8 @@ import org.junit.runners.Suite;
  * @since 5.1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({DefaultHazelcastInstanceConfigurationTests.class, HazelcastTicketRegistryTests.class})
+@Suite.SuiteClasses({DefaultHazelcastInstanceConfigurationTests.class, HazelcastTicketRegistryTests.class,
+    HazelcastTicketRegistryClusterTests.class})
 @Slf4j
 public class AllTestsSuite {
 }
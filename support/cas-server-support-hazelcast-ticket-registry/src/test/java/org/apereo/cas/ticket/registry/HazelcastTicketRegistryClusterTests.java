@@ -0,0 +1,94 @@
+package org.apereo.cas.ticket.registry;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.configuration.model.support.hazelcast.HazelcastTicketRegistryProperties;
+import org.apereo.cas.hz.HazelcastConfigurationFactory;
+import org.apereo.cas.ticket.DefaultTicketCatalog;
+import org.apereo.cas.ticket.DefaultTicketDefinition;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link HazelcastTicketRegistryClusterTests} that runs the registry
+ * against an embedded cluster of two members.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class HazelcastTicketRegistryClusterTests {
+    private static final String MAP_NAME = "ticketGrantingTicketsCache";
+
+    private final List<HazelcastInstance> members = new ArrayList<>();
+
+    private TicketCatalog ticketCatalog;
+
+    @Before
+    public void initialize() {
+        this.ticketCatalog = new DefaultTicketCatalog();
+        final var definition = new DefaultTicketDefinition(TicketGrantingTicketImpl.class, TicketGrantingTicket.PREFIX, 0);
+        definition.getProperties().setStorageName(MAP_NAME);
+        definition.getProperties().setStorageTimeout(60);
+        this.ticketCatalog.register(definition);
+
+        final var hz = new HazelcastTicketRegistryProperties();
+        hz.getCluster().setInMemoryFormat("OBJECT");
+        hz.getNearCache().setEnabled(true);
+        hz.getNearCache().setCacheLocalEntries(true);
+        final var factory = new HazelcastConfigurationFactory();
+        for (var i = 0; i < 2; i++) {
+            hz.getCluster().setInstanceName("clusterMember" + i);
+            final var mapConfig = factory.buildMapConfig(hz, MAP_NAME, 60);
+            mapConfig.setNearCacheConfig(factory.buildNearCacheConfig(hz.getNearCache(), MAP_NAME));
+            this.members.add(Hazelcast.newHazelcastInstance(factory.build(hz, mapConfig)));
+        }
+    }
+
+    @After
+    public void shutdown() {
+        this.members.forEach(HazelcastInstance::shutdown);
+    }
+
+    @Test
+    public void verifyClusterOperations() {
+        assertEquals(2, this.members.get(0).getCluster().getMembers().size());
+        final var registry1 = new HazelcastTicketRegistry(this.members.get(0), this.ticketCatalog, 0);
+        final var registry2 = new HazelcastTicketRegistry(this.members.get(1), this.ticketCatalog, 0);
+
+        final List<String> ticketIds = new ArrayList<>();
+        for (var i = 0; i < 10; i++) {
+            final var ticket = new TicketGrantingTicketImpl("TGT-" + i, CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            registry1.addTicket(ticket);
+            ticketIds.add(ticket.getId());
+        }
+        for (var i = 0; i < 5; i++) {
+            final var ticket = new TicketGrantingTicketImpl("TGT-expired-" + i, CoreAuthenticationTestUtils.getAuthentication(),
+                new NeverExpiresExpirationPolicy());
+            ticket.markTicketExpired();
+            registry1.addTicket(ticket);
+        }
+
+        assertEquals(10, registry2.sessionCount());
+        assertEquals(0, registry2.serviceTicketCount());
+
+        ticketIds.forEach(id -> assertNotNull(registry2.getTicket(id)));
+        ticketIds.forEach(id -> assertNotNull(registry2.getTicket(id)));
+        final var nearCacheStats = this.members.get(1).getMap(MAP_NAME).getLocalMapStats().getNearCacheStats();
+        assertTrue(nearCacheStats.getHits() >= ticketIds.size());
+
+        assertEquals(5, registry1.deleteExpiredTickets() + registry2.deleteExpiredTickets());
+        assertEquals(10, this.members.get(0).getMap(MAP_NAME).size());
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of the ServiceRegistry based on JPA.
@@ -45,9 +47,36 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
         return list;
     }
 
+    @Override
+    public RegisteredServiceChanges loadChangesSince(final long changeStamp) {
+        final var stampQuery = String.format("select r.id, r.lastModified from %s r", ENTITY_NAME);
+        final var stamps = this.entityManager.createQuery(stampQuery, Object[].class).getResultList();
+        final Set<Long> serviceIds = new HashSet<>(stamps.size());
+        var latestChangeStamp = RegisteredServiceChanges.NO_CHANGE_STAMP;
+        for (final var stamp : stamps) {
+            serviceIds.add((Long) stamp[0]);
+            if (stamp[1] != null) {
+                latestChangeStamp = Math.max(latestChangeStamp, (Long) stamp[1]);
+            }
+        }
+        if (changeStamp == RegisteredServiceChanges.NO_CHANGE_STAMP) {
+            return new RegisteredServiceChanges(load(), serviceIds, latestChangeStamp);
+        }
+        final var query = String.format("select r from %s r where r.lastModified >= :changeStamp", ENTITY_NAME);
+        final var list = this.entityManager.createQuery(query, RegisteredService.class)
+            .setParameter("changeStamp", changeStamp)
+            .getResultList();
+        LOGGER.debug("Found [{}] service(s) changed since [{}]", list.size(), changeStamp);
+        list.forEach(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s)));
+        return new RegisteredServiceChanges(list, serviceIds, latestChangeStamp);
+    }
+
     @Override
     public RegisteredService save(final RegisteredService registeredService) {
         final var isNew = registeredService.getId() == RegisteredService.INITIAL_IDENTIFIER_VALUE;
+        if (registeredService instanceof AbstractRegisteredService) {
+            ((AbstractRegisteredService) registeredService).setLastModified(System.currentTimeMillis());
+        }
         final var r = this.entityManager.merge(registeredService);
         if (!isNew) {
             this.entityManager.persist(r);
@@ -67,7 +67,7 @@ public abstract class BaseUseAttributesAuthorizationGenerator implements Authori
             LOGGER.debug("Attempting to get details for user [{}].", username);
             final var filter = LdapUtils.newLdaptiveSearchFilter(this.userSearchExecutor.getSearchFilter().getFilter(),
                 LdapUtils.LDAP_SEARCH_FILTER_DEFAULT_PARAM_NAME, CollectionUtils.wrap(username));
-            final var response = this.userSearchExecutor.search(this.connectionFactory, filter);
+            final var response = LdapUtils.executeSearchOperation(this.connectionFactory, this.userSearchExecutor, filter);
 
             LOGGER.debug("LDAP user search response: [{}]", response);
             userResult = response.getResult();
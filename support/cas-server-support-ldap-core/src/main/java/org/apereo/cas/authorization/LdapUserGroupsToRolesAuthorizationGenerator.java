@@ -59,8 +59,9 @@ public class LdapUserGroupsToRolesAuthorizationGenerator extends BaseUseAttribut
     protected CommonProfile generateAuthorizationForLdapEntry(final CommonProfile profile, final LdapEntry userEntry) {
         try {
             LOGGER.debug("Attempting to get roles for user [{}].", userEntry.getDn());
-            final var response = this.groupSearchExecutor.search(
+            final var response = LdapUtils.executeSearchOperation(
                     this.connectionFactory,
+                    this.groupSearchExecutor,
                     LdapUtils.newLdaptiveSearchFilter(this.groupSearchExecutor.getSearchFilter().getFilter(),
                             LdapUtils.LDAP_SEARCH_FILTER_DEFAULT_PARAM_NAME, CollectionUtils.wrap(userEntry.getDn())));
             LOGGER.debug("LDAP role search response: [{}]", response);
@@ -0,0 +1,23 @@
+package org.apereo.cas.config;
+
+import io.micrometer.core.instrument.Metrics;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This is {@link CasLdapCoreConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Configuration("casLdapCoreConfiguration")
+public class CasLdapCoreConfiguration {
+
+    @ConditionalOnMissingBean(name = "ldapConnectionFactoryRegistry")
+    @Bean
+    public LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry() {
+        return new LdapConnectionFactoryRegistry(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,339 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.ldaptive.Connection;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DefaultConnectionFactory;
+import org.ldaptive.LdapException;
+import org.ldaptive.ModifyOperation;
+import org.ldaptive.Response;
+import org.ldaptive.ResultCode;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResult;
+import org.ldaptive.async.AsyncRequest;
+import org.ldaptive.provider.SearchItem;
+import org.ldaptive.provider.SearchListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This is {@link LdapAsyncOperationExecutor}. It executes LDAP operations asynchronously and hands back
+ * {@link CompletableFuture}s, instead of tying up a pooled connection and the calling thread for the duration
+ * of each operation.
+ * <p>
+ * Searches are multiplexed over a small number of long-lived connections, with many searches outstanding on
+ * each connection at a time that are told apart by their LDAP message ids. Modifications are executed on a
+ * bounded executor over the same connections. Multiplexing requires an LDAP provider that supports asynchronous
+ * operations, such as the UnboundID provider; with other providers, such as the default JNDI provider, operations
+ * execute on the executor using connections borrowed from the shared connection pool.
+ * <p>
+ * The number of outstanding operations is bounded; once reached, new operations wait for a while before they fail.
+ * Futures of multiplexed searches are completed on the thread that reads responses from the connection,
+ * so callers should not execute lengthy work in dependent stages without supplying their own executor.
+ * Search entry handlers and referral handlers of search requests are not applied to multiplexed searches.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class LdapAsyncOperationExecutor implements AutoCloseable {
+    /**
+     * Metric recording the time it takes for asynchronous operations to complete.
+     */
+    public static final String METRIC_OPERATIONS = "cas.ldap.async.operations";
+
+    /**
+     * Metric reporting the number of outstanding asynchronous operations.
+     */
+    public static final String METRIC_OUTSTANDING = "cas.ldap.async.outstanding";
+
+    private static final String MODE_MULTIPLEXED = "multiplexed";
+
+    private static final String MODE_POOLED = "pooled";
+
+    private final AbstractLdapProperties properties;
+
+    private final DefaultConnectionFactory connectionFactory;
+
+    private final AtomicReferenceArray<Connection> connections;
+
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    private final Semaphore permits;
+
+    private final int maximumOutstandingOperations;
+
+    private final long permitWaitTimeMillis;
+
+    private final ExecutorService executorService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LdapConnectionFactoryRegistry connectionFactoryRegistry;
+
+    private volatile boolean multiplexingSupported;
+
+    public LdapAsyncOperationExecutor(final AbstractLdapProperties properties, final MeterRegistry meterRegistry,
+                                      final LdapConnectionFactoryRegistry connectionFactoryRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.connectionFactoryRegistry = connectionFactoryRegistry;
+        this.connectionFactory = LdapUtils.newLdaptiveConnectionFactory(properties);
+        this.connections = new AtomicReferenceArray<>(Math.max(1, properties.getMultiplexedConnections()));
+        this.multiplexingSupported = properties.getMultiplexedConnections() > 0;
+        this.maximumOutstandingOperations = properties.getMaxOutstandingOperations();
+        this.permits = new Semaphore(this.maximumOutstandingOperations);
+        this.permitWaitTimeMillis = Beans.newDuration(properties.getBlockWaitTime()).toMillis();
+
+        final var executor = new ThreadPoolExecutor(properties.getMaxPoolSize(), properties.getMaxPoolSize(),
+            1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        this.executorService = executor;
+        meterRegistry.gauge(METRIC_OUTSTANDING, this, LdapAsyncOperationExecutor::getOutstandingOperations);
+    }
+
+    /**
+     * Search for entries under the base dn.
+     *
+     * @param baseDn           the base dn
+     * @param filter           the filter
+     * @param returnAttributes the return attributes; all user attributes are returned if none are specified
+     * @return the future response
+     */
+    public CompletableFuture<Response<SearchResult>> search(final String baseDn, final SearchFilter filter, final String... returnAttributes) {
+        final var attributes = returnAttributes == null || returnAttributes.length == 0 ? ReturnAttributes.ALL_USER.value() : returnAttributes;
+        return search(LdapUtils.newLdaptiveSearchRequest(baseDn, filter, ReturnAttributes.ALL_USER.value(), attributes));
+    }
+
+    /**
+     * Execute the search request.
+     *
+     * @param request the request
+     * @return the future response
+     */
+    public CompletableFuture<Response<SearchResult>> search(final SearchRequest request) {
+        final var future = new CompletableFuture<Response<SearchResult>>();
+        if (!acquire(future)) {
+            return future;
+        }
+        final var tracked = track(future, "search");
+        if (this.multiplexingSupported) {
+            searchMultiplexed(request, future);
+        } else {
+            this.executorService.execute(() -> searchPooled(request, future));
+        }
+        return tracked;
+    }
+
+    /**
+     * Replace the given attributes of the entry.
+     *
+     * @param dn         the dn
+     * @param attributes the attributes
+     * @return the future that completes with true if the entry was modified
+     */
+    public CompletableFuture<Boolean> modify(final String dn, final Map<String, Set<String>> attributes) {
+        LdapSearchCache.invalidate();
+        final var future = new CompletableFuture<Boolean>();
+        if (!acquire(future)) {
+            return future;
+        }
+        final var tracked = track(future, "modify");
+        this.executorService.execute(() -> {
+            if (this.multiplexingSupported) {
+                modifyMultiplexed(dn, attributes, future);
+            } else {
+                future.complete(LdapUtils.executeModifyOperation(dn, getPooledConnectionFactory(), attributes));
+            }
+        });
+        return tracked;
+    }
+
+    /**
+     * Number of outstanding operations.
+     *
+     * @return the count
+     */
+    public int getOutstandingOperations() {
+        return this.maximumOutstandingOperations - this.permits.availablePermits();
+    }
+
+    /**
+     * Wait for the future to complete and get its result, unwrapping LDAP failures.
+     *
+     * @param <T>    the type parameter
+     * @param future the future
+     * @return the result
+     * @throws LdapException the ldap exception
+     */
+    public static <T> T getResult(final CompletableFuture<T> future) throws LdapException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LdapException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof LdapException) {
+                throw (LdapException) e.getCause();
+            }
+            throw new LdapException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executorService.shutdown();
+        for (var i = 0; i < this.connections.length(); i++) {
+            discard(i, this.connections.get(i));
+        }
+    }
+
+    private boolean acquire(final CompletableFuture<?> future) {
+        try {
+            if (this.permits.tryAcquire(this.permitWaitTimeMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            future.completeExceptionally(new LdapException("Too many outstanding LDAP operations for "
+                + this.properties.getLdapUrl(), ResultCode.BUSY));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new LdapException(e));
+        }
+        return false;
+    }
+
+    /**
+     * Release the permit of the operation and record its duration once it completes.
+     * The returned future completes after both, so that callers observe an accurate number of outstanding operations.
+     */
+    private <T> CompletableFuture<T> track(final CompletableFuture<T> future, final String operation) {
+        final var start = System.nanoTime();
+        return future.whenComplete((result, error) -> {
+            this.permits.release();
+            Timer.builder(METRIC_OPERATIONS)
+                .tag("operation", operation)
+                .tag("mode", this.multiplexingSupported ? MODE_MULTIPLEXED : MODE_POOLED)
+                .register(this.meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private void searchMultiplexed(final SearchRequest request, final CompletableFuture<Response<SearchResult>> future) {
+        final var index = Math.floorMod(this.nextConnection.getAndIncrement(), this.connections.length());
+        Connection connection = null;
+        try {
+            connection = getMultiplexedConnection(index);
+            connection.getProviderConnection().searchAsync(request, new CompletingSearchListener(future));
+        } catch (final UnsupportedOperationException e) {
+            LOGGER.info("LDAP provider for [{}] does not support asynchronous operations; operations will execute on pooled connections",
+                this.properties.getLdapUrl());
+            this.multiplexingSupported = false;
+            discard(index, connection);
+            this.executorService.execute(() -> searchPooled(request, future));
+        } catch (final LdapException e) {
+            discard(index, connection);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void searchPooled(final SearchRequest request, final CompletableFuture<Response<SearchResult>> future) {
+        try {
+            future.complete(LdapUtils.executeSearchOperation(getPooledConnectionFactory(), request.getBaseDn(),
+                request.getSearchFilter(), request.getBinaryAttributes(), request.getReturnAttributes()));
+        } catch (final LdapException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void modifyMultiplexed(final String dn, final Map<String, Set<String>> attributes, final CompletableFuture<Boolean> future) {
+        final var index = Math.floorMod(this.nextConnection.getAndIncrement(), this.connections.length());
+        Connection connection = null;
+        try {
+            connection = getMultiplexedConnection(index);
+            final var response = new ModifyOperation(connection).execute(LdapUtils.newLdaptiveModifyRequest(dn, attributes));
+            future.complete(response.getResultCode() == ResultCode.SUCCESS);
+        } catch (final LdapException e) {
+            discard(index, connection);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private Connection getMultiplexedConnection(final int index) throws LdapException {
+        final var connection = this.connections.get(index);
+        if (connection != null && connection.isOpen()) {
+            return connection;
+        }
+        synchronized (this.connections) {
+            final var current = this.connections.get(index);
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+            LOGGER.debug("Opening multiplexed LDAP connection [{}] to [{}]", index, this.properties.getLdapUrl());
+            final var opened = LdapUtils.createConnection(this.connectionFactory);
+            this.connections.set(index, opened);
+            return opened;
+        }
+    }
+
+    private void discard(final int index, final Connection connection) {
+        if (connection != null && this.connections.compareAndSet(index, connection, null)) {
+            connection.close();
+        }
+    }
+
+    private ConnectionFactory getPooledConnectionFactory() {
+        return this.connectionFactoryRegistry.getPooledConnectionFactory(this.properties);
+    }
+
+    /**
+     * Collects the entries of a search and completes its future once the search is done.
+     */
+    @RequiredArgsConstructor
+    private static class CompletingSearchListener implements SearchListener {
+        private final CompletableFuture<Response<SearchResult>> future;
+
+        private final SearchResult result = new SearchResult();
+
+        @Override
+        public void asyncRequestReceived(final AsyncRequest request) {
+            LOGGER.trace("Sent asynchronous LDAP search with message id [{}]", request.getMessageId());
+        }
+
+        @Override
+        public void searchItemReceived(final SearchItem item) {
+            if (item.isSearchEntry()) {
+                this.result.addEntry(item.getSearchEntry());
+            } else if (item.isSearchReference()) {
+                this.result.addReference(item.getSearchReference());
+            }
+        }
+
+        @Override
+        public void responseReceived(final Response<Void> response) {
+            this.future.complete(new Response<>(this.result, response.getResultCode(), response.getMessage(),
+                response.getMatchedDn(), response.getControls(), response.getReferralURLs(), response.getMessageId()));
+        }
+
+        @Override
+        public void exceptionReceived(final Exception e) {
+            this.future.completeExceptionally(e);
+        }
+    }
+}
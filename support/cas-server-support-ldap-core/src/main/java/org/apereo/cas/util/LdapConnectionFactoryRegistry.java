@@ -0,0 +1,204 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.configuration.model.support.ldap.AbstractLdapProperties;
+import org.ldaptive.pool.PooledConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This is {@link LdapConnectionFactoryRegistry}. It hands out pooled connection factories that are shared
+ * by all features connecting to the same directory with the same settings, so that each feature does not
+ * have to open and maintain its own pool of connections to the same directory.
+ * <p>
+ * Pools are keyed by every setting that affects how connections are established, validated and pooled,
+ * so features that configure different timeouts or pool sizes receive their own pool.
+ * Shared pools must not be closed by the features that use them; the registry closes them once it is destroyed.
+ * Once the application context is refreshed, pools whose settings have since changed are closed as well,
+ * since the features that use them are rebuilt with pools that match the new settings.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class LdapConnectionFactoryRegistry implements DisposableBean, ApplicationListener<RefreshScopeRefreshedEvent> {
+    /**
+     * Metric reporting the number of shared connection pools.
+     */
+    public static final String METRIC_POOLS = "cas.ldap.connection.pools";
+
+    private final Map<ConnectionFactoryKey, SharedConnectionFactory> factories = new ConcurrentHashMap<>();
+
+    public LdapConnectionFactoryRegistry(final MeterRegistry meterRegistry) {
+        meterRegistry.gaugeMapSize(METRIC_POOLS, new ArrayList<>(0), this.factories);
+    }
+
+    /**
+     * Gets the pooled connection factory shared by all features using the given ldap settings,
+     * creating it on first use.
+     *
+     * @param l the ldap properties
+     * @return the pooled connection factory
+     */
+    public PooledConnectionFactory getPooledConnectionFactory(final AbstractLdapProperties l) {
+        return this.factories.computeIfAbsent(new ConnectionFactoryKey(l), key -> {
+            LOGGER.debug("Creating shared pooled connection factory for [{}]", key);
+            return new SharedConnectionFactory(l, LdapUtils.newLdaptivePooledConnectionFactory(l));
+        }).getFactory();
+    }
+
+    /**
+     * Close all shared pools and forget them.
+     */
+    public void closeAll() {
+        this.factories.keySet().forEach(this::close);
+    }
+
+    /**
+     * Number of shared pools.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.factories.size();
+    }
+
+    @Override
+    public void destroy() {
+        closeAll();
+    }
+
+    @Override
+    public void onApplicationEvent(final RefreshScopeRefreshedEvent event) {
+        this.factories.forEach((key, shared) -> {
+            if (!key.equals(new ConnectionFactoryKey(shared.getProperties()))) {
+                LOGGER.debug("Settings of shared pooled connection factory [{}] have changed", key);
+                close(key);
+            }
+        });
+    }
+
+    private void close(final ConnectionFactoryKey key) {
+        final var shared = this.factories.remove(key);
+        if (shared != null) {
+            LOGGER.debug("Closing shared pooled connection factory for [{}]", key);
+            shared.getFactory().getConnectionPool().close();
+        }
+    }
+
+    /**
+     * A shared pool along with the settings it was requested with,
+     * which are updated in place once the application context is refreshed.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class SharedConnectionFactory {
+        private final AbstractLdapProperties properties;
+
+        private final PooledConnectionFactory factory;
+    }
+
+    /**
+     * Identifies the directory connections a pool is made of, and how they are pooled.
+     */
+    @EqualsAndHashCode
+    @ToString(of = {"ldapUrl", "bindDn"})
+    private static class ConnectionFactoryKey {
+        private final String ldapUrl;
+
+        private final String bindDn;
+
+        private final String bindCredential;
+
+        private final boolean useSsl;
+
+        private final boolean useStartTls;
+
+        private final String trustCertificates;
+
+        private final String keystore;
+
+        private final String keystorePassword;
+
+        private final String keystoreType;
+
+        private final String connectionStrategy;
+
+        private final String connectTimeout;
+
+        private final String responseTimeout;
+
+        private final String providerClass;
+
+        private final List<String> sasl;
+
+        private final int minPoolSize;
+
+        private final int maxPoolSize;
+
+        private final String poolPassivator;
+
+        private final boolean validateOnCheckout;
+
+        private final boolean validatePeriodically;
+
+        private final String validatePeriod;
+
+        private final String validateTimeout;
+
+        private final List<String> validator;
+
+        private final boolean failFast;
+
+        private final String idleTime;
+
+        private final String prunePeriod;
+
+        private final String blockWaitTime;
+
+        ConnectionFactoryKey(final AbstractLdapProperties l) {
+            this.ldapUrl = l.getLdapUrl();
+            this.bindDn = l.getBindDn();
+            this.bindCredential = l.getBindCredential();
+            this.useSsl = l.isUseSsl();
+            this.useStartTls = l.isUseStartTls();
+            this.trustCertificates = l.getTrustCertificates();
+            this.keystore = l.getKeystore();
+            this.keystorePassword = l.getKeystorePassword();
+            this.keystoreType = l.getKeystoreType();
+            this.connectionStrategy = l.getConnectionStrategy();
+            this.connectTimeout = l.getConnectTimeout();
+            this.responseTimeout = l.getResponseTimeout();
+            this.providerClass = l.getProviderClass();
+            this.sasl = List.of(String.valueOf(l.getSaslMechanism()), String.valueOf(l.getSaslRealm()),
+                String.valueOf(l.getSaslAuthorizationId()), String.valueOf(l.getSaslMutualAuth()),
+                String.valueOf(l.getSaslQualityOfProtection()), String.valueOf(l.getSaslSecurityStrength()));
+            this.minPoolSize = l.getMinPoolSize();
+            this.maxPoolSize = l.getMaxPoolSize();
+            this.poolPassivator = l.getPoolPassivator();
+            this.validateOnCheckout = l.isValidateOnCheckout();
+            this.validatePeriodically = l.isValidatePeriodically();
+            this.validatePeriod = l.getValidatePeriod();
+            this.validateTimeout = l.getValidateTimeout();
+            final var v = l.getValidator();
+            this.validator = List.of(String.valueOf(v.getType()), String.valueOf(v.getBaseDn()), String.valueOf(v.getSearchFilter()),
+                String.valueOf(v.getScope()), String.valueOf(v.getAttributeName()), String.valueOf(v.getAttributeValues()),
+                String.valueOf(v.getDn()));
+            this.failFast = l.isFailFast();
+            this.idleTime = l.getIdleTime();
+            this.prunePeriod = l.getPrunePeriod();
+            this.blockWaitTime = l.getBlockWaitTime();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.ldaptive.BindConnectionInitializer;
+import org.ldaptive.ConnectionConfig;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.DefaultConnectionFactory;
+import org.ldaptive.LdapException;
+import org.ldaptive.Response;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.SearchRequest;
+import org.ldaptive.SearchResult;
+import org.ldaptive.pool.AbstractConnectionPool;
+import org.ldaptive.pool.PooledConnectionFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link LdapSearchCache}. It remembers the results of LDAP searches for the duration of a scope,
+ * typically a single HTTP request, so that the many LDAP-backed features involved in a login that look up the same
+ * entry (acceptable usage policy, consent, surrogates, password management, etc.) only reach the directory once.
+ * <p>
+ * Results are only cached while a scope is active on the current thread, and are keyed by the directory
+ * connection, the base dn, the formatted filter and the requested attributes. Any write operation executed
+ * via {@link LdapUtils} discards the results cached in the current scope. Cached results are shared by all callers
+ * in the scope and must be treated as read-only.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@UtilityClass
+public class LdapSearchCache {
+    /**
+     * Metric counting LDAP searches that reached the directory.
+     */
+    public static final String METRIC_SEARCHES = "cas.ldap.searches";
+
+    /**
+     * Metric counting LDAP searches served from the scope cache.
+     */
+    public static final String METRIC_HITS = "cas.ldap.search.cache.hits";
+
+    /**
+     * Metric recording the number of LDAP searches that reached the directory per scope, i.e. per request.
+     */
+    public static final String METRIC_SEARCHES_PER_REQUEST = "cas.ldap.searches.per.request";
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    /**
+     * Begin a scope on the current thread. Scopes may be nested,
+     * in which case the outermost scope determines the lifetime of cached results.
+     *
+     * @param maximumEntries the maximum number of results cached in the scope
+     */
+    public static void begin(final int maximumEntries) {
+        final var scope = SCOPE.get();
+        if (scope != null) {
+            scope.depth++;
+        } else {
+            SCOPE.set(new Scope(maximumEntries));
+        }
+    }
+
+    /**
+     * End the current scope, discarding its cached results once the outermost scope ends.
+     */
+    public static void end() {
+        final var scope = SCOPE.get();
+        if (scope == null) {
+            return;
+        }
+        if (scope.depth > 0) {
+            scope.depth--;
+            return;
+        }
+        SCOPE.remove();
+        if (scope.searches > 0 || scope.hits > 0) {
+            Metrics.summary(METRIC_SEARCHES_PER_REQUEST).record(scope.searches);
+            LOGGER.trace("LDAP scope executed [{}] searches and served [{}] from cache", scope.searches, scope.hits);
+        }
+    }
+
+    /**
+     * Whether a scope is active on the current thread.
+     *
+     * @return true/false
+     */
+    public static boolean isActive() {
+        return SCOPE.get() != null;
+    }
+
+    /**
+     * Discard results cached in the current scope, if any.
+     */
+    public static void invalidate() {
+        final var scope = SCOPE.get();
+        if (scope != null) {
+            scope.results.clear();
+        }
+    }
+
+    /**
+     * Execute the search, unless an identical search was already executed in the current scope.
+     *
+     * @param connectionFactory the connection factory
+     * @param request           the request describing the search
+     * @param filter            the filter
+     * @param search            the search
+     * @return the response
+     * @throws LdapException the ldap exception
+     */
+    static Response<SearchResult> search(final ConnectionFactory connectionFactory, final SearchRequest request,
+                                         final SearchFilter filter, final LdapSearch search) throws LdapException {
+        final var scope = SCOPE.get();
+        if (scope == null) {
+            Metrics.counter(METRIC_SEARCHES).increment();
+            return search.execute();
+        }
+        final var key = getCacheKey(connectionFactory, request, filter);
+        final var cached = scope.results.get(key);
+        if (cached != null) {
+            LOGGER.trace("Found LDAP search result for [{}] in the current scope", key);
+            scope.hits++;
+            Metrics.counter(METRIC_HITS).increment();
+            return cached;
+        }
+        scope.searches++;
+        Metrics.counter(METRIC_SEARCHES).increment();
+        final var response = search.execute();
+        if (response != null && scope.results.size() < scope.maximumEntries) {
+            scope.results.put(key, response);
+        }
+        return response;
+    }
+
+    private static List<Object> getCacheKey(final ConnectionFactory connectionFactory, final SearchRequest request,
+                                            final SearchFilter filter) {
+        return Arrays.asList(getConnectionKey(connectionFactory),
+            request.getBaseDn(),
+            filter.format(),
+            request.getSearchScope(),
+            Arrays.toString(request.getReturnAttributes()),
+            Arrays.toString(request.getBinaryAttributes()));
+    }
+
+    /**
+     * Identify the directory and the identity that searches are executed with. Connections whose
+     * bind identity cannot be determined are identified by the connection factory or initializer itself,
+     * which is compared by identity and only held for as long as the scope is active.
+     */
+    private static Object getConnectionKey(final ConnectionFactory connectionFactory) {
+        ConnectionConfig config = null;
+        if (connectionFactory instanceof DefaultConnectionFactory) {
+            config = ((DefaultConnectionFactory) connectionFactory).getConnectionConfig();
+        } else if (connectionFactory instanceof PooledConnectionFactory
+            && ((PooledConnectionFactory) connectionFactory).getConnectionPool() instanceof AbstractConnectionPool) {
+            final var pool = (AbstractConnectionPool) ((PooledConnectionFactory) connectionFactory).getConnectionPool();
+            config = pool.getConnectionFactory().getConnectionConfig();
+        }
+        if (config == null) {
+            return connectionFactory;
+        }
+        final var initializer = config.getConnectionInitializer();
+        if (initializer instanceof BindConnectionInitializer) {
+            return config.getLdapUrl() + '#' + ((BindConnectionInitializer) initializer).getBindDn();
+        }
+        return Arrays.asList(config.getLdapUrl(), initializer);
+    }
+
+    /**
+     * Search operation whose results may be cached.
+     */
+    @FunctionalInterface
+    interface LdapSearch {
+        /**
+         * Execute the search.
+         *
+         * @return the response
+         * @throws LdapException the ldap exception
+         */
+        Response<SearchResult> execute() throws LdapException;
+    }
+
+    /**
+     * Results cached by a scope.
+     */
+    private static class Scope {
+        private final Map<List<Object>, Response<SearchResult>> results = new HashMap<>();
+
+        private final int maximumEntries;
+
+        private int depth;
+
+        private int searches;
+
+        private int hits;
+
+        Scope(final int maximumEntries) {
+            this.maximumEntries = maximumEntries;
+        }
+    }
+}
@@ -248,12 +248,29 @@ public class LdapUtils {
                                                                 final SearchFilter filter,
                                                                 final String[] binaryAttributes,
                                                                 final String[] returnAttributes) throws LdapException {
-        try (var connection = createConnection(connectionFactory)) {
-            final var searchOperation = new SearchOperation(connection);
-            final var request = LdapUtils.newLdaptiveSearchRequest(baseDn, filter, binaryAttributes, returnAttributes);
-            request.setReferralHandler(new SearchReferralHandler());
-            return searchOperation.execute(request);
-        }
+        final var request = LdapUtils.newLdaptiveSearchRequest(baseDn, filter, binaryAttributes, returnAttributes);
+        request.setReferralHandler(new SearchReferralHandler());
+        return LdapSearchCache.search(connectionFactory, request, filter, () -> {
+            try (var connection = createConnection(connectionFactory)) {
+                final var searchOperation = new SearchOperation(connection);
+                return searchOperation.execute(request);
+            }
+        });
+    }
+
+    /**
+     * Execute search operation using the settings of the given search executor.
+     *
+     * @param connectionFactory the connection factory
+     * @param searchExecutor    the search executor
+     * @param filter            the filter
+     * @return the response
+     * @throws LdapException the ldap exception
+     */
+    public static Response<SearchResult> executeSearchOperation(final ConnectionFactory connectionFactory,
+                                                                final SearchExecutor searchExecutor,
+                                                                final SearchFilter filter) throws LdapException {
+        return LdapSearchCache.search(connectionFactory, searchExecutor, filter, () -> searchExecutor.search(connectionFactory, filter));
     }
 
     /**
@@ -316,6 +333,7 @@ public class LdapUtils {
                                                          final String oldPassword,
                                                          final String newPassword,
                                                          final AbstractLdapProperties.LdapType type) {
+        LdapSearchCache.invalidate();
         try (var modifyConnection = createConnection(connectionFactory)) {
             if (!modifyConnection.getConnectionConfig().getUseSSL()
                 && !modifyConnection.getConnectionConfig().getUseStartTLS()) {
@@ -355,19 +373,10 @@ public class LdapUtils {
      */
     public static boolean executeModifyOperation(final String currentDn, final ConnectionFactory connectionFactory,
                                                  final Map<String, Set<String>> attributes) {
+        LdapSearchCache.invalidate();
         try (var modifyConnection = createConnection(connectionFactory)) {
             final var operation = new ModifyOperation(modifyConnection);
-            final var mods = attributes.entrySet()
-                .stream()
-                .map(entry -> {
-                    final var values = entry.getValue().toArray(new String[]{});
-                    final var attr = new LdapAttribute(entry.getKey(), values);
-                    return new AttributeModification(AttributeModificationType.REPLACE, attr);
-                })
-                .toArray(value -> new AttributeModification[attributes.size()]);
-            final var request = new ModifyRequest(currentDn, mods);
-            request.setReferralHandler(new ModifyReferralHandler());
-            operation.execute(request);
+            operation.execute(newLdaptiveModifyRequest(currentDn, attributes));
             return true;
         } catch (final LdapException e) {
             LOGGER.error(e.getMessage(), e);
@@ -390,6 +399,27 @@ public class LdapUtils {
         return executeModifyOperation(currentDn, connectionFactory, attributes);
     }
 
+    /**
+     * New modify request that replaces the given attributes of the entry.
+     *
+     * @param currentDn  the current dn
+     * @param attributes the attributes
+     * @return the modify request
+     */
+    public static ModifyRequest newLdaptiveModifyRequest(final String currentDn, final Map<String, Set<String>> attributes) {
+        final var mods = attributes.entrySet()
+            .stream()
+            .map(entry -> {
+                final var values = entry.getValue().toArray(new String[]{});
+                final var attr = new LdapAttribute(entry.getKey(), values);
+                return new AttributeModification(AttributeModificationType.REPLACE, attr);
+            })
+            .toArray(value -> new AttributeModification[attributes.size()]);
+        final var request = new ModifyRequest(currentDn, mods);
+        request.setReferralHandler(new ModifyReferralHandler());
+        return request;
+    }
+
     /**
      * Execute add operation boolean.
      *
@@ -398,6 +428,7 @@ public class LdapUtils {
      * @return true/false
      */
     public static boolean executeAddOperation(final ConnectionFactory connectionFactory, final LdapEntry entry) {
+        LdapSearchCache.invalidate();
         try (var connection = createConnection(connectionFactory)) {
             final var operation = new AddOperation(connection);
             operation.execute(new AddRequest(entry.getDn(), entry.getAttributes()));
@@ -416,6 +447,7 @@ public class LdapUtils {
      * @return true/false
      */
     public static boolean executeDeleteOperation(final ConnectionFactory connectionFactory, final LdapEntry entry) {
+        LdapSearchCache.invalidate();
         try (var connection = createConnection(connectionFactory)) {
             final var delete = new DeleteOperation(connection);
             final var request = new DeleteRequest(entry.getDn());
@@ -631,30 +663,48 @@ public class LdapUtils {
      * @return the authenticator
      */
     public static Authenticator newLdaptiveAuthenticator(final AbstractLdapAuthenticationProperties l) {
+        return newLdaptiveAuthenticator(l, null);
+    }
+
+    /**
+     * New ldap authenticator, whose dn and entry resolvers search using the pools shared via the given registry.
+     *
+     * @param l        the ldap settings.
+     * @param registry the registry of shared pools, or null to have the authenticator use its own pools
+     * @return the authenticator
+     */
+    public static Authenticator newLdaptiveAuthenticator(final AbstractLdapAuthenticationProperties l,
+                                                         final LdapConnectionFactoryRegistry registry) {
         switch (l.getType()) {
             case AD:
                 LOGGER.debug("Creating active directory authenticator for [{}]", l.getLdapUrl());
-                return getActiveDirectoryAuthenticator(l);
+                return getActiveDirectoryAuthenticator(l, registry);
             case DIRECT:
                 LOGGER.debug("Creating direct-bind authenticator for [{}]", l.getLdapUrl());
-                return getDirectBindAuthenticator(l);
+                return getDirectBindAuthenticator(l, registry);
             case AUTHENTICATED:
                 LOGGER.debug("Creating authenticated authenticator for [{}]", l.getLdapUrl());
-                return getAuthenticatedOrAnonSearchAuthenticator(l);
+                return getAuthenticatedOrAnonSearchAuthenticator(l, registry);
             default:
                 LOGGER.debug("Creating anonymous authenticator for [{}]", l.getLdapUrl());
-                return getAuthenticatedOrAnonSearchAuthenticator(l);
+                return getAuthenticatedOrAnonSearchAuthenticator(l, registry);
         }
     }
 
-    private static Authenticator getAuthenticatedOrAnonSearchAuthenticator(final AbstractLdapAuthenticationProperties l) {
+    private static PooledConnectionFactory getSearchConnectionFactory(final AbstractLdapProperties l,
+                                                                      final LdapConnectionFactoryRegistry registry) {
+        return registry == null ? newLdaptivePooledConnectionFactory(l) : registry.getPooledConnectionFactory(l);
+    }
+
+    private static Authenticator getAuthenticatedOrAnonSearchAuthenticator(final AbstractLdapAuthenticationProperties l,
+                                                                        final LdapConnectionFactoryRegistry registry) {
         if (StringUtils.isBlank(l.getBaseDn())) {
             throw new IllegalArgumentException("Base dn cannot be empty/blank for authenticated/anonymous authentication");
         }
         if (StringUtils.isBlank(l.getSearchFilter())) {
             throw new IllegalArgumentException("User filter cannot be empty/blank for authenticated/anonymous authentication");
         }
-        final var connectionFactoryForSearch = newLdaptivePooledConnectionFactory(l);
+        final var connectionFactoryForSearch = getSearchConnectionFactory(l, registry);
         final var resolver = new PooledSearchDnResolver();
         resolver.setBaseDn(l.getBaseDn());
         resolver.setSubtreeSearch(l.isSubtreeSearch());
@@ -675,12 +725,13 @@ public class LdapUtils {
         }
 
         if (l.isEnhanceWithEntryResolver()) {
-            auth.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
+            auth.setEntryResolver(newLdaptiveSearchEntryResolver(l, getSearchConnectionFactory(l, registry)));
         }
         return auth;
     }
 
-    private static Authenticator getDirectBindAuthenticator(final AbstractLdapAuthenticationProperties l) {
+    private static Authenticator getDirectBindAuthenticator(final AbstractLdapAuthenticationProperties l,
+                                                            final LdapConnectionFactoryRegistry registry) {
         if (StringUtils.isBlank(l.getDnFormat())) {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for direct bind authentication");
         }
@@ -688,12 +739,13 @@ public class LdapUtils {
         final var authenticator = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
-            authenticator.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
+            authenticator.setEntryResolver(newLdaptiveSearchEntryResolver(l, getSearchConnectionFactory(l, registry)));
         }
         return authenticator;
     }
 
-    private static Authenticator getActiveDirectoryAuthenticator(final AbstractLdapAuthenticationProperties l) {
+    private static Authenticator getActiveDirectoryAuthenticator(final AbstractLdapAuthenticationProperties l,
+                                                                 final LdapConnectionFactoryRegistry registry) {
         if (StringUtils.isBlank(l.getDnFormat())) {
             throw new IllegalArgumentException("Dn format cannot be empty/blank for active directory authentication");
         }
@@ -701,7 +753,7 @@ public class LdapUtils {
         final var authn = new Authenticator(resolver, getPooledBindAuthenticationHandler(l, newLdaptivePooledConnectionFactory(l)));
 
         if (l.isEnhanceWithEntryResolver()) {
-            authn.setEntryResolver(newLdaptiveSearchEntryResolver(l, newLdaptivePooledConnectionFactory(l)));
+            authn.setEntryResolver(newLdaptiveSearchEntryResolver(l, getSearchConnectionFactory(l, registry)));
         }
         return authn;
     }
@@ -722,6 +774,8 @@ public class LdapUtils {
 
     /**
      * New pooled connection factory pooled connection factory.
+     * Consider the {@link LdapConnectionFactoryRegistry}
+     * to share pools with other features that connect to the same directory.
      *
      * @param l the ldap properties
      * @return the pooled connection factory
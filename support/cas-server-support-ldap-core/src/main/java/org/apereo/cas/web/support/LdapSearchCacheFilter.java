@@ -0,0 +1,48 @@
+package org.apereo.cas.web.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.LdapSearchCache;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet Filter that scopes the {@link LdapSearchCache} to the request/response processing cycle,
+ * so that LDAP searches repeated while processing a request are executed only once.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LdapSearchCacheFilter implements Filter {
+    private final int maximumEntries;
+
+    @Override
+    public void doFilter(final ServletRequest servletRequest,
+                         final ServletResponse servletResponse,
+                         final FilterChain filterChain) throws IOException, ServletException {
+        LdapSearchCache.begin(this.maximumEntries);
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            LdapSearchCache.end();
+        }
+    }
+
+    @Override
+    public void init(final FilterConfig filterConfig) {
+        //noop
+    }
+
+    @Override
+    public void destroy() {
+        //noop
+    }
+}
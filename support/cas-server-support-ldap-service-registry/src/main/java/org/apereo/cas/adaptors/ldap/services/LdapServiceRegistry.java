@@ -1,5 +1,12 @@
 package org.apereo.cas.adaptors.ldap.services;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.model.support.ldap.serviceregistry.LdapServiceRegistryProperties;
@@ -7,28 +14,63 @@ import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.LdapAsyncOperationExecutor;
 import org.apereo.cas.util.LdapUtils;
 import org.ldaptive.ConnectionFactory;
+import org.ldaptive.LdapEntry;
 import org.ldaptive.LdapException;
 import org.ldaptive.Response;
+import org.ldaptive.ReturnAttributes;
+import org.ldaptive.SearchFilter;
 import org.ldaptive.SearchResult;
+import org.ldaptive.io.GeneralizedTimeValueTranscoder;
 
-import java.util.ArrayList;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.ToString;
 
 /**
  * Implementation of the ServiceRegistry interface which stores the services in a LDAP Directory.
+ * <p>
+ * Service definitions are remembered along with the {@code modifyTimestamp} of their entries.
+ * When incremental synchronization is turned on, reloads only list the timestamps of all entries
+ * and then fetch entries that are new or have changed since the previous load. Entries that did not change
+ * are never deserialized again, and entries that no longer exist are dropped.
  *
  * @author Misagh Moayyed
  * @author Marvin S. Addison
  * @since 4.0.0
  */
 @Slf4j
-@ToString
+@ToString(exclude = {"loadedEntries", "meterRegistry"})
 public class LdapServiceRegistry extends AbstractServiceRegistry {
+    /**
+     * Metric recording the duration of each load of service definitions, tagged by the type of load.
+     */
+    public static final String METRIC_SYNC = "cas.ldap.service.registry.sync";
+
+    /**
+     * Metric recording the number of entries fetched by each load of service definitions, tagged by the type of load.
+     */
+    public static final String METRIC_SYNC_ENTRIES = "cas.ldap.service.registry.sync.entries";
+
+    private static final String MODIFY_TIMESTAMP_ATTRIBUTE = "modifyTimestamp";
+
+    private static final String SYNC_TYPE_FULL = "full";
+
+    private static final String SYNC_TYPE_INCREMENTAL = "incremental";
+
+    private static final GeneralizedTimeValueTranscoder TIMESTAMP_TRANSCODER = new GeneralizedTimeValueTranscoder();
 
     private final ConnectionFactory connectionFactory;
 
@@ -40,6 +82,28 @@ public class LdapServiceRegistry extends AbstractServiceRegistry {
 
     private final String loadFilter;
 
+    private final boolean incrementalSync;
+
+    /**
+     * Service definitions loaded from the directory, keyed by the dn of their entry.
+     */
+    private final Map<String, LoadedEntry> loadedEntries = new LinkedHashMap<>();
+
+    /**
+     * The most recent modification timestamp of all loaded entries,
+     * or null if the next load must fetch all entries.
+     */
+    private String lastModifyTimestamp;
+
+    /**
+     * Executes searches asynchronously over multiplexed connections, if defined.
+     */
+    @Setter
+    private LdapAsyncOperationExecutor asyncOperationExecutor;
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     public LdapServiceRegistry(final ConnectionFactory connectionFactory, final String baseDn,
                                final LdapRegisteredServiceMapper ldapServiceMapper, final LdapServiceRegistryProperties ldapProperties) {
         this.connectionFactory = connectionFactory;
@@ -51,6 +115,7 @@ public class LdapServiceRegistry extends AbstractServiceRegistry {
         }
         this.loadFilter = ldapProperties.getLoadFilter();
         this.searchFilter = ldapProperties.getSearchFilter();
+        this.incrementalSync = ldapProperties.isIncrementalSync();
         LOGGER.debug("Configured search filter to [{}] and load filter to [{}]", this.searchFilter, this.loadFilter);
     }
 
@@ -142,28 +207,155 @@ public class LdapServiceRegistry extends AbstractServiceRegistry {
     }
 
     @Override
-    public List<RegisteredService> load() {
-        final List<RegisteredService> list = new ArrayList<>();
+    public synchronized List<RegisteredService> load() {
+        final var startTime = System.nanoTime();
         try {
-            final var response = getSearchResultResponse();
-            if (LdapUtils.containsResultEntry(response)) {
-                response.getResult().getEntries()
-                    .stream()
-                    .map(this.ldapServiceMapper::mapToRegisteredService)
-                    .filter(Objects::nonNull)
-                    .forEach(s -> {
-                        publishEvent(new CasRegisteredServiceLoadedEvent(this, s));
-                        list.add(s);
-                    });
+            if (!this.incrementalSync || this.lastModifyTimestamp == null || !loadChangedEntries(startTime)) {
+                loadAllEntries(startTime);
             }
         } catch (final LdapException e) {
             LOGGER.error(e.getMessage(), e);
+            this.loadedEntries.clear();
+            this.lastModifyTimestamp = null;
         }
-        return list;
+        return this.loadedEntries.values()
+            .stream()
+            .map(LoadedEntry::getService)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private void loadAllEntries(final long startTime) throws LdapException {
+        final var response = executeSearchOperation(LdapUtils.newLdaptiveSearchFilter(this.loadFilter),
+            ReturnAttributes.ALL_USER.add(MODIFY_TIMESTAMP_ATTRIBUTE));
+        final var entries = LdapUtils.containsResultEntry(response) ? response.getResult().getEntries() : List.<LdapEntry>of();
+        this.lastModifyTimestamp = null;
+        final var dns = applyEntries(entries);
+        this.loadedEntries.keySet().retainAll(dns);
+        if (this.loadedEntries.values().stream().anyMatch(entry -> entry.getModifyTimestamp() == null)) {
+            LOGGER.debug("Not all entries expose [{}]; services will be loaded in full", MODIFY_TIMESTAMP_ATTRIBUTE);
+            this.lastModifyTimestamp = null;
+        }
+        recordLoad(SYNC_TYPE_FULL, startTime, entries.size());
+    }
+
+    /**
+     * Load entries that are new or have changed since the previous load, and drop entries that no longer exist.
+     * Entries that carry the most recent modification timestamp of the previous load are fetched again,
+     * since they may have been modified again within the resolution of the timestamp.
+     *
+     * @param startTime the start time of the load
+     * @return false if changes could not be determined and all entries must be loaded instead
+     * @throws LdapException the ldap exception
+     */
+    private boolean loadChangedEntries(final long startTime) throws LdapException {
+        final var response = executeSearchOperation(LdapUtils.newLdaptiveSearchFilter(this.loadFilter), MODIFY_TIMESTAMP_ATTRIBUTE);
+        final Map<String, String> timestamps = new HashMap<>();
+        if (LdapUtils.containsResultEntry(response)) {
+            for (final var entry : response.getResult().getEntries()) {
+                final var timestamp = LdapUtils.getString(entry, MODIFY_TIMESTAMP_ATTRIBUTE);
+                if (StringUtils.isBlank(timestamp)) {
+                    LOGGER.debug("Entry [{}] does not expose [{}]; services will be loaded in full", entry.getDn(), MODIFY_TIMESTAMP_ATTRIBUTE);
+                    return false;
+                }
+                timestamps.put(entry.getDn(), timestamp);
+            }
+        }
+        this.loadedEntries.keySet().retainAll(timestamps.keySet());
+
+        final var lastModified = parseTimestamp(this.lastModifyTimestamp);
+        final var changedDns = timestamps.entrySet()
+            .stream()
+            .filter(entry -> {
+                final var loaded = this.loadedEntries.get(entry.getKey());
+                return loaded == null || !entry.getValue().equals(loaded.getModifyTimestamp())
+                    || !parseTimestamp(entry.getValue()).isBefore(lastModified);
+            })
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+        if (changedDns.isEmpty()) {
+            recordLoad(SYNC_TYPE_INCREMENTAL, startTime, 0);
+            return true;
+        }
+
+        final var since = changedDns.stream()
+            .map(timestamps::get)
+            .min(Comparator.comparing(LdapServiceRegistry::parseTimestamp))
+            .orElseThrow();
+        final var filter = LdapUtils.newLdaptiveSearchFilter("(&" + this.loadFilter + '(' + MODIFY_TIMESTAMP_ATTRIBUTE + ">={0}))",
+            CollectionUtils.wrap(since));
+        final var changes = executeSearchOperation(filter, ReturnAttributes.ALL_USER.add(MODIFY_TIMESTAMP_ATTRIBUTE));
+        final var entries = LdapUtils.containsResultEntry(changes) ? changes.getResult().getEntries() : List.<LdapEntry>of();
+        final var dns = applyEntries(entries);
+        if (!dns.containsAll(changedDns)) {
+            LOGGER.debug("Changed entries could not be fetched since [{}]; services will be loaded in full", since);
+            return false;
+        }
+        recordLoad(SYNC_TYPE_INCREMENTAL, startTime, entries.size());
+        return true;
+    }
+
+    /**
+     * Remember the given entries, and map the ones whose attributes have changed to registered services.
+     *
+     * @param entries the entries
+     * @return the dns of the entries
+     */
+    private Collection<String> applyEntries(final Collection<LdapEntry> entries) {
+        final Collection<String> dns = new HashSet<>(entries.size());
+        for (final var entry : entries) {
+            final var timestamp = LdapUtils.getString(entry, MODIFY_TIMESTAMP_ATTRIBUTE);
+            entry.removeAttribute(MODIFY_TIMESTAMP_ATTRIBUTE);
+            final var loaded = this.loadedEntries.get(entry.getDn());
+            final RegisteredService service;
+            if (loaded != null && loaded.getEntry().equals(entry)) {
+                service = loaded.getService();
+            } else {
+                service = this.ldapServiceMapper.mapToRegisteredService(entry);
+                if (service != null) {
+                    publishEvent(new CasRegisteredServiceLoadedEvent(this, service));
+                }
+            }
+            this.loadedEntries.put(entry.getDn(), new LoadedEntry(entry, timestamp, service));
+            if (StringUtils.isNotBlank(timestamp)
+                && (this.lastModifyTimestamp == null || parseTimestamp(timestamp).isAfter(parseTimestamp(this.lastModifyTimestamp)))) {
+                this.lastModifyTimestamp = timestamp;
+            }
+            dns.add(entry.getDn());
+        }
+        return dns;
+    }
+
+    private void recordLoad(final String type, final long startTime, final int entries) {
+        final var duration = System.nanoTime() - startTime;
+        Timer.builder(METRIC_SYNC)
+            .tag("type", type)
+            .register(this.meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(METRIC_SYNC_ENTRIES)
+            .tag("type", type)
+            .register(this.meterRegistry)
+            .record(entries);
+        LOGGER.debug("Executed [{}] load of service definitions in [{}] ms, fetching [{}] of [{}] entries",
+            type, TimeUnit.NANOSECONDS.toMillis(duration), entries, this.loadedEntries.size());
+    }
+
+    private static ZonedDateTime parseTimestamp(final String timestamp) {
+        return TIMESTAMP_TRANSCODER.decodeStringValue(timestamp);
     }
 
     private Response<SearchResult> getSearchResultResponse() throws LdapException {
-        return LdapUtils.executeSearchOperation(this.connectionFactory, this.baseDn, LdapUtils.newLdaptiveSearchFilter(this.loadFilter));
+        return executeSearchOperation(LdapUtils.newLdaptiveSearchFilter(this.loadFilter));
+    }
+
+    private Response<SearchResult> executeSearchOperation(final SearchFilter filter, final String... returnAttributes) throws LdapException {
+        if (this.asyncOperationExecutor != null) {
+            return LdapAsyncOperationExecutor.getResult(this.asyncOperationExecutor.search(this.baseDn, filter, returnAttributes));
+        }
+        if (returnAttributes.length == 0) {
+            return LdapUtils.executeSearchOperation(this.connectionFactory, this.baseDn, filter);
+        }
+        return LdapUtils.executeSearchOperation(this.connectionFactory, this.baseDn, filter, returnAttributes);
     }
 
     @Override
@@ -194,6 +386,19 @@ public class LdapServiceRegistry extends AbstractServiceRegistry {
     private Response<SearchResult> searchForServiceById(final Long id) throws LdapException {
         final var filter = LdapUtils.newLdaptiveSearchFilter(this.searchFilter,
             LdapUtils.LDAP_SEARCH_FILTER_DEFAULT_PARAM_NAME, CollectionUtils.wrap(id.toString()));
-        return LdapUtils.executeSearchOperation(this.connectionFactory, this.baseDn, filter);
+        return executeSearchOperation(filter);
+    }
+
+    /**
+     * A directory entry along with the registered service it maps to.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class LoadedEntry {
+        private final LdapEntry entry;
+
+        private final String modifyTimestamp;
+
+        private final RegisteredService service;
     }
 }
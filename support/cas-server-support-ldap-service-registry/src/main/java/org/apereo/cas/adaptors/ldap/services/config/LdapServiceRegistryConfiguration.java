@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.ldap.services.config;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.adaptors.ldap.services.DefaultLdapRegisteredServiceMapper;
 import org.apereo.cas.adaptors.ldap.services.LdapRegisteredServiceMapper;
@@ -8,9 +9,12 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServiceRegistry;
 import org.apereo.cas.services.ServiceRegistryExecutionPlan;
 import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
+import org.apereo.cas.util.LdapAsyncOperationExecutor;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.apereo.cas.util.LdapUtils;
 import org.ldaptive.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -31,6 +35,10 @@ public class LdapServiceRegistryConfiguration implements ServiceRegistryExecutio
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ldapConnectionFactoryRegistry")
+    private LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry;
+
     @Bean
     @RefreshScope
     @ConditionalOnMissingBean(name = "ldapServiceRegistryMapper")
@@ -43,7 +51,16 @@ public class LdapServiceRegistryConfiguration implements ServiceRegistryExecutio
     public ServiceRegistry ldapServiceRegistry() {
         final var ldap = casProperties.getServiceRegistry().getLdap();
         final ConnectionFactory connectionFactory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
-        return new LdapServiceRegistry(connectionFactory, ldap.getBaseDn(), ldapServiceRegistryMapper(), ldap);
+        final var registry = new LdapServiceRegistry(connectionFactory, ldap.getBaseDn(), ldapServiceRegistryMapper(), ldap);
+        registry.setAsyncOperationExecutor(ldapServiceRegistryAsyncOperationExecutor());
+        return registry;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "ldapServiceRegistryAsyncOperationExecutor")
+    public LdapAsyncOperationExecutor ldapServiceRegistryAsyncOperationExecutor() {
+        return new LdapAsyncOperationExecutor(casProperties.getServiceRegistry().getLdap(), Metrics.globalRegistry,
+            ldapConnectionFactoryRegistry);
     }
 
     @Override
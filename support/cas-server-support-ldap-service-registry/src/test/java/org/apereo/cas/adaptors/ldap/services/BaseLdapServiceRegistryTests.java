@@ -3,6 +3,7 @@ package org.apereo.cas.adaptors.ldap.services;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.adaptors.ldap.services.config.LdapServiceRegistryConfiguration;
 import org.apereo.cas.category.LdapCategory;
+import org.apereo.cas.config.CasLdapCoreConfiguration;
 import org.apereo.cas.services.AbstractServiceRegistryTests;
 import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.RegisteredService;
@@ -33,7 +34,7 @@ import java.util.Collection;
 @Slf4j
 @RunWith(Parameterized.class)
 @Category(LdapCategory.class)
-@SpringBootTest(classes = {LdapServiceRegistryConfiguration.class, RefreshAutoConfiguration.class})
+@SpringBootTest(classes = {LdapServiceRegistryConfiguration.class, CasLdapCoreConfiguration.class, RefreshAutoConfiguration.class})
 public abstract class BaseLdapServiceRegistryTests extends AbstractServiceRegistryTests {
 
     @Autowired
@@ -0,0 +1,86 @@
+package org.apereo.cas.adaptors.ldap.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.adaptors.ldap.LdapIntegrationTestsOperations;
+import org.apereo.cas.configuration.model.support.ldap.serviceregistry.LdapServiceRegistryProperties;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.util.LdapUtils;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link LdapServiceRegistryIncrementalSyncTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class LdapServiceRegistryIncrementalSyncTests {
+    private static final int LDAP_PORT = 11390;
+
+    private static final String BASE_DN = "ou=services,dc=example,dc=org";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LdapServiceRegistry serviceRegistry;
+
+    @BeforeClass
+    public static void bootstrap() throws Exception {
+        LdapIntegrationTestsOperations.initDirectoryServer(LDAP_PORT);
+        LdapIntegrationTestsOperations.getLdapDirectory(LDAP_PORT).getConnection()
+            .add("dn: " + BASE_DN, "objectClass: top", "objectClass: organizationalUnit", "ou: services");
+    }
+
+    @Before
+    public void initialize() {
+        final var ldap = new LdapServiceRegistryProperties();
+        ldap.setLdapUrl("ldap://localhost:" + LDAP_PORT);
+        ldap.setUseSsl(false);
+        ldap.setBindDn("cn=Directory Manager,dc=example,dc=org");
+        ldap.setBindCredential("Password");
+        ldap.setBaseDn(BASE_DN);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.serviceRegistry = new LdapServiceRegistry(LdapUtils.newLdaptiveConnectionFactory(ldap), BASE_DN, null, ldap);
+        this.serviceRegistry.setMeterRegistry(this.meterRegistry);
+        this.serviceRegistry.load().forEach(this.serviceRegistry::delete);
+    }
+
+    @Test
+    public void verifyOnlyChangedEntriesAreLoaded() {
+        this.serviceRegistry.save(newRegisteredService(1000));
+        this.serviceRegistry.save(newRegisteredService(2000));
+        final var services = this.serviceRegistry.load();
+        assertEquals(2, services.size());
+
+        final var unchanged = this.serviceRegistry.load();
+        assertEquals(2, unchanged.size());
+        assertTrue(unchanged.stream().allMatch(service -> services.stream().anyMatch(s -> s == service)));
+
+        final var changed = newRegisteredService(1000);
+        changed.setName("Changed");
+        this.serviceRegistry.save(changed);
+        final var updated = this.serviceRegistry.load();
+        assertEquals(2, updated.size());
+        assertTrue(updated.stream().anyMatch(service -> service.getId() == 1000 && "Changed".equals(service.getName())));
+        assertTrue(updated.stream().anyMatch(service -> service.getId() == 2000 && services.contains(service)));
+
+        this.serviceRegistry.delete(changed);
+        final var remaining = this.serviceRegistry.load();
+        assertEquals(1, remaining.size());
+        assertEquals(2000, remaining.get(0).getId());
+
+        final var entries = this.meterRegistry.get(LdapServiceRegistry.METRIC_SYNC_ENTRIES).tag("type", "incremental").summary();
+        assertTrue(entries.count() > 0);
+        assertTrue(entries.totalAmount() < 2 * entries.count());
+    }
+
+    private static RegexRegisteredService newRegisteredService(final long id) {
+        final var service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId("https://app" + id + ".example.org/.*");
+        return service;
+    }
+}
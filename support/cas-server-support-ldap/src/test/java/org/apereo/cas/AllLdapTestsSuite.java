@@ -3,6 +3,8 @@ package org.apereo.cas;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.LdapAuthenticationHandlerTests;
 import org.apereo.cas.authentication.principal.PersonDirectoryPrincipalResolverLdaptiveTests;
+import org.apereo.cas.util.LdapAsyncOperationExecutorTests;
+import org.apereo.cas.util.LdapSearchCacheTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -13,7 +15,9 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({LdapAuthenticationHandlerTests.class, 
-        PersonDirectoryPrincipalResolverLdaptiveTests.class})
+        PersonDirectoryPrincipalResolverLdaptiveTests.class,
+        LdapSearchCacheTests.class,
+        LdapAsyncOperationExecutorTests.class})
 @Slf4j
 public class AllLdapTestsSuite {
 }
@@ -0,0 +1,113 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.adaptors.ldap.LdapIntegrationTestsOperations;
+import org.apereo.cas.configuration.model.support.ldap.LdapAuthenticationProperties;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.ldaptive.Response;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.SearchResult;
+import org.ldaptive.provider.unboundid.UnboundIDProvider;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Load tests for {@link LdapAsyncOperationExecutor} against an embedded LDAP server.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class LdapAsyncOperationExecutorTests {
+    private static final int LDAP_PORT = 11389;
+
+    private static final int CONCURRENT_OPERATIONS = 1_000;
+
+    private static final String BASE_DN = "ou=people,dc=example,dc=org";
+
+    private static final String[] USERS = {"mmoayyed", "CAS Test", "Administrators"};
+
+    private static final LdapConnectionFactoryRegistry REGISTRY = new LdapConnectionFactoryRegistry(new SimpleMeterRegistry());
+
+    @BeforeClass
+    public static void bootstrap() throws Exception {
+        LdapIntegrationTestsOperations.initDirectoryServer(LDAP_PORT);
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        REGISTRY.closeAll();
+    }
+
+    @Test
+    public void verifyMultiplexedSearchesUnderLoad() throws Exception {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var ldap = getLdapProperties();
+        ldap.setProviderClass(UnboundIDProvider.class.getName());
+        try (var executor = new LdapAsyncOperationExecutor(ldap, meterRegistry, REGISTRY)) {
+            verifySearches(executor);
+            assertEquals(CONCURRENT_OPERATIONS,
+                meterRegistry.get(LdapAsyncOperationExecutor.METRIC_OPERATIONS).tag("mode", "multiplexed").timer().count());
+        }
+    }
+
+    @Test
+    public void verifyPooledSearchesWithoutAsyncProvider() throws Exception {
+        final var meterRegistry = new SimpleMeterRegistry();
+        try (var executor = new LdapAsyncOperationExecutor(getLdapProperties(), meterRegistry, REGISTRY)) {
+            verifySearches(executor);
+            assertEquals(CONCURRENT_OPERATIONS,
+                meterRegistry.get(LdapAsyncOperationExecutor.METRIC_OPERATIONS).tag("mode", "pooled").timer().count());
+        }
+    }
+
+    @Test
+    public void verifyModify() throws Exception {
+        final var ldap = getLdapProperties();
+        ldap.setProviderClass(UnboundIDProvider.class.getName());
+        try (var executor = new LdapAsyncOperationExecutor(ldap, new SimpleMeterRegistry(), REGISTRY)) {
+            final var dn = "cn=mmoayyed," + BASE_DN;
+            assertTrue(executor.modify(dn, Map.of("displayName", Set.of("Misagh M."))).get(1, TimeUnit.MINUTES));
+            final var response = LdapAsyncOperationExecutor.getResult(executor.search(BASE_DN, newFilter("mmoayyed"), "displayName"));
+            assertEquals("Misagh M.", response.getResult().getEntry().getAttribute("displayName").getStringValue());
+        }
+    }
+
+    private static void verifySearches(final LdapAsyncOperationExecutor executor) throws Exception {
+        final var futures = new ArrayList<CompletableFuture<Response<SearchResult>>>(CONCURRENT_OPERATIONS);
+        for (var i = 0; i < CONCURRENT_OPERATIONS; i++) {
+            futures.add(executor.search(BASE_DN, newFilter(USERS[i % USERS.length]), "cn", "mail"));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+        for (var i = 0; i < CONCURRENT_OPERATIONS; i++) {
+            final var response = futures.get(i).get();
+            assertTrue(LdapUtils.containsResultEntry(response));
+            assertTrue(response.getResult().getEntry().getAttribute("cn").getStringValues().contains(USERS[i % USERS.length]));
+        }
+        assertEquals(0, executor.getOutstandingOperations());
+    }
+
+    private static SearchFilter newFilter(final String user) {
+        return LdapUtils.newLdaptiveSearchFilter("cn={user}", LdapUtils.LDAP_SEARCH_FILTER_DEFAULT_PARAM_NAME, CollectionUtils.wrap(user));
+    }
+
+    private static LdapAuthenticationProperties getLdapProperties() {
+        final var ldap = new LdapAuthenticationProperties();
+        ldap.setLdapUrl("ldap://localhost:" + LDAP_PORT);
+        ldap.setUseSsl(false);
+        ldap.setBindDn("cn=Directory Manager,dc=example,dc=org");
+        ldap.setBindCredential("Password");
+        ldap.setMaxPoolSize(4);
+        ldap.setMinPoolSize(1);
+        ldap.setMaxOutstandingOperations(CONCURRENT_OPERATIONS);
+        ldap.setBlockWaitTime("PT1M");
+        return ldap;
+    }
+}
@@ -0,0 +1,158 @@
+package org.apereo.cas.util;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.configuration.model.support.ldap.LdapAuthenticationProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.LdapEntry;
+import org.ldaptive.Response;
+import org.ldaptive.ResultCode;
+import org.ldaptive.SearchResult;
+import org.ldaptive.pool.AbstractConnectionPool;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link LdapSearchCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class LdapSearchCacheTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private final LdapConnectionFactoryRegistry registry = new LdapConnectionFactoryRegistry(meterRegistry);
+
+    private LdapAuthenticationProperties ldap;
+
+    @Before
+    public void initialize() {
+        Metrics.addRegistry(meterRegistry);
+        this.ldap = new LdapAuthenticationProperties();
+        this.ldap.setLdapUrl("ldap://localhost:10389");
+        this.ldap.setBindDn("cn=Directory Manager");
+        this.ldap.setBindCredential("password");
+        this.ldap.setUseSsl(false);
+        this.ldap.setFailFast(false);
+        this.ldap.setMinPoolSize(0);
+    }
+
+    @After
+    public void cleanup() {
+        LdapSearchCache.end();
+        registry.destroy();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void verifySearchesAreRepeatedWithoutScope() throws Exception {
+        search("casuser");
+        search("casuser");
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void verifySearchesAreCachedInScope() throws Exception {
+        LdapSearchCache.begin(10);
+        final var first = search("casuser");
+        assertSame(first, search("casuser"));
+        search("casadmin");
+        assertEquals(2, searches.get());
+
+        LdapSearchCache.invalidate();
+        search("casuser");
+        assertEquals(3, searches.get());
+        LdapSearchCache.end();
+
+        assertFalse(LdapSearchCache.isActive());
+        assertEquals(1, meterRegistry.counter(LdapSearchCache.METRIC_HITS).count(), 0);
+        assertEquals(3, meterRegistry.counter(LdapSearchCache.METRIC_SEARCHES).count(), 0);
+        assertEquals(3, meterRegistry.summary(LdapSearchCache.METRIC_SEARCHES_PER_REQUEST).totalAmount(), 0);
+    }
+
+    @Test
+    public void verifyNestedScopes() throws Exception {
+        LdapSearchCache.begin(10);
+        LdapSearchCache.begin(10);
+        search("casuser");
+        LdapSearchCache.end();
+        assertTrue(LdapSearchCache.isActive());
+        search("casuser");
+        LdapSearchCache.end();
+        assertFalse(LdapSearchCache.isActive());
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    public void verifyUnknownConnectionFactoriesAreNotShared() throws Exception {
+        final ConnectionFactory factory1 = mock(ConnectionFactory.class);
+        final ConnectionFactory factory2 = mock(ConnectionFactory.class);
+        LdapSearchCache.begin(10);
+        final var first = search(factory1, "casuser");
+        assertSame(first, search(factory1, "casuser"));
+        assertNotSame(first, search(factory2, "casuser"));
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void verifyConnectionFactoriesAreShared() {
+        final var factory = registry.getPooledConnectionFactory(this.ldap);
+        final var other = new LdapAuthenticationProperties();
+        other.setLdapUrl(this.ldap.getLdapUrl());
+        other.setBindDn(this.ldap.getBindDn());
+        other.setBindCredential(this.ldap.getBindCredential());
+        other.setUseSsl(false);
+        other.setFailFast(false);
+        other.setMinPoolSize(0);
+        assertSame(factory, registry.getPooledConnectionFactory(other));
+
+        other.setBindDn("cn=admin");
+        assertNotSame(factory, registry.getPooledConnectionFactory(other));
+        assertEquals(2, registry.size());
+
+        other.setBindDn(this.ldap.getBindDn());
+        other.setResponseTimeout("PT30S");
+        assertNotSame(factory, registry.getPooledConnectionFactory(other));
+        other.setResponseTimeout(this.ldap.getResponseTimeout());
+        other.setMaxPoolSize(this.ldap.getMaxPoolSize() + 1);
+        assertNotSame(factory, registry.getPooledConnectionFactory(other));
+        assertEquals(4, registry.size());
+        assertEquals(4, meterRegistry.get(LdapConnectionFactoryRegistry.METRIC_POOLS).gauge().value(), 0);
+    }
+
+    @Test
+    public void verifyChangedConnectionFactoriesAreClosedOnRefresh() {
+        final var factory = registry.getPooledConnectionFactory(this.ldap);
+        registry.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        assertSame(factory, registry.getPooledConnectionFactory(this.ldap));
+
+        this.ldap.setBindCredential("rotated");
+        registry.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        assertEquals(0, registry.size());
+        assertFalse(((AbstractConnectionPool) factory.getConnectionPool()).isInitialized());
+        assertNotSame(factory, registry.getPooledConnectionFactory(this.ldap));
+    }
+
+    private Response<SearchResult> search(final String user) throws Exception {
+        return search(registry.getPooledConnectionFactory(this.ldap), user);
+    }
+
+    private Response<SearchResult> search(final ConnectionFactory factory, final String user) throws Exception {
+        final var filter = LdapUtils.newLdaptiveSearchFilter("uid={user}",
+            LdapUtils.LDAP_SEARCH_FILTER_DEFAULT_PARAM_NAME, CollectionUtils.wrap(user));
+        final var request = LdapUtils.newLdaptiveSearchRequest("ou=people,dc=example,dc=org", filter);
+        return LdapSearchCache.search(factory, request, filter, () -> {
+            searches.incrementAndGet();
+            return new Response<>(new SearchResult(new LdapEntry("uid=" + user)), ResultCode.SUCCESS);
+        });
+    }
+}
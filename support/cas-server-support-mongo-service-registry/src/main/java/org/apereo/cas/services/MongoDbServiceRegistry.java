@@ -4,11 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
+import org.bson.Document;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -25,6 +28,9 @@ import java.util.regex.Pattern;
 @ToString
 @RequiredArgsConstructor
 public class MongoDbServiceRegistry extends AbstractServiceRegistry {
+    private static final String FIELD_ID = "_id";
+
+    private static final String FIELD_LAST_MODIFIED = "lastModified";
 
     private final MongoOperations mongoTemplate;
     private final String collectionName;
@@ -57,11 +63,36 @@ public class MongoDbServiceRegistry extends AbstractServiceRegistry {
         return list;
     }
 
+    @Override
+    public RegisteredServiceChanges loadChangesSince(final long changeStamp) {
+        final var stampQuery = new Query();
+        stampQuery.fields().include(FIELD_ID).include(FIELD_LAST_MODIFIED);
+        final var stamps = this.mongoTemplate.find(stampQuery, Document.class, this.collectionName);
+        final Set<Long> serviceIds = new HashSet<>(stamps.size());
+        var latestChangeStamp = RegisteredServiceChanges.NO_CHANGE_STAMP;
+        for (final var stamp : stamps) {
+            serviceIds.add(((Number) stamp.get(FIELD_ID)).longValue());
+            final var lastModified = (Number) stamp.get(FIELD_LAST_MODIFIED);
+            latestChangeStamp = Math.max(latestChangeStamp, lastModified == null ? 0 : lastModified.longValue());
+        }
+        if (changeStamp == RegisteredServiceChanges.NO_CHANGE_STAMP) {
+            return new RegisteredServiceChanges(load(), serviceIds, latestChangeStamp);
+        }
+        final var query = new Query(Criteria.where(FIELD_LAST_MODIFIED).gte(changeStamp));
+        final var list = this.mongoTemplate.find(query, RegisteredService.class, this.collectionName);
+        LOGGER.debug("Found [{}] service(s) changed since [{}]", list.size(), changeStamp);
+        list.forEach(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s)));
+        return new RegisteredServiceChanges(list, serviceIds, latestChangeStamp);
+    }
+
     @Override
     public RegisteredService save(final RegisteredService svc) {
         if (svc.getId() == AbstractRegisteredService.INITIAL_IDENTIFIER_VALUE) {
             svc.setId(svc.hashCode());
         }
+        if (svc instanceof AbstractRegisteredService) {
+            ((AbstractRegisteredService) svc).setLastModified(System.currentTimeMillis());
+        }
         this.mongoTemplate.save(svc, this.collectionName);
         LOGGER.debug("Saved registered service: [{}]", svc);
         return this.findServiceById(svc.getId());
@@ -0,0 +1,159 @@
+package org.apereo.cas.support.pac4j.authentication;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.client.Client;
+import org.pac4j.core.client.Clients;
+import org.pac4j.core.client.IndirectClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CachingDelegatedClients}. It defers the initialization of delegated clients,
+ * which for some client types means loading keystores, fetching identity provider metadata or discovery documents,
+ * until a client is actually used.
+ * <p>
+ * The clients built at startup only carry their configuration and are used to list and locate the available clients.
+ * Clients that are looked up by name or type are initialized from a separate, uninitialized instance and kept in a
+ * bounded cache. Cached clients are rebuilt in the background once the refresh interval has passed,
+ * while the previously initialized client continues to serve requests.
+ * <p>
+ * The {@link DelegatedClientFactory} can only build all configured clients at once, so the instances built
+ * alongside the requested client are indexed by name and handed out to later lookups of those clients,
+ * instead of building all clients again for each client that is initialized.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CachingDelegatedClients extends Clients {
+    /**
+     * Metric recording the time it takes to build the configured clients at startup.
+     */
+    public static final String METRIC_BUILD = "cas.pac4j.clients.build";
+
+    /**
+     * Metric recording the time it takes to build and initialize a client, tagged by client name.
+     */
+    public static final String METRIC_INITIALIZATION = "cas.pac4j.client.initialization";
+
+    /**
+     * Metric reporting the number of initialized clients held in the cache.
+     */
+    public static final String METRIC_INITIALIZED = "cas.pac4j.clients.initialized";
+
+    private final DelegatedClientFactory clientFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LoadingCache<String, Client> initializedClients;
+
+    private final Map<String, BaseClient> uninitializedClients = new ConcurrentHashMap<>();
+
+    public CachingDelegatedClients(final String callbackUrl, final DelegatedClientFactory clientFactory,
+                                   final long maximumSize, final Duration refreshInterval,
+                                   final MeterRegistry meterRegistry) {
+        super(callbackUrl, buildClients(clientFactory, meterRegistry));
+        this.clientFactory = clientFactory;
+        this.meterRegistry = meterRegistry;
+        this.initializedClients = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .refreshAfterWrite(refreshInterval.toMillis(), TimeUnit.MILLISECONDS)
+            .build(this::initializeClient);
+        Gauge.builder(METRIC_INITIALIZED, this.initializedClients, LoadingCache::estimatedSize).register(meterRegistry);
+    }
+
+    private static List<Client> buildClients(final DelegatedClientFactory clientFactory, final MeterRegistry meterRegistry) {
+        final var startTime = System.nanoTime();
+        final List<Client> clients = new ArrayList<>(clientFactory.build());
+        final var duration = System.nanoTime() - startTime;
+        Timer.builder(METRIC_BUILD).register(meterRegistry).record(duration, TimeUnit.NANOSECONDS);
+        LOGGER.debug("Built [{}] delegated client definition(s) in [{}] ms", clients.size(), TimeUnit.NANOSECONDS.toMillis(duration));
+        return clients;
+    }
+
+    @Override
+    public Client findClient(final String name) {
+        final var definition = super.findClient(name);
+        return this.initializedClients.get(definition.getName());
+    }
+
+    @Override
+    public <C extends Client> C findClient(final Class<C> clazz) {
+        final var definition = super.findClient(clazz);
+        if (definition == null) {
+            return null;
+        }
+        return clazz.cast(this.initializedClients.get(definition.getName()));
+    }
+
+    /**
+     * Number of initialized clients held in the cache.
+     *
+     * @return the count
+     */
+    public long getInitializedClientCount() {
+        this.initializedClients.cleanUp();
+        return this.initializedClients.estimatedSize();
+    }
+
+    private Client initializeClient(final String name) {
+        final var startTime = System.nanoTime();
+        final var client = getUninitializedClient(name);
+        if (client instanceof IndirectClient) {
+            updateIndirectClient((IndirectClient) client);
+        }
+        if (!getAuthorizationGenerators().isEmpty()) {
+            client.addAuthorizationGenerators(getAuthorizationGenerators());
+        }
+        client.init();
+        final var duration = System.nanoTime() - startTime;
+        Timer.builder(METRIC_INITIALIZATION)
+            .tag("client", name)
+            .register(this.meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        LOGGER.debug("Initialized delegated client [{}] in [{}] ms", name, TimeUnit.NANOSECONDS.toMillis(duration));
+        return client;
+    }
+
+    private BaseClient getUninitializedClient(final String name) {
+        final var client = this.uninitializedClients.remove(name.toLowerCase());
+        if (client != null) {
+            return client;
+        }
+        return buildUninitializedClients(name);
+    }
+
+    /**
+     * Build all configured clients, keeping the clients other than the requested one for later lookups.
+     */
+    private synchronized BaseClient buildUninitializedClients(final String name) {
+        final var pending = this.uninitializedClients.remove(name.toLowerCase());
+        if (pending != null) {
+            return pending;
+        }
+        LOGGER.debug("Building delegated clients to initialize [{}]", name);
+        BaseClient client = null;
+        for (final var c : this.clientFactory.build()) {
+            if (c.getName().equalsIgnoreCase(name)) {
+                client = c;
+            } else {
+                this.uninitializedClients.putIfAbsent(c.getName().toLowerCase(), c);
+            }
+        }
+        if (client == null) {
+            throw new IllegalArgumentException("No delegated client is configured with the name " + name);
+        }
+        return client;
+    }
+}
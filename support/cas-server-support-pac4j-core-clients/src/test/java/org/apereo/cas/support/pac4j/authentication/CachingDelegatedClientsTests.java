@@ -0,0 +1,106 @@
+package org.apereo.cas.support.pac4j.authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.configuration.model.support.pac4j.Pac4jCasClientProperties;
+import org.apereo.cas.configuration.model.support.pac4j.Pac4jDelegatedAuthenticationProperties;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.pac4j.cas.client.CasClient;
+import org.pac4j.cas.config.CasProtocol;
+import org.pac4j.core.client.BaseClient;
+import org.pac4j.core.exception.TechnicalException;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CachingDelegatedClientsTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CachingDelegatedClientsTests {
+    private static final String CALLBACK_URL = "https://sso.example.org/cas/login";
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DelegatedClientFactory factory;
+
+    @Before
+    public void initialize() {
+        this.factory = new DelegatedClientFactory(newProperties());
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void verifyClientsAreInitializedOnFirstUse() {
+        final var clients = new CachingDelegatedClients(CALLBACK_URL, factory, 10, Duration.ofHours(1), meterRegistry);
+        assertEquals(2, clients.findAllClients().size());
+        assertEquals(0, clients.getInitializedClientCount());
+        assertEquals(1, meterRegistry.get(CachingDelegatedClients.METRIC_BUILD).timer().count());
+
+        final var client = (CasClient) clients.findClient("CasServer1");
+        assertNotNull(client);
+        assertFalse(clients.findAllClients().contains(client));
+        assertSame(client, clients.findClient("casserver1"));
+        assertEquals(CALLBACK_URL, client.getCallbackUrl());
+        assertEquals(1, clients.getInitializedClientCount());
+        assertEquals(1, meterRegistry.get(CachingDelegatedClients.METRIC_INITIALIZATION).tag("client", "CasServer1").timer().count());
+
+        assertSame(client, clients.findClient(CasClient.class));
+    }
+
+    @Test
+    public void verifyCacheIsBounded() {
+        final var clients = new CachingDelegatedClients(CALLBACK_URL, factory, 1, Duration.ofHours(1), meterRegistry);
+        assertNotNull(clients.findClient("CasServer1"));
+        assertNotNull(clients.findClient("CasServer2"));
+        assertEquals(1, clients.getInitializedClientCount());
+    }
+
+    @Test
+    public void verifyClientsAreNotRebuiltForEachInitialization() {
+        final var builds = new AtomicInteger();
+        final var countingFactory = new DelegatedClientFactory(newProperties()) {
+            @Override
+            public Set<BaseClient> build() {
+                builds.incrementAndGet();
+                return super.build();
+            }
+        };
+        final var clients = new CachingDelegatedClients(CALLBACK_URL, countingFactory, 10, Duration.ofHours(1), meterRegistry);
+        assertNotNull(clients.findClient("CasServer1"));
+        assertNotNull(clients.findClient("CasServer2"));
+        assertEquals(2, clients.getInitializedClientCount());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void verifyUnknownClient() {
+        thrown.expect(TechnicalException.class);
+        new CachingDelegatedClients(CALLBACK_URL, factory, 10, Duration.ofHours(1), meterRegistry).findClient("Unknown");
+    }
+
+    private static Pac4jDelegatedAuthenticationProperties newProperties() {
+        final var props = new Pac4jDelegatedAuthenticationProperties();
+        props.getCas().add(newCasClientProperties("CasServer1"));
+        props.getCas().add(newCasClientProperties("CasServer2"));
+        return props;
+    }
+
+    private static Pac4jCasClientProperties newCasClientProperties(final String name) {
+        final var cas = new Pac4jCasClientProperties();
+        cas.setLoginUrl("https://" + name.toLowerCase() + ".example.org/cas/login");
+        cas.setProtocol(CasProtocol.CAS20.name());
+        cas.setClientName(name);
+        return cas;
+    }
+}
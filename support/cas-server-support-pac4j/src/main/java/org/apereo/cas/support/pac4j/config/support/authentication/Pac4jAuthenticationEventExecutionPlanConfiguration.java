@@ -1,6 +1,7 @@
 
 package org.apereo.cas.support.pac4j.config.support.authentication;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
@@ -12,7 +13,9 @@ import org.apereo.cas.authentication.principal.PrincipalFactory;
 import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.PrincipalResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.support.pac4j.authentication.CachingDelegatedClients;
 import org.apereo.cas.support.pac4j.authentication.ClientAuthenticationMetaDataPopulator;
 import org.apereo.cas.support.pac4j.authentication.DelegatedClientFactory;
 import org.apereo.cas.support.pac4j.authentication.handler.support.ClientAuthenticationHandler;
@@ -65,6 +68,13 @@ public class Pac4jAuthenticationEventExecutionPlanConfiguration implements Audit
     @RefreshScope
     @Bean
     public Clients builtClients() {
+        final var cache = casProperties.getAuthn().getPac4j().getCache();
+        if (cache.isEnabled()) {
+            final var clients = new CachingDelegatedClients(casProperties.getServer().getLoginUrl(), pac4jDelegatedClientFactory(),
+                cache.getMaximumSize(), Beans.newDuration(cache.getRefreshInterval()), Metrics.globalRegistry);
+            LOGGER.info("Located [{}] delegated authentication client(s), to be initialized on first use", clients.getClients().size());
+            return clients;
+        }
         final var clients = pac4jDelegatedClientFactory().build();
         LOGGER.debug("The following clients are built: [{}]", clients);
         if (clients.isEmpty()) {
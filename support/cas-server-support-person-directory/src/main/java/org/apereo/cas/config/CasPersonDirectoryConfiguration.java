@@ -11,6 +11,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.JpaBeans;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
 import org.apereo.cas.util.CollectionUtils;
@@ -326,7 +327,7 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
     @Bean
     @ConditionalOnMissingBean(name = "aggregatingAttributeRepository")
     public IPersonAttributeDao aggregatingAttributeRepository() {
-        final var mergingDao = new MergingPersonAttributeDaoImpl();
+        final var mergingDao = newMergingPersonAttributeDao();
         final var merger = StringUtils.defaultIfBlank(casProperties.getAuthn().getAttributeRepository().getMerger(), "replace".trim());
         LOGGER.debug("Configured merging strategy for attribute sources is [{}]", merger);
         mergingDao.setMerger(getAttributeMerger(merger));
@@ -343,6 +344,17 @@ public class CasPersonDirectoryConfiguration implements PersonDirectoryAttribute
         return mergingDao;
     }
 
+    private MergingPersonAttributeDaoImpl newMergingPersonAttributeDao() {
+        final var parallel = casProperties.getAuthn().getAttributeRepository().getParallel();
+        if (parallel.isEnabled()) {
+            LOGGER.debug("Attribute repository sources will be queried in parallel, waiting up to [{}] for each source", parallel.getTimeout());
+            return new ParallelMergingPersonAttributeDao(parallel.getThreads(), parallel.getQueueCapacity(),
+                Beans.newDuration(parallel.getTimeout()), parallel.getFailureThreshold(),
+                Beans.newDuration(parallel.getCircuitOpenDuration()));
+        }
+        return new MergingPersonAttributeDaoImpl();
+    }
+
     private IAttributeMerger getAttributeMerger(final String merger) {
         switch (merger.toLowerCase()) {
             case "merge":
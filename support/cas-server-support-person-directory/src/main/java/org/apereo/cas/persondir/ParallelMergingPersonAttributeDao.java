@@ -0,0 +1,284 @@
+package org.apereo.cas.persondir;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.MergingPersonAttributeDaoImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao}. It queries all attribute repository sources concurrently
+ * instead of one after the other, so that the time it takes to resolve attributes is bound by the slowest source
+ * rather than the sum of all sources.
+ * <p>
+ * Each source is given a fixed amount of time to respond, counted from the moment its query starts executing.
+ * Queries wait in a bounded queue for a thread; a query that cannot be queued or that does not start executing
+ * within the same amount of time is skipped as well, without counting against the health of the source.
+ * Sources that fail or do not respond in time are skipped
+ * and the attributes found by the remaining sources are returned; if a failure is not recovered from, the queries
+ * still in flight are cancelled before the failure is reported. A source that keeps failing is no longer queried
+ * until a cool-down period has passed, after which a single query is let through to find out whether the source
+ * has recovered. Results are always merged in the order in which sources are defined, regardless of the order
+ * in which they complete, so the outcome of the configured merging strategy stays the same.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@Getter
+public class ParallelMergingPersonAttributeDao extends MergingPersonAttributeDaoImpl implements AutoCloseable {
+    /**
+     * Metric recording the time it takes each source to respond, tagged by source.
+     */
+    public static final String METRIC_SOURCE_LATENCY = "cas.person.directory.source.latency";
+
+    /**
+     * Metric counting sources that were skipped, tagged by source and reason.
+     */
+    public static final String METRIC_SOURCE_SKIPPED = "cas.person.directory.source.skipped";
+
+    private final ExecutorService executorService;
+
+    private final Duration timeout;
+
+    private final int failureThreshold;
+
+    private final Duration circuitOpenDuration;
+
+    private final Map<IPersonAttributeDao, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Setter
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public ParallelMergingPersonAttributeDao(final int threads, final int queueCapacity, final Duration timeout,
+                                             final int failureThreshold, final Duration circuitOpenDuration) {
+        this(new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity)),
+            timeout, failureThreshold, circuitOpenDuration);
+    }
+
+    public ParallelMergingPersonAttributeDao(final ExecutorService executorService, final Duration timeout,
+                                             final int failureThreshold, final Duration circuitOpenDuration) {
+        this.executorService = executorService;
+        this.timeout = timeout;
+        this.failureThreshold = failureThreshold;
+        this.circuitOpenDuration = circuitOpenDuration;
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+        if (this.stopOnSuccess) {
+            return super.getPeopleWithMultivaluedAttributes(query);
+        }
+
+        final List<SourceQuery> queries = new ArrayList<>(this.personAttributeDaos.size());
+        for (final var dao : this.personAttributeDaos) {
+            queries.add(submit(dao, query));
+        }
+
+        Set<IPersonAttributes> resultPeople = null;
+        try {
+            for (var i = 0; i < queries.size(); i++) {
+                final var dao = this.personAttributeDaos.get(i);
+                final var people = awaitResult(dao, queries.get(i));
+                if (people == null) {
+                    continue;
+                }
+                if (resultPeople == null) {
+                    resultPeople = new LinkedHashSet<>(people);
+                } else {
+                    resultPeople = this.attrMerger.mergeResults(resultPeople, people);
+                }
+            }
+        } finally {
+            cancel(queries);
+        }
+        if (resultPeople == null || resultPeople.isEmpty()) {
+            return null;
+        }
+        return resultPeople;
+    }
+
+    @Override
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    private SourceQuery submit(final IPersonAttributeDao dao, final Map<String, List<Object>> query) {
+        final var circuitBreaker = getCircuitBreaker(dao);
+        if (!circuitBreaker.allowRequest()) {
+            LOGGER.debug("Skipping attribute repository source [{}] since it has failed repeatedly", dao);
+            countSkipped(dao, "circuit-open");
+            return null;
+        }
+        final var timer = Timer.builder(METRIC_SOURCE_LATENCY)
+            .tag("source", getSourceName(dao))
+            .publishPercentileHistogram()
+            .register(this.meterRegistry);
+        final var sourceQuery = new SourceQuery(System.nanoTime());
+        try {
+            sourceQuery.future = this.executorService.submit(() -> {
+                sourceQuery.start();
+                return timer.recordCallable(() -> dao.getPeopleWithMultivaluedAttributes(query));
+            });
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Skipping attribute repository source [{}] since no thread is available to query it", dao);
+            countSkipped(dao, "saturated");
+            return null;
+        }
+        return sourceQuery;
+    }
+
+    /**
+     * Cancel queries that are still in flight, once their results can no longer be used.
+     * Queries that have already completed are not affected.
+     *
+     * @param queries the pending queries
+     */
+    private static void cancel(final List<SourceQuery> queries) {
+        queries.stream().filter(Objects::nonNull).forEach(query -> query.future.cancel(true));
+    }
+
+    private Set<IPersonAttributes> awaitResult(final IPersonAttributeDao dao, final SourceQuery query) {
+        if (query == null) {
+            return null;
+        }
+        final var future = query.future;
+        final var circuitBreaker = getCircuitBreaker(dao);
+        try {
+            if (!query.awaitStart(this.timeout) && future.cancel(true)) {
+                LOGGER.warn("Attribute repository source [{}] could not be queried within [{}] since all threads are busy", dao, this.timeout);
+                countSkipped(dao, "saturated");
+                return null;
+            }
+            final var people = future.get(query.getRemainingNanos(this.timeout), TimeUnit.NANOSECONDS);
+            circuitBreaker.recordSuccess();
+            return people;
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Attribute repository source [{}] did not respond within [{}]", dao, this.timeout);
+            future.cancel(true);
+            circuitBreaker.recordFailure();
+            countSkipped(dao, "timeout");
+        } catch (final ExecutionException e) {
+            LOGGER.warn("Attribute repository source [{}] failed to retrieve attributes: [{}]", dao, e.getCause().getMessage());
+            LOGGER.debug(e.getMessage(), e.getCause());
+            circuitBreaker.recordFailure();
+            countSkipped(dao, "failure");
+            if (!this.recoverExceptions && e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            countSkipped(dao, "interrupted");
+        }
+        return null;
+    }
+
+    private CircuitBreaker getCircuitBreaker(final IPersonAttributeDao dao) {
+        return this.circuitBreakers.computeIfAbsent(dao, k -> new CircuitBreaker(this.failureThreshold, this.circuitOpenDuration));
+    }
+
+    private void countSkipped(final IPersonAttributeDao dao, final String reason) {
+        Counter.builder(METRIC_SOURCE_SKIPPED)
+            .tag("source", getSourceName(dao))
+            .tag("reason", reason)
+            .register(this.meterRegistry)
+            .increment();
+    }
+
+    private String getSourceName(final IPersonAttributeDao dao) {
+        return dao.getClass().getSimpleName() + '-' + this.personAttributeDaos.indexOf(dao);
+    }
+
+    /**
+     * A query submitted to a single source, which keeps track of when the query started executing
+     * so that the time the source is given to respond does not include the time spent waiting for a thread.
+     */
+    @RequiredArgsConstructor
+    private static class SourceQuery {
+        private final long submittedAt;
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private volatile long startedAt;
+
+        private Future<Set<IPersonAttributes>> future;
+
+        void start() {
+            this.startedAt = System.nanoTime();
+            this.started.countDown();
+        }
+
+        boolean awaitStart(final Duration timeout) throws InterruptedException {
+            final var remaining = this.submittedAt + timeout.toNanos() - System.nanoTime();
+            return this.started.await(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        }
+
+        long getRemainingNanos(final Duration timeout) {
+            return Math.max(0, this.startedAt + timeout.toNanos() - System.nanoTime());
+        }
+    }
+
+    /**
+     * Tracks consecutive failures of a single source. Once the failure threshold is reached, the circuit opens
+     * and the source is skipped until the open duration has passed; the next query is then let through
+     * and decides whether the circuit closes again.
+     */
+    @RequiredArgsConstructor
+    private static class CircuitBreaker {
+        private final int failureThreshold;
+
+        private final Duration openDuration;
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        private volatile long openedAt;
+
+        boolean allowRequest() {
+            if (this.failureThreshold <= 0 || this.consecutiveFailures.get() < this.failureThreshold) {
+                return true;
+            }
+            final var now = System.nanoTime();
+            if (now - this.openedAt >= this.openDuration.toNanos()) {
+                this.openedAt = now;
+                return true;
+            }
+            return false;
+        }
+
+        void recordSuccess() {
+            this.consecutiveFailures.set(0);
+        }
+
+        void recordFailure() {
+            if (this.consecutiveFailures.incrementAndGet() == this.failureThreshold) {
+                this.openedAt = System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.apereo.cas.persondir;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.ReplacingAttributeAdder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class ParallelMergingPersonAttributeDaoTests {
+    private SimpleMeterRegistry meterRegistry;
+
+    private ParallelMergingPersonAttributeDao dao;
+
+    @Before
+    public void initialize() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.dao = newParallelMergingPersonAttributeDao(4, 100, Duration.ofMillis(500));
+    }
+
+    @After
+    public void shutdown() {
+        this.dao.close();
+    }
+
+    @Test
+    public void verifyResultsAreMergedInOrder() {
+        this.dao.setPersonAttributeDaos(List.of(
+            new DelayedPersonAttributeDao(200, Map.of("uid", List.of("casuser"), "name", List.of("first"))),
+            newPersonAttributeDao(Map.of("uid", List.of("casuser"), "name", List.of("second"), "mail", List.of("cas@example.org")))));
+        final var person = this.dao.getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("second", person.getAttributeValue("name"));
+        assertEquals("cas@example.org", person.getAttributeValue("mail"));
+        assertEquals(2, this.meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_SOURCE_LATENCY).timers().size());
+    }
+
+    @Test
+    public void verifySlowSourceIsSkipped() {
+        this.dao.setPersonAttributeDaos(List.of(
+            newPersonAttributeDao(Map.of("uid", List.of("casuser"), "name", List.of("first"))),
+            new DelayedPersonAttributeDao(5_000, Map.of("uid", List.of("casuser"), "mail", List.of("cas@example.org")))));
+        final var person = this.dao.getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("first", person.getAttributeValue("name"));
+        assertNull(person.getAttributeValue("mail"));
+        assertEquals(1, this.meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_SOURCE_SKIPPED)
+            .tag("reason", "timeout").counter().count(), 0);
+    }
+
+    @Test
+    public void verifyFailingSourceOpensCircuit() {
+        final var failing = new FailingPersonAttributeDao();
+        this.dao.setPersonAttributeDaos(List.of(failing,
+            newPersonAttributeDao(Map.of("uid", List.of("casuser"), "name", List.of("casuser")))));
+        for (var i = 0; i < 4; i++) {
+            final var person = this.dao.getPerson("casuser");
+            assertNotNull(person);
+            assertEquals("casuser", person.getAttributeValue("name"));
+        }
+        assertEquals(2, failing.getInvocations());
+        assertEquals(2, this.meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_SOURCE_SKIPPED)
+            .tag("reason", "circuit-open").counter().count(), 0);
+    }
+
+    @Test
+    public void verifyInFlightSourcesAreCancelledOnFailure() throws Exception {
+        final var slow = new DelayedPersonAttributeDao(5_000, Map.of("uid", List.of("casuser")));
+        final var failing = new FailingPersonAttributeDao(slow.getStarted());
+        this.dao.setRecoverExceptions(false);
+        this.dao.setPersonAttributeDaos(List.of(failing, slow));
+        try {
+            this.dao.getPerson("casuser");
+            fail("Expected the source failure to be reported");
+        } catch (final IllegalStateException e) {
+            assertTrue(slow.getInterrupted().await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void verifyTimeoutStartsWhenQueryStarts() {
+        this.dao.close();
+        this.dao = newParallelMergingPersonAttributeDao(1, 100, Duration.ofMillis(300));
+        this.dao.setPersonAttributeDaos(List.of(
+            new DelayedPersonAttributeDao(200, Map.of("uid", List.of("casuser"), "name", List.of("first"))),
+            new DelayedPersonAttributeDao(200, Map.of("uid", List.of("casuser"), "mail", List.of("cas@example.org")))));
+        final var person = this.dao.getPerson("casuser");
+        assertNotNull(person);
+        assertEquals("first", person.getAttributeValue("name"));
+        assertEquals("cas@example.org", person.getAttributeValue("mail"));
+        assertTrue(this.meterRegistry.find(ParallelMergingPersonAttributeDao.METRIC_SOURCE_SKIPPED).counters().isEmpty());
+    }
+
+    @Test
+    public void verifyQueriesThatNeverStartAreSkippedAsSaturated() {
+        this.dao.close();
+        this.dao = newParallelMergingPersonAttributeDao(1, 1, Duration.ofMillis(200));
+        final var queued = new FailingPersonAttributeDao();
+        final var rejected = new FailingPersonAttributeDao();
+        this.dao.setPersonAttributeDaos(List.of(new BusyPersonAttributeDao(600), queued, rejected));
+        assertNull(this.dao.getPerson("casuser"));
+        assertEquals(0, queued.getInvocations());
+        assertEquals(0, rejected.getInvocations());
+        assertEquals(2, this.meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_SOURCE_SKIPPED)
+            .tag("reason", "saturated").counters().stream().mapToDouble(Counter::count).sum(), 0);
+        assertEquals(1, this.meterRegistry.get(ParallelMergingPersonAttributeDao.METRIC_SOURCE_SKIPPED)
+            .tag("reason", "timeout").counter().count(), 0);
+    }
+
+    private ParallelMergingPersonAttributeDao newParallelMergingPersonAttributeDao(final int threads, final int queueCapacity,
+                                                                                   final Duration timeout) {
+        final var parallelDao = new ParallelMergingPersonAttributeDao(threads, queueCapacity, timeout, 2, Duration.ofHours(1));
+        parallelDao.setMeterRegistry(this.meterRegistry);
+        parallelDao.setMerger(new ReplacingAttributeAdder());
+        return parallelDao;
+    }
+
+    private static IPersonAttributeDao newPersonAttributeDao(final Map<String, List<Object>> attributes) {
+        return new StubPersonAttributeDao(attributes);
+    }
+
+    private static class DelayedPersonAttributeDao extends StubPersonAttributeDao {
+        private final long delay;
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        DelayedPersonAttributeDao(final long delay, final Map<String, List<Object>> attributes) {
+            super(attributes);
+            this.delay = delay;
+        }
+
+        CountDownLatch getStarted() {
+            return this.started;
+        }
+
+        CountDownLatch getInterrupted() {
+            return this.interrupted;
+        }
+
+        @Override
+        public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+            this.started.countDown();
+            try {
+                Thread.sleep(this.delay);
+            } catch (final InterruptedException e) {
+                this.interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return super.getPeopleWithMultivaluedAttributes(query);
+        }
+    }
+
+    private static class BusyPersonAttributeDao extends StubPersonAttributeDao {
+        private final long duration;
+
+        BusyPersonAttributeDao(final long duration) {
+            super(Map.of("uid", List.of("casuser")));
+            this.duration = duration;
+        }
+
+        @Override
+        public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+            final var end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.duration);
+            var interrupted = false;
+            while (System.nanoTime() < end) {
+                LockSupport.parkNanos(end - System.nanoTime());
+                interrupted |= Thread.interrupted();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getPeopleWithMultivaluedAttributes(query);
+        }
+    }
+
+    private static class FailingPersonAttributeDao extends StubPersonAttributeDao {
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private final CountDownLatch failAfter;
+
+        FailingPersonAttributeDao() {
+            this(new CountDownLatch(0));
+        }
+
+        FailingPersonAttributeDao(final CountDownLatch failAfter) {
+            super(Map.of("uid", List.of("casuser")));
+            this.failAfter = failAfter;
+        }
+
+        int getInvocations() {
+            return this.invocations.get();
+        }
+
+        @Override
+        public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query) {
+            this.invocations.incrementAndGet();
+            try {
+                this.failAfter.await(1, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("Source is unavailable");
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.pm.LdapPasswordManagementService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.pm.PasswordManagementService;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -29,11 +30,16 @@ public class LdapPasswordManagementConfiguration {
     @Qualifier("passwordManagementCipherExecutor")
     private CipherExecutor passwordManagementCipherExecutor;
 
+    @Autowired
+    @Qualifier("ldapConnectionFactoryRegistry")
+    private LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry;
+
     @RefreshScope
     @Bean
     public PasswordManagementService passwordChangeService() {
         return new LdapPasswordManagementService(passwordManagementCipherExecutor,
                 casProperties.getServer().getPrefix(),
-                casProperties.getAuthn().getPm());
+                casProperties.getAuthn().getPm(),
+                ldapConnectionFactoryRegistry);
     }
 }
@@ -9,6 +9,7 @@ import org.apereo.cas.authentication.UsernamePasswordCredential;
 import org.apereo.cas.configuration.model.support.pm.PasswordManagementProperties;
 
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.apereo.cas.util.LdapUtils;
 import org.ldaptive.ConnectionFactory;
 
@@ -24,10 +25,14 @@ import java.util.Map;
  */
 @Slf4j
 public class LdapPasswordManagementService extends BasePasswordManagementService {
+    private final LdapConnectionFactoryRegistry connectionFactoryRegistry;
+
     public LdapPasswordManagementService(final CipherExecutor<Serializable, String> cipherExecutor,
                                          final String issuer,
-                                         final PasswordManagementProperties passwordManagementProperties) {
+                                         final PasswordManagementProperties passwordManagementProperties,
+                                         final LdapConnectionFactoryRegistry connectionFactoryRegistry) {
         super(passwordManagementProperties, cipherExecutor, issuer);
+        this.connectionFactoryRegistry = connectionFactoryRegistry;
     }
 
     @Override
@@ -39,7 +44,7 @@ public class LdapPasswordManagementService extends BasePasswordManagementService
                 CollectionUtils.wrap(username));
             LOGGER.debug("Constructed LDAP filter [{}] to locate account email", filter);
 
-            final ConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+            final ConnectionFactory factory = this.connectionFactoryRegistry.getPooledConnectionFactory(ldap);
             final var response = LdapUtils.executeSearchOperation(factory, ldap.getBaseDn(), filter);
             LOGGER.debug("LDAP response to locate account email is [{}]", response);
 
@@ -81,7 +86,7 @@ public class LdapPasswordManagementService extends BasePasswordManagementService
                 CollectionUtils.wrap(c.getId()));
             LOGGER.debug("Constructed LDAP filter [{}] to update account password", filter);
 
-            final ConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+            final ConnectionFactory factory = this.connectionFactoryRegistry.getPooledConnectionFactory(ldap);
             final var response = LdapUtils.executeSearchOperation(factory, ldap.getBaseDn(), filter);
             LOGGER.debug("LDAP response to update password is [{}]", response);
 
@@ -113,7 +118,7 @@ public class LdapPasswordManagementService extends BasePasswordManagementService
                 CollectionUtils.wrap(username));
             LOGGER.debug("Constructed LDAP filter [{}] to locate security questions", filter);
 
-            final ConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(ldap);
+            final ConnectionFactory factory = this.connectionFactoryRegistry.getPooledConnectionFactory(ldap);
             final var response = LdapUtils.executeSearchOperation(factory, ldap.getBaseDn(), filter);
             LOGGER.debug("LDAP response for security questions [{}]", response);
 
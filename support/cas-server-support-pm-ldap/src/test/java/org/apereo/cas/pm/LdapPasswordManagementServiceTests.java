@@ -7,6 +7,7 @@ import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.UsernamePasswordCredential;
 import org.apereo.cas.category.LdapCategory;
 import org.apereo.cas.config.CasCoreUtilConfiguration;
+import org.apereo.cas.config.CasLdapCoreConfiguration;
 import org.apereo.cas.config.LdapPasswordManagementConfiguration;
 import org.apereo.cas.pm.config.PasswordManagementConfiguration;
 import org.apereo.cas.util.junit.ConditionalIgnore;
@@ -44,6 +45,7 @@ import static org.junit.Assert.*;
 @Category(LdapCategory.class)
 @SpringBootTest(classes = {
     RefreshAutoConfiguration.class,
+    CasLdapCoreConfiguration.class,
     LdapPasswordManagementConfiguration.class,
     PasswordManagementConfiguration.class,
     CasCoreAuditConfiguration.class,
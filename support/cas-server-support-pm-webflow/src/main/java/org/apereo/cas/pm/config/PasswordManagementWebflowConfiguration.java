@@ -105,7 +105,7 @@ public class PasswordManagementWebflowConfiguration implements CasWebflowExecuti
     @RefreshScope
     @Bean
     public Action passwordChangeAction() {
-        return new PasswordChangeAction(passwordManagementService, passwordValidationService);
+        return new PasswordChangeAction(passwordManagementService, passwordValidationService, applicationContext);
     }
 
     @ConditionalOnMissingBean(name = "sendPasswordResetInstructionsAction")
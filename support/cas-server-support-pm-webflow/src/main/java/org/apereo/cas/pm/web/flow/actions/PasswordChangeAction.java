@@ -9,8 +9,10 @@ import org.apereo.cas.pm.PasswordChangeBean;
 import org.apereo.cas.pm.PasswordManagementService;
 import org.apereo.cas.pm.PasswordValidationService;
 import org.apereo.cas.pm.web.flow.PasswordManagementWebflowConfigurer;
+import org.apereo.cas.support.events.authentication.CasPasswordChangedEvent;
 import org.apereo.cas.web.support.WebUtils;
 import org.springframework.binding.message.MessageBuilder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.webflow.action.AbstractAction;
 import org.springframework.webflow.action.EventFactorySupport;
 import org.springframework.webflow.execution.Event;
@@ -39,6 +41,7 @@ public class PasswordChangeAction extends AbstractAction {
 
     private final PasswordManagementService passwordManagementService;
     private final PasswordValidationService passwordValidationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     protected Event doExecute(final RequestContext requestContext) {
@@ -51,6 +54,7 @@ public class PasswordChangeAction extends AbstractAction {
                 return getErrorEvent(requestContext, PASSWORD_VALIDATION_FAILURE_CODE, DEFAULT_MESSAGE);
             }
             if (passwordManagementService.change(c, bean)) {
+                eventPublisher.publishEvent(new CasPasswordChangedEvent(this, c.getUsername()));
                 WebUtils.putCredential(requestContext, new UsernamePasswordCredential(c.getUsername(), bean.getPassword()));
                 return new EventFactorySupport().event(this, PASSWORD_UPDATE_SUCCESS);
             }
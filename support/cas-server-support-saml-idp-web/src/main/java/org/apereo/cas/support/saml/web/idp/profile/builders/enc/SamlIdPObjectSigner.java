@@ -1,12 +1,16 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPResponseProperties;
 import org.apereo.cas.support.saml.SamlException;
@@ -44,13 +48,17 @@ import org.opensaml.xmlsec.config.DefaultSecurityConfigurationBootstrap;
 import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.opensaml.xmlsec.criterion.SignatureSigningConfigurationCriterion;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.security.PrivateKey;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This is {@link SamlIdPObjectSigner}.
@@ -61,6 +69,10 @@ import java.util.Set;
 @Slf4j
 @RequiredArgsConstructor
 public class SamlIdPObjectSigner {
+    private static final long CACHE_MAXIMUM_SIZE = 1_000;
+
+    private static final long CACHE_EXPIRATION_HOURS = 1;
+
     /**
      * The Override signature reference digest methods.
      */
@@ -87,6 +99,26 @@ public class SamlIdPObjectSigner {
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    /**
+     * Signing configurations keyed by credential type and the state of the IdP key material.
+     */
+    private final Cache<String, SignatureSigningConfiguration> signingConfigurations = Caffeine.newBuilder()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .expireAfterAccess(CACHE_EXPIRATION_HOURS, TimeUnit.HOURS)
+        .build();
+
+    /**
+     * Signing parameters keyed by the identity of the service provider role descriptor.
+     * Descriptors are replaced once SP metadata is reloaded, which naturally invalidates the entry.
+     */
+    private final Cache<RoleDescriptor, Pair<String, SignatureSigningParameters>> signingParameters = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .expireAfterAccess(CACHE_EXPIRATION_HOURS, TimeUnit.HOURS)
+        .build();
+
+    private final AtomicReference<CachedPrivateKey> signingPrivateKey = new AtomicReference<>();
+
     /**
      * Encode a given saml object by invoking a number of outbound security handlers on the context.
      *
@@ -213,6 +245,12 @@ public class SamlIdPObjectSigner {
     @SneakyThrows
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
                                                                          final SamlRegisteredService service) {
+        final var configurationKey = getSignatureSigningConfigurationKey(service);
+        final var cached = this.signingParameters.getIfPresent(descriptor);
+        if (cached != null && cached.getKey().equals(configurationKey)) {
+            LOGGER.trace("Using cached signature signing parameters for [{}]", service.getServiceId());
+            return cached.getValue();
+        }
         final var criteria = new CriteriaSet();
         final var signatureSigningConfiguration = getSignatureSigningConfiguration(descriptor, service);
         criteria.add(new SignatureSigningConfigurationCriterion(signatureSigningConfiguration));
@@ -229,12 +267,14 @@ public class SamlIdPObjectSigner {
             params.getSignatureCanonicalizationAlgorithm(),
             params.getSignatureReferenceDigestMethod());
 
+        this.signingParameters.put(descriptor, Pair.of(configurationKey, params));
         return params;
 
     }
 
     /**
      * Gets signature signing configuration.
+     * Configurations are cached and rebuilt once the IdP signing key, certificate or metadata change.
      *
      * @param roleDescriptor the role descriptor
      * @param service        the service
@@ -243,6 +283,29 @@ public class SamlIdPObjectSigner {
      */
     protected SignatureSigningConfiguration getSignatureSigningConfiguration(final RoleDescriptor roleDescriptor,
                                                                              final SamlRegisteredService service) throws Exception {
+        final var key = getSignatureSigningConfigurationKey(service);
+        return this.signingConfigurations.get(key, k -> {
+            LOGGER.debug("Building signature signing configuration for [{}]", k);
+            return buildSignatureSigningConfigurationInternal(roleDescriptor, service);
+        });
+    }
+
+    @SneakyThrows
+    private SignatureSigningConfiguration buildSignatureSigningConfigurationInternal(final RoleDescriptor roleDescriptor,
+                                                                                   final SamlRegisteredService service) {
+        return buildSignatureSigningConfiguration(roleDescriptor, service);
+    }
+
+    /**
+     * Build signature signing configuration.
+     *
+     * @param roleDescriptor the role descriptor
+     * @param service        the service
+     * @return the signature signing configuration
+     * @throws Exception the exception
+     */
+    protected SignatureSigningConfiguration buildSignatureSigningConfiguration(final RoleDescriptor roleDescriptor,
+                                                                               final SamlRegisteredService service) throws Exception {
         final var config =
             DefaultSecurityConfigurationBootstrap.buildDefaultSignatureSigningConfiguration();
         final var samlIdp = casProperties.getAuthn().getSamlIdp();
@@ -305,11 +368,8 @@ public class SamlIdPObjectSigner {
 
     private AbstractCredential getResolvedSigningCredential(final Credential c, final PrivateKey privateKey,
                                                             final SamlRegisteredService service) {
-        final var samlIdp = casProperties.getAuthn().getSamlIdp();
-
         try {
-            final var credType = SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
-                StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+            final var credType = getSignatureCredentialType(service);
             LOGGER.debug("Requested credential type [{}] is found for service [{}]", credType, service);
 
             switch (credType) {
@@ -341,8 +401,26 @@ public class SamlIdPObjectSigner {
      * @throws Exception the exception
      */
     protected PrivateKey getSigningPrivateKey() throws Exception {
-        final var samlIdp = casProperties.getAuthn().getSamlIdp();
         final var signingKey = samlIdPMetadataLocator.getSigningKey();
+        final var fingerprint = getResourceFingerprint(signingKey);
+        final var cached = this.signingPrivateKey.get();
+        if (cached != null && cached.getFingerprint().equals(fingerprint)) {
+            return cached.getPrivateKey();
+        }
+        final var privateKey = readSigningPrivateKey(signingKey);
+        this.signingPrivateKey.set(new CachedPrivateKey(fingerprint, privateKey));
+        return privateKey;
+    }
+
+    /**
+     * Read and parse the signing private key.
+     *
+     * @param signingKey the signing key
+     * @return the private key
+     * @throws Exception the exception
+     */
+    protected PrivateKey readSigningPrivateKey(final Resource signingKey) throws Exception {
+        final var samlIdp = casProperties.getAuthn().getSamlIdp();
         final var privateKeyFactoryBean = new PrivateKeyFactoryBean();
         privateKeyFactoryBean.setLocation(new FileSystemResource(signingKey.getFile()));
         privateKeyFactoryBean.setAlgorithm(samlIdp.getMetadata().getPrivateKeyAlgName());
@@ -350,4 +428,48 @@ public class SamlIdPObjectSigner {
         LOGGER.debug("Locating signature signing key file from [{}]", signingKey);
         return privateKeyFactoryBean.getObject();
     }
+
+    /**
+     * Gets the key of the signature signing configuration that applies to the service.
+     * The key changes once the IdP signing key, certificate or metadata are modified.
+     *
+     * @param service the service
+     * @return the configuration key
+     */
+    protected String getSignatureSigningConfigurationKey(final SamlRegisteredService service) {
+        final var samlIdp = casProperties.getAuthn().getSamlIdp();
+        return StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase()
+            + '|' + getResourceFingerprint(samlIdPMetadataLocator.getSigningKey())
+            + '|' + getResourceFingerprint(samlIdPMetadataLocator.getSigningCertificate())
+            + '|' + getResourceFingerprint(samlIdPMetadataLocator.getMetadata());
+    }
+
+    private SamlIdPResponseProperties.SignatureCredentialTypes getSignatureCredentialType(final SamlRegisteredService service) {
+        final var samlIdp = casProperties.getAuthn().getSamlIdp();
+        return SamlIdPResponseProperties.SignatureCredentialTypes.valueOf(
+            StringUtils.defaultIfBlank(service.getSigningCredentialType(), samlIdp.getResponse().getCredentialType().name()).toUpperCase());
+    }
+
+    private static String getResourceFingerprint(final Resource resource) {
+        if (resource == null) {
+            return "none";
+        }
+        try {
+            return resource.getDescription() + '@' + resource.lastModified() + ':' + resource.contentLength();
+        } catch (final IOException e) {
+            LOGGER.trace(e.getMessage(), e);
+            return resource.getDescription();
+        }
+    }
+
+    /**
+     * Parsed signing private key along with the state of the file it was read from.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedPrivateKey {
+        private final String fingerprint;
+
+        private final PrivateKey privateKey;
+    }
 }
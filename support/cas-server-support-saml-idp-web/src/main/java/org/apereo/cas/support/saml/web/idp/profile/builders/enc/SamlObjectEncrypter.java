@@ -1,8 +1,15 @@
 package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
+import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.SamlIdPUtils;
@@ -14,6 +21,7 @@ import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.saml2.core.Assertion;
 import org.opensaml.saml.saml2.core.EncryptedAssertion;
 import org.opensaml.saml.saml2.encryption.Encrypter;
+import org.opensaml.saml.saml2.metadata.RoleDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.opensaml.saml.security.impl.MetadataCredentialResolver;
 import org.opensaml.security.credential.Credential;
@@ -37,6 +45,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link SamlObjectEncrypter}.
@@ -46,6 +55,14 @@ import java.util.List;
  */
 @Slf4j
 public class SamlObjectEncrypter {
+    /**
+     * Metric recording the time spent encrypting assertions, tagged by service provider and algorithms.
+     */
+    public static final String METRIC_ENCRYPTION = "cas.saml.idp.encryption";
+
+    private static final long CACHE_MAXIMUM_SIZE = 1_000;
+
+    private static final long CACHE_EXPIRATION_HOURS = 1;
 
     /**
      * The Override data encryption algorithms.
@@ -70,12 +87,28 @@ public class SamlObjectEncrypter {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Resolved key-transport credentials and encryption parameters keyed by the identity
+     * of the service provider role descriptor. Descriptors are replaced once SP metadata is reloaded,
+     * which naturally invalidates the entry. Entries are only reused for the registered service instance
+     * they were resolved for, since registered services are replaced once they are edited or reloaded.
+     */
+    private final Cache<RoleDescriptor, CachedEncryptionParameters> encryptionParameters = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(CACHE_MAXIMUM_SIZE)
+        .expireAfterAccess(CACHE_EXPIRATION_HOURS, TimeUnit.HOURS)
+        .build();
+
     public SamlObjectEncrypter(final List overrideDataEncryptionAlgorithms, final List overrideKeyEncryptionAlgorithms,
-                               final List overrideBlackListedEncryptionAlgorithms, final List overrideWhiteListedAlgorithms) {
+                               final List overrideBlackListedEncryptionAlgorithms, final List overrideWhiteListedAlgorithms,
+                               final MeterRegistry meterRegistry) {
         this.overrideDataEncryptionAlgorithms = overrideDataEncryptionAlgorithms;
         this.overrideKeyEncryptionAlgorithms = overrideKeyEncryptionAlgorithms;
         this.overrideBlackListedEncryptionAlgorithms = overrideBlackListedEncryptionAlgorithms;
         this.overrideWhiteListedAlgorithms = overrideWhiteListedAlgorithms;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -99,6 +132,43 @@ public class SamlObjectEncrypter {
         final var className = samlObject.getClass().getName();
         final var entityId = adaptor.getEntityId();
         LOGGER.debug("Attempting to encrypt [{}] for [{}]", className, entityId);
+        final var parameters = getEncryptionParameters(samlObject, service, adaptor);
+        final var keyEncParams = parameters.getKeyEncryptionParameters();
+        final var dataEncParams = parameters.getDataEncryptionParameters();
+
+        final var encrypter = getEncrypter(samlObject, service, adaptor, keyEncParams, dataEncParams);
+        LOGGER.debug("Attempting to encrypt [{}] for [{}] with key placement of [{}]",
+            className, entityId, encrypter.getKeyPlacement());
+
+        final var timer = Timer.builder(METRIC_ENCRYPTION)
+            .tag("entityId", entityId)
+            .tag("keyAlgorithm", StringUtils.defaultString(keyEncParams.getAlgorithm()))
+            .tag("dataAlgorithm", StringUtils.defaultString(dataEncParams.getAlgorithm()))
+            .register(this.meterRegistry);
+        return timer.recordCallable(() -> encrypter.encrypt(samlObject));
+    }
+
+    /**
+     * Gets the key-transport credential and the key and data encryption parameters for the service provider.
+     * Results are reused for as long as the service provider metadata and the registered service remain unchanged.
+     *
+     * @param samlObject the saml object
+     * @param service    the service
+     * @param adaptor    the adaptor
+     * @return the encryption parameters
+     * @throws Exception the exception
+     */
+    protected CachedEncryptionParameters getEncryptionParameters(final Assertion samlObject,
+                                                                 final SamlRegisteredService service,
+                                                                 final SamlRegisteredServiceServiceProviderMetadataFacade adaptor) throws Exception {
+        final var descriptor = adaptor.getSsoDescriptor();
+        final var cached = descriptor != null ? this.encryptionParameters.getIfPresent(descriptor) : null;
+        if (cached != null && cached.getService() == service) {
+            LOGGER.trace("Reusing encryption parameters resolved for [{}]", adaptor.getEntityId());
+            return cached;
+        }
+
+        final var entityId = adaptor.getEntityId();
         final var credential = getKeyEncryptionCredential(entityId, adaptor, service);
         LOGGER.info("Found encryption public key: [{}]", EncodingUtils.encodeBase64(credential.getPublicKey().getEncoded()));
 
@@ -108,12 +178,18 @@ public class SamlObjectEncrypter {
         final var dataEncParams = getDataEncryptionParameters(samlObject, service, adaptor);
         LOGGER.debug("Data encryption algorithm for [{}] is [{}]", entityId, dataEncParams.getAlgorithm());
 
-        final var encrypter = getEncrypter(samlObject, service, adaptor, keyEncParams, dataEncParams);
-        LOGGER.debug("Attempting to encrypt [{}] for [{}] with key placement of [{}]",
-            className, entityId, encrypter.getKeyPlacement());
-
-        return encrypter.encrypt(samlObject);
+        final var parameters = new CachedEncryptionParameters(service, keyEncParams, dataEncParams);
+        if (descriptor != null) {
+            this.encryptionParameters.put(descriptor, parameters);
+        }
+        return parameters;
+    }
 
+    /**
+     * Remove all cached encryption credentials and parameters.
+     */
+    public void invalidate() {
+        this.encryptionParameters.invalidateAll();
     }
 
     /**
@@ -234,5 +310,16 @@ public class SamlObjectEncrypter {
         return kekCredentialResolver.resolveSingle(criteriaSet);
     }
 
+    /**
+     * Encryption parameters resolved for a service provider.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class CachedEncryptionParameters {
+        private final SamlRegisteredService service;
 
+        private final KeyEncryptionParameters keyEncryptionParameters;
+
+        private final DataEncryptionParameters dataEncryptionParameters;
+    }
 }
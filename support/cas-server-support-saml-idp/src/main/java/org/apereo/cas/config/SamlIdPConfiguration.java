@@ -1,5 +1,6 @@
 package org.apereo.cas.config;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.velocity.app.VelocityEngine;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
@@ -289,7 +290,8 @@ public class SamlIdPConfiguration implements AuditTrailRecordResolutionPlanConfi
         return new SamlObjectEncrypter(algs.getOverrideDataEncryptionAlgorithms(),
             algs.getOverrideKeyEncryptionAlgorithms(),
             algs.getOverrideBlackListedEncryptionAlgorithms(),
-            algs.getOverrideWhiteListedAlgorithms());
+            algs.getOverrideWhiteListedAlgorithms(),
+            Metrics.globalRegistry);
     }
 
     @ConditionalOnMissingBean(name = "samlObjectSigner")
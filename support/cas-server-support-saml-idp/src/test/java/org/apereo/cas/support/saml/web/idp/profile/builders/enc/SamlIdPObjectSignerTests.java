@@ -0,0 +1,57 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link SamlIdPObjectSignerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
+
+    @Test
+    public void verifySigningPrivateKeyIsCached() throws Exception {
+        final var first = samlIdPObjectSigner.getSigningPrivateKey();
+        final var second = samlIdPObjectSigner.getSigningPrivateKey();
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void verifySigningConfigurationIsCached() throws Exception {
+        final var service = getSamlRegisteredServiceForTestShib();
+        final var adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        final var descriptor = adaptor.getSsoDescriptor();
+
+        final var configuration = samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service);
+        assertFalse(configuration.getSigningCredentials().isEmpty());
+        assertSame(configuration, samlIdPObjectSigner.getSignatureSigningConfiguration(descriptor, service));
+
+        final var parameters = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        assertNotNull(parameters.getSigningCredential());
+        assertSame(parameters, samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service));
+    }
+
+    @Test
+    public void verifySigningConfigurationPerCredentialType() throws Exception {
+        final var service = getSamlRegisteredServiceForTestShib();
+        final var adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        final var descriptor = adaptor.getSsoDescriptor();
+
+        service.setSigningCredentialType("X509");
+        final var x509 = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        service.setSigningCredentialType("BASIC");
+        final var basic = samlIdPObjectSigner.buildSignatureSigningParameters(descriptor, service);
+        assertNotSame(x509, basic);
+    }
+}
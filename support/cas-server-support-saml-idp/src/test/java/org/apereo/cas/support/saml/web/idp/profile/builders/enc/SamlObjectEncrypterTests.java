@@ -0,0 +1,56 @@
+package org.apereo.cas.support.saml.web.idp.profile.builders.enc;
+
+import org.apereo.cas.category.FileSystemCategory;
+import org.apereo.cas.support.saml.BaseSamlIdPConfigurationTests;
+import org.apereo.cas.support.saml.services.idp.metadata.SamlRegisteredServiceServiceProviderMetadataFacade;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlObjectEncrypterTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Category(FileSystemCategory.class)
+public class SamlObjectEncrypterTests extends BaseSamlIdPConfigurationTests {
+
+    @Autowired
+    @Qualifier("samlObjectEncrypter")
+    private SamlObjectEncrypter samlObjectEncrypter;
+
+    @Test
+    public void verifyEncryptionParametersAreCached() throws Exception {
+        final var service = getSamlRegisteredServiceForTestShib(false, false, true);
+        final var adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        final var assertion = mock(Assertion.class);
+
+        final var parameters = samlObjectEncrypter.getEncryptionParameters(assertion, service, adaptor);
+        assertNotNull(parameters.getKeyEncryptionParameters().getEncryptionCredential());
+        assertNotNull(parameters.getDataEncryptionParameters().getAlgorithm());
+        assertSame(parameters, samlObjectEncrypter.getEncryptionParameters(assertion, service, adaptor));
+
+        samlObjectEncrypter.invalidate();
+        assertNotSame(parameters, samlObjectEncrypter.getEncryptionParameters(assertion, service, adaptor));
+    }
+
+    @Test
+    public void verifyEncryptionParametersPerService() throws Exception {
+        final var service = getSamlRegisteredServiceForTestShib(false, false, true);
+        final var adaptor = SamlRegisteredServiceServiceProviderMetadataFacade.get(samlRegisteredServiceCachingMetadataResolver,
+            service, service.getServiceId()).get();
+        final var assertion = mock(Assertion.class);
+
+        final var parameters = samlObjectEncrypter.getEncryptionParameters(assertion, service, adaptor);
+        final var editedService = getSamlRegisteredServiceForTestShib(false, false, true);
+        editedService.setId(service.getId());
+        assertNotSame(parameters, samlObjectEncrypter.getEncryptionParameters(assertion, editedService, adaptor));
+    }
+}
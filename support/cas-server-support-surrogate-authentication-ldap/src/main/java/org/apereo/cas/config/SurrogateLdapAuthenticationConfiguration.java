@@ -6,7 +6,7 @@ import org.apereo.cas.authentication.surrogate.SurrogateAuthenticationService;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 
 import org.apereo.cas.services.ServicesManager;
-import org.apereo.cas.util.LdapUtils;
+import org.apereo.cas.util.LdapConnectionFactoryRegistry;
 import org.ldaptive.ConnectionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,13 +34,17 @@ public class SurrogateLdapAuthenticationConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ldapConnectionFactoryRegistry")
+    private LdapConnectionFactoryRegistry ldapConnectionFactoryRegistry;
+
     @RefreshScope
     @Bean
     public SurrogateAuthenticationService surrogateAuthenticationService() {
         final var su = casProperties.getAuthn().getSurrogate();
         LOGGER.debug("Using LDAP [{}] with baseDn [{}] to locate surrogate accounts",
                 su.getLdap().getLdapUrl(), su.getLdap().getBaseDn());
-        final ConnectionFactory factory = LdapUtils.newLdaptivePooledConnectionFactory(su.getLdap());
+        final ConnectionFactory factory = ldapConnectionFactoryRegistry.getPooledConnectionFactory(su.getLdap());
         return new SurrogateLdapAuthenticationService(factory, su.getLdap(), servicesManager);
     }
 }
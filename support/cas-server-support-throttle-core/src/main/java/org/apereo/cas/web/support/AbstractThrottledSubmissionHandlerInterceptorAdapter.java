@@ -2,6 +2,7 @@ package org.apereo.cas.web.support;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -9,10 +10,13 @@ import org.apache.commons.text.StringEscapeUtils;
 import org.apache.http.HttpStatus;
 import org.apereo.cas.CasProtocolConstants;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.support.events.authentication.CasAuthenticationThrottledEvent;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.common.web.ClientInfoHolder;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
@@ -35,7 +39,7 @@ import java.util.List;
 @Getter
 @RequiredArgsConstructor
 public abstract class AbstractThrottledSubmissionHandlerInterceptorAdapter extends HandlerInterceptorAdapter
-    implements ThrottledSubmissionHandlerInterceptor, InitializingBean {
+    implements ThrottledSubmissionHandlerInterceptor, InitializingBean, ApplicationEventPublisherAware {
     /**
      * Throttled login attempt action code used to tag the attempt in audit records.
      */
@@ -60,6 +64,12 @@ public abstract class AbstractThrottledSubmissionHandlerInterceptorAdapter exten
 
     private final String applicationCode;
 
+    /**
+     * Application event publisher, used to signal throttled authentication attempts.
+     */
+    @Setter
+    private ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * Configure the threshold rate.
      */
@@ -123,6 +133,10 @@ public abstract class AbstractThrottledSubmissionHandlerInterceptorAdapter exten
         LOGGER.warn("Throttling submission from [{}]. More than [{}] failed login attempts within [{}] seconds. "
                 + "Authentication attempt exceeds the failure threshold [{}]", request.getRemoteAddr(),
             this.failureThreshold, this.failureRangeInSeconds, this.failureThreshold);
+        if (this.applicationEventPublisher != null) {
+            this.applicationEventPublisher.publishEvent(new CasAuthenticationThrottledEvent(this,
+                getUsernameParameterFromRequest(request), request.getRemoteAddr()));
+        }
     }
 
     @Override
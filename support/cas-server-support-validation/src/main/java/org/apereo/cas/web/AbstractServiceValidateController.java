@@ -13,6 +13,7 @@ import org.apereo.cas.authentication.AuthenticationException;
 import org.apereo.cas.authentication.AuthenticationSystemSupport;
 import org.apereo.cas.authentication.Credential;
 import org.apereo.cas.authentication.HttpBasedServiceCredential;
+import org.apereo.cas.authentication.MultifactorAuthenticationUtils;
 import org.apereo.cas.authentication.MultifactorTriggerSelectionStrategy;
 import org.apereo.cas.authentication.PrincipalException;
 import org.apereo.cas.authentication.principal.Service;
@@ -130,7 +131,7 @@ public abstract class AbstractServiceValidateController extends AbstractDelegate
         LOGGER.debug("Locating the primary authentication associated with this service request [{}]", assertion.getService());
         final var service = this.servicesManager.findServiceBy(assertion.getService());
         RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(assertion.getService(), service);
-        final var providers = this.applicationContext.getBeansOfType(MultifactorAuthenticationProvider.class, false, true);
+        final var providers = MultifactorAuthenticationUtils.getAvailableMultifactorAuthenticationProviders(this.applicationContext);
         final var authentication = assertion.getPrimaryAuthentication();
         final var requestedContext = this.multifactorTriggerSelectionStrategy.resolve(providers.values(), request, service, authentication);
 
@@ -6,8 +6,11 @@ import org.apereo.cas.util.DateTimeUtils;
 
 import java.math.BigInteger;
 import java.security.GeneralSecurityException;
+import java.security.cert.CRLReason;
 import java.security.cert.X509CRLEntry;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Optional;
 
 
 /**
@@ -27,54 +30,104 @@ public class RevokedCertificateException extends GeneralSecurityException {
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = 8827788431199129708L;
 
-    /** CRL revocation reason codes per RFC 3280. */
+    /** CRL revocation reason codes per RFC 5280. */
     public enum Reason {
         
         /** The Unspecified. */
-        Unspecified,
+        Unspecified(0),
         
         /** The Key compromise. */
-        KeyCompromise,
+        KeyCompromise(1),
         
         /** The CA compromise. */
-        CACompromise,
+        CACompromise(2),
         
         /** The Affiliation changed. */
-        AffiliationChanged,
+        AffiliationChanged(3),
         
         /** The Superseded. */
-        Superseded,
+        Superseded(4),
         
         /** The Cessation of operation. */
-        CessationOfOperation,
+        CessationOfOperation(5),
         
         /** The Certificate hold. */
-        CertificateHold,
+        CertificateHold(6),
         
-        /** The Remove from crl. */
-        RemoveFromCRL,
+        /** The Remove from crl. Code 7 is not used. */
+        RemoveFromCRL(8),
         
         /** The Privilege withdrawn. */
-        PrivilegeWithdrawn,
+        PrivilegeWithdrawn(9),
         
         /** The AA compromise. */
-        AACompromise;
+        AACompromise(10);
+
+        /** The reason code, as defined by RFC 5280. */
+        private final int code;
+
+        Reason(final int code) {
+            this.code = code;
+        }
+
+        public int getCode() {
+            return this.code;
+        }
 
         /**
          * Convert code to reason.
          *
-         * @param code the code
+         * @param code the RFC 5280 reason code
          * @return the reason
          */
         public static Reason fromCode(final int code) {
-            final var reasons = Reason.values();
+            return findByCode(code).orElseThrow(() -> new IllegalArgumentException("Unknown CRL reason code."));
+        }
 
-            for (var i = 0; i < reasons.length; i++) {
-                if (i == code) {
-                    return reasons[i];
-                }
+        /**
+         * Find the reason for the given code.
+         *
+         * @param code the RFC 5280 reason code
+         * @return the reason, or empty if the code is not a known reason code
+         */
+        public static Optional<Reason> findByCode(final int code) {
+            return Arrays.stream(Reason.values()).filter(reason -> reason.code == code).findFirst();
+        }
+
+        /**
+         * Convert the reason reported for a CRL entry.
+         *
+         * @param reason the reason reported by the CRL entry
+         * @return the reason, or null if no reason is reported or the reason is not a known reason
+         */
+        public static Reason fromCRLReason(final CRLReason reason) {
+            if (reason == null) {
+                return null;
+            }
+            switch (reason) {
+                case UNSPECIFIED:
+                    return Unspecified;
+                case KEY_COMPROMISE:
+                    return KeyCompromise;
+                case CA_COMPROMISE:
+                    return CACompromise;
+                case AFFILIATION_CHANGED:
+                    return AffiliationChanged;
+                case SUPERSEDED:
+                    return Superseded;
+                case CESSATION_OF_OPERATION:
+                    return CessationOfOperation;
+                case CERTIFICATE_HOLD:
+                    return CertificateHold;
+                case REMOVE_FROM_CRL:
+                    return RemoveFromCRL;
+                case PRIVILEGE_WITHDRAWN:
+                    return PrivilegeWithdrawn;
+                case AA_COMPROMISE:
+                    return AACompromise;
+                default:
+                    return null;
             }
-            throw new IllegalArgumentException("Unknown CRL reason code.");
         }
     }
 
@@ -116,9 +169,7 @@ public class RevokedCertificateException extends GeneralSecurityException {
             try {
                 final var code = Integer.parseInt(
                         new String(entry.getExtensionValue(CRL_REASON_OID), "ASCII"));
-                if (code < Reason.values().length) {
-                    return Reason.fromCode(code);
-                }
+                return Reason.findByCode(code).orElse(null);
             } catch (final Exception e) {
                 LOGGER.trace("An exception occurred when resolving extension value: [{}]", e.getMessage());
             }
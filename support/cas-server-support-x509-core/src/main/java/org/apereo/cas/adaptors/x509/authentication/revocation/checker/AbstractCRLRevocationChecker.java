@@ -38,12 +38,12 @@ public abstract class AbstractCRLRevocationChecker implements RevocationChecker
     /**
      * Policy to apply when CRL data is unavailable.
      */
-    private final RevocationPolicy<Void> unavailableCRLPolicy;
+    protected final RevocationPolicy<Void> unavailableCRLPolicy;
 
     /**
      * Policy to apply when CRL data has expired.
      */
-    private final RevocationPolicy<X509CRL> expiredCRLPolicy;
+    protected final RevocationPolicy<X509CRL> expiredCRLPolicy;
 
     /**
      * Instantiates a new Abstract crl revocation checker.
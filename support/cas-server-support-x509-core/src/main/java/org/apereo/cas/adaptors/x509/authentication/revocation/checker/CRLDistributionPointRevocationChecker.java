@@ -7,6 +7,8 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.Element;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLDistributionPointManager;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLSnapshot;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.CollectionUtils;
@@ -22,11 +24,14 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -36,7 +41,9 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. When a {@link CRLDistributionPointManager} is supplied, CRLs are instead obtained
+ * from the manager, which refreshes them in the background and checks certificates against
+ * an index of revoked serial numbers.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -47,6 +54,7 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     private final Cache crlCache;
     private final CRLFetcher fetcher;
     private final boolean throwOnFetchFailure;
+    private final CRLDistributionPointManager crlManager;
 
     /**
      * Creates a new instance that uses the given cache instance for CRL caching.
@@ -100,10 +108,78 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
                                                  final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
                                                  final CRLFetcher fetcher, final boolean throwOnFetchFailure) {
+        this(checkAll, unavailableCRLPolicy, expiredCRLPolicy, crlCache, fetcher, throwOnFetchFailure, null);
+    }
+
+    public CRLDistributionPointRevocationChecker(final boolean checkAll, final RevocationPolicy<Void> unavailableCRLPolicy,
+                                                 final RevocationPolicy<X509CRL> expiredCRLPolicy, final Cache crlCache,
+                                                 final CRLFetcher fetcher, final boolean throwOnFetchFailure,
+                                                 final CRLDistributionPointManager crlManager) {
         super(checkAll, unavailableCRLPolicy, expiredCRLPolicy);
         this.crlCache = crlCache;
         this.fetcher = fetcher;
         this.throwOnFetchFailure = throwOnFetchFailure;
+        this.crlManager = crlManager;
+    }
+
+    @Override
+    public void check(final X509Certificate cert) throws GeneralSecurityException {
+        if (this.crlManager == null) {
+            super.check(cert);
+            return;
+        }
+        if (cert == null) {
+            throw new IllegalArgumentException("Certificate cannot be null.");
+        }
+        final var snapshots = getSnapshots(cert);
+        if (snapshots.isEmpty()) {
+            LOGGER.warn("CRL data is not available for [{}]", CertUtils.toString(cert));
+            this.unavailableCRLPolicy.apply(null);
+            return;
+        }
+
+        final var now = Instant.now();
+        final var validSnapshots = snapshots.stream().filter(snapshot -> !snapshot.isExpired(now)).collect(Collectors.toList());
+        if (validSnapshots.isEmpty()) {
+            LOGGER.warn("All CRLs retrieved have expired. Applying CRL expiration policy...");
+            for (final var snapshot : snapshots) {
+                final var crl = this.crlManager.getCRL(snapshot);
+                if (crl == null) {
+                    this.unavailableCRLPolicy.apply(null);
+                } else {
+                    this.expiredCRLPolicy.apply(crl);
+                }
+            }
+            return;
+        }
+
+        final var revocations = validSnapshots.stream()
+            .map(snapshot -> this.crlManager.findRevocation(snapshot, cert))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (revocations.size() == validSnapshots.size()) {
+            final var revocation = revocations.get(0);
+            LOGGER.warn("All CRL entries have been revoked. Rejecting the first entry [{}]", revocation.getMessage());
+            throw revocation;
+        }
+    }
+
+    private List<CRLSnapshot> getSnapshots(final X509Certificate cert) {
+        final var urls = getDistributionPoints(cert);
+        LOGGER.debug("Distribution points for [{}]: [{}].", CertUtils.toString(cert), CollectionUtils.wrap(urls));
+        final List<CRLSnapshot> snapshots = new ArrayList<>(urls.length);
+        for (final var url : urls) {
+            final var snapshot = this.crlManager.getSnapshot(url);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+                if (!this.checkAll) {
+                    break;
+                }
+            } else if (this.throwOnFetchFailure) {
+                throw new IllegalStateException("Unable to obtain CRL at " + url);
+            }
+        }
+        return snapshots;
     }
 
     @Override
@@ -0,0 +1,377 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apereo.cas.adaptors.x509.authentication.revocation.ocsp.OCSPCertificateStatus;
+import org.apereo.cas.adaptors.x509.authentication.revocation.ocsp.OCSPClient;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.crypto.CertUtils;
+import org.bouncycastle.asn1.DERIA5String;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.OCSPException;
+import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.cryptacular.x509.ExtensionReader;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Performs revocation checking by asking the OCSP responder of the certificate issuer, as described in RFC 6960.
+ * The responder is either the one configured explicitly, or the one named in the authority information access
+ * extension of the certificate. Issuer certificates must be supplied up front, since the certificate identifier
+ * sent to the responder is derived from the issuer name and public key.
+ * <p>
+ * Responses are cached until their next update date, or for a default period when the responder does not
+ * specify one. Concurrent checks for the same certificate share a single request to the responder, and
+ * {@link #getStatuses(Collection)} can be used to query the status of several certificates of the same issuer
+ * with a single request. When the status of a certificate cannot be determined, the check is delegated to the
+ * fallback checker if one is defined; otherwise, the unavailable status policy is applied.
+ * <p>
+ * Statuses are only accepted while current, that is between their this and next update dates give or take
+ * the allowed clock skew; stale or future-dated statuses are treated as unknown. Each request carries a nonce,
+ * and responses that echo a different nonce are rejected. Responders that do not echo the nonce, such as those
+ * serving pre-produced responses, are still accepted, subject to the validity window.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class OCSPRevocationChecker implements RevocationChecker {
+    private static final int HEX_RADIX = 16;
+
+    private static final int NONCE_LENGTH = 16;
+
+    private static final SecureRandom RANDOM = RandomUtils.getNativeInstance();
+
+    private final Map<X500Principal, X509Certificate> issuers;
+
+    private final OCSPClient client;
+
+    private final URI responder;
+
+    private final RevocationChecker fallbackChecker;
+
+    private final RevocationPolicy<Void> unavailableStatusPolicy;
+
+    private final Duration allowedClockSkew;
+
+    private final Cache<String, OCSPCertificateStatus> statusCache;
+
+    private final Map<String, CompletableFuture<OCSPCertificateStatus>> requestsInProgress = new ConcurrentHashMap<>();
+
+    public OCSPRevocationChecker(final Collection<X509Certificate> issuerCertificates, final OCSPClient client,
+                                 final URI responder, final RevocationChecker fallbackChecker,
+                                 final RevocationPolicy<Void> unavailableStatusPolicy,
+                                 final Duration defaultTimeToLive, final long cacheMaxSize,
+                                 final Duration allowedClockSkew) {
+        this.issuers = issuerCertificates.stream()
+            .collect(Collectors.toMap(X509Certificate::getSubjectX500Principal, Function.identity(), (c1, c2) -> c1));
+        this.client = client;
+        this.responder = responder;
+        this.fallbackChecker = fallbackChecker;
+        this.unavailableStatusPolicy = unavailableStatusPolicy == null ? new DenyRevocationPolicy() : unavailableStatusPolicy;
+        this.allowedClockSkew = allowedClockSkew;
+        this.statusCache = Caffeine.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfter(new StatusExpiry(defaultTimeToLive))
+            .build();
+    }
+
+    @Override
+    public void check(final X509Certificate certificate) throws GeneralSecurityException {
+        if (certificate == null) {
+            throw new IllegalArgumentException("Certificate cannot be null.");
+        }
+        if (isTrustAnchor(certificate)) {
+            LOGGER.debug("Skipping OCSP revocation checking for trust anchor [{}]", CertUtils.toString(certificate));
+            return;
+        }
+        final var status = getStatuses(List.of(certificate)).get(certificate);
+        if (status == null || status.getStatus() == OCSPCertificateStatus.Status.UNKNOWN) {
+            if (this.fallbackChecker != null) {
+                LOGGER.debug("OCSP status is not available for [{}]; falling back to [{}]",
+                    CertUtils.toString(certificate), this.fallbackChecker.getClass().getSimpleName());
+                this.fallbackChecker.check(certificate);
+                return;
+            }
+            LOGGER.warn("OCSP status is not available for [{}]", CertUtils.toString(certificate));
+            this.unavailableStatusPolicy.apply(null);
+            return;
+        }
+        if (status.getStatus() == OCSPCertificateStatus.Status.REVOKED) {
+            LOGGER.warn("OCSP responder reports certificate [{}] as revoked", CertUtils.toString(certificate));
+            throw status.toRevokedCertificateException();
+        }
+        LOGGER.debug("OCSP responder reports certificate [{}] as valid until [{}]", CertUtils.toString(certificate), status.getNextUpdate());
+    }
+
+    /**
+     * Gets the status of the given certificates. Cached statuses are used where available;
+     * the remaining certificates are queried with one request per issuer and responder.
+     * Certificates whose status cannot be determined are absent from the result.
+     *
+     * @param certificates the certificates
+     * @return the statuses keyed by certificate
+     */
+    public Map<X509Certificate, OCSPCertificateStatus> getStatuses(final Collection<X509Certificate> certificates) {
+        final Map<X509Certificate, OCSPCertificateStatus> statuses = new LinkedHashMap<>();
+        final Map<X509Certificate, CompletableFuture<OCSPCertificateStatus>> pending = new LinkedHashMap<>();
+        final Map<Pair<URI, X509Certificate>, List<StatusRequest>> requests = new LinkedHashMap<>();
+
+        for (final var certificate : certificates) {
+            final var issuer = this.issuers.get(certificate.getIssuerX500Principal());
+            if (issuer == null) {
+                LOGGER.debug("No issuer certificate is defined for [{}]", certificate.getIssuerX500Principal());
+                continue;
+            }
+            final var responderUri = getResponder(certificate);
+            if (responderUri == null) {
+                LOGGER.debug("No OCSP responder is defined for [{}]", CertUtils.toString(certificate));
+                continue;
+            }
+            final var key = getCacheKey(certificate);
+            final var cached = this.statusCache.getIfPresent(key);
+            if (cached != null) {
+                statuses.put(certificate, cached);
+                continue;
+            }
+            final var future = new CompletableFuture<OCSPCertificateStatus>();
+            final var inProgress = this.requestsInProgress.putIfAbsent(key, future);
+            if (inProgress != null) {
+                LOGGER.trace("OCSP request for [{}] is already in progress", key);
+                pending.put(certificate, inProgress);
+            } else {
+                pending.put(certificate, future);
+                requests.computeIfAbsent(Pair.of(responderUri, issuer), k -> new ArrayList<>())
+                    .add(new StatusRequest(key, certificate.getSerialNumber(), future));
+            }
+        }
+
+        requests.forEach((target, batch) -> sendRequest(target.getLeft(), target.getRight(), batch));
+
+        pending.forEach((certificate, future) -> {
+            try {
+                statuses.put(certificate, future.join());
+            } catch (final CompletionException e) {
+                LOGGER.error("Unable to determine OCSP status of [{}]: [{}]", CertUtils.toString(certificate), e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        });
+        return statuses;
+    }
+
+    private void sendRequest(final URI responderUri, final X509Certificate issuer, final List<StatusRequest> batch) {
+        try {
+            final var digestCalculator = new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1);
+            final var issuerHolder = new JcaX509CertificateHolder(issuer);
+            final var builder = new OCSPReqBuilder();
+            final Map<CertificateID, StatusRequest> requestsById = new HashMap<>(batch.size());
+            for (final var request : batch) {
+                final var id = new CertificateID(digestCalculator, issuerHolder, request.getSerialNumber());
+                builder.addRequest(id);
+                requestsById.put(id, request);
+            }
+            final var nonce = new byte[NONCE_LENGTH];
+            RANDOM.nextBytes(nonce);
+            builder.setRequestExtensions(new Extensions(
+                new Extension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false, new DEROctetString(nonce).getEncoded())));
+            LOGGER.debug("Requesting OCSP status of [{}] certificate(s) from [{}]", batch.size(), responderUri);
+            final var response = new OCSPResp(this.client.send(responderUri, builder.build().getEncoded()));
+            if (response.getStatus() != OCSPResp.SUCCESSFUL) {
+                throw new OCSPException("OCSP responder " + responderUri + " returned status " + response.getStatus());
+            }
+            final var basicResponse = (BasicOCSPResp) response.getResponseObject();
+            verifyResponseSignature(basicResponse, issuer);
+            verifyResponseNonce(basicResponse, nonce);
+
+            final var now = Instant.now();
+            for (final var single : basicResponse.getResponses()) {
+                final var request = requestsById.get(single.getCertID());
+                if (request != null) {
+                    final var status = OCSPCertificateStatus.of(single);
+                    if (status.isCurrent(now, this.allowedClockSkew)) {
+                        this.statusCache.put(request.getKey(), status);
+                        request.getFuture().complete(status);
+                    } else {
+                        LOGGER.warn("OCSP status of [{}] from [{}] is not current; produced at [{}] and valid until [{}]",
+                            request.getSerialNumber(), responderUri, status.getThisUpdate(), status.getNextUpdate());
+                        request.getFuture().complete(OCSPCertificateStatus.unknown(request.getSerialNumber()));
+                    }
+                }
+            }
+            batch.forEach(request -> request.getFuture()
+                .completeExceptionally(new OCSPException("OCSP responder returned no status for " + request.getSerialNumber())));
+        } catch (final Exception e) {
+            batch.forEach(request -> request.getFuture().completeExceptionally(e));
+        } finally {
+            batch.forEach(request -> this.requestsInProgress.remove(request.getKey(), request.getFuture()));
+        }
+    }
+
+    /**
+     * The response must be signed by the issuer, or by a responder certificate
+     * that is issued by the issuer for the purpose of signing OCSP responses.
+     */
+    private static void verifyResponseSignature(final BasicOCSPResp response, final X509Certificate issuer) throws Exception {
+        if (isSignatureValid(response, issuer.getPublicKey())) {
+            return;
+        }
+        final var converter = new JcaX509CertificateConverter();
+        for (final var holder : response.getCerts()) {
+            final var responderCertificate = converter.getCertificate(holder);
+            final var keyUsages = responderCertificate.getExtendedKeyUsage();
+            if (isIssuedBy(holder, issuer.getPublicKey())
+                && holder.isValidOn(new Date())
+                && keyUsages != null && keyUsages.contains(KeyPurposeId.id_kp_OCSPSigning.getId())
+                && isSignatureValid(response, responderCertificate.getPublicKey())) {
+                return;
+            }
+        }
+        throw new OCSPException("OCSP response signature could not be verified against " + issuer.getSubjectX500Principal());
+    }
+
+    /**
+     * A nonce echoed by the responder must match the one sent with the request.
+     */
+    private static void verifyResponseNonce(final BasicOCSPResp response, final byte[] nonce) throws OCSPException {
+        final var extension = response.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+        if (extension == null) {
+            LOGGER.trace("OCSP response does not carry a nonce");
+            return;
+        }
+        if (!Arrays.equals(DEROctetString.getInstance(extension.getParsedValue()).getOctets(), nonce)) {
+            throw new OCSPException("OCSP response nonce does not match the request nonce");
+        }
+    }
+
+    private static boolean isSignatureValid(final BasicOCSPResp response, final PublicKey key) {
+        try {
+            return response.isSignatureValid(new JcaContentVerifierProviderBuilder().build(key));
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static boolean isIssuedBy(final X509CertificateHolder holder, final PublicKey key) {
+        try {
+            return holder.isSignatureValid(new JcaContentVerifierProviderBuilder().build(key));
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private boolean isTrustAnchor(final X509Certificate certificate) {
+        return certificate.getSubjectX500Principal().equals(certificate.getIssuerX500Principal())
+            && certificate.equals(this.issuers.get(certificate.getSubjectX500Principal()));
+    }
+
+    private URI getResponder(final X509Certificate certificate) {
+        if (this.responder != null) {
+            return this.responder;
+        }
+        try {
+            final List<AccessDescription> descriptions = new ExtensionReader(certificate).readAuthorityInformationAccess();
+            if (descriptions != null) {
+                return descriptions.stream()
+                    .filter(description -> AccessDescription.id_ad_ocsp.equals(description.getAccessMethod()))
+                    .map(AccessDescription::getAccessLocation)
+                    .filter(name -> name.getTagNo() == GeneralName.uniformResourceIdentifier)
+                    .map(name -> URI.create(DERIA5String.getInstance(name.getName()).getString()))
+                    .findFirst()
+                    .orElse(null);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Error reading authority information access extension on [{}]", CertUtils.toString(certificate), e);
+        }
+        return null;
+    }
+
+    private static String getCacheKey(final X509Certificate certificate) {
+        return certificate.getIssuerX500Principal().getName() + '#' + certificate.getSerialNumber().toString(HEX_RADIX);
+    }
+
+    /**
+     * Pending status request of a single certificate.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    private static class StatusRequest {
+        private final String key;
+
+        private final BigInteger serialNumber;
+
+        private final CompletableFuture<OCSPCertificateStatus> future;
+    }
+
+    /**
+     * Keeps cached statuses until the next update date advertised by the responder.
+     */
+    @RequiredArgsConstructor
+    private static class StatusExpiry implements Expiry<String, OCSPCertificateStatus> {
+        private final Duration defaultTimeToLive;
+
+        @Override
+        public long expireAfterCreate(final String key, final OCSPCertificateStatus status, final long currentTime) {
+            if (status.getNextUpdate() == null) {
+                return this.defaultTimeToLive.toNanos();
+            }
+            final var timeToLive = Duration.between(Instant.now(), status.getNextUpdate());
+            return timeToLive.isNegative() ? 0 : timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final OCSPCertificateStatus status,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, status, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final OCSPCertificateStatus status,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
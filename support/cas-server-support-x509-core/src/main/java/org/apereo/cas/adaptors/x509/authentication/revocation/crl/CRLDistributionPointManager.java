@@ -0,0 +1,306 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.util.DigestUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.cert.CRLException;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CRLDistributionPointManager} that keeps the CRLs of known distribution points
+ * as {@link CRLSnapshot}s and refreshes them in the background ahead of their next update date,
+ * so that authentication requests do not wait on CRL downloads once a distribution point is known.
+ * Fetches are performed once per distribution point at a time; concurrent requests for the same
+ * distribution point share the fetch in progress. If a fetch fails, the last good snapshot remains in use.
+ * When a persistence directory is defined, the last good CRL of each distribution point is written
+ * to disk and is used to answer requests after a restart until the distribution point is fetched again.
+ * A snapshot that has expired keeps being returned, for callers to apply their expired CRL policy,
+ * while a fresh CRL is fetched in the background; requests only wait on a fetch when no CRL
+ * was ever obtained for the distribution point.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class CRLDistributionPointManager implements DisposableBean {
+    /**
+     * Metric that records CRL fetch durations.
+     */
+    public static final String METRIC_FETCH = "cas.x509.crl.fetch";
+
+    /**
+     * Metric that reports the age of the CRL of each distribution point.
+     */
+    public static final String METRIC_AGE = "cas.x509.crl.age";
+
+    /**
+     * Metric that records revocation lookup durations.
+     */
+    public static final String METRIC_LOOKUP = "cas.x509.crl.lookup";
+
+    private static final String TAG_URI = "uri";
+
+    private final Map<URI, CRLSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<URI, CompletableFuture<CRLSnapshot>> fetchesInProgress = new ConcurrentHashMap<>();
+
+    private final CRLFetcher fetcher;
+
+    private final Duration refreshAhead;
+
+    private final Duration refreshInterval;
+
+    private final File persistenceDirectory;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Clock clock;
+
+    private final Timer lookupTimer;
+
+    private final ScheduledExecutorService scheduler;
+
+    public CRLDistributionPointManager(final CRLFetcher fetcher, final Duration refreshAhead,
+                                       final Duration refreshInterval, final File persistenceDirectory,
+                                       final int fetchThreads, final MeterRegistry meterRegistry) {
+        this(fetcher, refreshAhead, refreshInterval, persistenceDirectory, fetchThreads, meterRegistry, Clock.systemUTC());
+    }
+
+    public CRLDistributionPointManager(final CRLFetcher fetcher, final Duration refreshAhead,
+                                       final Duration refreshInterval, final File persistenceDirectory,
+                                       final int fetchThreads, final MeterRegistry meterRegistry, final Clock clock) {
+        this.fetcher = fetcher;
+        this.refreshAhead = refreshAhead;
+        this.refreshInterval = refreshInterval;
+        this.persistenceDirectory = persistenceDirectory;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.lookupTimer = meterRegistry.timer(METRIC_LOOKUP);
+        this.scheduler = Executors.newScheduledThreadPool(fetchThreads);
+
+        final var interval = refreshInterval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::refreshDueSnapshots, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the snapshot of the distribution point.
+     * A known snapshot, or one persisted to disk, is returned as is; if it has expired, a fresh CRL
+     * is fetched in the background and the expired snapshot is returned in the meantime.
+     * The CRL is only fetched inline when no snapshot of the distribution point exists.
+     *
+     * @param uri the distribution point
+     * @return the snapshot, which may have expired, or null if no CRL could be obtained.
+     */
+    public CRLSnapshot getSnapshot(final URI uri) {
+        var snapshot = this.snapshots.get(uri);
+        if (snapshot == null) {
+            snapshot = loadPersistedSnapshot(uri);
+        }
+        if (snapshot != null) {
+            if (snapshot.isExpired(this.clock.instant())) {
+                refreshInBackground(snapshot);
+            }
+            return snapshot;
+        }
+        try {
+            return refresh(uri).join();
+        } catch (final CompletionException e) {
+            LOGGER.error("Error fetching CRL at [{}]: [{}]", uri, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the CRL of the snapshot, typically only required to evaluate expired CRLs against a revocation policy.
+     * The CRL is never fetched from the distribution point.
+     *
+     * @param snapshot the snapshot
+     * @return the CRL, or null if it cannot be decoded.
+     */
+    public X509CRL getCRL(final CRLSnapshot snapshot) {
+        try {
+            return snapshot.getCRL();
+        } catch (final Exception e) {
+            LOGGER.error("Error decoding CRL of [{}]: [{}]", snapshot.getUri(), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Find the revocation record for the certificate in the snapshot.
+     *
+     * @param snapshot    the snapshot
+     * @param certificate the certificate
+     * @return the revoked certificate exception, or null if the certificate is not revoked.
+     */
+    public RevokedCertificateException findRevocation(final CRLSnapshot snapshot, final X509Certificate certificate) {
+        return this.lookupTimer.record(() -> snapshot.findRevocation(certificate));
+    }
+
+    /**
+     * Fetch the CRL of the distribution point, unless a fetch is already in progress
+     * in which case the fetch in progress is returned.
+     *
+     * @param uri the distribution point
+     * @return the future snapshot
+     */
+    public CompletableFuture<CRLSnapshot> refresh(final URI uri) {
+        final var future = new CompletableFuture<CRLSnapshot>();
+        final var inProgress = this.fetchesInProgress.putIfAbsent(uri, future);
+        if (inProgress != null) {
+            LOGGER.trace("CRL fetch for [{}] is already in progress", uri);
+            return inProgress;
+        }
+        this.scheduler.execute(() -> {
+            try {
+                future.complete(fetchSnapshot(uri));
+            } catch (final Exception e) {
+                future.completeExceptionally(e);
+            } finally {
+                this.fetchesInProgress.remove(uri, future);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void destroy() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void refreshDueSnapshots() {
+        final var now = this.clock.instant();
+        this.snapshots.values()
+            .stream()
+            .filter(snapshot -> isRefreshDue(snapshot, now))
+            .forEach(this::refreshInBackground);
+    }
+
+    private void refreshInBackground(final CRLSnapshot snapshot) {
+        LOGGER.debug("Refreshing CRL at [{}] that is due for update on [{}]", snapshot.getUri(), snapshot.getNextUpdate());
+        refresh(snapshot.getUri()).whenComplete((result, error) -> {
+            if (error != null) {
+                LOGGER.warn("Unable to refresh CRL at [{}]; the CRL obtained on [{}] remains in use: [{}]",
+                    snapshot.getUri(), snapshot.getFetchedAt(), error.getMessage());
+            }
+        });
+    }
+
+    private boolean isRefreshDue(final CRLSnapshot snapshot, final Instant now) {
+        if (snapshot.getNextUpdate() != null) {
+            return !now.isBefore(snapshot.getNextUpdate().minus(this.refreshAhead));
+        }
+        return !now.isBefore(snapshot.getFetchedAt().plus(this.refreshInterval));
+    }
+
+    private CRLSnapshot fetchSnapshot(final URI uri) throws Exception {
+        final var sample = Timer.start(this.meterRegistry);
+        try {
+            LOGGER.debug("Fetching CRL at [{}]", uri);
+            final var crl = this.fetcher.fetch(uri);
+            if (crl == null) {
+                throw new CRLException("No CRL could be fetched from " + uri);
+            }
+            persist(uri, crl);
+            return store(new CRLSnapshot(uri, crl, this.clock.instant()));
+        } finally {
+            sample.stop(this.meterRegistry.timer(METRIC_FETCH, TAG_URI, uri.toString()));
+        }
+    }
+
+    private CRLSnapshot loadPersistedSnapshot(final URI uri) {
+        final var file = getPersistedFile(uri);
+        if (file == null || !file.toFile().exists()) {
+            return null;
+        }
+        try {
+            final var crl = this.fetcher.fetch(new FileSystemResource(file.toFile()));
+            LOGGER.info("Loaded CRL for [{}] from [{}]", uri, file);
+            return store(new CRLSnapshot(uri, crl, Files.getLastModifiedTime(file).toInstant()));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to load persisted CRL for [{}] from [{}]: [{}]", uri, file, e.getMessage());
+            return null;
+        }
+    }
+
+    private CRLSnapshot store(final CRLSnapshot snapshot) {
+        final var uri = snapshot.getUri();
+        if (this.snapshots.put(uri, snapshot) == null) {
+            Gauge.builder(METRIC_AGE, this, manager -> manager.getAgeInSeconds(uri))
+                .tag(TAG_URI, uri.toString())
+                .baseUnit("seconds")
+                .register(this.meterRegistry);
+        }
+        LOGGER.debug("CRL at [{}] is valid until [{}]", uri, snapshot.getNextUpdate());
+        return snapshot;
+    }
+
+    private double getAgeInSeconds(final URI uri) {
+        final var snapshot = this.snapshots.get(uri);
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        return Duration.between(snapshot.getThisUpdate(), this.clock.instant()).getSeconds();
+    }
+
+    private void persist(final URI uri, final X509CRL crl) {
+        final var file = getPersistedFile(uri);
+        if (file == null) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, crl.getEncoded());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.trace("Persisted CRL for [{}] to [{}]", uri, file);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to persist CRL for [{}] to [{}]: [{}]", uri, file, e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private Path getPersistedFile(final URI uri) {
+        if (this.persistenceDirectory == null) {
+            return null;
+        }
+        return this.persistenceDirectory.toPath().resolve(DigestUtils.sha256(uri.toString()) + ".crl");
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (final Exception e) {
+            LOGGER.trace(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.util.crypto.CertUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link CRLSnapshot} that describes the last CRL obtained from a distribution point,
+ * reduced to its validity period and a {@link RevokedSerialNumberIndex} per certificate issuer.
+ * Entries of indirect CRLs are indexed under the issuer named in the entry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+public class CRLSnapshot {
+    private final URI uri;
+
+    private final X500Principal issuer;
+
+    private final Instant thisUpdate;
+
+    private final Instant nextUpdate;
+
+    private final Instant fetchedAt;
+
+    private final Map<X500Principal, RevokedSerialNumberIndex> revokedSerialNumbers;
+
+    /**
+     * The CRL in its encoded form, which is far more compact than the decoded CRL,
+     * kept so that the CRL may be evaluated against a revocation policy once it has expired.
+     */
+    @Getter(AccessLevel.NONE)
+    private final byte[] encoded;
+
+    @Getter(AccessLevel.NONE)
+    private volatile X509CRL decoded;
+
+    @SneakyThrows
+    public CRLSnapshot(final URI uri, final X509CRL crl, final Instant fetchedAt) {
+        this.uri = uri;
+        this.encoded = crl.getEncoded();
+        this.issuer = crl.getIssuerX500Principal();
+        this.thisUpdate = crl.getThisUpdate().toInstant();
+        this.nextUpdate = crl.getNextUpdate() == null ? null : crl.getNextUpdate().toInstant();
+        this.fetchedAt = fetchedAt;
+        this.revokedSerialNumbers = indexRevokedCertificates(crl);
+    }
+
+    /**
+     * Whether the CRL has passed its next update date.
+     *
+     * @param now the current instant
+     * @return true/false
+     */
+    public boolean isExpired(final Instant now) {
+        return this.nextUpdate != null && now.isAfter(this.nextUpdate);
+    }
+
+    /**
+     * Gets the CRL this snapshot was taken from, decoding it on first use.
+     *
+     * @return the CRL
+     */
+    @SneakyThrows
+    public X509CRL getCRL() {
+        if (this.decoded == null) {
+            this.decoded = (X509CRL) CertUtils.getCertificateFactory().generateCRL(new ByteArrayInputStream(this.encoded));
+        }
+        return this.decoded;
+    }
+
+    /**
+     * Find the revocation record for the certificate, matched by issuer and serial number.
+     *
+     * @param certificate the certificate
+     * @return the revoked certificate exception, or null if the certificate is not revoked.
+     */
+    public RevokedCertificateException findRevocation(final X509Certificate certificate) {
+        final var index = this.revokedSerialNumbers.get(certificate.getIssuerX500Principal());
+        return index == null ? null : index.find(certificate.getSerialNumber());
+    }
+
+    private static Map<X500Principal, RevokedSerialNumberIndex> indexRevokedCertificates(final X509CRL crl) {
+        final var revoked = crl.getRevokedCertificates();
+        if (revoked == null || revoked.isEmpty()) {
+            return Map.of();
+        }
+        final Map<X500Principal, List<X509CRLEntry>> entriesByIssuer = new HashMap<>();
+        revoked.forEach(entry -> {
+            final var issuer = entry.getCertificateIssuer() == null ? crl.getIssuerX500Principal() : entry.getCertificateIssuer();
+            entriesByIssuer.computeIfAbsent(issuer, k -> new ArrayList<>()).add(entry);
+        });
+        final Map<X500Principal, RevokedSerialNumberIndex> index = new HashMap<>(entriesByIssuer.size());
+        entriesByIssuer.forEach((issuer, entries) -> index.put(issuer, RevokedSerialNumberIndex.of(entries)));
+        return index;
+    }
+}
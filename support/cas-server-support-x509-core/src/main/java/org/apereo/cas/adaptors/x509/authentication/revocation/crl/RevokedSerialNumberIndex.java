@@ -0,0 +1,183 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import lombok.Getter;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This is {@link RevokedSerialNumberIndex} that holds the serial numbers revoked for a single
+ * certificate issuer in sorted primitive arrays, so revocation lookups are a binary search
+ * instead of a scan over {@link X509CRLEntry} objects. Serial numbers that fit into a {@code long}
+ * are kept as such; larger serial numbers are packed into a single byte array.
+ * Instances are immutable.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RevokedSerialNumberIndex {
+    private static final int MAX_LONG_BIT_LENGTH = 63;
+
+    private static final byte NO_REASON = -1;
+
+    private final long[] serials;
+
+    private final long[] revocationDates;
+
+    private final byte[] reasons;
+
+    private final byte[] packedSerials;
+
+    private final int[] packedOffsets;
+
+    private final long[] packedRevocationDates;
+
+    private final byte[] packedReasons;
+
+    RevokedSerialNumberIndex(final List<RevokedEntry> small, final List<RevokedEntry> large) {
+        this.serials = new long[small.size()];
+        this.revocationDates = new long[small.size()];
+        this.reasons = new byte[small.size()];
+        for (var i = 0; i < small.size(); i++) {
+            final var entry = small.get(i);
+            this.serials[i] = entry.getSerial().longValue();
+            this.revocationDates[i] = entry.getRevocationDate();
+            this.reasons[i] = entry.getReason();
+        }
+
+        this.packedOffsets = new int[large.size() + 1];
+        this.packedRevocationDates = new long[large.size()];
+        this.packedReasons = new byte[large.size()];
+        final var length = large.stream().mapToInt(entry -> entry.getEncoded().length).sum();
+        this.packedSerials = new byte[length];
+        var offset = 0;
+        for (var i = 0; i < large.size(); i++) {
+            final var entry = large.get(i);
+            final var encoded = entry.getEncoded();
+            System.arraycopy(encoded, 0, this.packedSerials, offset, encoded.length);
+            this.packedOffsets[i] = offset;
+            this.packedRevocationDates[i] = entry.getRevocationDate();
+            this.packedReasons[i] = entry.getReason();
+            offset += encoded.length;
+        }
+        this.packedOffsets[large.size()] = offset;
+    }
+
+    /**
+     * Build the index from the given CRL entries.
+     *
+     * @param entries the entries
+     * @return the index
+     */
+    public static RevokedSerialNumberIndex of(final Collection<? extends X509CRLEntry> entries) {
+        final List<RevokedEntry> small = new ArrayList<>();
+        final List<RevokedEntry> large = new ArrayList<>();
+        entries.forEach(entry -> {
+            final var revoked = new RevokedEntry(entry);
+            if (fitsInLong(entry.getSerialNumber())) {
+                small.add(revoked);
+            } else {
+                large.add(revoked);
+            }
+        });
+        small.sort(Comparator.comparing(RevokedEntry::getSerial));
+        large.sort((e1, e2) -> compareEncoded(e1.getEncoded(), 0, e1.getEncoded().length, e2.getEncoded()));
+        return new RevokedSerialNumberIndex(small, large);
+    }
+
+    /**
+     * Number of revoked serial numbers in the index.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.serials.length + this.packedRevocationDates.length;
+    }
+
+    /**
+     * Find the revocation record for the given serial number.
+     *
+     * @param serial the serial
+     * @return the revoked certificate exception, or null if the serial number is not revoked.
+     */
+    public RevokedCertificateException find(final BigInteger serial) {
+        if (fitsInLong(serial)) {
+            final var index = Arrays.binarySearch(this.serials, serial.longValue());
+            return index < 0 ? null : toException(serial, this.revocationDates[index], this.reasons[index]);
+        }
+        final var index = binarySearchPacked(serial.toByteArray());
+        return index < 0 ? null : toException(serial, this.packedRevocationDates[index], this.packedReasons[index]);
+    }
+
+    private int binarySearchPacked(final byte[] key) {
+        var low = 0;
+        var high = this.packedRevocationDates.length - 1;
+        while (low <= high) {
+            final var mid = (low + high) >>> 1;
+            final var result = compareEncoded(this.packedSerials, this.packedOffsets[mid], this.packedOffsets[mid + 1], key);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Orders encoded serial numbers by length and then by content.
+     * This is not numeric ordering, but it is a consistent total order over
+     * the canonical encoding, which is all the binary search needs.
+     */
+    private static int compareEncoded(final byte[] data, final int from, final int to, final byte[] key) {
+        final var length = to - from;
+        if (length != key.length) {
+            return Integer.compare(length, key.length);
+        }
+        return Arrays.compareUnsigned(data, from, to, key, 0, key.length);
+    }
+
+    private static boolean fitsInLong(final BigInteger serial) {
+        return serial.bitLength() <= MAX_LONG_BIT_LENGTH;
+    }
+
+    private static RevokedCertificateException toException(final BigInteger serial, final long revocationDate, final byte reason) {
+        return new RevokedCertificateException(
+            ZonedDateTime.ofInstant(Instant.ofEpochMilli(revocationDate), ZoneOffset.UTC),
+            serial,
+            reason == NO_REASON ? null : RevokedCertificateException.Reason.fromCode(reason));
+    }
+
+    /**
+     * Intermediate representation of a CRL entry while the index is built.
+     */
+    @Getter
+    private static class RevokedEntry {
+        private final BigInteger serial;
+
+        private final byte[] encoded;
+
+        private final long revocationDate;
+
+        private final byte reason;
+
+        RevokedEntry(final X509CRLEntry entry) {
+            this.serial = entry.getSerialNumber();
+            this.encoded = this.serial.toByteArray();
+            this.revocationDate = entry.getRevocationDate().getTime();
+            final var revocationReason = RevokedCertificateException.Reason.fromCRLReason(entry.getRevocationReason());
+            this.reason = revocationReason == null ? NO_REASON : (byte) revocationReason.getCode();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.ocsp;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * Sends OCSP requests to responders over HTTP POST as described in RFC 6960, Appendix A.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HttpOCSPClient implements OCSPClient {
+    private static final String CONTENT_TYPE_REQUEST = "application/ocsp-request";
+
+    private static final String CONTENT_TYPE_RESPONSE = "application/ocsp-response";
+
+    private final int timeoutInMilliseconds;
+
+    @Override
+    public byte[] send(final URI responder, final byte[] request) throws IOException {
+        LOGGER.debug("Sending OCSP request to [{}]", responder);
+        final var connection = (HttpURLConnection) responder.toURL().openConnection();
+        try {
+            connection.setConnectTimeout(this.timeoutInMilliseconds);
+            connection.setReadTimeout(this.timeoutInMilliseconds);
+            connection.setDoOutput(true);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", CONTENT_TYPE_REQUEST);
+            connection.setRequestProperty("Accept", CONTENT_TYPE_RESPONSE);
+            try (var out = connection.getOutputStream()) {
+                out.write(request);
+            }
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("OCSP responder " + responder + " returned HTTP status " + connection.getResponseCode());
+            }
+            try (var in = connection.getInputStream()) {
+                return IOUtils.toByteArray(in);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
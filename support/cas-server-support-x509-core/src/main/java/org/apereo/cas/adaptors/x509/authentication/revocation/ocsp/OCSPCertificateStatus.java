@@ -0,0 +1,116 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.ocsp;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * The status of a single certificate as reported by an OCSP responder.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class OCSPCertificateStatus {
+    /**
+     * Certificate states reported by OCSP responders.
+     */
+    public enum Status {
+        /**
+         * Certificate is not revoked.
+         */
+        GOOD,
+        /**
+         * Certificate is revoked.
+         */
+        REVOKED,
+        /**
+         * Responder does not know about the certificate.
+         */
+        UNKNOWN
+    }
+
+    private final BigInteger serialNumber;
+
+    private final Status status;
+
+    private final Instant revocationDate;
+
+    private final Integer revocationReason;
+
+    private final Instant thisUpdate;
+
+    private final Instant nextUpdate;
+
+    /**
+     * Build the status from the single response of an OCSP response.
+     *
+     * @param response the response
+     * @return the certificate status
+     */
+    public static OCSPCertificateStatus of(final SingleResp response) {
+        final var serial = response.getCertID().getSerialNumber();
+        final var thisUpdate = response.getThisUpdate().toInstant();
+        final var nextUpdate = response.getNextUpdate() == null ? null : response.getNextUpdate().toInstant();
+        final var status = response.getCertStatus();
+        if (status == CertificateStatus.GOOD) {
+            return new OCSPCertificateStatus(serial, Status.GOOD, null, null, thisUpdate, nextUpdate);
+        }
+        if (status instanceof RevokedStatus) {
+            final var revoked = (RevokedStatus) status;
+            return new OCSPCertificateStatus(serial, Status.REVOKED, revoked.getRevocationTime().toInstant(),
+                revoked.hasRevocationReason() ? revoked.getRevocationReason() : null, thisUpdate, nextUpdate);
+        }
+        return new OCSPCertificateStatus(serial, Status.UNKNOWN, null, null, thisUpdate, nextUpdate);
+    }
+
+    /**
+     * Build an unknown status for the given serial number, used when the status
+     * reported by the responder cannot be relied upon.
+     *
+     * @param serialNumber the serial number
+     * @return the certificate status
+     */
+    public static OCSPCertificateStatus unknown(final BigInteger serialNumber) {
+        return new OCSPCertificateStatus(serialNumber, Status.UNKNOWN, null, null, null, null);
+    }
+
+    /**
+     * Whether the status is current at the given instant, that is the instant falls within
+     * {@code [thisUpdate - skew, nextUpdate + skew]}. Statuses without a next update date
+     * only need to have been produced no later than the instant.
+     *
+     * @param now  the instant
+     * @param skew the allowed clock skew
+     * @return true if the status is current
+     */
+    public boolean isCurrent(final Instant now, final Duration skew) {
+        if (this.thisUpdate == null || now.isBefore(this.thisUpdate.minus(skew))) {
+            return false;
+        }
+        return this.nextUpdate == null || !now.isAfter(this.nextUpdate.plus(skew));
+    }
+
+    /**
+     * Describe the revocation as an exception.
+     *
+     * @return the revoked certificate exception
+     */
+    public RevokedCertificateException toRevokedCertificateException() {
+        final var reason = this.revocationReason == null
+            ? null : RevokedCertificateException.Reason.findByCode(this.revocationReason).orElse(null);
+        return new RevokedCertificateException(ZonedDateTime.ofInstant(this.revocationDate, ZoneOffset.UTC), this.serialNumber, reason);
+    }
+}
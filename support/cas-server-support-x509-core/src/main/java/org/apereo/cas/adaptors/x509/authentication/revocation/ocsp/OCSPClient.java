@@ -0,0 +1,23 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.ocsp;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Transports DER-encoded OCSP requests to an OCSP responder.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@FunctionalInterface
+public interface OCSPClient {
+    /**
+     * Send the OCSP request to the responder.
+     *
+     * @param responder the responder
+     * @param request   the DER-encoded OCSP request
+     * @return the DER-encoded OCSP response
+     * @throws IOException if the responder cannot be reached
+     */
+    byte[] send(URI responder, byte[] request) throws IOException;
+}
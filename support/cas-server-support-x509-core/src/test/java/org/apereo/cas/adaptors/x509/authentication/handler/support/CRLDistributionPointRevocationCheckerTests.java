@@ -1,13 +1,16 @@
 package org.apereo.cas.adaptors.x509.authentication.handler.support;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import org.apache.commons.io.IOUtils;
 import org.apereo.cas.adaptors.x509.authentication.ExpiredCRLException;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.RevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLDistributionPointManager;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.AllowRevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.ThresholdExpiredCRLRevocationPolicy;
 import org.apereo.cas.util.MockWebServer;
@@ -25,6 +28,7 @@ import java.io.FileOutputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -180,6 +184,19 @@ public class CRLDistributionPointRevocationCheckerTests extends AbstractCRLRevoc
             new RevokedCertificateException(ZonedDateTime.now(ZoneOffset.UTC), new BigInteger("1")),
     });
 
+        // Test case #7
+        // Revoked certificate on valid CRL data obtained through the CRL manager
+        cache = new Cache("crlCache-7", 100, false, false, 20, 10);
+        CacheManager.getInstance().addCache(cache);
+        final var manager = new CRLDistributionPointManager(new ResourceCRLFetcher(), Duration.ofHours(1),
+            Duration.ofMinutes(5), null, 1, new SimpleMeterRegistry());
+        params.add(new Object[]{
+            new CRLDistributionPointRevocationChecker(false, null, defaultPolicy, cache, new ResourceCRLFetcher(), false, manager),
+            new String[]{"user-revoked-distcrl.crt"},
+            "userCA-valid.crl",
+            new RevokedCertificateException(ZonedDateTime.now(ZoneOffset.UTC), new BigInteger("1")),
+        });
+
         return params;
     }
 
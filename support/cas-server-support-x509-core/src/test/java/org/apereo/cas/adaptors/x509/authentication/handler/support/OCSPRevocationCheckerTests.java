@@ -0,0 +1,256 @@
+package org.apereo.cas.adaptors.x509.authentication.handler.support;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.OCSPRevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.RevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.ocsp.OCSPClient;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.AllowRevocationPolicy;
+import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.jcajce.JcaBasicOCSPRespBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link OCSPRevocationChecker}, using an in-process OCSP responder.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OCSPRevocationCheckerTests {
+    private static final URI RESPONDER = URI.create("http://localhost:8086/ocsp");
+
+    private static final X500Name ISSUER_NAME = new X500Name("CN=CAS OCSP Test CA");
+
+    private static final BigInteger VALID_SERIAL = BigInteger.valueOf(1001);
+
+    private static final BigInteger REVOKED_SERIAL = BigInteger.valueOf(1002);
+
+    private static KeyPair ISSUER_KEYS;
+
+    private static X509Certificate ISSUER;
+
+    private static X509Certificate VALID;
+
+    private static X509Certificate REVOKED;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private final List<Integer> requests = new CopyOnWriteArrayList<>();
+
+    private Extension replayedNonce;
+
+    @BeforeClass
+    public static void initialize() throws Exception {
+        final var generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        ISSUER_KEYS = generator.generateKeyPair();
+        ISSUER = createCertificate(ISSUER_NAME, BigInteger.ONE, ISSUER_KEYS, true);
+        final var userKeys = generator.generateKeyPair();
+        VALID = createCertificate(new X500Name("CN=valid"), VALID_SERIAL, userKeys, false);
+        REVOKED = createCertificate(new X500Name("CN=revoked"), REVOKED_SERIAL, userKeys, false);
+    }
+
+    @Test
+    public void verifyValidCertificate() throws Exception {
+        newChecker(this::respond, null).check(VALID);
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    public void verifyRevokedCertificate() throws Exception {
+        this.thrown.expect(RevokedCertificateException.class);
+        newChecker(this::respond, null).check(REVOKED);
+    }
+
+    @Test
+    public void verifyResponsesAreCached() throws Exception {
+        final var checker = newChecker(this::respond, null);
+        checker.check(VALID);
+        checker.check(VALID);
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    public void verifyBatchRequest() {
+        final var statuses = newChecker(this::respond, null).getStatuses(List.of(VALID, REVOKED));
+        assertEquals(2, statuses.size());
+        assertEquals(List.of(2), this.requests);
+    }
+
+    @Test
+    public void verifyConcurrentChecksAreCoalesced() throws Exception {
+        final var latch = new CountDownLatch(1);
+        final var checker = newChecker((responder, request) -> {
+            try {
+                latch.await(1, TimeUnit.MINUTES);
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            return respond(responder, request);
+        }, null);
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var first = executor.submit(() -> {
+                checker.check(VALID);
+                return true;
+            });
+            final var second = executor.submit(() -> {
+                checker.check(VALID);
+                return true;
+            });
+            Thread.sleep(500);
+            latch.countDown();
+            assertTrue(first.get(1, TimeUnit.MINUTES));
+            assertTrue(second.get(1, TimeUnit.MINUTES));
+            assertEquals(1, this.requests.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void verifyFallbackWhenResponderIsUnavailable() throws Exception {
+        final List<X509Certificate> checked = new CopyOnWriteArrayList<>();
+        final RevocationChecker fallback = checked::add;
+        newChecker((responder, request) -> {
+            throw new IOException("Responder is unavailable");
+        }, fallback).check(VALID);
+        assertEquals(List.of(VALID), checked);
+    }
+
+    @Test
+    public void verifyExpiredResponseIsUnknown() throws Exception {
+        final List<X509Certificate> checked = new CopyOnWriteArrayList<>();
+        final RevocationChecker fallback = checked::add;
+        final var checker = newChecker((responder, request) ->
+            respond(request, Duration.ofHours(-2), Duration.ofHours(-1), true), fallback);
+        checker.check(VALID);
+        checker.check(VALID);
+        assertEquals(List.of(VALID, VALID), checked);
+        assertEquals(2, this.requests.size());
+    }
+
+    @Test
+    public void verifyFutureDatedResponseIsUnknown() throws Exception {
+        this.thrown.expect(GeneralSecurityException.class);
+        new OCSPRevocationChecker(Set.of(ISSUER), (responder, request) ->
+            respond(request, Duration.ofHours(1), Duration.ofHours(2), true), RESPONDER, null,
+            new DenyRevocationPolicy(), Duration.ofMinutes(5), 100, Duration.ofMinutes(5)).check(VALID);
+    }
+
+    @Test
+    public void verifyResponseWithinClockSkewIsAccepted() throws Exception {
+        final var statuses = newChecker((responder, request) ->
+            respond(request, Duration.ofMinutes(2), Duration.ofHours(1), true), null).getStatuses(List.of(VALID));
+        assertEquals(1, statuses.size());
+    }
+
+    @Test
+    public void verifyResponseWithoutNonceIsAccepted() throws Exception {
+        newChecker((responder, request) -> respond(request, Duration.ZERO, Duration.ofHours(1), false), null).check(VALID);
+        assertEquals(1, this.requests.size());
+    }
+
+    @Test
+    public void verifyResponseWithMismatchedNonceIsRejected() throws Exception {
+        final List<X509Certificate> checked = new CopyOnWriteArrayList<>();
+        final RevocationChecker fallback = checked::add;
+        this.replayedNonce = new Extension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false, new DEROctetString(new byte[]{1, 2, 3}).getEncoded());
+        newChecker(this::respond, fallback).check(VALID);
+        assertEquals(List.of(VALID), checked);
+    }
+
+    @Test
+    public void verifyTrustAnchorIsSkipped() throws Exception {
+        newChecker(this::respond, null).check(ISSUER);
+        assertTrue(this.requests.isEmpty());
+    }
+
+    private static OCSPRevocationChecker newChecker(final OCSPClient client, final RevocationChecker fallback) {
+        return new OCSPRevocationChecker(Set.of(ISSUER), client, RESPONDER, fallback,
+            fallback == null ? null : new AllowRevocationPolicy(), Duration.ofMinutes(5), 100, Duration.ofMinutes(5));
+    }
+
+    private byte[] respond(final URI responder, final byte[] body) throws IOException {
+        return respond(body, Duration.ZERO, Duration.ofHours(1), true);
+    }
+
+    private byte[] respond(final byte[] body, final Duration thisUpdateOffset, final Duration nextUpdateOffset,
+                           final boolean echoNonce) throws IOException {
+        try {
+            final var request = new OCSPReq(body);
+            this.requests.add(request.getRequestList().length);
+            final var digestCalculator = new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1);
+            final var builder = new JcaBasicOCSPRespBuilder(ISSUER_KEYS.getPublic(), digestCalculator);
+            final var now = new Date();
+            final var thisUpdate = Date.from(Instant.now().plus(thisUpdateOffset));
+            final var nextUpdate = Date.from(Instant.now().plus(nextUpdateOffset));
+            for (final var single : request.getRequestList()) {
+                final var id = single.getCertID();
+                final var status = REVOKED_SERIAL.equals(id.getSerialNumber())
+                    ? new RevokedStatus(now, CRLReason.keyCompromise)
+                    : CertificateStatus.GOOD;
+                builder.addResponse(id, status, thisUpdate, nextUpdate, null);
+            }
+            final var nonce = this.replayedNonce != null ? this.replayedNonce : request.getExtension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce);
+            if (echoNonce && nonce != null) {
+                builder.setResponseExtensions(new Extensions(nonce));
+            }
+            final var signer = new JcaContentSignerBuilder("SHA256withRSA").build(ISSUER_KEYS.getPrivate());
+            return new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, builder.build(signer, null, now)).getEncoded();
+        } catch (final Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static X509Certificate createCertificate(final X500Name subject, final BigInteger serial,
+                                                     final KeyPair keys, final boolean authority) throws Exception {
+        final var notBefore = Date.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        final var notAfter = Date.from(Instant.now().plus(1, ChronoUnit.DAYS));
+        final var builder = new JcaX509v3CertificateBuilder(ISSUER_NAME, serial, notBefore, notAfter, subject, keys.getPublic());
+        if (authority) {
+            builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+        }
+        final var signer = new JcaContentSignerBuilder("SHA256withRSA").build(ISSUER_KEYS.getPrivate());
+        return new JcaX509CertificateConverter().getCertificate(builder.build(signer));
+    }
+}
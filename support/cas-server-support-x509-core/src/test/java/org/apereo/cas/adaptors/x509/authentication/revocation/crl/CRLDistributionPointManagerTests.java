@@ -0,0 +1,146 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.util.crypto.CertUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.security.cert.X509CRL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CRLDistributionPointManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class CRLDistributionPointManagerTests {
+    private static final URI CRL_URI = URI.create("http://localhost:8085/userCA.crl");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    private CRLDistributionPointManager manager;
+
+    @After
+    public void shutdown() {
+        if (this.manager != null) {
+            this.manager.destroy();
+        }
+    }
+
+    @Test
+    public void verifyRevokedCertificateIsFoundInIndex() {
+        this.manager = newManager(new CountingCRLFetcher(null), null);
+        final var snapshot = this.manager.getSnapshot(CRL_URI);
+        assertNotNull(snapshot);
+
+        final var revoked = this.manager.findRevocation(snapshot, CertUtils.readCertificate(new ClassPathResource("user-revoked.crt")));
+        assertNotNull(revoked);
+        assertNotNull(revoked.getRevocationDate());
+        assertNull(this.manager.findRevocation(snapshot, CertUtils.readCertificate(new ClassPathResource("user-valid.crt"))));
+
+        assertEquals(1, this.meterRegistry.get(CRLDistributionPointManager.METRIC_FETCH).timer().count());
+        assertEquals(2, this.meterRegistry.get(CRLDistributionPointManager.METRIC_LOOKUP).timer().count());
+        assertNotNull(this.meterRegistry.get(CRLDistributionPointManager.METRIC_AGE).gauge());
+    }
+
+    @Test
+    public void verifyConcurrentRefreshesShareSingleFetch() throws Exception {
+        final var latch = new CountDownLatch(1);
+        this.manager = newManager(new CountingCRLFetcher(latch), null);
+        final var first = this.manager.refresh(CRL_URI);
+        final var second = this.manager.refresh(CRL_URI);
+        assertSame(first, second);
+        latch.countDown();
+        assertNotNull(first.get(1, TimeUnit.MINUTES));
+        assertEquals(1, this.fetchCount.get());
+    }
+
+    @Test
+    public void verifyPersistedCRLIsUsedOnRestart() throws Exception {
+        final var directory = this.temporaryFolder.newFolder();
+        this.manager = newManager(new CountingCRLFetcher(null), directory);
+        assertNotNull(this.manager.getSnapshot(CRL_URI));
+        this.manager.destroy();
+
+        this.manager = newManager(new ResourceCRLFetcher() {
+            @Override
+            public X509CRL fetch(final URI crl) throws IOException {
+                throw new IOException("Distribution point is unavailable");
+            }
+        }, directory);
+        final var snapshot = this.manager.getSnapshot(CRL_URI);
+        assertNotNull(snapshot);
+        assertNotNull(this.manager.findRevocation(snapshot, CertUtils.readCertificate(new ClassPathResource("user-revoked.crt"))));
+    }
+
+    @Test
+    public void verifyExpiredSnapshotIsServedWhileRefreshing() throws Exception {
+        final var directory = this.temporaryFolder.newFolder();
+        this.manager = newManager(new CountingCRLFetcher(null), directory);
+        assertNotNull(this.manager.getSnapshot(CRL_URI));
+        this.manager.destroy();
+
+        final var latch = new CountDownLatch(1);
+        final var clock = Clock.fixed(Instant.parse("2100-01-01T00:00:00Z"), ZoneOffset.UTC);
+        this.manager = new CRLDistributionPointManager(new CountingCRLFetcher(latch), Duration.ofHours(1), Duration.ofMinutes(5),
+            directory, 2, this.meterRegistry, clock);
+        final var snapshot = this.manager.getSnapshot(CRL_URI);
+        assertNotNull(snapshot);
+        assertTrue(snapshot.isExpired(clock.instant()));
+        assertNotNull(this.manager.getCRL(snapshot));
+
+        final var refresh = this.manager.refresh(CRL_URI);
+        assertFalse(refresh.isDone());
+        assertSame(snapshot, this.manager.getSnapshot(CRL_URI));
+        latch.countDown();
+        assertNotSame(snapshot, refresh.get(1, TimeUnit.MINUTES));
+        assertEquals(2, this.fetchCount.get());
+    }
+
+    private CRLDistributionPointManager newManager(final ResourceCRLFetcher fetcher, final File directory) {
+        return new CRLDistributionPointManager(fetcher, Duration.ofHours(1), Duration.ofMinutes(5),
+            directory, 2, this.meterRegistry);
+    }
+
+    private class CountingCRLFetcher extends ResourceCRLFetcher {
+        private final CountDownLatch latch;
+
+        CountingCRLFetcher(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public X509CRL fetch(final URI crl) throws IOException {
+            fetchCount.incrementAndGet();
+            try {
+                if (this.latch != null) {
+                    this.latch.await(1, TimeUnit.MINUTES);
+                }
+                return fetch(new ClassPathResource("userCA-valid.crl"));
+            } catch (final Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+}
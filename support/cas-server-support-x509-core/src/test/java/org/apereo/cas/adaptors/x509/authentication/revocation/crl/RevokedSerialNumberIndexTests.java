@@ -0,0 +1,61 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.crl;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException.Reason;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CRLConverter;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509CRL;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RevokedSerialNumberIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class RevokedSerialNumberIndexTests {
+    private static final BigInteger LARGE_SERIAL = BigInteger.ONE.shiftLeft(100);
+
+    @Test
+    public void verifyRevocationReasonsAreMappedByCode() throws Exception {
+        final var index = RevokedSerialNumberIndex.of(createCRL().getRevokedCertificates());
+        assertEquals(5, index.size());
+        assertEquals(Reason.KeyCompromise, index.find(BigInteger.valueOf(1)).getReason());
+        assertEquals(Reason.RemoveFromCRL, index.find(BigInteger.valueOf(2)).getReason());
+        assertEquals(Reason.AACompromise, index.find(BigInteger.valueOf(3)).getReason());
+        assertNull(index.find(BigInteger.valueOf(4)).getReason());
+        assertEquals(Reason.PrivilegeWithdrawn, index.find(LARGE_SERIAL).getReason());
+        assertNull(index.find(BigInteger.valueOf(5)));
+    }
+
+    @Test
+    public void verifyReasonCodes() {
+        assertEquals(Reason.CertificateHold, Reason.fromCode(6));
+        assertFalse(Reason.findByCode(7).isPresent());
+        assertEquals(Reason.RemoveFromCRL, Reason.fromCode(8));
+        assertEquals(Reason.AACompromise, Reason.fromCode(10));
+        assertFalse(Reason.findByCode(11).isPresent());
+        assertNull(Reason.fromCRLReason(java.security.cert.CRLReason.UNUSED));
+    }
+
+    private static X509CRL createCRL() throws Exception {
+        final var keys = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        final var now = new Date();
+        final var builder = new X509v2CRLBuilder(new X500Name("CN=CAS Test CA"), now);
+        builder.addCRLEntry(BigInteger.valueOf(1), now, CRLReason.keyCompromise);
+        builder.addCRLEntry(BigInteger.valueOf(2), now, CRLReason.removeFromCRL);
+        builder.addCRLEntry(BigInteger.valueOf(3), now, CRLReason.aACompromise);
+        builder.addCRLEntry(BigInteger.valueOf(4), now, 0);
+        builder.addCRLEntry(LARGE_SERIAL, now, CRLReason.privilegeWithdrawn);
+        final var signer = new JcaContentSignerBuilder("SHA256withRSA").build(keys.getPrivate());
+        return new JcaX509CRLConverter().getCRL(builder.build(signer));
+    }
+}
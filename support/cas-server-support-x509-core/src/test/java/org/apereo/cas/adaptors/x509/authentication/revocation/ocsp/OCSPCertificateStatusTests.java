@@ -0,0 +1,36 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation.ocsp;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException.Reason;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OCSPCertificateStatusTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+public class OCSPCertificateStatusTests {
+
+    @Test
+    public void verifyRevocationReasonsAreMappedByCode() {
+        assertEquals(Reason.KeyCompromise, revoked(CRLReason.keyCompromise).getReason());
+        assertEquals(Reason.RemoveFromCRL, revoked(CRLReason.removeFromCRL).getReason());
+        assertEquals(Reason.PrivilegeWithdrawn, revoked(CRLReason.privilegeWithdrawn).getReason());
+        assertEquals(Reason.AACompromise, revoked(CRLReason.aACompromise).getReason());
+        assertNull(revoked(7).getReason());
+        assertNull(revoked(null).getReason());
+    }
+
+    private static RevokedCertificateException revoked(final Integer reason) {
+        final var now = Instant.now();
+        return new OCSPCertificateStatus(BigInteger.TEN, OCSPCertificateStatus.Status.REVOKED, now, reason, now, null)
+            .toRevokedCertificateException();
+    }
+}
@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.x509.config;
 
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.ehcache.Cache;
 import org.apache.commons.lang3.StringUtils;
@@ -13,8 +14,11 @@ import org.apereo.cas.adaptors.x509.authentication.principal.X509SerialNumberPri
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectAlternativeNameUPNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectDNPrincipalResolver;
 import org.apereo.cas.adaptors.x509.authentication.principal.X509SubjectPrincipalResolver;
+import org.apereo.cas.adaptors.x509.authentication.revocation.crl.CRLDistributionPointManager;
+import org.apereo.cas.adaptors.x509.authentication.revocation.ocsp.HttpOCSPClient;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.CRLDistributionPointRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.NoOpRevocationChecker;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.OCSPRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.checker.RevocationChecker;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.AllowRevocationPolicy;
@@ -30,16 +34,21 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.util.LdapUtils;
 import org.apereo.cas.util.RegexUtils;
+import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.services.persondir.IPersonAttributeDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ResourceLoader;
 
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -103,7 +112,21 @@ public class X509AuthenticationConfiguration {
                 getRevocationPolicy(x509.getCrlExpiredPolicy()),
                 cache,
                 crlFetcher(),
-                x509.isThrowOnFetchFailure());
+                x509.isThrowOnFetchFailure(),
+                x509.isCrlBackgroundRefresh() ? crlDistributionPointManager() : null);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.x509", name = "crlBackgroundRefresh", havingValue = "true")
+    public CRLDistributionPointManager crlDistributionPointManager() {
+        final var x509 = casProperties.getAuthn().getX509();
+        return new CRLDistributionPointManager(
+                crlFetcher(),
+                Duration.ofSeconds(x509.getCrlRefreshAheadSeconds()),
+                Duration.ofSeconds(x509.getCrlRefreshCheckIntervalSeconds()),
+                StringUtils.isNotBlank(x509.getCrlPersistenceDirectory()) ? new File(x509.getCrlPersistenceDirectory()) : null,
+                x509.getCrlFetchThreads(),
+                Metrics.globalRegistry);
     }
 
     @Bean
@@ -133,6 +156,40 @@ public class X509AuthenticationConfiguration {
                 x509CrlResources);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "cas.authn.x509", name = "revocationChecker", havingValue = "ocsp")
+    public RevocationChecker ocspRevocationChecker() {
+        final var ocsp = casProperties.getAuthn().getX509().getOcsp();
+        final var issuers = ocsp.getIssuerCertificates()
+                .stream()
+                .map(s -> CertUtils.readCertificate(this.resourceLoader.getResource(s)))
+                .collect(Collectors.toList());
+
+        final RevocationChecker fallback;
+        switch (ocsp.getFallbackRevocationChecker().trim().toLowerCase()) {
+            case "resource":
+                fallback = resourceCrlRevocationChecker();
+                break;
+            case "crl":
+                fallback = crlDistributionPointRevocationChecker();
+                break;
+            case "none":
+            default:
+                fallback = null;
+                break;
+        }
+
+        return new OCSPRevocationChecker(
+                issuers,
+                new HttpOCSPClient(ocsp.getTimeoutInMilliseconds()),
+                StringUtils.isNotBlank(ocsp.getResponderUrl()) ? URI.create(ocsp.getResponderUrl()) : null,
+                fallback,
+                getRevocationPolicy(ocsp.getUnavailablePolicy()),
+                Duration.ofSeconds(ocsp.getDefaultTimeToLiveSeconds()),
+                ocsp.getCacheMaxSize(),
+                Duration.ofSeconds(ocsp.getAllowedClockSkewSeconds()));
+    }
+
     private RevocationPolicy getRevocationPolicy(final String policy) {
         switch (policy.trim().toLowerCase()) {
             case "allow":
@@ -169,6 +226,9 @@ public class X509AuthenticationConfiguration {
             case "crl":
                 revChecker = crlDistributionPointRevocationChecker();
                 break;
+            case "ocsp":
+                revChecker = ocspRevocationChecker();
+                break;
             case "none":
             default:
                 revChecker = noOpRevocationChecker();
@@ -11,6 +11,7 @@ import org.apereo.cas.services.web.support.RegisteredServiceResponseHeadersEnfor
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.web.support.ArgumentExtractor;
 import org.apereo.cas.web.support.AuthenticationCredentialsThreadLocalBinderClearingFilter;
+import org.apereo.cas.web.support.LdapSearchCacheFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -160,4 +161,15 @@ public class CasFiltersConfiguration {
         bean.setAsyncSupported(true);
         return bean;
     }
+
+    @ConditionalOnProperty(prefix = "cas.ldapSearchCache", name = "enabled", havingValue = "true")
+    @Bean
+    public FilterRegistrationBean ldapSearchCacheFilter() {
+        final var bean = new FilterRegistrationBean();
+        bean.setFilter(new LdapSearchCacheFilter(casProperties.getLdapSearchCache().getMaximumEntries()));
+        bean.setUrlPatterns(CollectionUtils.wrap("/*"));
+        bean.setName("ldapSearchCacheFilter");
+        bean.setAsyncSupported(true);
+        return bean;
+    }
 }
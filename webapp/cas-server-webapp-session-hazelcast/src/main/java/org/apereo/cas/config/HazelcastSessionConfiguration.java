@@ -6,6 +6,8 @@ import com.hazelcast.core.HazelcastInstance;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.web.flow.executor.HazelcastWebflowConversationStateStore;
+import org.apereo.cas.web.flow.executor.WebflowConversationStateStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -47,4 +49,9 @@ public class HazelcastSessionConfiguration {
         return Hazelcast.newHazelcastInstance(config);
     }
 
+    @Bean
+    public WebflowConversationStateStore webflowConversationStateStore() {
+        return new HazelcastWebflowConversationStateStore(hazelcastInstance());
+    }
+
 }
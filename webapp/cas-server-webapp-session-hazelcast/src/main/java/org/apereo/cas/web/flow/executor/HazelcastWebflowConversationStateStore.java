@@ -0,0 +1,44 @@
+package org.apereo.cas.web.flow.executor;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link HazelcastWebflowConversationStateStore} that keeps webflow conversation state
+ * in a Hazelcast map, with each entry expiring once its time to live has passed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.0.0
+ */
+@Slf4j
+public class HazelcastWebflowConversationStateStore implements WebflowConversationStateStore {
+    /**
+     * Name of the Hazelcast map that holds conversation state.
+     */
+    public static final String MAP_NAME = "cas-webflow-conversations";
+
+    private final IMap<String, byte[]> storage;
+
+    public HazelcastWebflowConversationStateStore(final HazelcastInstance hazelcastInstance) {
+        this.storage = hazelcastInstance.getMap(MAP_NAME);
+    }
+
+    @Override
+    public byte[] get(final String conversationId) {
+        return this.storage.get(conversationId);
+    }
+
+    @Override
+    public void put(final String conversationId, final byte[] state, final Duration timeToLive) {
+        this.storage.set(conversationId, state, timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void remove(final String conversationId) {
+        this.storage.delete(conversationId);
+    }
+}